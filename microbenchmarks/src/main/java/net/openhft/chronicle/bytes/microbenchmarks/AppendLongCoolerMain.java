@@ -8,10 +8,18 @@ import net.openhft.chronicle.core.cooler.CoolerTester;
 import net.openhft.chronicle.core.cooler.CpuCoolers;
 import org.jetbrains.annotations.NotNull;
 
+import static net.openhft.chronicle.core.UnsafeMemory.MEMORY;
+
+/**
+ * Compares appending longs and ints two digits at a time from a table, as {@link Bytes#append(long)} and
+ * {@link Bytes#append(int)} do, with the previous approach of one division per digit written in reverse then
+ * swapped into order.
+ */
 public class AppendLongCoolerMain {
 
     static int i = 0;
     static long[] longs = {Integer.MIN_VALUE, -128, 0, 1, 11, 111, Integer.MAX_VALUE, Long.MAX_VALUE};
+    static int[] ints = {Integer.MIN_VALUE, -128, 0, 1, 11, 111, 123_456, Integer.MAX_VALUE};
 
     public static void main(String[] args) {
         Bytes bytes = Bytes.allocateElasticDirect(32);
@@ -21,9 +29,45 @@ public class AppendLongCoolerMain {
                 CpuCoolers.BUSY100,
                 CpuCoolers.ALL
         ).add("write", () -> doWrite(bytes))
+                .add("write-int", () -> doWriteInt(bytes))
+                .add("divide-per-digit", () -> doWriteDividing(bytes))
                 .run();
     }
 
+    @NotNull
+    public static Object doWriteInt(Bytes<?> bytes) {
+        bytes.clear();
+        bytes.append(ints[i++ % ints.length]);
+        return bytes;
+    }
+
+    /**
+     * The digit loop appendFixed used before the two digit table.
+     */
+    @NotNull
+    public static Object doWriteDividing(Bytes<?> bytes) {
+        bytes.clear();
+        long num = longs[i++ % longs.length];
+        long address = bytes.addressForWrite(0);
+        long end = address;
+        if (num < 0) {
+            MEMORY.writeByte(end++, (byte) '-');
+            num = -num;
+        }
+        final long start = end;
+        do {
+            MEMORY.writeByte(end++, (byte) ('0' + num % 10));
+            num /= 10;
+        } while (num > 0);
+        for (long a = start, b = end - 1; a < b; a++, b--) {
+            final byte tmp = MEMORY.readByte(a);
+            MEMORY.writeByte(a, MEMORY.readByte(b));
+            MEMORY.writeByte(b, tmp);
+        }
+        bytes.writeSkip(end - address);
+        return bytes;
+    }
+
     @NotNull
     public static Object doWrite(Bytes<?> bytes) {
         bytes.clear();
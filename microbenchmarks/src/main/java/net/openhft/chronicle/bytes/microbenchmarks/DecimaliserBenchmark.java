@@ -0,0 +1,109 @@
+/*
+ * Copyright 2013-2025 chronicle.software; SPDX-License-Identifier: Apache-2.0
+ */
+package net.openhft.chronicle.bytes.microbenchmarks;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.bytes.render.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Compares the Decimaliser strategies appending to a direct Bytes, on values with a few decimal
+ * places (prices) and on random bit patterns which need up to 17 significant digits.
+ * SIMPLE gives up on some of the random values and falls back to Double.toString.
+ */
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class DecimaliserBenchmark {
+    static final int VALUES = 1 << 10;
+
+    @Param({"SIMPLE", "STANDARD", "GENERAL", "USES_BIG_DECIMAL", "SHORTEST"})
+    public String decimaliser;
+
+    private final double[] prices = new double[VALUES];
+    private final double[] randoms = new double[VALUES];
+    private Bytes<?> bytes;
+    private int count;
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(DecimaliserBenchmark.class.getSimpleName())
+                .build();
+
+        new Runner(options).run();
+    }
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(1);
+        for (int i = 0; i < VALUES; i++) {
+            prices[i] = random.nextInt(10_000_000) / 1e4;
+            double d;
+            do {
+                d = Double.longBitsToDouble(random.nextLong() & ~(1L << 62));
+            } while (!Double.isFinite(d) || d < 1e-10);
+            randoms[i] = d;
+        }
+        bytes = Bytes.allocateElasticDirect(256);
+        bytes.decimaliser(decimaliser(decimaliser));
+    }
+
+    static Decimaliser decimaliser(String name) {
+        switch (name) {
+            case "SIMPLE":
+                return SimpleDecimaliser.SIMPLE;
+            case "STANDARD":
+                return StandardDecimaliser.STANDARD;
+            case "GENERAL":
+                return GeneralDecimaliser.GENERAL;
+            case "USES_BIG_DECIMAL":
+                return UsesBigDecimal.USES_BIG_DECIMAL;
+            case "SHORTEST":
+                return ShortestDecimaliser.SHORTEST;
+            default:
+                throw new IllegalArgumentException(name);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        bytes.releaseLast();
+    }
+
+    private int next() {
+        if ((count & 15) == 0)
+            bytes.clear();
+        return count++ & (VALUES - 1);
+    }
+
+    @Benchmark
+    public void appendPrice() {
+        bytes.append(prices[next()]);
+    }
+
+    @Benchmark
+    public void appendRandom() {
+        bytes.append(randoms[next()]);
+    }
+
+    @Benchmark
+    public void appendPriceDouble_toString() {
+        bytes.append8bit(Double.toString(prices[next()]));
+    }
+
+    @Benchmark
+    public void appendRandomDouble_toString() {
+        bytes.append8bit(Double.toString(randoms[next()]));
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2013-2025 chronicle.software; SPDX-License-Identifier: Apache-2.0
+ */
+package net.openhft.chronicle.bytes.microbenchmarks;
+
+import net.openhft.chronicle.bytes.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time to dispatch one message with a {@link BytesMethodReader}, for message ids which index
+ * the dense array of handlers and for large, sparse ids which are found in the open addressing table.
+ */
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class MethodReaderDispatchBenchmark {
+    static final int MESSAGES = 1024;
+
+    @Param({"dense", "sparse"})
+    public String ids;
+
+    private Bytes<?> bytes;
+    private MethodReader reader;
+    private long total;
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(MethodReaderDispatchBenchmark.class.getSimpleName())
+                .build();
+
+        new Runner(options).run();
+    }
+
+    @Setup
+    public void setUp() {
+        bytes = Bytes.allocateElasticDirect();
+        final Value value = new Value();
+        if (ids.equals("dense")) {
+            final DenseIds writer = bytes.bytesMethodWriter(DenseIds.class);
+            for (int i = 0; i < MESSAGES; i++) {
+                value.value = i;
+                switch (i & 3) {
+                    case 0:
+                        writer.a(value);
+                        break;
+                    case 1:
+                        writer.b(value);
+                        break;
+                    case 2:
+                        writer.c(value);
+                        break;
+                    default:
+                        writer.d(value);
+                        break;
+                }
+            }
+            reader = bytes.bytesMethodReader(new DenseHandler(this));
+        } else {
+            final SparseIds writer = bytes.bytesMethodWriter(SparseIds.class);
+            for (int i = 0; i < MESSAGES; i++) {
+                value.value = i;
+                switch (i & 3) {
+                    case 0:
+                        writer.a(value);
+                        break;
+                    case 1:
+                        writer.b(value);
+                        break;
+                    case 2:
+                        writer.c(value);
+                        break;
+                    default:
+                        writer.d(value);
+                        break;
+                }
+            }
+            reader = bytes.bytesMethodReader(new SparseHandler(this));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        bytes.releaseLast();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MESSAGES)
+    public long readOne() {
+        bytes.readPosition(0);
+        while (reader.readOne()) {
+            // dispatch every message
+        }
+        return total;
+    }
+
+    public static class DenseHandler implements DenseIds {
+        private final MethodReaderDispatchBenchmark benchmark;
+
+        DenseHandler(MethodReaderDispatchBenchmark benchmark) {
+            this.benchmark = benchmark;
+        }
+
+        @Override
+        public void a(Value v) {
+            benchmark.total += v.value;
+        }
+
+        @Override
+        public void b(Value v) {
+            benchmark.total -= v.value;
+        }
+
+        @Override
+        public void c(Value v) {
+            benchmark.total ^= v.value;
+        }
+
+        @Override
+        public void d(Value v) {
+            benchmark.total++;
+        }
+    }
+
+    public static class SparseHandler implements SparseIds {
+        private final MethodReaderDispatchBenchmark benchmark;
+
+        SparseHandler(MethodReaderDispatchBenchmark benchmark) {
+            this.benchmark = benchmark;
+        }
+
+        @Override
+        public void a(Value v) {
+            benchmark.total += v.value;
+        }
+
+        @Override
+        public void b(Value v) {
+            benchmark.total -= v.value;
+        }
+
+        @Override
+        public void c(Value v) {
+            benchmark.total ^= v.value;
+        }
+
+        @Override
+        public void d(Value v) {
+            benchmark.total++;
+        }
+    }
+
+    public static class Value implements BytesMarshallable {
+        long value;
+    }
+
+    public interface DenseIds {
+        @MethodId(1)
+        void a(Value v);
+
+        @MethodId(2)
+        void b(Value v);
+
+        @MethodId(3)
+        void c(Value v);
+
+        @MethodId(4)
+        void d(Value v);
+    }
+
+    public interface SparseIds {
+        @MethodId(1_000_003)
+        void a(Value v);
+
+        @MethodId(77_000_000_019L)
+        void b(Value v);
+
+        @MethodId(Long.MAX_VALUE)
+        void c(Value v);
+
+        @MethodId(-1_000_001)
+        void d(Value v);
+    }
+}
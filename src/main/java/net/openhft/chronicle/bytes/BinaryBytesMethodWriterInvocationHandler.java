@@ -23,6 +23,7 @@ public class BinaryBytesMethodWriterInvocationHandler extends AbstractInvocation
     private final Function<Method, MethodEncoder> methodToId;
     private final BytesOut<?> out;
     private final Map<Method, MethodEncoder> methodToIdMap = new LinkedHashMap<>();
+    private MethodStatistics statistics;
 
     /**
      * Creates an instance for the supplied interface.
@@ -37,6 +38,17 @@ public class BinaryBytesMethodWriterInvocationHandler extends AbstractInvocation
         this.out = out;
     }
 
+    /**
+     * Records the count, length and encoding time of each message written.
+     *
+     * @param statistics to record to, or {@code null} for none
+     * @return this handler
+     */
+    public BinaryBytesMethodWriterInvocationHandler statistics(MethodStatistics statistics) {
+        this.statistics = statistics;
+        return this;
+    }
+
     /**
      * Encodes the invocation and writes it to {@link #out}. On failure the
      * write position is rolled back to preserve stream integrity.
@@ -51,9 +63,14 @@ public class BinaryBytesMethodWriterInvocationHandler extends AbstractInvocation
         } else {
             long pos = out.writePosition();
             try {
+                final MethodStatistics statistics = this.statistics;
+                final boolean timed = statistics != null && statistics.sampleLatency();
+                final long startNanos = timed ? System.nanoTime() : 0;
                 out.writeHexDumpDescription(method.getName());
                 out.writeStopBit(info.messageId());
                 info.encode(args, out);
+                if (statistics != null)
+                    statistics.record(info.messageId(), out.writePosition() - pos, timed ? System.nanoTime() - startNanos : -1);
             } catch (Throwable t) {
                 out.writePosition(pos);
                 throw t;
@@ -435,6 +435,25 @@ public interface ByteStringAppender<B extends ByteStringAppender<B>> extends Str
         return (B) this;
     }
 
+    /**
+     * Appends a UTC timestamp in ISO-8601 format with nanosecond precision, such as
+     * {@code 2024-03-01T12:34:56.123456789Z}, always 30 bytes. The date is cached per thread, so
+     * timestamps on the same day as the last only format the time, and nothing is allocated.
+     *
+     * @param epochNanos the nanoseconds since 1970-01-01T00:00:00Z
+     * @return this
+     * @throws BufferOverflowException        If the relative append operation exceeds the underlying buffer's capacity
+     * @throws ClosedIllegalStateException    If the resource has been released or closed.
+     * @throws ThreadingIllegalStateException If this resource was accessed by multiple threads in an unsafe way.
+     * @see ByteStringParser#parseIsoDateTime()
+     */
+    @NotNull
+    default B appendIsoDateTime(long epochNanos)
+            throws BufferOverflowException, ClosedIllegalStateException, ThreadingIllegalStateException {
+        BytesInternal.appendIsoDateTime(this, epochNanos);
+        return (B) this;
+    }
+
     /**
      * Appends a string representation of a specified BigDecimal to this.
      * <p>
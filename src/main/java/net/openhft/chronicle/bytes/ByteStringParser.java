@@ -5,6 +5,7 @@ package net.openhft.chronicle.bytes;
 
 import net.openhft.chronicle.bytes.internal.ByteStringReader;
 import net.openhft.chronicle.bytes.internal.BytesInternal;
+import net.openhft.chronicle.bytes.util.FixedPointDecimal;
 import net.openhft.chronicle.core.Maths;
 import net.openhft.chronicle.core.io.ClosedIllegalStateException;
 import net.openhft.chronicle.core.io.IORuntimeException;
@@ -278,6 +279,24 @@ public interface ByteStringParser<B extends ByteStringParser<B>> extends Streami
         return BytesInternal.parseLongDecimal(this);
     }
 
+    /**
+     * Parses a decimal number from the byte string as a fixed-point value with {@code scale} decimal places,
+     * e.g. {@code "123.4"} with a scale of 2 is {@code 12340}. The terminating character is consumed.
+     * The number of decimal places in the text can be retrieved with {@code lastDecimalPlaces()}.
+     *
+     * @param scale the number of decimal places of the result, from 0 to {@link FixedPointDecimal#MAX_SCALE}
+     * @return the value multiplied by {@code 10^scale}
+     * @throws ArithmeticException            If the value overflows a long at this scale, or has non-zero digits beyond it.
+     * @throws IllegalArgumentException       If the scale is out of range.
+     * @throws BufferUnderflowException       If there is insufficient data.
+     * @throws ClosedIllegalStateException    If the resource has been released or closed.
+     * @throws ThreadingIllegalStateException If this resource was accessed by multiple threads in an unsafe way.
+     */
+    default long parseDecimal(int scale)
+            throws BufferUnderflowException, ArithmeticException, IllegalArgumentException, ClosedIllegalStateException, ThreadingIllegalStateException {
+        return BytesInternal.parseDecimal(this, scale);
+    }
+
     /**
      * Returns the number of decimal places in the last parsed floating-point number
      * (from the {@link #parseDouble()} or {@link #parseLongDecimal()} methods).
@@ -317,6 +336,24 @@ public interface ByteStringParser<B extends ByteStringParser<B>> extends Streami
         return BytesInternal.skipTo(this, tester);
     }
 
+    /**
+     * Parses an ISO-8601 timestamp such as {@code 2024-03-01T12:34:56.123456789Z} to nanoseconds since the epoch.
+     * A space may be used instead of {@code T}, the fraction may have any number of digits with those past
+     * nanoseconds truncated, and the zone may be {@code Z}, an offset such as {@code +01:00} or {@code -0530},
+     * or absent for UTC. The epoch day of the last date parsed is cached per thread and nothing is allocated.
+     *
+     * @return the nanoseconds since 1970-01-01T00:00:00Z
+     * @throws IORuntimeException             If the text is not a valid timestamp.
+     * @throws BufferUnderflowException       If there is insufficient data.
+     * @throws ClosedIllegalStateException    If the resource has been released or closed.
+     * @throws ThreadingIllegalStateException If this resource was accessed by multiple threads in an unsafe way.
+     * @see ByteStringAppender#appendIsoDateTime(long)
+     */
+    default long parseIsoDateTime()
+            throws IORuntimeException, BufferUnderflowException, ClosedIllegalStateException, ThreadingIllegalStateException {
+        return BytesInternal.parseIsoDateTime(this);
+    }
+
     /**
      * Parses text from the byte string as a BigDecimal.
      *
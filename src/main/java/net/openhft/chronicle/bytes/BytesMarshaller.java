@@ -4,6 +4,7 @@
 package net.openhft.chronicle.bytes;
 
 import net.openhft.chronicle.bytes.internal.BytesInternal;
+import net.openhft.chronicle.bytes.internal.MarshallerGenerator;
 import net.openhft.chronicle.core.Jvm;
 import net.openhft.chronicle.core.Maths;
 import net.openhft.chronicle.core.io.*;
@@ -34,8 +35,9 @@ public class BytesMarshaller<T> {
      * Provides a ClassLocal instance for holding a unique BytesMarshaller for each class.
      */
     public static final ClassLocal<BytesMarshaller> BYTES_MARSHALLER_CL
-            = ClassLocal.withInitial(BytesMarshaller::new);
-    private final FieldAccess[] fields;
+            = ClassLocal.withInitial(BytesMarshaller::create);
+    private static final boolean SPECIALISE = Jvm.getBoolean("bytes.marshaller.specialise");
+    final FieldAccess[] fields;
 
     /**
      * Constructs a BytesMarshaller for the specified class.
@@ -50,6 +52,39 @@ public class BytesMarshaller<T> {
                 .toArray(FieldAccess[]::new);
     }
 
+    /**
+     * Creates the marshaller for {@code tClass} held by {@link #BYTES_MARSHALLER_CL}. This is the reflective marshaller
+     * unless the system property {@code bytes.marshaller.specialise} is {@code true}, in which case a class is generated
+     * to marshal {@code tClass}, accessing its primitive fields directly, falling back to the reflective marshaller if
+     * it can't be generated. A class annotated with {@link RawLayout} is always specialised, as the reflective
+     * marshaller can't read its format, and a class annotated with {@link TaggedFields} uses a
+     * {@link TaggedBytesMarshaller}.
+     *
+     * @param tClass the class to marshal
+     * @return the marshaller for the class
+     * @throws UnsupportedOperationException if the class is annotated with {@link RawLayout} but can't be specialised
+     * @throws IllegalArgumentException      if the class has both annotations, or its {@link FieldId}s are invalid
+     */
+    @NotNull
+    static BytesMarshaller<?> create(@NotNull Class<?> tClass) throws UnsupportedOperationException, IllegalArgumentException {
+        final boolean tagged = tClass.isAnnotationPresent(TaggedFields.class);
+        if (tClass.isAnnotationPresent(RawLayout.class)) {
+            if (tagged)
+                throw new IllegalArgumentException(tClass.getName() + " cannot have both a RawLayout and TaggedFields");
+            return new SpecialisedBytesMarshaller<>(tClass, true);
+        }
+        if (tagged)
+            return new TaggedBytesMarshaller<>(tClass);
+        if (SPECIALISE) {
+            try {
+                return new SpecialisedBytesMarshaller<>(tClass);
+            } catch (UnsupportedOperationException e) {
+                Jvm.debug().on(BytesMarshaller.class, "Using reflection to marshal " + tClass.getName() + ": " + e);
+            }
+        }
+        return new BytesMarshaller<>(tClass);
+    }
+
     /**
      * Extracts all fields from the specified class and its superclasses and stores
      * them in the provided map. Only non-static and non-transient fields are considered.
@@ -94,7 +129,7 @@ public class BytesMarshaller<T> {
         }
     }
 
-    abstract static class FieldAccess {
+    abstract static class FieldAccess implements MarshallerGenerator.FieldMarshaller {
         final Field field;
 
         FieldAccess(@NotNull Field field) {
@@ -155,6 +190,14 @@ public class BytesMarshaller<T> {
             return new ScalarFieldAccess(field);
         }
 
+        /**
+         * @return true if the field, or the class declaring it, is annotated with {@link ReuseOnRead}
+         */
+        static boolean reuseOnRead(@NotNull Field field) {
+            return Jvm.findAnnotation(field, ReuseOnRead.class) != null
+                    || field.getDeclaringClass().isAnnotationPresent(ReuseOnRead.class);
+        }
+
         @NotNull
         static Class<?> extractClass(Type type0) {
             if (type0 instanceof Class)
@@ -173,7 +216,8 @@ public class BytesMarshaller<T> {
                     '}';
         }
 
-        void write(Object o, BytesOut<?> write)
+        @Override
+        public void write(Object o, BytesOut<?> write)
                 throws IllegalAccessException, IllegalArgumentException, ClosedIllegalStateException, BufferOverflowException, ArithmeticException, BufferUnderflowException, InvalidMarshallableException, ThreadingIllegalStateException {
             write.writeHexDumpDescription(field.getName());
             getValue(o, write);
@@ -182,7 +226,8 @@ public class BytesMarshaller<T> {
         protected abstract void getValue(Object o, BytesOut<?> write)
                 throws IllegalAccessException, BufferOverflowException, IllegalArgumentException, ClosedIllegalStateException, BufferUnderflowException, ArithmeticException, InvalidMarshallableException, ThreadingIllegalStateException;
 
-        void read(Object o, BytesIn<?> read)
+        @Override
+        public void read(Object o, BytesIn<?> read)
                 throws IORuntimeException, InvalidMarshallableException {
             try {
                 setValue(o, read);
@@ -348,9 +393,11 @@ public class BytesMarshaller<T> {
         @NotNull
         private final Class<?> componentType;
         private final Class<?> type;
+        private final boolean reuse;
 
         public CollectionFieldAccess(@NotNull Field field) {
             super(field);
+            reuse = reuseOnRead(field);
             type = field.getType();
             if (type == List.class || type == Collection.class)
                 collectionSupplier = ArrayList::new;
@@ -405,14 +452,40 @@ public class BytesMarshaller<T> {
             }
             BytesUtil.checkArrayLength(length, read.readRemaining());
 
-            if (c == null)
+            if (c == null) {
                 field.set(o, c = collectionSupplier.get());
-            else
+            } else if (reuse && c instanceof List && c instanceof RandomAccess) {
+                readReusing((List) c, length, read);
+                return;
+            } else {
                 c.clear();
+            }
 
             for (int i = 0; i < length; i++)
                 c.add(read.readObject(componentType));
         }
+
+        /**
+         * Reads into the elements already in the list where they are {@link BytesMarshallable} of the type
+         * {@link BytesIn#readObject(Class)} would create, adding elements as needed and removing any left over.
+         */
+        @SuppressWarnings("unchecked")
+        private void readReusing(List l, int length, BytesIn<?> read)
+                throws ClosedIllegalStateException, ArithmeticException, BufferUnderflowException, BufferOverflowException, InvalidMarshallableException {
+            final Class<?> elementClass = ObjectUtils.implementationToUse(componentType);
+            final int size = l.size();
+            for (int i = 0; i < length; i++) {
+                final Object o2 = i < size ? l.get(i) : null;
+                if (o2 instanceof BytesMarshallable && o2.getClass() == elementClass)
+                    ((BytesMarshallable) o2).readMarshallable(read);
+                else if (i < size)
+                    l.set(i, read.readObject(componentType));
+                else
+                    l.add(read.readObject(componentType));
+            }
+            for (int i = size - 1; i >= length; i--)
+                l.remove(i);
+        }
     }
 
     static class MapFieldAccess extends FieldAccess {
@@ -422,9 +495,11 @@ public class BytesMarshaller<T> {
         private final Class<?> keyType;
         @NotNull
         private final Class<?> valueType;
+        private final boolean reuse;
 
         public MapFieldAccess(@NotNull Field field) {
             super(field);
+            reuse = reuseOnRead(field);
             type = field.getType();
             if (type == Map.class)
                 collectionSupplier = LinkedHashMap::new;
@@ -474,6 +549,9 @@ public class BytesMarshaller<T> {
             BytesUtil.checkArrayLength(numEntries, read.readRemaining());
             if (m == null) {
                 field.set(o, m = collectionSupplier.get());
+            } else if (reuse) {
+                readReusing(m, numEntries, read);
+                return;
             } else {
                 m.clear();
             }
@@ -481,6 +559,43 @@ public class BytesMarshaller<T> {
                 m.put(read.readObject(keyType), read.readObject(valueType));
             }
         }
+
+        /**
+         * Reads into the values already in the map where they are {@link BytesMarshallable} of the type
+         * {@link BytesIn#readObject(Class)} would create. Only value allocations are saved, as each key is decoded
+         * to look it up. Each entry is removed and put back as it is read, so a {@link LinkedHashMap} is left in the
+         * order read, then the entries which were not read are removed.
+         */
+        @SuppressWarnings("unchecked")
+        private void readReusing(Map m, int numEntries, BytesIn<?> read)
+                throws ClosedIllegalStateException, ArithmeticException, BufferUnderflowException, BufferOverflowException, InvalidMarshallableException {
+            final Class<?> valueClass = ObjectUtils.implementationToUse(valueType);
+            // the entries read are last in a LinkedHashMap, otherwise the keys are needed to find the others
+            final boolean linked = m instanceof LinkedHashMap;
+            final List<Object> keys = linked || m.isEmpty() ? null : new ArrayList<>(numEntries);
+            for (int i = 0; i < numEntries; i++) {
+                final Object key = read.readObject(keyType);
+                Object value = m.remove(key);
+                if (value instanceof BytesMarshallable && value.getClass() == valueClass)
+                    ((BytesMarshallable) value).readMarshallable(read);
+                else
+                    value = read.readObject(valueType);
+                m.put(key, value);
+                if (keys != null)
+                    keys.add(key);
+            }
+            int notRead = m.size() - numEntries;
+            if (notRead <= 0)
+                return;
+            if (keys != null) {
+                m.keySet().retainAll(new HashSet<>(keys));
+                return;
+            }
+            for (Iterator<?> it = m.keySet().iterator(); notRead-- > 0; ) {
+                it.next();
+                it.remove();
+            }
+        }
     }
 
     static class BooleanFieldAccess extends FieldAccess {
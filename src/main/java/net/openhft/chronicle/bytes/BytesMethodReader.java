@@ -3,18 +3,23 @@
  */
 package net.openhft.chronicle.bytes;
 
+import net.openhft.chronicle.bytes.util.BinaryLengthLength;
 import net.openhft.chronicle.core.Jvm;
 import net.openhft.chronicle.core.io.ClosedIllegalStateException;
+import net.openhft.chronicle.core.io.IORuntimeException;
 import net.openhft.chronicle.core.io.InvalidMarshallableException;
 import net.openhft.chronicle.core.io.SimpleCloseable;
 import net.openhft.chronicle.core.io.ThreadingIllegalStateException;
 import net.openhft.chronicle.core.util.InvocationTargetRuntimeException;
 import net.openhft.chronicle.core.util.ObjectUtils;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.nio.BufferUnderflowException;
-import java.util.*;
+import java.util.Arrays;
 import java.util.function.Consumer;
 
 /**
@@ -23,13 +28,26 @@ import java.util.function.Consumer;
  * {@link MethodEncoder} instances, typically obtained via
  * {@link MethodEncoderLookup}, are used to decode arguments. This reader is not
  * thread-safe and extends {@link SimpleCloseable}.
+ * <p>
+ * Message ids below 1000 index an array of handlers and other ids are found in an
+ * open addressing table keyed by the primitive id, so dispatching a message
+ * neither boxes the id nor calls the method reflectively.
  */
-@SuppressWarnings("rawtypes")
+@SuppressWarnings({"rawtypes", "unchecked"})
 public class BytesMethodReader extends SimpleCloseable implements MethodReader {
     private final BytesIn<?> in;
     private final BytesParselet defaultParselet;
-    private final List<Consumer<BytesIn>> methodEncoders = new ArrayList<>();
-    private final Map<Long, Consumer<BytesIn>> methodEncoderMap = new LinkedHashMap<>();
+    private static final Consumer<BytesIn>[] NO_HANDLERS = new Consumer[0];
+    private static final MethodType SPREAD_VOID = MethodType.methodType(void.class, Object[].class);
+    static final int MESSAGES_PER_CLOCK_CHECK = 16;
+
+    private Consumer<BytesIn>[] methodEncoders = NO_HANDLERS;
+    // the handlers of the other message ids
+    private final LongObjectTable<Consumer<BytesIn>> sparseHandlers = new LongObjectTable<>();
+    private final BinaryLengthLength frameLengthLength;
+    // the end of the frame being read, if the messages are in frames
+    private long frameEnd = -1;
+    private MethodStatistics statistics;
 
     /**
      * @param in              the {@link BytesIn} stream from which messages are
@@ -43,9 +61,29 @@ public class BytesMethodReader extends SimpleCloseable implements MethodReader {
                              BytesParselet defaultParselet,
                              MethodEncoderLookup methodEncoderLookup,
                              Object[] objects) {
+        this(in, defaultParselet, methodEncoderLookup, null, objects);
+    }
+
+    /**
+     * @param in                  the {@link BytesIn} stream from which messages are
+     *                            read
+     * @param defaultParselet     handler for messages with unrecognised IDs
+     * @param methodEncoderLookup strategy for obtaining {@link MethodEncoder}
+     *                            instances
+     * @param frameLengthLength   the prefix of the frames written by a
+     *                            {@link BytesMethodWriterBatch}, or {@code null} if
+     *                            the messages are not in frames
+     * @param objects             target objects whose methods may be invoked
+     */
+    public BytesMethodReader(BytesIn<?> in,
+                             BytesParselet defaultParselet,
+                             MethodEncoderLookup methodEncoderLookup,
+                             BinaryLengthLength frameLengthLength,
+                             Object[] objects) {
 
         this.in = in;
         this.defaultParselet = defaultParselet;
+        this.frameLengthLength = frameLengthLength;
 
         for (Object object : objects) {
             for (Method method : object.getClass().getMethods()) {
@@ -60,7 +98,7 @@ public class BytesMethodReader extends SimpleCloseable implements MethodReader {
     /**
      * Prepares and stores a consumer for the supplied {@code method}. When
      * invoked it decodes arguments using {@code encoder} and calls the method on
-     * {@code object}.
+     * {@code object} through a {@link MethodHandle}.
      */
     private void addEncoder(Object object, Method method, MethodEncoder encoder) {
         Jvm.setAccessible(method);
@@ -70,23 +108,61 @@ public class BytesMethodReader extends SimpleCloseable implements MethodReader {
         for (int i = 0; i < count; i++) {
             array[0][i] = (BytesMarshallable) ObjectUtils.newInstance(parameterTypes[i]);
         }
-        Consumer<BytesIn> reader = bytesIn -> {
-            try {
-                array[0] = (BytesMarshallable[]) encoder.decode(array[0], bytesIn);
-                method.invoke(object, (Object[]) array[0]);
-            } catch (IllegalAccessException | InvocationTargetException | BufferUnderflowException |
-                     IllegalArgumentException | IllegalStateException | InvalidMarshallableException e) {
-                Jvm.warn().on(getClass(), "Exception calling " + method + " " + Arrays.toString(array[0]), e);
-                bytesIn.readPosition(bytesIn.readLimit());
-            }
-        };
+        MethodHandle handle = methodHandle(object, method, count);
+        Consumer<BytesIn> reader;
+        if (handle == null) {
+            reader = bytesIn -> {
+                try {
+                    array[0] = (BytesMarshallable[]) encoder.decode(array[0], bytesIn);
+                    method.invoke(object, (Object[]) array[0]);
+                } catch (IllegalAccessException | InvocationTargetException | BufferUnderflowException |
+                         IllegalArgumentException | IllegalStateException | InvalidMarshallableException e) {
+                    Jvm.warn().on(getClass(), "Exception calling " + method + " " + Arrays.toString(array[0]), e);
+                    bytesIn.readPosition(bytesIn.readLimit());
+                }
+            };
+        } else {
+            reader = bytesIn -> {
+                try {
+                    array[0] = (BytesMarshallable[]) encoder.decode(array[0], bytesIn);
+                } catch (BufferUnderflowException | IllegalArgumentException | IllegalStateException |
+                         InvalidMarshallableException e) {
+                    Jvm.warn().on(getClass(), "Exception calling " + method + " " + Arrays.toString(array[0]), e);
+                    bytesIn.readPosition(bytesIn.readLimit());
+                    return;
+                }
+                try {
+                    handle.invokeExact((Object[]) array[0]);
+                } catch (Throwable t) {
+                    // wrapped as Method.invoke would, so the cause is reported the same way
+                    Jvm.warn().on(getClass(), "Exception calling " + method + " " + Arrays.toString(array[0]), new InvocationTargetException(t));
+                    bytesIn.readPosition(bytesIn.readLimit());
+                }
+            };
+        }
         long messageId = encoder.messageId();
         if (messageId >= 0 && messageId < 1000) {
-            while (methodEncoders.size() <= messageId)
-                methodEncoders.add(null);
-            methodEncoders.set((int) messageId, reader);
+            if (methodEncoders.length <= messageId)
+                methodEncoders = Arrays.copyOf(methodEncoders, (int) messageId + 1);
+            methodEncoders[(int) messageId] = reader;
         } else {
-            methodEncoderMap.put(messageId, reader);
+            sparseHandlers.put(messageId, reader);
+        }
+    }
+
+    /**
+     * @return a handle taking the arguments as an {@code Object[]} and calling {@code method} on {@code object},
+     * or {@code null} if the method can't be looked up this way
+     */
+    private static MethodHandle methodHandle(Object object, Method method, int count) {
+        try {
+            return MethodHandles.lookup().unreflect(method)
+                    .bindTo(object)
+                    .asSpreader(Object[].class, count)
+                    .asType(SPREAD_VOID);
+        } catch (IllegalAccessException | IllegalArgumentException | ClassCastException e) {
+            Jvm.debug().on(BytesMethodReader.class, "Calling " + method + " reflectively " + e);
+            return null;
         }
     }
 
@@ -120,21 +196,154 @@ public class BytesMethodReader extends SimpleCloseable implements MethodReader {
             throws InvocationTargetRuntimeException, IllegalStateException, BufferUnderflowException {
         throwExceptionIfClosed();
 
+        if (frameLengthLength != null)
+            return readFramed();
         if (in.readRemaining() < 1)
             return false;
+        readMessage();
+        return true;
+    }
+
+    /**
+     * Reads up to {@code maxMessages} messages in one loop, stopping early when no more are available. A handler
+     * which throws is handled as by {@link #readOne()}, skipping the rest of the input, or of the frame if the
+     * messages are in frames, and counts as a message.
+     *
+     * @param maxMessages the most messages to read
+     * @return the number of messages read
+     * @throws ClosedIllegalStateException    if the {@link BytesIn} has been released
+     * @throws ThreadingIllegalStateException if accessed by multiple threads unsafely
+     */
+    public int readMany(int maxMessages)
+            throws InvocationTargetRuntimeException, IllegalStateException, BufferUnderflowException {
+        throwExceptionIfClosed();
+        return readMany0(maxMessages);
+    }
+
+    /**
+     * Reads messages until none are available or {@link System#nanoTime()} reaches {@code deadlineNanos}. The clock
+     * is read once every {@value #MESSAGES_PER_CLOCK_CHECK} messages, so up to that many messages can be read after
+     * the deadline, and at least one batch is read even if the deadline has passed.
+     *
+     * @param deadlineNanos the {@link System#nanoTime()} after which no more messages are read
+     * @return the number of messages read
+     * @throws ClosedIllegalStateException    if the {@link BytesIn} has been released
+     * @throws ThreadingIllegalStateException if accessed by multiple threads unsafely
+     */
+    public int readUntil(long deadlineNanos)
+            throws InvocationTargetRuntimeException, IllegalStateException, BufferUnderflowException {
+        throwExceptionIfClosed();
+        int count = 0;
+        int read;
+        do {
+            read = readMany0(MESSAGES_PER_CLOCK_CHECK);
+            count += read;
+        } while (read == MESSAGES_PER_CLOCK_CHECK && System.nanoTime() - deadlineNanos < 0);
+        return count;
+    }
+
+    private int readMany0(int maxMessages) {
+        int count = 0;
+        if (frameLengthLength != null) {
+            while (count < maxMessages && readFramed())
+                count++;
+            return count;
+        }
+        final BytesIn<?> in = this.in;
+        while (count < maxMessages && in.readRemaining() > 0) {
+            readMessage();
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Reads the next message of the current frame, or the first message of the next frame once it is committed.
+     * While a message is read the read limit is the end of its frame, so a handler which fails skips the rest of
+     * the frame rather than the rest of the input.
+     */
+    private boolean readFramed() {
+        if (in.readPosition() >= frameEnd && !readFrameHeader())
+            return false;
+        final long readLimit = in.readLimit();
+        in.readLimit(frameEnd);
+        try {
+            readMessage();
+        } finally {
+            in.readLimit(readLimit);
+        }
+        return true;
+    }
+
+    private boolean readFrameHeader() {
+        final long start = in.readPosition();
+        final int code = frameLengthLength.code();
+        final int headerLength = code == BinaryWireCode.BYTES_LENGTH8 ? 2 : code == BinaryWireCode.BYTES_LENGTH16 ? 3 : 5;
+        if (in.readRemaining() < headerLength)
+            return false;
+        final int actual = in.readUnsignedByte();
+        if (actual != code) {
+            in.readPosition(start);
+            throw new IORuntimeException("Expected a frame of " + frameLengthLength + " at " + start + " but the code was 0x" + Integer.toHexString(actual));
+        }
+        final long length = code == BinaryWireCode.BYTES_LENGTH8 ? in.readUnsignedByte()
+                : code == BinaryWireCode.BYTES_LENGTH16 ? in.readUnsignedShort()
+                : in.readVolatileInt() & 0xFFFFFFFFL;
+        // a length of zero is a frame still being written
+        if (length == 0 || length > in.readRemaining()) {
+            in.readPosition(start);
+            return false;
+        }
+        frameEnd = in.readPosition() + length;
+        return true;
+    }
+
+    private void readMessage() {
+        final MethodStatistics statistics = this.statistics;
+        if (statistics == null) {
+            dispatch();
+            return;
+        }
+        final long start = in.readPosition();
+        if (statistics.sampleLatency()) {
+            final long startNanos = System.nanoTime();
+            final long messageId = dispatch();
+            statistics.record(messageId, in.readPosition() - start, System.nanoTime() - startNanos);
+        } else {
+            final long messageId = dispatch();
+            statistics.record(messageId, in.readPosition() - start, -1);
+        }
+    }
+
+    /**
+     * Reads the id of the next message and passes the rest to its handler.
+     *
+     * @return the message id
+     */
+    private long dispatch() {
         long messageId = in.readStopBit();
         Consumer<BytesIn> consumer;
-        if (messageId >= 0 && messageId < methodEncoders.size())
-            consumer = methodEncoders.get((int) messageId);
+        if (messageId >= 0 && messageId < methodEncoders.length)
+            consumer = methodEncoders[(int) messageId];
         else
-            consumer = methodEncoderMap.get(messageId);
+            consumer = sparseHandlers.get(messageId);
         if (consumer == null) {
             defaultParselet.accept(messageId, in);
         } else {
             consumer.accept(in);
         }
+        return messageId;
+    }
 
-        return true;
+    /**
+     * Records the count, length and handling time of each message read.
+     *
+     * @param statistics to record to, or {@code null} for none
+     * @return this reader
+     */
+    BytesMethodReader statistics(MethodStatistics statistics) {
+        this.statistics = statistics;
+        return this;
     }
 
     /**
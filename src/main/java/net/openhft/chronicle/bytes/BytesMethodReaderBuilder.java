@@ -3,6 +3,7 @@
  */
 package net.openhft.chronicle.bytes;
 
+import net.openhft.chronicle.bytes.util.BinaryLengthLength;
 import net.openhft.chronicle.core.Jvm;
 import net.openhft.chronicle.core.io.ClosedIllegalStateException;
 import net.openhft.chronicle.core.io.ThreadingIllegalStateException;
@@ -23,6 +24,8 @@ public class BytesMethodReaderBuilder implements MethodReaderBuilder {
     private BytesParselet defaultParselet;
     private MethodEncoderLookup methodEncoderLookup = MethodEncoderLookup.BY_ANNOTATION;
     private ExceptionHandler exceptionHandlerOnUnknownMethod = Jvm.debug();
+    private BinaryLengthLength frameLengthLength;
+    private MethodStatistics statistics;
 
     /**
      * @param in the {@link BytesIn} stream from which serialised method calls
@@ -107,6 +110,30 @@ public class BytesMethodReaderBuilder implements MethodReaderBuilder {
         return this;
     }
 
+    /**
+     * Reads messages from frames written by a {@link BytesMethodWriterBatch}, each with a prefix of
+     * {@code lengthLength}. A frame which is not yet committed is not read.
+     *
+     * @param lengthLength the prefix of each frame, or {@code null} to read messages which are not in frames
+     * @return this builder for chained invocation
+     */
+    public BytesMethodReaderBuilder framed(BinaryLengthLength lengthLength) {
+        this.frameLengthLength = lengthLength;
+        return this;
+    }
+
+    /**
+     * Records the count, length and handling time of each message read by the readers built.
+     *
+     * @param statistics to record to, or {@code null} for none
+     * @return this builder for chained invocation
+     */
+    @Override
+    public BytesMethodReaderBuilder statistics(MethodStatistics statistics) {
+        this.statistics = statistics;
+        return this;
+    }
+
     /**
      * This builder does not support interceptors for method reader returns.
      *
@@ -135,6 +162,7 @@ public class BytesMethodReaderBuilder implements MethodReaderBuilder {
      * @return a new configured {@link BytesMethodReader}
      */
     public BytesMethodReader build(Object... objects) {
-        return new BytesMethodReader(in, defaultParselet(), methodEncoderLookup, objects);
+        return new BytesMethodReader(in, defaultParselet(), methodEncoderLookup, frameLengthLength, objects)
+                .statistics(statistics);
     }
 }
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2013-2025 chronicle.software; SPDX-License-Identifier: Apache-2.0
+ */
+package net.openhft.chronicle.bytes;
+
+import net.openhft.chronicle.bytes.util.BinaryLengthLength;
+import net.openhft.chronicle.core.io.InvalidMarshallableException;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+
+import static net.openhft.chronicle.bytes.internal.ReferenceCountedUtil.throwExceptionIfReleased;
+
+/**
+ * Collects the calls made to a binary method writer into frames, where each frame is a {@link BinaryLengthLength}
+ * prefix followed by any number of messages in the same format as {@link BytesOut#bytesMethodWriter(Class, Class[])}.
+ * The length is written when the frame is committed, so a reader sees either none or all of the messages in a frame.
+ * <p>
+ * A frame is committed by {@link #flush()}, or after a message when the frame reaches {@code maxFrameBytes} or has
+ * been open for {@code maxFrameNanos}. {@link #flushIfDue()} commits a frame which has been open for too long
+ * without waiting for another message. A frame which would be too long for its prefix is committed before the message
+ * which would overflow it.
+ * <p>
+ * Frames are read by a {@link BytesMethodReader} built with {@link BytesMethodReaderBuilder#framed(BinaryLengthLength)},
+ * which iterates the messages of each frame with {@link BytesMethodReader#readOne()}.
+ * <p>Example usage:</p>
+ * <pre>{@code
+ * BytesMethodWriterBatch<Events> batch = new BytesMethodWriterBatch<>(Events.class, bytes, BinaryLengthLength.LENGTH_16BIT, 4096, 1_000_000);
+ * batch.writer().event(event1);
+ * batch.writer().event(event2);
+ * batch.flush();
+ * }</pre>
+ * This class is not thread-safe.
+ *
+ * @param <T> interface of the method writer
+ */
+public final class BytesMethodWriterBatch<T> {
+    private final Bytes<?> out;
+    private final BinaryLengthLength lengthLength;
+    private final long maxFrameBytes;
+    private final long maxFrameNanos;
+    private final T writer;
+    private long lengthPosition = -1;
+    private long openedNanos;
+    private int messages;
+
+    /**
+     * @param tClass        interface of the method writer
+     * @param out           to write the frames to
+     * @param lengthLength  prefix of each frame
+     * @param maxFrameBytes length of the messages in a frame after which it is committed
+     * @param maxFrameNanos time after which an open frame is committed, or 0 to only commit on size or flush
+     * @throws IllegalArgumentException If {@code maxFrameBytes} is not positive or {@code maxFrameNanos} is negative
+     */
+    @SuppressWarnings("unchecked")
+    public BytesMethodWriterBatch(@NotNull Class<T> tClass, @NotNull Bytes<?> out, @NotNull BinaryLengthLength lengthLength,
+                                  long maxFrameBytes, long maxFrameNanos) throws IllegalArgumentException {
+        if (maxFrameBytes <= 0)
+            throw new IllegalArgumentException("maxFrameBytes must be positive, was " + maxFrameBytes);
+        if (maxFrameNanos < 0)
+            throw new IllegalArgumentException("maxFrameNanos must not be negative, was " + maxFrameNanos);
+        throwExceptionIfReleased(out);
+        this.out = out;
+        this.lengthLength = lengthLength;
+        this.maxFrameBytes = maxFrameBytes;
+        this.maxFrameNanos = maxFrameNanos;
+        this.writer = (T) Proxy.newProxyInstance(tClass.getClassLoader(), new Class<?>[]{tClass},
+                new BatchingInvocationHandler(tClass));
+    }
+
+    /**
+     * @return the method writer, each call of which adds a message to the current frame
+     */
+    @NotNull
+    public T writer() {
+        return writer;
+    }
+
+    /**
+     * @return the number of messages in the frame which is not yet committed
+     */
+    public int pendingMessages() {
+        return messages;
+    }
+
+    /**
+     * Commits the current frame, if any messages have been written to it.
+     *
+     * @return true if a frame was committed
+     */
+    public boolean flush() {
+        if (lengthPosition < 0)
+            return false;
+        if (messages == 0) {
+            // nothing was written since the prefix, so remove it rather than commit an empty frame
+            out.writePosition(lengthPosition - 1);
+            lengthPosition = -1;
+            return false;
+        }
+        lengthLength.writeLength(out, lengthPosition, out.writePosition());
+        lengthPosition = -1;
+        messages = 0;
+        return true;
+    }
+
+    /**
+     * Commits the current frame if it has been open for at least {@code maxFrameNanos}.
+     *
+     * @return true if a frame was committed
+     */
+    public boolean flushIfDue() {
+        return lengthPosition >= 0 && maxFrameNanos > 0
+                && System.nanoTime() - openedNanos >= maxFrameNanos
+                && flush();
+    }
+
+    private long maxLength() {
+        switch (lengthLength) {
+            case LENGTH_8BIT:
+                return (1 << 8) - 1;
+            case LENGTH_16BIT:
+                return (1 << 16) - 1;
+            default:
+                return Integer.MAX_VALUE;
+        }
+    }
+
+    private int lengthBytes() {
+        switch (lengthLength) {
+            case LENGTH_8BIT:
+                return 1;
+            case LENGTH_16BIT:
+                return 2;
+            default:
+                return 4;
+        }
+    }
+
+    /**
+     * Opens a frame on the first message, and commits it when it is full or due.
+     */
+    private final class BatchingInvocationHandler extends BinaryBytesMethodWriterInvocationHandler {
+        BatchingInvocationHandler(Class<?> tClass) {
+            super(tClass, MethodEncoderLookup.BY_ANNOTATION, out);
+        }
+
+        @Override
+        protected Object doInvoke(Object proxy, Method method, Object[] args)
+                throws IllegalStateException, BufferOverflowException, BufferUnderflowException, IllegalArgumentException, ArithmeticException, InvalidMarshallableException {
+            if (lengthPosition < 0)
+                open();
+            final long start = out.writePosition();
+            super.doInvoke(proxy, method, args);
+            if (out.writePosition() == start)
+                return null;
+            if (out.writePosition() - lengthPosition - lengthBytes() > maxLength()) {
+                // too long for the prefix, so commit the frame without this message and write it to a new one
+                out.writePosition(start);
+                final boolean committed = flush();
+                if (committed)
+                    return doInvoke(proxy, method, args);
+                throw new IllegalStateException("A " + method.getName() + " message is too long for " + lengthLength);
+            }
+            messages++;
+            if (out.writePosition() - lengthPosition - lengthBytes() >= maxFrameBytes)
+                flush();
+            else
+                flushIfDue();
+            return null;
+        }
+
+        private void open() {
+            lengthPosition = lengthLength.initialise(out);
+            openedNanos = maxFrameNanos > 0 ? System.nanoTime() : 0;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2013-2025 chronicle.software; SPDX-License-Identifier: Apache-2.0
+ */
+package net.openhft.chronicle.bytes;
+
+import net.openhft.chronicle.bytes.internal.MethodWriterGenerator;
+import net.openhft.chronicle.core.io.Closeable;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.Proxy;
+
+import static net.openhft.chronicle.bytes.internal.ReferenceCountedUtil.throwExceptionIfReleased;
+
+/**
+ * Builder for binary method writers which write to a {@link BytesOut} in the same format as
+ * {@link BytesOut#bytesMethodWriter(Class, Class[])}. Implements {@link MethodWriterBuilder}.
+ * <p>
+ * This builds a proxy using a {@link BinaryBytesMethodWriterInvocationHandler}, or with {@link #generate(boolean)}
+ * a generated class if the interface supports it and neither {@link #statistics(MethodStatistics)} nor
+ * {@link #onClose(Closeable)} is used.
+ *
+ * @param <T> interface of the method writer
+ */
+public class BytesMethodWriterBuilder<T> implements MethodWriterBuilder<T> {
+    private final Class<T> tClass;
+    private final BytesOut<?> out;
+    private Closeable closeable;
+    private MethodStatistics statistics;
+    private boolean generate = MethodWriterGenerator.GENERATE;
+
+    /**
+     * @param tClass interface of the method writer
+     * @param out    to write the method calls to
+     * @throws NullPointerException        if {@code out} is {@code null}
+     * @throws net.openhft.chronicle.core.io.ClosedIllegalStateException if {@code out} has been released
+     */
+    public BytesMethodWriterBuilder(@NotNull Class<T> tClass, @NotNull BytesOut<?> out) {
+        throwExceptionIfReleased(out);
+        this.tClass = tClass;
+        this.out = out;
+    }
+
+    /**
+     * Generic events are not supported by binary method writers.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public MethodWriterBuilder<T> genericEvent(String genericEvent) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public BytesMethodWriterBuilder<T> onClose(Closeable closeable) {
+        this.closeable = closeable;
+        return this;
+    }
+
+    /**
+     * Records the count, length and encoding time of each message written.
+     *
+     * @param statistics to record to, or {@code null} for none
+     * @return this builder, so invocations can be chained
+     */
+    @Override
+    public BytesMethodWriterBuilder<T> statistics(MethodStatistics statistics) {
+        this.statistics = statistics;
+        return this;
+    }
+
+    /**
+     * Whether to generate a class which writes each method directly, without a proxy, an argument array or a lookup
+     * of the method. The format written is the same. An interface which can't be generated uses a proxy, see
+     * {@link MethodWriterGenerator}.
+     *
+     * @param generate whether to generate a class, defaults to {@code -Dbytes.method.writer.generate}
+     * @return this builder, so invocations can be chained
+     */
+    public BytesMethodWriterBuilder<T> generate(boolean generate) {
+        this.generate = generate;
+        return this;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public T get() {
+        if (generate && closeable == null && statistics == null) {
+            final T generated = MethodWriterGenerator.newInstance(tClass, out);
+            if (generated != null)
+                return generated;
+        }
+        final BinaryBytesMethodWriterInvocationHandler handler =
+                new BinaryBytesMethodWriterInvocationHandler(tClass, MethodEncoderLookup.BY_ANNOTATION, out)
+                        .statistics(statistics);
+        handler.onClose(closeable);
+        return (T) Proxy.newProxyInstance(tClass.getClassLoader(), new Class<?>[]{tClass}, handler);
+    }
+}
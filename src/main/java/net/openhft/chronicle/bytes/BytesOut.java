@@ -3,6 +3,7 @@
  */
 package net.openhft.chronicle.bytes;
 
+import net.openhft.chronicle.bytes.internal.MethodWriterGenerator;
 import net.openhft.chronicle.core.io.ClosedIllegalStateException;
 import net.openhft.chronicle.core.io.InvalidMarshallableException;
 import net.openhft.chronicle.core.io.ThreadingIllegalStateException;
@@ -31,12 +32,18 @@ public interface BytesOut<U> extends
 
     /**
      * Returns a proxy that serialises method calls to this output. Additional
-     * interfaces may be supplied.
+     * interfaces may be supplied. When there are none and {@link MethodWriterGenerator#GENERATE}
+     * is set, a generated class is used instead of a proxy if the interface supports it.
      */
     @NotNull
     default <T> T bytesMethodWriter(@NotNull Class<T> tClass, Class<?>... additional)
             throws IllegalArgumentException, ClosedIllegalStateException {
         throwExceptionIfReleased(this);
+        if (additional.length == 0 && MethodWriterGenerator.GENERATE) {
+            final T generated = MethodWriterGenerator.newInstance(tClass, this);
+            if (generated != null)
+                return generated;
+        }
         Class[] interfaces = ObjectUtils.addAll(tClass, additional);
 
         //noinspection unchecked
@@ -44,6 +51,17 @@ public interface BytesOut<U> extends
                 new BinaryBytesMethodWriterInvocationHandler(tClass, MethodEncoderLookup.BY_ANNOTATION, this));
     }
 
+    /**
+     * Creates a builder for a binary method writer to this output.
+     *
+     * @param tClass interface of the method writer
+     * @return a BytesMethodWriterBuilder for this BytesOut.
+     */
+    @NotNull
+    default <T> BytesMethodWriterBuilder<T> bytesMethodWriterBuilder(@NotNull Class<T> tClass) {
+        return new BytesMethodWriterBuilder<>(tClass, this);
+    }
+
     /**
      * Serialises {@code marshallable} prefixed with a 16-bit length.
      */
@@ -0,0 +1,270 @@
+/*
+ * Copyright 2013-2025 chronicle.software; SPDX-License-Identifier: Apache-2.0
+ */
+package net.openhft.chronicle.bytes;
+
+import net.openhft.chronicle.core.io.ClosedIllegalStateException;
+import net.openhft.chronicle.core.io.IORuntimeException;
+import net.openhft.chronicle.core.io.InvalidMarshallableException;
+import net.openhft.chronicle.core.io.ThreadingIllegalStateException;
+import net.openhft.chronicle.core.util.ObjectUtils;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.Field;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.util.List;
+import java.util.ListIterator;
+
+import static net.openhft.chronicle.bytes.SpecialisedBytesMarshaller.*;
+import static net.openhft.chronicle.core.UnsafeMemory.MEMORY;
+
+/**
+ * Writes a batch of {@link BytesMarshallable} records of the same class column by column, rather than one
+ * record at a time. The values of each primitive field are written together, which compresses better and
+ * is read back with a tight loop per field. Integer, long, short, byte and char columns can optionally be
+ * delta encoded, writing the difference from the previous record as a stop bit number, which suits
+ * sequence numbers and timestamps. Other fields are written with the same format as {@link BytesMarshaller}.
+ * <p>
+ * A batch is the number of records as a stop bit, a byte of flags and then each column in declaration order.
+ * <p>Example usage:</p>
+ * <pre>{@code
+ * ColumnarMarshaller<Tick> ticks = ColumnarMarshaller.of(Tick.class, true);
+ * ticks.writeBatch(bytes, batch);
+ * int count = ticks.readBatch(bytes, reused);
+ * }</pre>
+ *
+ * @param <T> type of the records
+ */
+@SuppressWarnings("rawtypes")
+public final class ColumnarMarshaller<T extends BytesMarshallable> {
+    private static final int DELTA = 1;
+
+    private final Class<T> tClass;
+    private final boolean delta;
+    private final BytesMarshaller.FieldAccess[] fields;
+    private final byte[] kinds;
+    private final long[] offsets;
+
+    private ColumnarMarshaller(@NotNull Class<T> tClass, boolean delta) {
+        this.tClass = tClass;
+        this.delta = delta;
+        this.fields = new BytesMarshaller<>(tClass).fields;
+        kinds = new byte[fields.length];
+        offsets = new long[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            final Field field = fields[i].field;
+            kinds[i] = kindOf(field.getType());
+            if (kinds[i] != OTHER)
+                offsets[i] = MEMORY.objectFieldOffset(field);
+        }
+    }
+
+    /**
+     * Creates a marshaller for batches of {@code tClass}.
+     *
+     * @param tClass the class of the records
+     * @param delta  whether to delta encode integral columns when writing
+     * @return the marshaller
+     */
+    @NotNull
+    public static <T extends BytesMarshallable> ColumnarMarshaller<T> of(@NotNull Class<T> tClass, boolean delta) {
+        return new ColumnarMarshaller<>(tClass, delta);
+    }
+
+    /**
+     * Writes {@code records} column by column.
+     *
+     * @param out     to write to
+     * @param records to write, which must all be exactly the class of this marshaller
+     * @throws IllegalArgumentException       If a record is not exactly the class of this marshaller
+     * @throws BufferOverflowException        If there is not enough space
+     * @throws ClosedIllegalStateException    If the resource has been released or closed.
+     * @throws ThreadingIllegalStateException If this resource was accessed by multiple threads in an unsafe way
+     */
+    public void writeBatch(@NotNull BytesOut<?> out, @NotNull List<? extends T> records)
+            throws IllegalArgumentException, BufferOverflowException, ClosedIllegalStateException, InvalidMarshallableException, ThreadingIllegalStateException {
+        final int count = records.size();
+        int r = 0;
+        for (T record : records) {
+            if (record.getClass() != tClass)
+                throw new IllegalArgumentException("Expected a " + tClass.getName() + " but record " + r + " was " + record.getClass().getName());
+            r++;
+        }
+        out.writeHexDumpDescription("count");
+        out.writeStopBit(count);
+        out.writeByte((byte) (delta ? DELTA : 0));
+        out.adjustHexDumpIndentation(+1);
+        try {
+            for (int i = 0; i < fields.length; i++) {
+                out.writeHexDumpDescription(fields[i].field.getName());
+                writeColumn(out, records, i);
+            }
+        } catch (IllegalAccessException e) {
+            throw new AssertionError(e);
+        } finally {
+            out.adjustHexDumpIndentation(-1);
+        }
+    }
+
+    private void writeColumn(BytesOut<?> out, List<? extends T> records, int i)
+            throws IllegalAccessException, BufferOverflowException, ClosedIllegalStateException, InvalidMarshallableException, ThreadingIllegalStateException {
+        final long offset = offsets[i];
+        long prev = 0;
+        switch (kinds[i]) {
+            case BOOLEAN:
+                for (T record : records)
+                    out.writeBoolean(MEMORY.readByte(record, offset) != 0);
+                break;
+            case BYTE:
+                if (delta) {
+                    for (T record : records) {
+                        final byte value = MEMORY.readByte(record, offset);
+                        out.writeStopBit(value - prev);
+                        prev = value;
+                    }
+                } else {
+                    for (T record : records)
+                        out.writeByte(MEMORY.readByte(record, offset));
+                }
+                break;
+            case CHAR:
+                if (delta) {
+                    for (T record : records) {
+                        final char value = (char) MEMORY.readShort(record, offset);
+                        out.writeStopBit(value - prev);
+                        prev = value;
+                    }
+                } else {
+                    for (T record : records)
+                        out.writeShort(MEMORY.readShort(record, offset));
+                }
+                break;
+            case SHORT:
+                if (delta) {
+                    for (T record : records) {
+                        final short value = MEMORY.readShort(record, offset);
+                        out.writeStopBit(value - prev);
+                        prev = value;
+                    }
+                } else {
+                    for (T record : records)
+                        out.writeShort(MEMORY.readShort(record, offset));
+                }
+                break;
+            case INT:
+                if (delta) {
+                    for (T record : records) {
+                        final int value = MEMORY.readInt(record, offset);
+                        out.writeStopBit(value - prev);
+                        prev = value;
+                    }
+                } else {
+                    for (T record : records)
+                        out.writeInt(MEMORY.readInt(record, offset));
+                }
+                break;
+            case FLOAT:
+                for (T record : records)
+                    out.writeFloat(MEMORY.readFloat(record, offset));
+                break;
+            case LONG:
+                if (delta) {
+                    for (T record : records) {
+                        final long value = MEMORY.readLong(record, offset);
+                        // wraps on overflow and is undone by the same wrap when reading
+                        out.writeStopBit(value - prev);
+                        prev = value;
+                    }
+                } else {
+                    for (T record : records)
+                        out.writeLong(MEMORY.readLong(record, offset));
+                }
+                break;
+            case DOUBLE:
+                for (T record : records)
+                    out.writeDouble(MEMORY.readDouble(record, offset));
+                break;
+            default:
+                for (T record : records)
+                    fields[i].getValue(record, out);
+                break;
+        }
+    }
+
+    /**
+     * Reads a batch into {@code records}, reusing the records already in the list and adding or removing
+     * records at the end so it holds exactly the batch.
+     *
+     * @param in      to read from
+     * @param records to fill, which must only hold records of exactly the class of this marshaller
+     * @return the number of records read
+     * @throws IORuntimeException If the batch could not be read
+     */
+    public int readBatch(@NotNull BytesIn<?> in, @NotNull List<T> records)
+            throws IORuntimeException, InvalidMarshallableException {
+        try {
+            final long count0 = in.readStopBit();
+            // each column has at least a byte per record, so only a class with no fields has no limit
+            final long maxCount = fields.length == 0 ? Integer.MAX_VALUE : in.readRemaining();
+            if (count0 < 0 || count0 > maxCount)
+                throw new IORuntimeException("Invalid batch size " + count0);
+            final int count = (int) count0;
+            final boolean deltas = (in.readByte() & DELTA) != 0;
+            for (int r = records.size(); r < count; r++)
+                records.add(ObjectUtils.newInstance(tClass));
+            if (records.size() > count)
+                records.subList(count, records.size()).clear();
+            for (ListIterator<T> it = records.listIterator(); it.hasNext(); )
+                if (it.next().getClass() != tClass)
+                    it.set(ObjectUtils.newInstance(tClass));
+            for (int i = 0; i < fields.length; i++)
+                readColumn(in, records, i, deltas);
+            return count;
+        } catch (BufferUnderflowException | IllegalArgumentException | ArithmeticException |
+                 ClosedIllegalStateException | BufferOverflowException e) {
+            throw new IORuntimeException(e);
+        }
+    }
+
+    private void readColumn(BytesIn<?> in, List<T> records, int i, boolean deltas)
+            throws IORuntimeException, BufferUnderflowException, ClosedIllegalStateException, InvalidMarshallableException {
+        final long offset = offsets[i];
+        long prev = 0;
+        switch (kinds[i]) {
+            case BOOLEAN:
+                for (T record : records)
+                    MEMORY.writeByte(record, offset, (byte) (in.readBoolean() ? 1 : 0));
+                break;
+            case BYTE:
+                for (T record : records)
+                    MEMORY.writeByte(record, offset, deltas ? (byte) (prev += in.readStopBit()) : in.readByte());
+                break;
+            case CHAR:
+            case SHORT:
+                for (T record : records)
+                    MEMORY.writeShort(record, offset, deltas ? (short) (prev += in.readStopBit()) : in.readShort());
+                break;
+            case INT:
+                for (T record : records)
+                    MEMORY.writeInt(record, offset, deltas ? (int) (prev += in.readStopBit()) : in.readInt());
+                break;
+            case FLOAT:
+                for (T record : records)
+                    MEMORY.writeFloat(record, offset, in.readFloat());
+                break;
+            case LONG:
+                for (T record : records)
+                    MEMORY.writeLong(record, offset, deltas ? (prev += in.readStopBit()) : in.readLong());
+                break;
+            case DOUBLE:
+                for (T record : records)
+                    MEMORY.writeDouble(record, offset, in.readDouble());
+                break;
+            default:
+                for (T record : records)
+                    fields[i].read(record, in);
+                break;
+        }
+    }
+}
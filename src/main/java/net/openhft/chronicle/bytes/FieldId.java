@@ -0,0 +1,23 @@
+/*
+ * Copyright 2013-2025 chronicle.software; SPDX-License-Identifier: Apache-2.0
+ */
+package net.openhft.chronicle.bytes;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The id written before a field of a class annotated with {@link TaggedFields}. The id must be unique within
+ * the class and its super classes and should not be reused for a field of a different meaning.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface FieldId {
+
+    /**
+     * @return the id of the field, which must be positive
+     */
+    int value();
+}
@@ -604,6 +604,11 @@ public class HexDumpBytes
         return base.readStopBitDecimal();
     }
 
+    @Override
+    public long readStopBitDecimal(int scale) throws IllegalStateException, BufferUnderflowException, ArithmeticException, IllegalArgumentException {
+        return base.readStopBitDecimal(scale);
+    }
+
     @Override
     public byte readByte() throws IllegalStateException {
         return base.readByte();
@@ -1585,6 +1590,19 @@ public class HexDumpBytes
         }
     }
 
+    @NotNull
+    @Override
+    public Bytes<Void> writeStopBitDecimal(long mantissa, int scale) throws BufferOverflowException, IllegalStateException, IllegalArgumentException {
+        long pos = base.writePosition();
+        try {
+            base.writeStopBitDecimal(mantissa, scale);
+            return this;
+
+        } finally {
+            copyToText(pos);
+        }
+    }
+
     @NotNull
     @Override
     public Bytes<Void> writeUtf8(@Nullable CharSequence text) throws BufferOverflowException, IllegalStateException, IllegalArgumentException {
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2013-2025 chronicle.software; SPDX-License-Identifier: Apache-2.0
+ */
+package net.openhft.chronicle.bytes;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * An open addressing table of non-null values keyed by a primitive long, so looking up a message id neither boxes
+ * it nor follows a chain of entries. It is kept at most half full and is not thread-safe.
+ *
+ * @param <V> type of the values
+ */
+final class LongObjectTable<V> {
+    private static final int INITIAL_CAPACITY = 8;
+
+    private long[] keys;
+    // a null value is an empty slot
+    private Object[] values;
+    private int size;
+
+    LongObjectTable() {
+        clear();
+    }
+
+    private static int slot(long key, int mask) {
+        return (int) (key * 0x9E3779B97F4A7C15L >>> 32) & mask;
+    }
+
+    /**
+     * @return the value for {@code key}, or null if there is none
+     */
+    @SuppressWarnings("unchecked")
+    @Nullable
+    V get(long key) {
+        final long[] keys = this.keys;
+        final Object[] values = this.values;
+        final int mask = keys.length - 1;
+        for (int i = slot(key, mask); ; i = (i + 1) & mask) {
+            final Object value = values[i];
+            if (value == null || keys[i] == key)
+                return (V) value;
+        }
+    }
+
+    /**
+     * Adds or replaces the value for {@code key}.
+     */
+    void put(long key, V value) {
+        if (value == null)
+            throw new NullPointerException();
+        if ((size + 1) * 2 > keys.length)
+            resize();
+        final int mask = keys.length - 1;
+        int i = slot(key, mask);
+        for (; values[i] != null; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                values[i] = value;
+                return;
+            }
+        }
+        keys[i] = key;
+        values[i] = value;
+        size++;
+    }
+
+    private void resize() {
+        final long[] oldKeys = keys;
+        final Object[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new Object[oldKeys.length * 2];
+        final int mask = keys.length - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldValues[j] == null)
+                continue;
+            int i = slot(oldKeys[j], mask);
+            while (values[i] != null)
+                i = (i + 1) & mask;
+            keys[i] = oldKeys[j];
+            values[i] = oldValues[j];
+        }
+    }
+
+    /**
+     * @return the number of keys
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return the keys, in no particular order
+     */
+    long[] keys() {
+        final long[] result = new long[size];
+        int count = 0;
+        for (int i = 0; i < keys.length; i++)
+            if (values[i] != null)
+                result[count++] = keys[i];
+        return result;
+    }
+
+    /**
+     * Removes every key.
+     */
+    void clear() {
+        keys = new long[INITIAL_CAPACITY];
+        values = new Object[INITIAL_CAPACITY];
+        size = 0;
+    }
+}
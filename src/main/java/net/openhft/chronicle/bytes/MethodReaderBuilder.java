@@ -75,4 +75,15 @@ public interface MethodReaderBuilder {
     default MethodReaderBuilder predicate(Predicate<MethodReader> predicate) {
         return this;
     }
+
+    /**
+     * Records the count, length and handling time of each message read, per message id.
+     *
+     * @param statistics to record to
+     * @return the builder instance for method chaining
+     * @throws UnsupportedOperationException if the implementation does not support this operation
+     */
+    default MethodReaderBuilder statistics(MethodStatistics statistics) {
+        throw new UnsupportedOperationException();
+    }
 }
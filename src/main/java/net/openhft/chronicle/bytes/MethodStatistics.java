@@ -0,0 +1,232 @@
+/*
+ * Copyright 2013-2025 chronicle.software; SPDX-License-Identifier: Apache-2.0
+ */
+package net.openhft.chronicle.bytes;
+
+import net.openhft.chronicle.core.Maths;
+import net.openhft.chronicle.core.io.ClosedIllegalStateException;
+import net.openhft.chronicle.core.util.Histogram;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.util.Arrays;
+
+/**
+ * Counts the messages read by a {@link BytesMethodReader} or written by a binary method writer, per message id,
+ * with the bytes each message takes and a {@link Histogram} of the nanoseconds spent handling or encoding it.
+ * It is added with {@link BytesMethodReaderBuilder#statistics(MethodStatistics)} or
+ * {@link BytesMethodWriterBuilder#statistics(MethodStatistics)}.
+ * <p>
+ * Reading the clock is the main cost, so only one in {@code latencySampleRate} messages is timed, while every message
+ * is counted. A snapshot can be written with {@link #writeSnapshot(BytesOut)} and read with
+ * {@link #readSnapshot(BytesIn)}, e.g. to publish it to a monitoring process.
+ * <p>
+ * This class is not thread-safe, so each reader or writer should have its own.
+ */
+public final class MethodStatistics {
+    private static final int DENSE_IDS = 1000;
+    private static final Entry[] NO_ENTRIES = new Entry[0];
+
+    private final int sampleMask;
+    private long sampleCounter;
+    private Entry[] dense = NO_ENTRIES;
+    private final LongObjectTable<Entry> sparse = new LongObjectTable<>();
+
+    /**
+     * Times every message.
+     */
+    public MethodStatistics() {
+        this(1);
+    }
+
+    /**
+     * @param latencySampleRate times one message in this many, rounded up to a power of two, or 0 to time none
+     * @throws IllegalArgumentException If {@code latencySampleRate} is negative
+     */
+    public MethodStatistics(int latencySampleRate) throws IllegalArgumentException {
+        if (latencySampleRate < 0)
+            throw new IllegalArgumentException("latencySampleRate must not be negative, was " + latencySampleRate);
+        this.sampleMask = latencySampleRate == 0 ? -1 : Maths.nextPower2(latencySampleRate, 1) - 1;
+    }
+
+    /**
+     * @return true if the next message should be timed
+     */
+    boolean sampleLatency() {
+        return sampleMask >= 0 && (sampleCounter++ & sampleMask) == 0;
+    }
+
+    /**
+     * Records one message.
+     *
+     * @param messageId of the message
+     * @param bytes     the length of the message including its id
+     * @param nanos     the time taken to handle or encode it, or a negative number if it was not timed
+     */
+    public void record(long messageId, long bytes, long nanos) {
+        final Entry entry = entry(messageId);
+        entry.count++;
+        entry.bytes += bytes;
+        if (nanos >= 0)
+            entry.latencies().sampleNanos(nanos);
+    }
+
+    private Entry entry(long messageId) {
+        if (messageId >= 0 && messageId < DENSE_IDS) {
+            if (messageId < dense.length) {
+                final Entry entry = dense[(int) messageId];
+                if (entry != null)
+                    return entry;
+            } else {
+                dense = Arrays.copyOf(dense, (int) messageId + 1);
+            }
+            return dense[(int) messageId] = new Entry(messageId);
+        }
+        Entry entry = sparse.get(messageId);
+        if (entry == null)
+            sparse.put(messageId, entry = new Entry(messageId));
+        return entry;
+    }
+
+    @Nullable
+    private Entry find(long messageId) {
+        if (messageId >= 0 && messageId < DENSE_IDS)
+            return messageId < dense.length ? dense[(int) messageId] : null;
+        return sparse.get(messageId);
+    }
+
+    /**
+     * @param messageId of the messages
+     * @return the number of messages recorded with this id
+     */
+    public long count(long messageId) {
+        final Entry entry = find(messageId);
+        return entry == null ? 0 : entry.count;
+    }
+
+    /**
+     * @param messageId of the messages
+     * @return the total length of the messages recorded with this id
+     */
+    public long bytes(long messageId) {
+        final Entry entry = find(messageId);
+        return entry == null ? 0 : entry.bytes;
+    }
+
+    /**
+     * @param messageId of the messages
+     * @return the nanoseconds taken by the timed messages with this id, or null if none were timed
+     */
+    @Nullable
+    public Histogram latencies(long messageId) {
+        final Entry entry = find(messageId);
+        return entry == null ? null : entry.latencies;
+    }
+
+    /**
+     * @return the ids of the messages recorded, in ascending order
+     */
+    @NotNull
+    public long[] messageIds() {
+        final long[] ids = new long[dense.length + sparse.size()];
+        int count = 0;
+        for (Entry entry : dense)
+            if (entry != null)
+                ids[count++] = entry.messageId;
+        for (long id : sparse.keys())
+            ids[count++] = id;
+        final long[] sorted = Arrays.copyOf(ids, count);
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    /**
+     * Removes everything recorded.
+     */
+    public void reset() {
+        dense = NO_ENTRIES;
+        sparse.clear();
+    }
+
+    /**
+     * Writes the statistics of each message id, as the number of ids and then for each the id, count and bytes as
+     * stop bits and whether there is a histogram, followed by the histogram.
+     *
+     * @param out to write to
+     * @throws BufferOverflowException     If there is not enough space
+     * @throws ClosedIllegalStateException If the resource has been released or closed.
+     */
+    public void writeSnapshot(@NotNull BytesOut<?> out) throws BufferOverflowException, ClosedIllegalStateException {
+        final long[] ids = messageIds();
+        out.writeStopBit(ids.length);
+        for (long id : ids) {
+            final Entry entry = find(id);
+            assert entry != null;
+            out.writeHexDumpDescription("messageId");
+            out.writeStopBit(id);
+            out.writeStopBit(entry.count);
+            out.writeStopBit(entry.bytes);
+            out.writeBoolean(entry.latencies != null);
+            if (entry.latencies != null)
+                out.writeHistogram(entry.latencies);
+        }
+    }
+
+    /**
+     * Reads a snapshot written by {@link #writeSnapshot(BytesOut)}.
+     *
+     * @param in to read from
+     * @return the statistics read
+     * @throws BufferUnderflowException    If the snapshot is incomplete
+     * @throws ClosedIllegalStateException If the resource has been released or closed.
+     */
+    @NotNull
+    public static MethodStatistics readSnapshot(@NotNull BytesIn<?> in) throws BufferUnderflowException, ClosedIllegalStateException {
+        final MethodStatistics statistics = new MethodStatistics(0);
+        final long length = in.readStopBit();
+        for (long i = 0; i < length; i++) {
+            final Entry entry = statistics.entry(in.readStopBit());
+            entry.count = in.readStopBit();
+            entry.bytes = in.readStopBit();
+            if (in.readBoolean())
+                in.readHistogram(entry.latencies());
+        }
+        return statistics;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("MethodStatistics{");
+        final long[] ids = messageIds();
+        for (int i = 0; i < ids.length; i++) {
+            final Entry entry = find(ids[i]);
+            assert entry != null;
+            if (i > 0)
+                sb.append(", ");
+            sb.append(ids[i]).append(": count=").append(entry.count).append(", bytes=").append(entry.bytes);
+            if (entry.latencies != null)
+                sb.append(", latencies=").append(entry.latencies.toMicrosFormat());
+        }
+        return sb.append('}').toString();
+    }
+
+    private static final class Entry {
+        final long messageId;
+        long count;
+        long bytes;
+        Histogram latencies;
+
+        Entry(long messageId) {
+            this.messageId = messageId;
+        }
+
+        Histogram latencies() {
+            if (latencies == null)
+                // up to 2^32 ns with 4 bits of precision
+                latencies = new Histogram(32, 4);
+            return latencies;
+        }
+    }
+}
@@ -54,6 +54,17 @@ public interface MethodWriterBuilder<T> extends Supplier<T> {
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * Records the count, length and encoding time of each message written, per message id.
+     *
+     * @param statistics to record to
+     * @return this builder, so invocations can be chained
+     * @throws UnsupportedOperationException if the implementation does not support this operation
+     */
+    default MethodWriterBuilder<T> statistics(MethodStatistics statistics) {
+        throw new UnsupportedOperationException();
+    }
+
     /**
      * Controls whether type information should be included in a verbose manner.
      * <p>
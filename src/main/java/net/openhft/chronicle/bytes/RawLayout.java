@@ -0,0 +1,26 @@
+/*
+ * Copyright 2013-2025 chronicle.software; SPDX-License-Identifier: Apache-2.0
+ */
+package net.openhft.chronicle.bytes;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a class to be marshalled by {@link BytesMarshaller} in raw layout mode. The fields are written in
+ * the order they are laid out in memory and each run of adjacent primitive fields, such as those of a
+ * {@link FieldGroup}, is copied as one block of memory rather than field by field.
+ * <p>
+ * The format depends on the JVM's field layout and native byte order, so it is only suitable between
+ * processes running the same class on the same kind of JVM. The stream starts with a fingerprint of the
+ * layout, and reading a stream written with a different layout throws an
+ * {@link net.openhft.chronicle.core.io.IORuntimeException}.
+ */
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface RawLayout {
+}
@@ -0,0 +1,24 @@
+/*
+ * Copyright 2013-2025 chronicle.software; SPDX-License-Identifier: Apache-2.0
+ */
+package net.openhft.chronicle.bytes;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a {@link java.util.List} or {@link java.util.Map} field, or every such field of a class, to be read by
+ * {@link BytesMarshaller} into the collection and elements it already holds. Elements which are
+ * {@link BytesMarshallable} of the expected type are refilled with
+ * {@link BytesMarshallable#readMarshallable(BytesIn)} rather than replaced, so decoding messages of the same
+ * shape allocates no new elements. For a map only the values are reused, as each key is decoded to look it up.
+ * <p>
+ * Only use this where the elements are not shared, as they are modified in place. Other collections, such as
+ * sets, are cleared and refilled as usual. Arrays of {@link BytesMarshallable} are always reused.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.TYPE})
+public @interface ReuseOnRead {
+}
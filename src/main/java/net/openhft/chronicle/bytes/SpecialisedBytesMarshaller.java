@@ -0,0 +1,343 @@
+/*
+ * Copyright 2013-2025 chronicle.software; SPDX-License-Identifier: Apache-2.0
+ */
+package net.openhft.chronicle.bytes;
+
+import net.openhft.chronicle.bytes.internal.MarshallerGenerator;
+import net.openhft.chronicle.core.Maths;
+import net.openhft.chronicle.core.Memory;
+import net.openhft.chronicle.core.io.ClosedIllegalStateException;
+import net.openhft.chronicle.core.io.IORuntimeException;
+import net.openhft.chronicle.core.io.InvalidMarshallableException;
+import net.openhft.chronicle.core.io.ThreadingIllegalStateException;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.Field;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+import static net.openhft.chronicle.core.UnsafeMemory.MEMORY;
+
+/**
+ * A {@link BytesMarshaller} specialised for one class when it is first looked up in
+ * {@link BytesMarshaller#BYTES_MARSHALLER_CL}. The fields are compiled to a plan of field offsets, from which
+ * {@link MarshallerGenerator} generates a class which reads and writes primitive fields with direct memory access in
+ * straight-line code, rather than a reflective {@link BytesMarshaller.FieldAccess} per field. Other fields still use
+ * their {@code FieldAccess}, each called from its own site in the generated class.
+ * <p>
+ * The wire format, including the hex dump descriptions, is the same as the reflective marshaller.
+ * Construction throws {@link UnsupportedOperationException} if a field offset is not available, such as
+ * for a record or hidden class, or the class can't be generated, and the reflective marshaller is used instead.
+ * <p>
+ * For a class annotated with {@link RawLayout} the fields are written in memory order instead, and each run
+ * of adjacent primitive fields is copied as one block of memory. The stream starts with a fingerprint of the
+ * layout, which is checked on reading. As the reflective marshaller can't read this format, the plan is interpreted
+ * in a loop if the class can't be generated.
+ *
+ * @param <T> type being marshalled
+ */
+@SuppressWarnings("rawtypes")
+final class SpecialisedBytesMarshaller<T> extends BytesMarshaller<T> {
+    // the kind of each field, which ColumnarMarshaller also uses
+    static final byte OTHER = 0;
+    static final byte BOOLEAN = 1;
+    static final byte BYTE = 2;
+    static final byte CHAR = 3;
+    static final byte SHORT = 4;
+    static final byte INT = 5;
+    static final byte FLOAT = 6;
+    static final byte LONG = 7;
+    static final byte DOUBLE = 8;
+    static final byte RAW = 9;
+
+    private final Class<T> tClass;
+    private final boolean rawLayout;
+    private final long fingerprint;
+    private final byte[] kinds;
+    private final long[] offsets;
+    private final int[] lengths;
+    private final String[] names;
+    private final FieldAccess[] accesses;
+    private final MarshallerGenerator.GeneratedFields generated;
+
+    SpecialisedBytesMarshaller(@NotNull Class<T> tClass) throws UnsupportedOperationException {
+        this(tClass, tClass.isAnnotationPresent(RawLayout.class));
+    }
+
+    SpecialisedBytesMarshaller(@NotNull Class<T> tClass, boolean rawLayout) throws UnsupportedOperationException {
+        this(tClass, rawLayout, true);
+    }
+
+    /**
+     * @param generate whether to generate a class, or interpret the plan, which is only used to compare the two
+     */
+    SpecialisedBytesMarshaller(@NotNull Class<T> tClass, boolean rawLayout, boolean generate) throws UnsupportedOperationException {
+        super(tClass);
+        this.tClass = tClass;
+        this.rawLayout = rawLayout;
+        final FieldAccess[] order = fields.clone();
+        final long[] fieldOffsets = new long[order.length];
+        final StringBuilder layout = new StringBuilder(tClass.getName()).append(ByteOrder.nativeOrder());
+        if (rawLayout) {
+            for (int i = 0; i < order.length; i++)
+                fieldOffsets[i] = MEMORY.objectFieldOffset(order[i].field);
+            sortByOffset(order, fieldOffsets);
+        }
+
+        final List<Byte> kindList = new ArrayList<>();
+        final List<Long> offsetList = new ArrayList<>();
+        final List<Integer> lengthList = new ArrayList<>();
+        final List<String> nameList = new ArrayList<>();
+        final List<FieldAccess> accessList = new ArrayList<>();
+        for (int i = 0; i < order.length; i++) {
+            final Field field = order[i].field;
+            final Class<?> type = field.getType();
+            final byte kind = kindOf(type);
+            final long offset = kind == OTHER && !rawLayout ? 0 : MEMORY.objectFieldOffset(field);
+            if (rawLayout) {
+                layout.append(';').append(field.getName()).append(':').append(type.getName()).append('@').append(offset);
+                if (kind != OTHER) {
+                    final int last = kindList.size() - 1;
+                    final int size = Memory.sizeOf(type);
+                    if (last >= 0 && kindList.get(last) == RAW && offsetList.get(last) + lengthList.get(last) == offset) {
+                        lengthList.set(last, lengthList.get(last) + size);
+                        nameList.set(last, nameList.get(last) + ", " + field.getName());
+                        continue;
+                    }
+                    kindList.add(RAW);
+                    offsetList.add(offset);
+                    lengthList.add(size);
+                    nameList.add(field.getName());
+                    accessList.add(order[i]);
+                    continue;
+                }
+            }
+            kindList.add(kind);
+            offsetList.add(offset);
+            lengthList.add(0);
+            nameList.add(field.getName());
+            accessList.add(order[i]);
+        }
+
+        final int length = kindList.size();
+        kinds = new byte[length];
+        offsets = new long[length];
+        lengths = new int[length];
+        names = nameList.toArray(new String[0]);
+        accesses = accessList.toArray(new FieldAccess[0]);
+        for (int i = 0; i < length; i++) {
+            kinds[i] = kindList.get(i);
+            offsets[i] = offsetList.get(i);
+            lengths[i] = lengthList.get(i);
+        }
+        fingerprint = rawLayout ? Maths.hash64(layout) : 0;
+        generated = generate ? generate() : null;
+        if (generate && generated == null && !rawLayout)
+            throw new UnsupportedOperationException("Unable to generate a marshaller");
+    }
+
+    private MarshallerGenerator.GeneratedFields generate() {
+        final MarshallerGenerator generator = new MarshallerGenerator(tClass);
+        for (int i = 0; i < kinds.length; i++) {
+            switch (kinds[i]) {
+                case OTHER:
+                    generator.other(accesses[i]);
+                    break;
+                case RAW:
+                    generator.raw(offsets[i], lengths[i], names[i]);
+                    break;
+                default:
+                    generator.primitive(accesses[i].field.getType(), offsets[i], names[i]);
+                    break;
+            }
+        }
+        return generator.generate();
+    }
+
+    /**
+     * @return whether a class was generated to marshal the fields, rather than interpreting the plan
+     */
+    boolean generated() {
+        return generated != null;
+    }
+
+    private static void sortByOffset(FieldAccess[] order, long[] fieldOffsets) {
+        // insertion sort, as classes have few fields and this is done once per class
+        for (int i = 1; i < order.length; i++) {
+            final FieldAccess access = order[i];
+            final long offset = fieldOffsets[i];
+            int j = i - 1;
+            for (; j >= 0 && fieldOffsets[j] > offset; j--) {
+                order[j + 1] = order[j];
+                fieldOffsets[j + 1] = fieldOffsets[j];
+            }
+            order[j + 1] = access;
+            fieldOffsets[j + 1] = offset;
+        }
+    }
+
+    /**
+     * @return a fingerprint of the memory layout written in raw layout mode, or 0 if this marshaller doesn't use it
+     */
+    long fingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * @return the kind of a field of {@code type}, which is {@link #OTHER} if it is not primitive
+     */
+    static byte kindOf(Class<?> type) {
+        if (type == boolean.class)
+            return BOOLEAN;
+        if (type == byte.class)
+            return BYTE;
+        if (type == char.class)
+            return CHAR;
+        if (type == short.class)
+            return SHORT;
+        if (type == int.class)
+            return INT;
+        if (type == float.class)
+            return FLOAT;
+        if (type == long.class)
+            return LONG;
+        if (type == double.class)
+            return DOUBLE;
+        return OTHER;
+    }
+
+    @Override
+    public void readMarshallable(ReadBytesMarshallable t, BytesIn<?> in) throws InvalidMarshallableException {
+        final byte[] kinds = this.kinds;
+        final long[] offsets = this.offsets;
+        if (rawLayout)
+            readFingerprint(in);
+        if (generated != null) {
+            generated.readFields(t, in);
+            return;
+        }
+        for (int i = 0; i < kinds.length; i++) {
+            try {
+                final long offset = offsets[i];
+                switch (kinds[i]) {
+                    case BOOLEAN:
+                        MEMORY.writeByte(t, offset, (byte) (in.readBoolean() ? 1 : 0));
+                        break;
+                    case BYTE:
+                        MEMORY.writeByte(t, offset, in.readByte());
+                        break;
+                    case CHAR:
+                        MEMORY.writeShort(t, offset, (short) in.readStopBitChar());
+                        break;
+                    case SHORT:
+                        MEMORY.writeShort(t, offset, in.readShort());
+                        break;
+                    case INT:
+                        MEMORY.writeInt(t, offset, in.readInt());
+                        break;
+                    case FLOAT:
+                        MEMORY.writeFloat(t, offset, in.readFloat());
+                        break;
+                    case LONG:
+                        MEMORY.writeLong(t, offset, in.readLong());
+                        break;
+                    case DOUBLE:
+                        MEMORY.writeDouble(t, offset, in.readDouble());
+                        break;
+                    case RAW:
+                        MarshallerGenerator.readRaw(in, t, offset, lengths[i]);
+                        break;
+                    default:
+                        accesses[i].read(t, in);
+                        break;
+                }
+            } catch (BufferUnderflowException | IllegalArgumentException | ArithmeticException |
+                     ClosedIllegalStateException | BufferOverflowException e) {
+                throw new IORuntimeException(e);
+            }
+        }
+    }
+
+    @Override
+    public void writeMarshallable(WriteBytesMarshallable t, BytesOut<?> out)
+            throws IllegalArgumentException, ClosedIllegalStateException, BufferOverflowException, BufferUnderflowException, ArithmeticException, InvalidMarshallableException, ThreadingIllegalStateException {
+        final byte[] kinds = this.kinds;
+        final long[] offsets = this.offsets;
+        out.adjustHexDumpIndentation(+1);
+        try {
+            if (rawLayout) {
+                out.writeHexDumpDescription("layout");
+                out.writeLong(fingerprint);
+            }
+            if (generated != null) {
+                generated.writeFields(t, out);
+                return;
+            }
+            for (int i = 0; i < kinds.length; i++) {
+                final long offset = offsets[i];
+                switch (kinds[i]) {
+                    case BOOLEAN:
+                        out.writeHexDumpDescription(names[i]);
+                        out.writeBoolean(MEMORY.readByte(t, offset) != 0);
+                        break;
+                    case BYTE:
+                        out.writeHexDumpDescription(names[i]);
+                        out.writeByte(MEMORY.readByte(t, offset));
+                        break;
+                    case CHAR: {
+                        out.writeHexDumpDescription(names[i]);
+                        final char ch = (char) MEMORY.readShort(t, offset);
+                        out.writeStopBit(ch >= 65536 - 127 ? ch - 65536L : ch);
+                        break;
+                    }
+                    case SHORT:
+                        out.writeHexDumpDescription(names[i]);
+                        out.writeShort(MEMORY.readShort(t, offset));
+                        break;
+                    case INT:
+                        out.writeHexDumpDescription(names[i]);
+                        out.writeInt(MEMORY.readInt(t, offset));
+                        break;
+                    case FLOAT:
+                        out.writeHexDumpDescription(names[i]);
+                        out.writeFloat(MEMORY.readFloat(t, offset));
+                        break;
+                    case LONG:
+                        out.writeHexDumpDescription(names[i]);
+                        out.writeLong(MEMORY.readLong(t, offset));
+                        break;
+                    case DOUBLE:
+                        out.writeHexDumpDescription(names[i]);
+                        out.writeDouble(MEMORY.readDouble(t, offset));
+                        break;
+                    case RAW:
+                        out.writeHexDumpDescription(names[i]);
+                        out.unsafeWriteObject(t, (int) offset, lengths[i]);
+                        break;
+                    default:
+                        accesses[i].write(t, out);
+                        break;
+                }
+            }
+        } catch (IllegalAccessException e) {
+            throw new AssertionError(e);
+        } finally {
+            out.adjustHexDumpIndentation(-1);
+        }
+    }
+
+    private void readFingerprint(BytesIn<?> in) throws IORuntimeException {
+        final long actual;
+        try {
+            actual = in.readLong();
+        } catch (BufferUnderflowException | ClosedIllegalStateException e) {
+            throw new IORuntimeException(e);
+        }
+        if (actual != fingerprint)
+            throw new IORuntimeException("The layout of " + tClass.getName() + " doesn't match the stream, expected fingerprint " +
+                    Long.toHexString(fingerprint) + " was " + Long.toHexString(actual));
+    }
+}
@@ -287,6 +287,24 @@ public interface StreamingDataInput<S extends StreamingDataInput<S>> extends Str
         return (double) value / Maths.tens(scale);
     }
 
+    /**
+     * Reads a decimal written by {@link StreamingDataOutput#writeStopBitDecimal(long, int)} or
+     * {@link StreamingDataOutput#writeStopBitDecimal(double)} as a fixed-point value with {@code scale} decimal places,
+     * without converting it to a double.
+     *
+     * @param scale the number of decimal places of the result, from 0 to {@link net.openhft.chronicle.bytes.util.FixedPointDecimal#MAX_SCALE}
+     * @return the value multiplied by {@code 10^scale}
+     * @throws ArithmeticException            If the value overflows a long at this scale, or has more decimal places.
+     * @throws IllegalArgumentException       If the scale is out of range.
+     * @throws BufferUnderflowException       If there's not enough data to read
+     * @throws ClosedIllegalStateException    If the resource has been released or closed.
+     * @throws ThreadingIllegalStateException If this resource was accessed by multiple threads in an unsafe way
+     */
+    default long readStopBitDecimal(int scale)
+            throws ClosedIllegalStateException, BufferUnderflowException, ArithmeticException, IllegalArgumentException {
+        return BytesInternal.readStopBitDecimal(this, scale);
+    }
+
     /**
      * Reads a boolean value from the input stream.
      * It reads a byte and converts it into a boolean using {@code BytesUtil.byteToBoolean(b)}.
@@ -205,6 +205,27 @@ public interface StreamingDataOutput<S extends StreamingDataOutput<S>> extends S
         return (S) this;
     }
 
+    /**
+     * Writes a fixed-point decimal of {@code mantissa / 10^scale} with a stop bit encoding, in the same format
+     * as {@link #writeStopBitDecimal(double)} so it can be read with either {@link StreamingDataInput#readStopBitDecimal()}
+     * or {@link StreamingDataInput#readStopBitDecimal(int)}. Trailing zeros are not written, so {@code 12300} with a scale of 4
+     * takes the same space as {@code 123} with a scale of 2.
+     *
+     * @param mantissa the value multiplied by {@code 10^scale}
+     * @param scale    the number of decimal places, from 0 to {@link net.openhft.chronicle.bytes.util.FixedPointDecimal#MAX_SCALE}
+     * @return The current StreamingDataOutput instance.
+     * @throws IllegalArgumentException       If the scale is out of range, the value needs more than 9 decimal places, or the mantissa exceeds {@code Long.MAX_VALUE / 10}.
+     * @throws BufferOverflowException        If there is insufficient space in the buffer.
+     * @throws ClosedIllegalStateException    If the resource has been released or closed.
+     * @throws ThreadingIllegalStateException If this resource was accessed by multiple threads in an unsafe way
+     */
+    @NotNull
+    default S writeStopBitDecimal(long mantissa, int scale)
+            throws BufferOverflowException, IllegalArgumentException, ClosedIllegalStateException {
+        BytesInternal.writeStopBitDecimal(this, mantissa, scale);
+        return (S) this;
+    }
+
     /**
      * Writes a UTF-8 encoded string to the data stream, similar to writeUTF, but with a few differences.
      * Firstly, the length is stop bit encoded, meaning that the length encoding may be one byte longer
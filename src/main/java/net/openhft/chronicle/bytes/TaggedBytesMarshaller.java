@@ -0,0 +1,172 @@
+/*
+ * Copyright 2013-2025 chronicle.software; SPDX-License-Identifier: Apache-2.0
+ */
+package net.openhft.chronicle.bytes;
+
+import net.openhft.chronicle.core.Jvm;
+import net.openhft.chronicle.core.io.ClosedIllegalStateException;
+import net.openhft.chronicle.core.io.IORuntimeException;
+import net.openhft.chronicle.core.io.InvalidMarshallableException;
+import net.openhft.chronicle.core.io.ThreadingIllegalStateException;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.Field;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+
+/**
+ * A {@link BytesMarshaller} for classes annotated with {@link TaggedFields}, which writes a stop bit tag before
+ * each field and a tag of 0 after the last one. A tag is the field id shifted left three bits with a type code in
+ * the low bits, which tells a reader how to skip a field it doesn't know.
+ * <p>
+ * Reading expects the fields in the order they are written, and only searches for the field when a tag is not
+ * the next one expected. A length prefixed field is read up to its length, so any data a newer writer added to a
+ * nested value is skipped.
+ *
+ * @param <T> type being marshalled
+ */
+@SuppressWarnings("rawtypes")
+final class TaggedBytesMarshaller<T> extends BytesMarshaller<T> {
+    static final int END = 0;
+    static final int FIXED8 = 0;
+    static final int FIXED16 = 1;
+    static final int FIXED32 = 2;
+    static final int FIXED64 = 3;
+    static final int STOP_BIT = 4;
+    static final int LENGTH32 = 5;
+
+    private final long[] tags;
+
+    TaggedBytesMarshaller(@NotNull Class<T> tClass) throws IllegalArgumentException {
+        super(tClass);
+        tags = new long[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            final Field field = fields[i].field;
+            final FieldId fieldId = Jvm.findAnnotation(field, FieldId.class);
+            final int id = fieldId == null ? i + 1 : fieldId.value();
+            if (id <= 0)
+                throw new IllegalArgumentException("The FieldId of " + field + " must be positive, was " + id);
+            tags[i] = (long) id << 3 | typeCode(field.getType());
+            for (int j = 0; j < i; j++)
+                if (tags[j] >>> 3 == id)
+                    throw new IllegalArgumentException("FieldId " + id + " is used by " + fields[j].field + " and " + field);
+        }
+    }
+
+    static int typeCode(Class<?> type) {
+        if (type == boolean.class || type == byte.class)
+            return FIXED8;
+        if (type == short.class)
+            return FIXED16;
+        if (type == int.class || type == float.class)
+            return FIXED32;
+        if (type == long.class || type == double.class)
+            return FIXED64;
+        if (type == char.class)
+            return STOP_BIT;
+        return LENGTH32;
+    }
+
+    @Override
+    public void readMarshallable(ReadBytesMarshallable t, BytesIn<?> in) throws InvalidMarshallableException {
+        final long[] tags = this.tags;
+        try {
+            int next = 0;
+            for (long tag; (tag = in.readStopBit()) != END; ) {
+                final int index = next < tags.length && tags[next] == tag ? next : indexOf(tag);
+                if (index < 0) {
+                    skip(in, tag);
+                    continue;
+                }
+                if ((tag & 7) == LENGTH32) {
+                    // a newer writer may have added to a nested value, so the length decides where the next tag is
+                    final int length = readLength(in, tag);
+                    final long start = in.readPosition();
+                    fields[index].read(t, in);
+                    if (in.readPosition() > start + length)
+                        throw new IORuntimeException("Field id " + (tag >>> 3) + " read past its length of " + length);
+                    in.readPosition(start + length);
+                } else {
+                    fields[index].read(t, in);
+                }
+                next = index + 1;
+            }
+        } catch (BufferUnderflowException | IllegalArgumentException | ArithmeticException |
+                 ClosedIllegalStateException e) {
+            throw new IORuntimeException(e);
+        }
+    }
+
+    private int indexOf(long tag) {
+        for (int i = 0; i < tags.length; i++)
+            if (tags[i] == tag)
+                return i;
+        return -1;
+    }
+
+    private static int readLength(BytesIn<?> in, long tag)
+            throws IORuntimeException, BufferUnderflowException, ClosedIllegalStateException {
+        final int length = in.readInt();
+        if (length < 0 || length > in.readRemaining())
+            throw new IORuntimeException("Invalid length " + length + " for field id " + (tag >>> 3) + ", " +
+                    in.readRemaining() + " bytes remaining");
+        return length;
+    }
+
+    private static void skip(BytesIn<?> in, long tag)
+            throws IORuntimeException, BufferUnderflowException, ClosedIllegalStateException {
+        switch ((int) tag & 7) {
+            case FIXED8:
+                in.readSkip(1);
+                break;
+            case FIXED16:
+                in.readSkip(2);
+                break;
+            case FIXED32:
+                in.readSkip(4);
+                break;
+            case FIXED64:
+                in.readSkip(8);
+                break;
+            case STOP_BIT:
+                in.readStopBit();
+                break;
+            case LENGTH32:
+                in.readSkip(readLength(in, tag));
+                break;
+            default:
+                throw new IORuntimeException("Unknown type code " + (tag & 7) + " for field id " + (tag >>> 3));
+        }
+    }
+
+    @Override
+    public void writeMarshallable(WriteBytesMarshallable t, BytesOut<?> out)
+            throws IllegalArgumentException, ClosedIllegalStateException, BufferOverflowException, BufferUnderflowException, ArithmeticException, InvalidMarshallableException, ThreadingIllegalStateException {
+        final long[] tags = this.tags;
+        out.adjustHexDumpIndentation(+1);
+        try {
+            for (int i = 0; i < tags.length; i++) {
+                final FieldAccess field = fields[i];
+                out.writeHexDumpDescription(field.field.getName());
+                out.writeStopBit(tags[i]);
+                if ((tags[i] & 7) != LENGTH32) {
+                    field.getValue(t, out);
+                    continue;
+                }
+                if (!(out instanceof Bytes))
+                    throw new IllegalArgumentException("Writing " + field.field + " requires a Bytes, was " + out.getClass());
+                final Bytes<?> bytes = (Bytes<?>) out;
+                final long position = bytes.writePosition();
+                bytes.writeInt(0);
+                field.getValue(t, out);
+                bytes.writeInt(position, (int) (bytes.lengthWritten(position) - 4));
+            }
+            out.writeHexDumpDescription("end");
+            out.writeStopBit(END);
+        } catch (IllegalAccessException e) {
+            throw new AssertionError(e);
+        } finally {
+            out.adjustHexDumpIndentation(-1);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+/*
+ * Copyright 2013-2025 chronicle.software; SPDX-License-Identifier: Apache-2.0
+ */
+package net.openhft.chronicle.bytes;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a class to be marshalled by {@link BytesMarshaller} with a tag before each field, so fields can be
+ * added or removed while older and newer versions of the class still read each other's messages.
+ * <p>
+ * Each field is written as a stop bit tag holding its {@link FieldId} and a type code, followed by its value,
+ * and the object ends with a tag of 0. Fields with a fixed size are written as usual, and other fields have a
+ * 32-bit length before them, so a reader can skip any field it doesn't know. Fields missing from a message are
+ * left unchanged.
+ * <p>
+ * Fields without a {@link FieldId} are numbered from 1 in declaration order, super class first. Give every field
+ * an id if fields might be removed or reordered.
+ */
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface TaggedFields {
+}
@@ -4,9 +4,12 @@
 package net.openhft.chronicle.bytes.internal;
 
 import net.openhft.chronicle.bytes.*;
+import net.openhft.chronicle.bytes.util.BytesConstantLookup;
 import net.openhft.chronicle.bytes.util.DecoratedBufferOverflowException;
 import net.openhft.chronicle.bytes.util.DecoratedBufferUnderflowException;
+import net.openhft.chronicle.bytes.util.FixedPointDecimal;
 import net.openhft.chronicle.bytes.util.StringInternerBytes;
+import net.openhft.chronicle.bytes.util.TableStopCharTester;
 import net.openhft.chronicle.core.Jvm;
 import net.openhft.chronicle.core.Maths;
 import net.openhft.chronicle.core.Memory;
@@ -46,6 +49,7 @@ import static java.nio.charset.StandardCharsets.ISO_8859_1;
 import static net.openhft.chronicle.assertions.AssertUtil.SKIP_ASSERTIONS;
 import static net.openhft.chronicle.bytes.StreamingDataOutput.JAVA9_STRING_CODER_LATIN;
 import static net.openhft.chronicle.bytes.StreamingDataOutput.JAVA9_STRING_CODER_UTF16;
+import static net.openhft.chronicle.bytes.algo.OptimisedBytesStoreHash.IS_LITTLE_ENDIAN;
 import static net.openhft.chronicle.bytes.internal.ReferenceCountedUtil.throwExceptionIfReleased;
 import static net.openhft.chronicle.core.UnsafeMemory.MEMORY;
 import static net.openhft.chronicle.core.io.ReferenceOwner.temporary;
@@ -89,6 +93,8 @@ enum BytesInternal {
     private static final long MAX_VALUE_DIVIDE_5 = Long.MAX_VALUE / 5;
     private static final long MAX_VALUE_DIVIDE_10 = Long.MAX_VALUE / 10;
     private static final ThreadLocal<DateCache> dateCacheTL = new ThreadLocal<>();
+    private static final ThreadLocal<IsoDateTimeCache> isoDateTimeCacheTL = ThreadLocal.withInitial(IsoDateTimeCache::new);
+    private static final long NANOS_PER_DAY = 86_400_000_000_000L;
     private static final int MAX_STRING_LEN = Jvm.getInteger("bytes.max-string-len", 128 * 1024);
     private static final int NEG_ONE = ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN ? 0x80 : 0x8000;
 
@@ -2047,80 +2053,7 @@ enum BytesInternal {
     }
 
     private static int appendLong1(byte[] numberBuffer, long num) {
-        numberBuffer[19] = (byte) (num % 10L + '0');
-        num /= 10;
-        if (num <= 0)
-            return 19;
-        numberBuffer[18] = (byte) (num % 10L + '0');
-        num /= 10;
-        if (num <= 0)
-            return 18;
-        numberBuffer[17] = (byte) (num % 10L + '0');
-        num /= 10;
-        if (num <= 0)
-            return 17;
-        numberBuffer[16] = (byte) (num % 10L + '0');
-        num /= 10;
-        if (num <= 0)
-            return 16;
-        numberBuffer[15] = (byte) (num % 10L + '0');
-        num /= 10;
-        if (num <= 0)
-            return 15;
-        numberBuffer[14] = (byte) (num % 10L + '0');
-        num /= 10;
-        if (num <= 0)
-            return 14;
-        numberBuffer[13] = (byte) (num % 10L + '0');
-        num /= 10;
-        if (num <= 0)
-            return 13;
-        numberBuffer[12] = (byte) (num % 10L + '0');
-        num /= 10;
-        if (num <= 0)
-            return 12;
-        numberBuffer[11] = (byte) (num % 10L + '0');
-        num /= 10;
-        if (num <= 0)
-            return 11;
-        numberBuffer[10] = (byte) (num % 10L + '0');
-        num /= 10;
-        if (num <= 0)
-            return 10;
-        numberBuffer[9] = (byte) (num % 10L + '0');
-        num /= 10;
-        if (num <= 0)
-            return 9;
-        numberBuffer[8] = (byte) (num % 10L + '0');
-        num /= 10;
-        if (num <= 0)
-            return 8;
-        numberBuffer[7] = (byte) (num % 10L + '0');
-        num /= 10;
-        if (num <= 0)
-            return 7;
-        numberBuffer[6] = (byte) (num % 10L + '0');
-        num /= 10;
-        if (num <= 0)
-            return 6;
-        numberBuffer[5] = (byte) (num % 10L + '0');
-        num /= 10;
-        if (num <= 0)
-            return 5;
-        numberBuffer[4] = (byte) (num % 10L + '0');
-        num /= 10;
-        if (num <= 0)
-            return 4;
-        numberBuffer[3] = (byte) (num % 10L + '0');
-        num /= 10;
-        if (num <= 0)
-            return 3;
-        numberBuffer[2] = (byte) (num % 10L + '0');
-        num /= 10;
-        if (num <= 0)
-            return 2;
-        numberBuffer[1] = (byte) (num % 10L + '0');
-        return 1;
+        return UnsafeText.writeDigits(numberBuffer, numberBuffer.length, num);
     }
 
     public static void append(@NotNull StreamingDataOutput out, double d)
@@ -2386,7 +2319,11 @@ enum BytesInternal {
         throwExceptionIfReleased(builder);
         requireNonNull(tester);
         try {
-            if (builder instanceof StringBuilder
+            final TableStopCharTester table = TableStopCharTester.compiledOrNull(tester);
+            if (table != null && canScanInPlace(bytes)) {
+                AppendableUtil.setLength(builder, 0);
+                readUtf8Scanning(bytes, builder, table);
+            } else if (builder instanceof StringBuilder
                     && bytes.isDirectMemory()) {
                 @NotNull Bytes<?> vb = (Bytes) bytes;
                 @NotNull StringBuilder sb = (StringBuilder) builder;
@@ -2405,6 +2342,33 @@ enum BytesInternal {
         }
     }
 
+    private static boolean canScanInPlace(@NotNull StreamingDataInput in) {
+        return readsPlainInPlace(in) && in.readRemaining() > 0;
+    }
+
+    private static void readUtf8Scanning(@NotNull StreamingDataInput bytes, @NotNull Appendable appendable, @NotNull TableStopCharTester tester)
+            throws IOException, ClosedIllegalStateException {
+        final BytesStore<?, ?> bs = (BytesStore<?, ?>) bytes;
+        final long limit = bytes.readLimit();
+        final long stop = tester.indexOf(bs, bytes.readPosition(), limit);
+        final long end = Math.min(stop + 1, limit);
+        for (long pos = bytes.readPosition(); pos < end; pos++) {
+            final int c = bs.readUnsignedByte(pos);
+            if (c >= 0x80) {
+                // a stop character above 127 may be part of a multi-byte character
+                bytes.readPosition(pos);
+                readUtf82(bytes, appendable, tester);
+                return;
+            }
+            if (pos == stop) {
+                bytes.readPosition(stop + 1);
+                return;
+            }
+            appendable.append((char) c);
+        }
+        bytes.readPosition(limit);
+    }
+
     private static void readUtf8_SB1(
             @NotNull Bytes<?> bytes, @NotNull StringBuilder appendable, @NotNull StopCharTester tester)
             throws IOException, ClosedIllegalStateException {
@@ -2642,6 +2606,18 @@ enum BytesInternal {
         throwExceptionIfReleased(bytes);
         throwExceptionIfReleased(appendable);
         requireNonNull(tester);
+        final TableStopCharTester table = TableStopCharTester.compiledOrNull(tester);
+        if (table != null && canScanInPlace(bytes)) {
+            final BytesStore<?, ?> bs = (BytesStore<?, ?>) bytes;
+            final long start = bytes.readPosition();
+            final long limit = bytes.readLimit();
+            final long stop = table.indexOf(bs, start, limit);
+            appendable.ensureCapacity(appendable.length() + (int) Math.min(stop - start, Integer.MAX_VALUE));
+            for (long pos = start; pos < stop; pos++)
+                appendable.append((char) bs.readUnsignedByte(pos));
+            bytes.readPosition(Math.min(stop + 1, limit));
+            return;
+        }
         while (true) {
             int c = bytes.readUnsignedByte();
             if (tester.isStopChar(c))
@@ -2657,6 +2633,16 @@ enum BytesInternal {
         throwExceptionIfReleased(bytes);
         throwExceptionIfReleased(bytes2);
         requireNonNull(tester);
+        final TableStopCharTester table = TableStopCharTester.compiledOrNull(tester);
+        if (table != null && canScanInPlace(bytes)) {
+            final BytesStore<?, ?> bs = (BytesStore<?, ?>) bytes;
+            final long start = bytes.readPosition();
+            final long limit = bytes.readLimit();
+            final long stop = table.indexOf(bs, start, limit);
+            bytes2.write(bs, start, stop - start);
+            bytes.readPosition(Math.min(stop + 1, limit));
+            return;
+        }
         while (true) {
             int c = bytes.readUnsignedByte();
             if (tester.isStopChar(c))
@@ -2818,8 +2804,12 @@ enum BytesInternal {
 
     public static double parseDouble(@NotNull StreamingDataInput in)
             throws BufferUnderflowException, ClosedIllegalStateException {
+        // up to 19 significant digits are kept in value, as an unsigned long
         long value = 0;
-        int exp = 0;
+        int significantDigits = 0;
+        // the power of ten value is scaled by, from digits after the point and integer digits dropped
+        int scale = 0;
+        boolean truncated = false;
         boolean negative = false;
         int decimalPlaces = Integer.MIN_VALUE;
         boolean digits = false;
@@ -2858,15 +2848,35 @@ enum BytesInternal {
                 default:
                     // do nothing
             }
+            final long start = in.readPosition();
+            final BytesStore<?, ?> bs = IS_LITTLE_ENDIAN && readsPlainInPlace(in) ? (BytesStore<?, ?>) in : null;
             int tens = 0;
             while (in.readRemaining() > 0) {
+                if (bs != null && significantDigits > 0 && significantDigits <= 19 - 8 && in.readRemaining() >= 8) {
+                    final long eight = bs.readLong(in.readPosition());
+                    if (isEightDigits(eight)) {
+                        value = value * 100_000_000 + parseEightDigits(eight);
+                        significantDigits += 8;
+                        if (decimalPlaces >= 0)
+                            scale -= 8;
+                        decimalPlaces += 8;
+                        in.readSkip(8);
+                        continue;
+                    }
+                }
                 ch = in.readUnsignedByte() & 0xFF;
                 if (ch >= '0' && ch <= '9') {
-                    while (value >= MAX_VALUE_DIVIDE_10) {
-                        value >>>= 1;
-                        exp++;
+                    if (significantDigits < 19) {
+                        value = value * 10 + (ch - '0');
+                        if (value != 0)
+                            significantDigits++;
+                        if (decimalPlaces >= 0)
+                            scale--;
+                    } else {
+                        truncated |= ch != '0';
+                        if (decimalPlaces < 0)
+                            scale++;
                     }
-                    value = value * 10 + (ch - '0');
                     decimalPlaces++;
                     digits = true;
 
@@ -2889,7 +2899,11 @@ enum BytesInternal {
 
             decimalPlaces = decimalPlaces - tens;
 
-            return Maths.asDouble(value, exp, negative, decimalPlaces);
+            final double d = EiselLemire.toDouble(negative, value, scale + tens);
+            // digits were dropped so the exact value is between value and value + 1
+            if (truncated && d != EiselLemire.toDouble(negative, value + 1, scale + tens))
+                return parseDoubleSlowly(in, start, negative, d);
+            return d;
         } finally {
             final ByteStringParser bsp = (ByteStringParser) in;
             bsp.lastDecimalPlaces(decimalPlaces);
@@ -2897,6 +2911,49 @@ enum BytesInternal {
         }
     }
 
+    /**
+     * Whether all eight bytes of a little endian long are the characters '0' to '9'.
+     */
+    private static boolean isEightDigits(long eight) {
+        return ((eight & 0xF0F0F0F0F0F0F0F0L)
+                | (((eight + 0x0606060606060606L) & 0xF0F0F0F0F0F0F0F0L) >>> 4)) == 0x3333333333333333L;
+    }
+
+    /**
+     * Converts eight digit characters, the first in the lowest byte, to their value.
+     */
+    private static long parseEightDigits(long eight) {
+        eight = (eight & 0x0F0F0F0F0F0F0F0FL) * 2561 >>> 8;
+        eight = (eight & 0x00FF00FF00FF00FFL) * 6553601 >>> 16;
+        return (eight & 0x0000FFFF0000FFFFL) * 42949672960001L >>> 32;
+    }
+
+    /**
+     * Re-reads a number with more than 19 significant digits which is too close to halfway between
+     * two doubles to be decided from its first 19 digits.
+     */
+    private static double parseDoubleSlowly(@NotNull StreamingDataInput in, long start, boolean negative, double estimate)
+            throws BufferUnderflowException, ClosedIllegalStateException {
+        final long end = in.readPosition();
+        try (ScopedResource<StringBuilder> stlSb = acquireStringBuilderScoped()) {
+            final StringBuilder sb = stlSb.get();
+            if (negative)
+                sb.append('-');
+            in.readPosition(start);
+            while (in.readPosition() < end) {
+                final int ch = in.readUnsignedByte();
+                if ((ch < '0' || ch > '9') && ch != '.' && ch != 'e' && ch != 'E' && ch != '+' && ch != '-')
+                    break;
+                sb.append((char) ch);
+            }
+            return Double.parseDouble(sb.toString());
+        } catch (NumberFormatException e) {
+            return estimate;
+        } finally {
+            in.readPosition(end);
+        }
+    }
+
     static boolean compareRest(@NotNull StreamingDataInput in, @NotNull String s)
             throws BufferUnderflowException, ClosedIllegalStateException {
         if (s.length() > in.readRemaining())
@@ -3035,6 +3092,82 @@ enum BytesInternal {
         return negative ? -num : num;
     }
 
+    public static long parseDecimal(@NotNull StreamingDataInput in, int scale)
+            throws BufferUnderflowException, ClosedIllegalStateException, ArithmeticException, IllegalArgumentException {
+        final long tens = FixedPointDecimal.tens(scale);
+        long num = 0;
+        boolean negative = false;
+        int decimalPlaces = Integer.MIN_VALUE;
+        boolean digits = false;
+        boolean first = true;
+        try {
+            while (in.readRemaining() > 0) {
+                int b = in.readUnsignedByte();
+                if ((b - ('0' + Integer.MIN_VALUE)) <= 9 + Integer.MIN_VALUE) {
+                    decimalPlaces++;
+                    digits = true;
+                    first = false;
+                    if (decimalPlaces > scale) {
+                        // beyond the scale required, only zeros can be dropped
+                        if (b != '0')
+                            throw new ArithmeticException("Rounding necessary to parse with a scale of " + scale);
+                        continue;
+                    }
+                    if (num > (Long.MAX_VALUE - (b - '0')) / 10)
+                        throw new ArithmeticException("Decimal overflows a long with a scale of " + scale);
+                    num = num * 10 + b - '0';
+                } else if (b == '.') {
+                    decimalPlaces = 0;
+                    first = false;
+                } else if (b == '-') {
+                    negative = true;
+                    first = false;
+                } else if (b == ']' || b == '}') {
+                    in.readSkip(-1);
+                    break;
+                } else if (b == '_' || b == '+') {
+                    // ignore
+                    first = false;
+                } else if (!first || b > ' ') {
+                    break;
+                } else if (b == 0) {
+                    break;
+                }
+            }
+            final int places = Math.max(0, Math.min(decimalPlaces, scale));
+            if (places < scale) {
+                final long factor = tens / FixedPointDecimal.tens(places);
+                if (num > Long.MAX_VALUE / factor)
+                    throw new ArithmeticException("Decimal overflows a long with a scale of " + scale);
+                num *= factor;
+            }
+            return negative ? -num : num;
+        } finally {
+            final ByteStringParser bsp = (ByteStringParser) in;
+            bsp.lastDecimalPlaces(decimalPlaces);
+            bsp.lastNumberHadDigits(digits);
+        }
+    }
+
+    public static void writeStopBitDecimal(@NotNull StreamingDataOutput out, long mantissa, int scale)
+            throws BufferOverflowException, ClosedIllegalStateException, IllegalArgumentException {
+        // the same encoding as writeStopBitDecimal(double) so either can read it
+        FixedPointDecimal.tens(scale);
+        final int minScale = FixedPointDecimal.minimumScale(mantissa, scale);
+        final long value = mantissa / FixedPointDecimal.tens(scale - minScale);
+        if (minScale > 9)
+            throw new IllegalArgumentException("Cannot write " + mantissa + " with a scale of " + scale + " as more than 9 decimal places are needed");
+        if (value > Long.MAX_VALUE / 10 || value < -(Long.MAX_VALUE / 10))
+            throw new IllegalArgumentException("Cannot write " + mantissa + " with a scale of " + scale + " as the mantissa is too large");
+        writeStopBit(out, value < 0 ? value * 10 - minScale : value * 10 + minScale);
+    }
+
+    public static long readStopBitDecimal(@NotNull StreamingDataInput in, int scale)
+            throws BufferUnderflowException, ClosedIllegalStateException, ArithmeticException, IllegalArgumentException {
+        final long value = in.readStopBit();
+        return FixedPointDecimal.rescale(value / 10, (int) Math.abs(value % 10), scale);
+    }
+
     public static long parseHexLong(@NotNull StreamingDataInput in)
             throws BufferUnderflowException, ClosedIllegalStateException {
         long num = 0;
@@ -3076,6 +3209,13 @@ enum BytesInternal {
 
     public static boolean skipTo(@NotNull ByteStringParser parser, @NotNull StopCharTester tester)
             throws ClosedIllegalStateException {
+        final TableStopCharTester table = TableStopCharTester.compiledOrNull(tester);
+        if (table != null && canScanInPlace(parser)) {
+            final long limit = parser.readLimit();
+            final long stop = table.indexOf((BytesStore<?, ?>) parser, parser.readPosition(), limit);
+            parser.readPosition(Math.min(stop + 1, limit));
+            return stop < limit;
+        }
         while (parser.readRemaining() > 0) {
             int ch = parser.readUnsignedByte();
             if (tester.isStopChar(ch))
@@ -3304,10 +3444,207 @@ enum BytesInternal {
         b.write(dateCache.lastDateStr);
     }
 
+    public static void appendIsoDateTime(@NotNull ByteStringAppender b, long epochNanos)
+            throws BufferOverflowException, ClosedIllegalStateException, ThreadingIllegalStateException {
+        final IsoDateTimeCache cache = isoDateTimeCacheTL.get();
+        final byte[] text = cache.text;
+        final long epochDay = Math.floorDiv(epochNanos, NANOS_PER_DAY);
+        if (cache.appendedDay != epochDay) {
+            writeIsoDate(text, epochDay);
+            cache.appendedDay = epochDay;
+        }
+        final long nanoOfDay = Math.floorMod(epochNanos, NANOS_PER_DAY);
+        final int secondOfDay = (int) (nanoOfDay / 1_000_000_000);
+        final int nanos = (int) (nanoOfDay % 1_000_000_000);
+        writeTwoDigits(text, 11, secondOfDay / 3600);
+        writeTwoDigits(text, 14, secondOfDay / 60 % 60);
+        writeTwoDigits(text, 17, secondOfDay % 60);
+        final int micros = nanos / 1000;
+        text[20] = (byte) ('0' + micros / 100_000);
+        writeTwoDigits(text, 21, micros / 1000 % 100);
+        writeTwoDigits(text, 23, micros / 10 % 100);
+        text[25] = (byte) ('0' + micros % 10);
+        final int nanosOfMicro = nanos % 1000;
+        text[26] = (byte) ('0' + nanosOfMicro / 100);
+        writeTwoDigits(text, 27, nanosOfMicro % 100);
+        b.write(text);
+    }
+
+    private static void writeTwoDigits(byte[] text, int index, int value) {
+        text[index] = UnsafeText.TWO_DIGITS[value * 2];
+        text[index + 1] = UnsafeText.TWO_DIGITS[value * 2 + 1];
+    }
+
+    /**
+     * Writes the yyyy-MM-dd of an epoch day to the start of {@code text}, using the civil from days
+     * algorithm of Howard Hinnant.
+     */
+    private static void writeIsoDate(byte[] text, long epochDay) {
+        final long z = epochDay + 719_468;
+        final long era = Math.floorDiv(z, 146_097);
+        final int dayOfEra = (int) (z - era * 146_097);
+        final int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+        final int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        final int mp = (5 * dayOfYear + 2) / 153;
+        final int day = dayOfYear - (153 * mp + 2) / 5 + 1;
+        final int month = mp < 10 ? mp + 3 : mp - 9;
+        final int year = (int) (yearOfEra + era * 400) + (month <= 2 ? 1 : 0);
+        writeTwoDigits(text, 0, year / 100);
+        writeTwoDigits(text, 2, year % 100);
+        writeTwoDigits(text, 5, month);
+        writeTwoDigits(text, 8, day);
+    }
+
+    private static int daysInMonth(int year, int month) {
+        if (month == 2)
+            return year % 4 == 0 && (year % 100 != 0 || year % 400 == 0) ? 29 : 28;
+        // 31 days in odd months up to July and even months from August
+        return 30 + ((month ^ (month >> 3)) & 1);
+    }
+
+    /**
+     * Returns the epoch day of a date, using the days from civil algorithm of Howard Hinnant.
+     */
+    private static long epochDay(int year, int month, int day) {
+        if (month <= 2)
+            year--;
+        final long era = Math.floorDiv(year, 400);
+        final int yearOfEra = (int) (year - era * 400);
+        final int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        final int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146_097 + dayOfEra - 719_468;
+    }
+
+    /**
+     * Parses an ISO-8601 timestamp to nanoseconds since the epoch, as described in
+     * {@link ByteStringParser#parseIsoDateTime()}.
+     *
+     * @param in to parse from
+     * @return the nanoseconds since 1970-01-01T00:00:00Z
+     * @throws IORuntimeException If the text is not a valid timestamp, including a day past the end of its month
+     */
+    public static long parseIsoDateTime(@NotNull ByteStringParser in)
+            throws BufferUnderflowException, IORuntimeException, ClosedIllegalStateException, ThreadingIllegalStateException {
+        final int year = parseDigits(in, 4);
+        expect(in, '-');
+        final int month = parseDigits(in, 2);
+        expect(in, '-');
+        final int day = parseDigits(in, 2);
+        if (month < 1 || month > 12 || day < 1 || day > daysInMonth(year, month))
+            throw new IORuntimeException("Invalid date " + year + "-" + month + "-" + day);
+        final IsoDateTimeCache cache = isoDateTimeCacheTL.get();
+        final int date = year * 10_000 + month * 100 + day;
+        if (cache.parsedDate != date) {
+            cache.parsedEpochDay = epochDay(year, month, day);
+            cache.parsedDate = date;
+        }
+        final int separator = in.readUnsignedByte();
+        if (separator != 'T' && separator != ' ')
+            throw new IORuntimeException("Expected 'T' after the date but got " + describe(separator));
+        final int hour = parseDigits(in, 2);
+        expect(in, ':');
+        final int minute = parseDigits(in, 2);
+        expect(in, ':');
+        final int second = parseDigits(in, 2);
+        if (hour > 23 || minute > 59 || second > 59)
+            throw new IORuntimeException("Invalid time " + hour + ":" + minute + ":" + second);
+
+        long nanos = 0;
+        int ch = in.readRemaining() > 0 ? in.peekUnsignedByte() : -1;
+        if (ch == '.' || ch == ',') {
+            in.readSkip(1);
+            int digits = 0;
+            while (in.readRemaining() > 0 && isDigit(ch = in.peekUnsignedByte())) {
+                // digits past nanoseconds are truncated
+                if (digits++ < 9)
+                    nanos = nanos * 10 + (ch - '0');
+                in.readSkip(1);
+            }
+            if (digits == 0)
+                throw new IORuntimeException("Expected digits after the decimal point");
+            for (; digits < 9; digits++)
+                nanos *= 10;
+            ch = in.readRemaining() > 0 ? ch : -1;
+        }
+        long offsetSeconds = 0;
+        if (ch == 'Z') {
+            in.readSkip(1);
+        } else if (ch == '+' || ch == '-') {
+            in.readSkip(1);
+            final int offsetHours = parseDigits(in, 2);
+            if (in.readRemaining() > 0 && in.peekUnsignedByte() == ':')
+                in.readSkip(1);
+            final int offsetMinutes = parseDigits(in, 2);
+            offsetSeconds = (offsetHours * 60L + offsetMinutes) * 60;
+            if (ch == '+')
+                offsetSeconds = -offsetSeconds;
+        }
+        final long secondOfDay = hour * 3600L + minute * 60L + second + offsetSeconds;
+        return cache.parsedEpochDay * NANOS_PER_DAY + secondOfDay * 1_000_000_000L + nanos;
+    }
+
+    private static int parseDigits(@NotNull ByteStringParser in, int count)
+            throws BufferUnderflowException, IORuntimeException, ClosedIllegalStateException, ThreadingIllegalStateException {
+        int value = 0;
+        for (int i = 0; i < count; i++) {
+            final int ch = in.readUnsignedByte();
+            if (!isDigit(ch))
+                throw new IORuntimeException("Expected a digit but got " + describe(ch));
+            value = value * 10 + (ch - '0');
+        }
+        return value;
+    }
+
+    private static void expect(@NotNull ByteStringParser in, char expected)
+            throws BufferUnderflowException, IORuntimeException, ClosedIllegalStateException, ThreadingIllegalStateException {
+        final int ch = in.readUnsignedByte();
+        if (ch != expected)
+            throw new IORuntimeException("Expected '" + expected + "' but got " + describe(ch));
+    }
+
+    private static boolean isDigit(int ch) {
+        return ch >= '0' && ch <= '9';
+    }
+
+    private static String describe(int ch) {
+        return ch < 0 ? "end of input" : "'" + (char) ch + "'";
+    }
+
+    /**
+     * Whether {@code in} is one of the plain Bytes implementations, which hold stop bit lengths and text as raw bytes
+     * at their read position so they can be read in place. Subclasses are not included as they may encode fields
+     * differently, e.g. GuardedNativeBytes tags each one.
+     */
+    private static boolean readsPlainInPlace(@NotNull StreamingDataInput in) {
+        final Class<?> c = in.getClass();
+        return c == VanillaBytes.class
+                || c == NativeBytes.class
+                || c == OnHeapBytes.class
+                || c == SubBytes.class
+                || c == EmbeddedBytes.class
+                || c == UncheckedBytes.class
+                || c == UncheckedNativeBytes.class
+                || c == SingleMappedBytes.class
+                || c == ChunkedMappedBytes.class;
+    }
+
     @SuppressWarnings("unchecked")
     @NotNull
     public static <E extends Enum<E>, S extends StreamingDataInput<S>> E readEnum(@NotNull StreamingDataInput input, @NotNull Class<E> eClass)
             throws BufferUnderflowException, IORuntimeException, BufferOverflowException, ClosedIllegalStateException, ArithmeticException {
+        if (readsPlainInPlace(input) && input.readRemaining() > 0) {
+            // match the name in place, without copying it out
+            final long start = input.readPosition();
+            final long len = input.readStopBit();
+            if (len >= 0 && len <= input.readRemaining()) {
+                final E e = BytesConstantLookup.forEnum(eClass).lookup((BytesStore<?, ?>) input, input.readPosition(), (int) len);
+                if (e != null) {
+                    input.readSkip(len);
+                    return e;
+                }
+            }
+            input.readPosition(start);
+        }
         try (ScopedResource<Bytes<?>> stlBytes = BytesInternal.acquireBytesScoped()) {
             Bytes<?> bytes = stlBytes.get();
             input.read8bit(bytes);
@@ -3575,6 +3912,17 @@ enum BytesInternal {
         }
     }
 
+    /**
+     * The text of the last ISO-8601 date time appended so only the time needs rewriting on the same day,
+     * and the epoch day of the last date parsed.
+     */
+    static final class IsoDateTimeCache {
+        final byte[] text = "1970-01-01T00:00:00.000000000Z".getBytes(ISO_8859_1);
+        long appendedDay = 0;
+        int parsedDate = 19700101;
+        long parsedEpochDay = 0;
+    }
+
     public static <B extends BytesStore<B, U>, U> BytesStore<B, U> failIfBytesOnBytes(BytesStore<B, U> bytesStore) {
         // MappedBytes don't have a backing BytesStore so we have to allow them to be used this way
         if (bytesStore instanceof Bytes && !(bytesStore instanceof MappedBytes)) {
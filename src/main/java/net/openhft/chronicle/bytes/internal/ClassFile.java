@@ -0,0 +1,323 @@
+/*
+ * Copyright 2013-2025 chronicle.software; SPDX-License-Identifier: Apache-2.0
+ */
+package net.openhft.chronicle.bytes.internal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes the class files of generated classes directly, as no bytecode library is a dependency. The version written
+ * doesn't require stack map frames.
+ */
+final class ClassFile {
+    static final String OBJECT = "java/lang/Object";
+
+    // Private constructor to prevent instantiation
+    private ClassFile() {
+    }
+
+    /**
+     * @return a public final class file extending {@code superClass} and implementing {@code anInterface}
+     */
+    static byte[] classFile(ConstantPool pool, int thisClass, int superClass, int anInterface,
+                            List<byte[]> fields, List<byte[]> methods) throws IOException {
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        final DataOutputStream out = new DataOutputStream(baos);
+        out.writeInt(0xCAFEBABE);
+        out.writeShort(0); // minor version
+        out.writeShort(49); // Java 5, so no stack map frames are needed
+        pool.writeTo(out);
+        out.writeShort(0x0001 | 0x0010 | 0x0020); // public final super
+        out.writeShort(thisClass);
+        out.writeShort(superClass);
+        out.writeShort(1);
+        out.writeShort(anInterface);
+        out.writeShort(fields.size());
+        for (byte[] bytes : fields)
+            out.write(bytes);
+        out.writeShort(methods.size());
+        for (byte[] bytes : methods)
+            out.write(bytes);
+        out.writeShort(0); // attributes
+        return baos.toByteArray();
+    }
+
+    /**
+     * @return a private final field
+     */
+    static byte[] field(int name, int descriptor) throws IOException {
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        final DataOutputStream out = new DataOutputStream(baos);
+        out.writeShort(0x0002 | 0x0010); // private final
+        out.writeShort(name);
+        out.writeShort(descriptor);
+        out.writeShort(0);
+        return baos.toByteArray();
+    }
+
+    /**
+     * @return a public method
+     */
+    static byte[] method(int name, int descriptor, int codeAttribute, int maxStack, int maxLocals,
+                         Code code, Code exceptionTable) throws IOException {
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        final DataOutputStream out = new DataOutputStream(baos);
+        out.writeShort(0x0001); // public
+        out.writeShort(name);
+        out.writeShort(descriptor);
+        out.writeShort(1);
+        out.writeShort(codeAttribute);
+        final int exceptionTableLength = exceptionTable == null ? 0 : exceptionTable.length();
+        out.writeInt(2 + 2 + 4 + code.length() + 2 + exceptionTableLength + 2);
+        out.writeShort(maxStack);
+        out.writeShort(maxLocals);
+        out.writeInt(code.length());
+        code.writeTo(out);
+        out.writeShort(exceptionTableLength / 8);
+        if (exceptionTable != null)
+            exceptionTable.writeTo(out);
+        out.writeShort(0); // attributes
+        return baos.toByteArray();
+    }
+
+    /**
+     * Adds a call to the public method {@code owner.name(parameterTypes)}, with the instruction and descriptor
+     * reflection finds for it, so the descriptor matches erased and inherited methods.
+     *
+     * @return the return type of the method
+     * @throws NoSuchMethodException if there is no such public method
+     */
+    static Class<?> invoke(Code code, ConstantPool pool, Class<?> owner, String name, Class<?>... parameterTypes)
+            throws IOException, NoSuchMethodException {
+        final Method method = owner.getMethod(name, parameterTypes);
+        final String ownerName = internalName(owner);
+        final String descriptor = descriptor(parameterTypes, method.getReturnType());
+        if (Modifier.isStatic(method.getModifiers())) {
+            code.op(0xb8).u2(pool.methodRef(ownerName, name, descriptor)); // invokestatic
+        } else if (owner.isInterface()) {
+            int slots = 1;
+            for (Class<?> type : parameterTypes)
+                slots += type == long.class || type == double.class ? 2 : 1;
+            code.op(0xb9).u2(pool.interfaceMethodRef(ownerName, name, descriptor)).u1(slots).u1(0); // invokeinterface
+        } else {
+            code.op(0xb6).u2(pool.methodRef(ownerName, name, descriptor)); // invokevirtual
+        }
+        return method.getReturnType();
+    }
+
+    /**
+     * Adds the smallest instruction which pushes {@code value}.
+     */
+    static void pushInt(Code code, ConstantPool pool, int value) throws IOException {
+        if (value >= -1 && value <= 5)
+            code.op(0x03 + value); // iconst
+        else if (value == (byte) value)
+            code.op(0x10).u1(value & 0xFF); // bipush
+        else if (value == (short) value)
+            code.op(0x11).u2(value & 0xFFFF); // sipush
+        else
+            code.op(0x13).u2(pool.intConstant(value)); // ldc_w
+    }
+
+    static String internalName(Class<?> type) {
+        return type.getName().replace('.', '/');
+    }
+
+    static String descriptor(Class<?>[] parameterTypes, Class<?> returnType) {
+        final StringBuilder sb = new StringBuilder("(");
+        for (Class<?> type : parameterTypes)
+            descriptor(sb, type);
+        sb.append(')');
+        descriptor(sb, returnType);
+        return sb.toString();
+    }
+
+    static String descriptor(Class<?> type) {
+        final StringBuilder sb = new StringBuilder();
+        descriptor(sb, type);
+        return sb.toString();
+    }
+
+    private static void descriptor(StringBuilder sb, Class<?> type) {
+        if (type.isArray()) {
+            sb.append(internalName(type));
+        } else if (type.isPrimitive()) {
+            sb.append(type == void.class ? 'V'
+                    : type == boolean.class ? 'Z'
+                    : type == byte.class ? 'B'
+                    : type == char.class ? 'C'
+                    : type == short.class ? 'S'
+                    : type == int.class ? 'I'
+                    : type == float.class ? 'F'
+                    : type == long.class ? 'J'
+                    : 'D');
+        } else {
+            sb.append('L').append(internalName(type)).append(';');
+        }
+    }
+
+    /**
+     * The bytes of a method body or an exception table.
+     */
+    static final class Code {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        Code op(int opcode) {
+            bytes.write(opcode);
+            return this;
+        }
+
+        Code u1(int value) {
+            if (value > 255)
+                throw new IllegalArgumentException("Too many arguments");
+            bytes.write(value);
+            return this;
+        }
+
+        Code u2(int value) {
+            bytes.write(value >>> 8);
+            bytes.write(value);
+            return this;
+        }
+
+        int length() {
+            return bytes.size();
+        }
+
+        void writeTo(DataOutputStream out) throws IOException {
+            bytes.writeTo(out);
+        }
+    }
+
+    /**
+     * The constant pool of the class file, which reuses entries already added.
+     */
+    static final class ConstantPool {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final DataOutputStream out = new DataOutputStream(bytes);
+        private final Map<String, Integer> entries = new HashMap<>();
+        private int count = 1;
+
+        int utf8(String value) throws IOException {
+            final Integer index = entries.get("U" + value);
+            if (index != null)
+                return index;
+            out.writeByte(1);
+            out.writeUTF(value);
+            return add("U" + value, 1);
+        }
+
+        int classRef(String internalName) throws IOException {
+            final Integer index = entries.get("C" + internalName);
+            if (index != null)
+                return index;
+            final int name = utf8(internalName);
+            out.writeByte(7);
+            out.writeShort(name);
+            return add("C" + internalName, 1);
+        }
+
+        int string(String value) throws IOException {
+            final Integer index = entries.get("S" + value);
+            if (index != null)
+                return index;
+            final int utf8 = utf8(value);
+            out.writeByte(8);
+            out.writeShort(utf8);
+            return add("S" + value, 1);
+        }
+
+        int intConstant(int value) throws IOException {
+            final Integer index = entries.get("I" + value);
+            if (index != null)
+                return index;
+            out.writeByte(3);
+            out.writeInt(value);
+            return add("I" + value, 1);
+        }
+
+        int longConstant(long value) throws IOException {
+            final Integer index = entries.get("J" + value);
+            if (index != null)
+                return index;
+            out.writeByte(5);
+            out.writeLong(value);
+            // a long takes two entries
+            return add("J" + value, 2);
+        }
+
+        int fieldRef(String owner, String name, String descriptor) throws IOException {
+            return memberRef(9, owner, name, descriptor);
+        }
+
+        int methodRef(String owner, String name, String descriptor) throws IOException {
+            return memberRef(10, owner, name, descriptor);
+        }
+
+        int interfaceMethodRef(String owner, String name, String descriptor) throws IOException {
+            return memberRef(11, owner, name, descriptor);
+        }
+
+        private int memberRef(int tag, String owner, String name, String descriptor) throws IOException {
+            final String key = tag + owner + '.' + name + descriptor;
+            final Integer index = entries.get(key);
+            if (index != null)
+                return index;
+            final int ownerIndex = classRef(owner);
+            final int nameIndex = utf8(name);
+            final int descriptorIndex = utf8(descriptor);
+            final Integer nameAndType = entries.get("N" + name + descriptor);
+            final int nameAndTypeIndex;
+            if (nameAndType == null) {
+                out.writeByte(12);
+                out.writeShort(nameIndex);
+                out.writeShort(descriptorIndex);
+                nameAndTypeIndex = add("N" + name + descriptor, 1);
+            } else {
+                nameAndTypeIndex = nameAndType;
+            }
+            out.writeByte(tag);
+            out.writeShort(ownerIndex);
+            out.writeShort(nameAndTypeIndex);
+            return add(key, 1);
+        }
+
+        private int add(String key, int size) {
+            final int index = count;
+            entries.put(key, index);
+            count += size;
+            return index;
+        }
+
+        void writeTo(DataOutputStream dos) throws IOException {
+            dos.writeShort(count);
+            bytes.writeTo(dos);
+        }
+    }
+
+    /**
+     * Defines generated classes, finding the classes they use in the given loader or, failing that, the loader of
+     * this library.
+     */
+    static final class GeneratedClassLoader extends ClassLoader {
+        GeneratedClassLoader(ClassLoader parent) {
+            super(parent);
+        }
+
+        Class<?> define(String name, byte[] code) {
+            return defineClass(name, code, 0, code.length);
+        }
+
+        @Override
+        protected Class<?> findClass(String name) throws ClassNotFoundException {
+            return Class.forName(name, false, ClassFile.class.getClassLoader());
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2013-2025 chronicle.software; SPDX-License-Identifier: Apache-2.0
+ */
+package net.openhft.chronicle.bytes.internal;
+
+import java.math.BigInteger;
+
+/**
+ * Correctly rounded conversion of {@code w * 10^q} to a {@code double} for a decimal significand
+ * {@code w} of up to 19 digits, using the Eisel-Lemire algorithm as in Daniel Lemire's fast_float.
+ * <p>
+ * Small values which are exact in a double use Clinger's fast path of a single multiply or divide,
+ * otherwise {@code w} is multiplied by a 128-bit approximation of {@code 5^q}, from a table built
+ * when the class is loaded. When {@code w} is exact the result is always correctly rounded. When
+ * {@code w} was truncated from a longer input the caller converts both {@code w} and {@code w + 1}
+ * and falls back to a slow parse if they differ.
+ */
+final class EiselLemire {
+
+    private static final int Q_MIN = -342;
+    private static final int Q_MAX = 308;
+    private static final int MANTISSA_BITS = 52;
+    private static final int INFINITE_POWER = 0x7FF;
+
+    /**
+     * The most significant 128 bits of 5^q for each q, as a high and a low long.
+     */
+    private static final long[] POWERS_OF_FIVE = new long[(Q_MAX - Q_MIN + 1) * 2];
+
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+    static {
+        final BigInteger two128 = BigInteger.ONE.shiftLeft(128);
+        for (int q = Q_MIN; q <= Q_MAX; q++) {
+            BigInteger c;
+            if (q < 0) {
+                // rounded up for the powers where that is exact enough, truncated from extra precision otherwise
+                final BigInteger pow5 = BigInteger.valueOf(5).pow(-q);
+                final int z = pow5.bitLength();
+                final int b = q >= -27 ? z + 127 : 2 * z + 128;
+                c = BigInteger.ONE.shiftLeft(b).divide(pow5).add(BigInteger.ONE);
+                if (c.compareTo(two128) >= 0)
+                    c = c.shiftRight(c.bitLength() - 128);
+            } else {
+                final BigInteger pow5 = BigInteger.valueOf(5).pow(q);
+                final int shift = pow5.bitLength() - 128;
+                c = shift < 0 ? pow5.shiftLeft(-shift) : pow5.shiftRight(shift);
+            }
+            final int index = (q - Q_MIN) * 2;
+            POWERS_OF_FIVE[index] = c.shiftRight(64).longValue();
+            POWERS_OF_FIVE[index + 1] = c.longValue();
+        }
+    }
+
+    // Suppresses default constructor, ensuring non-instantiability.
+    private EiselLemire() {
+    }
+
+    /**
+     * Returns the double nearest to {@code w * 10^q}, rounding half to even.
+     *
+     * @param negative whether the result is negative
+     * @param w        the decimal significand, as an unsigned long
+     * @param q        the power of ten
+     * @return the nearest double
+     */
+    static double toDouble(boolean negative, long w, int q) {
+        if (w == 0 || q < Q_MIN)
+            return negative ? -0.0 : 0.0;
+        if (q > Q_MAX)
+            return negative ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+        if (-22 <= q && q <= 22 && w >= 0 && w <= 1L << 53) {
+            // both w and 10^|q| are exact so a single rounding gives the right answer
+            final double d = q < 0 ? w / POWERS_OF_TEN[-q] : w * POWERS_OF_TEN[q];
+            return negative ? -d : d;
+        }
+        final int lz = Long.numberOfLeadingZeros(w);
+        w <<= lz;
+
+        final int index = (q - Q_MIN) * 2;
+        long high = unsignedMultiplyHigh(w, POWERS_OF_FIVE[index]);
+        long low = w * POWERS_OF_FIVE[index];
+        if ((high & 0x1FF) == 0x1FF) {
+            // the bits below the 55 needed may carry, so include the lower half of 5^q
+            final long high2 = unsignedMultiplyHigh(w, POWERS_OF_FIVE[index + 1]);
+            low += high2;
+            if (Long.compareUnsigned(high2, low) > 0)
+                high++;
+        }
+        final int upperBit = (int) (high >>> 63);
+        final int shift = upperBit + 64 - MANTISSA_BITS - 3;
+        long mantissa = high >>> shift;
+        int power2 = ((217_706 * q) >> 16) + 63 + upperBit - lz + 1023;
+
+        if (power2 <= 0) {
+            // subnormal
+            if (-power2 + 1 >= 64)
+                return negative ? -0.0 : 0.0;
+            mantissa >>>= -power2 + 1;
+            mantissa += mantissa & 1;
+            mantissa >>>= 1;
+            power2 = mantissa < 1L << MANTISSA_BITS ? 0 : 1;
+            return fromBits(negative, mantissa, power2);
+        }
+        // round half to even when the product is exact and lies halfway
+        if (Long.compareUnsigned(low, 1) <= 0 && q >= -4 && q <= 23 && (mantissa & 3) == 1
+                && mantissa << shift == high)
+            mantissa &= ~1L;
+        mantissa += mantissa & 1;
+        mantissa >>>= 1;
+        if (mantissa >= 2L << MANTISSA_BITS) {
+            mantissa = 1L << MANTISSA_BITS;
+            power2++;
+        }
+        if (power2 >= INFINITE_POWER)
+            return negative ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+        return fromBits(negative, mantissa, power2);
+    }
+
+    private static double fromBits(boolean negative, long mantissa, int power2) {
+        final long bits = (mantissa & ((1L << MANTISSA_BITS) - 1))
+                | (long) power2 << MANTISSA_BITS
+                | (negative ? Long.MIN_VALUE : 0L);
+        return Double.longBitsToDouble(bits);
+    }
+
+    // Math.unsignedMultiplyHigh is not available in Java 8
+    private static long unsignedMultiplyHigh(long x, long y) {
+        final long x1 = x >>> 32;
+        final long x0 = x & 0xFFFF_FFFFL;
+        final long y1 = y >>> 32;
+        final long y0 = y & 0xFFFF_FFFFL;
+        final long p00 = x0 * y0;
+        final long p01 = x0 * y1;
+        final long p10 = x1 * y0;
+        final long p11 = x1 * y1;
+        final long middle = (p00 >>> 32) + (p01 & 0xFFFF_FFFFL) + (p10 & 0xFFFF_FFFFL);
+        return p11 + (p01 >>> 32) + (p10 >>> 32) + (middle >>> 32);
+    }
+}
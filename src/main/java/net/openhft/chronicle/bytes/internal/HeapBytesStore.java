@@ -674,7 +674,18 @@ public class HeapBytesStore<U>
         long addr = writePosition;
         try {
             throwExceptionIfReleased();
-            if (exponent <= 0) {
+            if (exponent == 0) {
+                // whole numbers are written two digits at a time without reversing
+                if (negative)
+                    addr = rawWriteByte(addr, (byte) '-');
+                addr += UnsafeText.appendDigits(realUnderlyingObject, dataOffset + addr, mantissa);
+                if (append0) {
+                    addr = rawWriteByte(addr, (byte) '.');
+                    addr = rawWriteByte(addr, (byte) '0');
+                }
+                return addr - start;
+            }
+            if (exponent < 0) {
                 if (append0) {
                     addr = rawWriteByte(addr, (byte) '0');
                     addr = rawWriteByte(addr, (byte) '.');
@@ -0,0 +1,380 @@
+/*
+ * Copyright 2013-2025 chronicle.software; SPDX-License-Identifier: Apache-2.0
+ */
+package net.openhft.chronicle.bytes.internal;
+
+import net.openhft.chronicle.bytes.BytesIn;
+import net.openhft.chronicle.bytes.BytesOut;
+import net.openhft.chronicle.core.Jvm;
+import net.openhft.chronicle.core.UnsafeMemory;
+import net.openhft.chronicle.core.io.ClosedIllegalStateException;
+import net.openhft.chronicle.core.io.IORuntimeException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static net.openhft.chronicle.bytes.internal.ClassFile.*;
+import static net.openhft.chronicle.core.UnsafeMemory.MEMORY;
+
+/**
+ * Generates a class which reads and writes the fields of one class, for a specialised
+ * {@link net.openhft.chronicle.bytes.BytesMarshaller}. Fields are added in the order they are marshalled, and
+ * each becomes straight-line code in the generated methods: a primitive field or a block of them is read or written
+ * with direct memory access at a constant offset, and any other field calls its {@link FieldMarshaller} from its own
+ * call site, so the JIT sees one implementation at each. Hex dump descriptions are written as the reflective
+ * marshaller does.
+ * <p>
+ * The class file is written with {@link ClassFile}. The generated class calls the public static methods of this
+ * class, which are not intended to be called otherwise.
+ */
+public final class MarshallerGenerator {
+    private static final String SUFFIX = "$$BytesMarshaller";
+    private static final String FIELD_MARSHALLERS_DESC = descriptor(FieldMarshaller[].class);
+
+    private final Class<?> tClass;
+    private final List<Class<?>> types = new ArrayList<>();
+    private final List<Long> offsets = new ArrayList<>();
+    private final List<Integer> lengths = new ArrayList<>();
+    private final List<String> names = new ArrayList<>();
+    private final List<FieldMarshaller> others = new ArrayList<>();
+
+    /**
+     * @param tClass the class whose fields are marshalled
+     */
+    public MarshallerGenerator(@NotNull Class<?> tClass) {
+        this.tClass = tClass;
+    }
+
+    /**
+     * Adds a primitive field, written as {@link BytesOut#writeBoolean(boolean)}, {@link BytesOut#writeStopBit(long)}
+     * for a char, or the {@code write} method for its type.
+     *
+     * @param type   of the field
+     * @param offset of the field in the object
+     * @param name   written as the hex dump description
+     * @return this
+     */
+    public MarshallerGenerator primitive(@NotNull Class<?> type, long offset, @NotNull String name) {
+        if (!type.isPrimitive() || type == void.class)
+            throw new IllegalArgumentException(type + " is not a primitive type");
+        return add(type, offset, 0, name, null);
+    }
+
+    /**
+     * Adds {@code length} bytes of the object copied as one block of memory.
+     *
+     * @param offset of the first field in the object
+     * @param length in bytes
+     * @param name   written as the hex dump description
+     * @return this
+     */
+    public MarshallerGenerator raw(long offset, int length, @NotNull String name) {
+        return add(null, offset, length, name, null);
+    }
+
+    /**
+     * Adds a field read and written by {@code marshaller}, which writes its own hex dump description.
+     *
+     * @param marshaller of the field
+     * @return this
+     */
+    public MarshallerGenerator other(@NotNull FieldMarshaller marshaller) {
+        return add(Object.class, 0, 0, null, marshaller);
+    }
+
+    private MarshallerGenerator add(Class<?> type, long offset, int length, String name, FieldMarshaller marshaller) {
+        types.add(type);
+        offsets.add(offset);
+        lengths.add(length);
+        names.add(name);
+        if (marshaller != null)
+            others.add(marshaller);
+        return this;
+    }
+
+    /**
+     * Generates the class for the fields added.
+     *
+     * @return the generated fields, or null if the class couldn't be generated
+     */
+    @Nullable
+    public GeneratedFields generate() {
+        final String name = tClass.getName() + SUFFIX;
+        try {
+            final byte[] code = classFile(name.replace('.', '/'));
+            final Class<?> generated = new GeneratedClassLoader(tClass.getClassLoader()).define(name, code);
+            return (GeneratedFields) generated.getConstructor(FieldMarshaller[].class)
+                    .newInstance((Object) others.toArray(new FieldMarshaller[0]));
+        } catch (IOException | ReflectiveOperationException | LinkageError | RuntimeException e) {
+            Jvm.warn().on(MarshallerGenerator.class, "Unable to generate a marshaller for " + tClass.getName(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Called by a generated class to read a boolean field.
+     *
+     * @param in to read from
+     * @return the field as stored in memory
+     */
+    public static byte readBoolean(BytesIn<?> in) {
+        return (byte) (in.readBoolean() ? 1 : 0);
+    }
+
+    /**
+     * Called by a generated class to write a boolean field.
+     *
+     * @param out   to write to
+     * @param value of the field as stored in memory
+     */
+    public static void writeBoolean(BytesOut<?> out, byte value) {
+        out.writeBoolean(value != 0);
+    }
+
+    /**
+     * Called by a generated class to write a char field, as a stop bit encoded value which is short for the
+     * highest values.
+     *
+     * @param out to write to
+     * @param ch  the field
+     */
+    public static void writeChar(BytesOut<?> out, char ch) {
+        out.writeStopBit(ch >= 65536 - 127 ? ch - 65536L : ch);
+    }
+
+    /**
+     * Copies {@code length} bytes from {@code in} into {@code o} at {@code offset}. Unlike
+     * {@link BytesIn#unsafeReadObject(Object, int, int)} this is not limited to the first block of primitive fields.
+     *
+     * @param in     to read from
+     * @param o      to copy into
+     * @param offset in {@code o}
+     * @param length to copy
+     * @throws BufferUnderflowException    if fewer than {@code length} bytes remain
+     * @throws ClosedIllegalStateException if {@code in} has been released
+     */
+    public static void readRaw(BytesIn<?> in, Object o, long offset, int length)
+            throws BufferUnderflowException, ClosedIllegalStateException {
+        if (in.readRemaining() < length)
+            throw new BufferUnderflowException();
+        if (in.isDirectMemory()) {
+            final long src = in.addressForRead(in.readPosition());
+            in.readSkip(length);
+            MEMORY.copyMemory(src, o, offset, length);
+            return;
+        }
+        int i = 0;
+        for (; i < length - 7; i += 8)
+            MEMORY.writeLong(o, offset + i, in.readLong());
+        for (; i < length; i++)
+            MEMORY.writeByte(o, offset + i, in.readByte());
+    }
+
+    /**
+     * Called by a generated class when reading throws, to wrap it as the reflective marshaller does.
+     *
+     * @param thrown the cause, which the generated method rethrows
+     * @return {@code thrown}, or an {@link IORuntimeException} if it was caused by the input
+     */
+    public static Throwable readFailed(Throwable thrown) {
+        if (thrown instanceof BufferUnderflowException || thrown instanceof IllegalArgumentException
+                || thrown instanceof ArithmeticException || thrown instanceof ClosedIllegalStateException
+                || thrown instanceof BufferOverflowException)
+            return new IORuntimeException(thrown);
+        return thrown;
+    }
+
+    /**
+     * Called by a generated class when a {@link FieldMarshaller} can't access its field, to wrap it as the
+     * reflective marshaller does.
+     *
+     * @param thrown the cause
+     * @return an {@link AssertionError}, which the generated method throws
+     */
+    public static Throwable writeFailed(IllegalAccessException thrown) {
+        return new AssertionError(thrown);
+    }
+
+    private byte[] classFile(String internalName) throws IOException, NoSuchMethodException {
+        final ConstantPool pool = new ConstantPool();
+        final int thisClass = pool.classRef(internalName);
+        final int superClass = pool.classRef(OBJECT);
+        final int anInterface = pool.classRef(internalName(GeneratedFields.class));
+        final int othersField = pool.fieldRef(internalName, "others", FIELD_MARSHALLERS_DESC);
+        final int code = pool.utf8("Code");
+
+        final List<byte[]> fields = Collections.singletonList(field(pool.utf8("others"), pool.utf8(FIELD_MARSHALLERS_DESC)));
+        final List<byte[]> methods = new ArrayList<>();
+        methods.add(method(pool.utf8("<init>"), pool.utf8("(" + FIELD_MARSHALLERS_DESC + ")V"), code, 2, 2,
+                new Code()
+                        .op(0x2a) // aload_0
+                        .op(0xb7).u2(pool.methodRef(OBJECT, "<init>", "()V")) // invokespecial
+                        .op(0x2a) // aload_0
+                        .op(0x2b) // aload_1
+                        .op(0xb5).u2(othersField) // putfield
+                        .op(0xb1), // return
+                null));
+        methods.add(readFields(pool, othersField, code));
+        methods.add(writeFields(pool, othersField, code));
+        return ClassFile.classFile(pool, thisClass, superClass, anInterface, fields, methods);
+    }
+
+    private byte[] readFields(ConstantPool pool, int othersField, int codeAttribute) throws IOException, NoSuchMethodException {
+        final int memory = pool.fieldRef(internalName(UnsafeMemory.class), "MEMORY", descriptor(UnsafeMemory.class));
+        final Code code = new Code();
+        int other = 0;
+        for (int i = 0; i < types.size(); i++) {
+            final Class<?> type = types.get(i);
+            if (type == null) {
+                code.op(0x2c).op(0x2b) // aload_2, aload_1
+                        .op(0x14).u2(pool.longConstant(offsets.get(i))); // ldc2_w
+                pushInt(code, pool, lengths.get(i));
+                invoke(code, pool, MarshallerGenerator.class, "readRaw", BytesIn.class, Object.class, long.class, int.class);
+            } else if (type == Object.class) {
+                code.op(0x2a).op(0xb4).u2(othersField); // aload_0, getfield others
+                pushInt(code, pool, other++);
+                code.op(0x32) // aaload
+                        .op(0x2b).op(0x2c); // aload_1, aload_2
+                invoke(code, pool, FieldMarshaller.class, "read", Object.class, BytesIn.class);
+            } else {
+                code.op(0xb2).u2(memory) // getstatic MEMORY
+                        .op(0x2b) // aload_1
+                        .op(0x14).u2(pool.longConstant(offsets.get(i))) // ldc2_w
+                        .op(0x2c); // aload_2
+                final Class<?> stored = storedType(type);
+                if (type == boolean.class) {
+                    invoke(code, pool, MarshallerGenerator.class, "readBoolean", BytesIn.class);
+                } else if (type == char.class) {
+                    invoke(code, pool, BytesIn.class, "readStopBitChar");
+                    code.op(0x93); // i2s
+                } else {
+                    invoke(code, pool, BytesIn.class, "read" + methodSuffix(type));
+                }
+                invoke(code, pool, UnsafeMemory.class, "write" + methodSuffix(stored), Object.class, long.class, stored);
+            }
+        }
+        final int end = code.length();
+        code.op(0xb1); // return
+        final int handler = code.length();
+        invoke(code, pool, MarshallerGenerator.class, "readFailed", Throwable.class);
+        code.op(0xbf); // athrow
+
+        final Code exceptionTable = new Code().u2(0).u2(end).u2(handler).u2(0);
+        return method(pool.utf8("readFields"), pool.utf8(descriptor(new Class<?>[]{Object.class, BytesIn.class}, void.class)),
+                codeAttribute, 6, 3, code, end == 0 ? null : exceptionTable);
+    }
+
+    private byte[] writeFields(ConstantPool pool, int othersField, int codeAttribute) throws IOException, NoSuchMethodException {
+        final int memory = pool.fieldRef(internalName(UnsafeMemory.class), "MEMORY", descriptor(UnsafeMemory.class));
+        final Code code = new Code();
+        int other = 0;
+        for (int i = 0; i < types.size(); i++) {
+            final Class<?> type = types.get(i);
+            if (type == Object.class) {
+                code.op(0x2a).op(0xb4).u2(othersField); // aload_0, getfield others
+                pushInt(code, pool, other++);
+                code.op(0x32) // aaload
+                        .op(0x2b).op(0x2c); // aload_1, aload_2
+                invoke(code, pool, FieldMarshaller.class, "write", Object.class, BytesOut.class);
+                continue;
+            }
+            code.op(0x2c) // aload_2
+                    .op(0x13).u2(pool.string(names.get(i))); // ldc_w
+            pop(code, invoke(code, pool, BytesOut.class, "writeHexDumpDescription", CharSequence.class));
+            code.op(0x2c); // aload_2
+            if (type == null) {
+                code.op(0x2b); // aload_1
+                pushInt(code, pool, (int) (long) offsets.get(i));
+                pushInt(code, pool, lengths.get(i));
+                pop(code, invoke(code, pool, BytesOut.class, "unsafeWriteObject", Object.class, int.class, int.class));
+                continue;
+            }
+            final Class<?> stored = storedType(type);
+            code.op(0xb2).u2(memory) // getstatic MEMORY
+                    .op(0x2b) // aload_1
+                    .op(0x14).u2(pool.longConstant(offsets.get(i))); // ldc2_w
+            invoke(code, pool, UnsafeMemory.class, "read" + methodSuffix(stored), Object.class, long.class);
+            if (type == boolean.class) {
+                invoke(code, pool, MarshallerGenerator.class, "writeBoolean", BytesOut.class, byte.class);
+            } else if (type == char.class) {
+                code.op(0x92); // i2c
+                invoke(code, pool, MarshallerGenerator.class, "writeChar", BytesOut.class, char.class);
+            } else {
+                pop(code, invoke(code, pool, BytesOut.class, "write" + methodSuffix(type), type));
+            }
+        }
+        final int end = code.length();
+        code.op(0xb1); // return
+        final int name = pool.utf8("writeFields");
+        final int descriptor = pool.utf8(descriptor(new Class<?>[]{Object.class, BytesOut.class}, void.class));
+        // only a FieldMarshaller throws IllegalAccessException
+        if (others.isEmpty())
+            return method(name, descriptor, codeAttribute, 6, 3, code, null);
+        final int handler = code.length();
+        invoke(code, pool, MarshallerGenerator.class, "writeFailed", IllegalAccessException.class);
+        code.op(0xbf); // athrow
+
+        final Code exceptionTable = new Code().u2(0).u2(end).u2(handler).u2(pool.classRef(internalName(IllegalAccessException.class)));
+        return method(name, descriptor, codeAttribute, 6, 3, code, exceptionTable);
+    }
+
+    /**
+     * @return the type a field of {@code type} is accessed as in memory
+     */
+    private static Class<?> storedType(Class<?> type) {
+        return type == boolean.class ? byte.class : type == char.class ? short.class : type;
+    }
+
+    private static String methodSuffix(Class<?> type) {
+        final String name = type.getName();
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private static void pop(Code code, Class<?> returnType) {
+        if (returnType == long.class || returnType == double.class)
+            code.op(0x58); // pop2
+        else if (returnType != void.class)
+            code.op(0x57); // pop
+    }
+
+    /**
+     * Reads and writes a field which is not primitive.
+     */
+    public interface FieldMarshaller {
+        /**
+         * @param o    to set the field of
+         * @param read to read the field from
+         */
+        void read(Object o, BytesIn<?> read);
+
+        /**
+         * @param o     to get the field of
+         * @param write to write the field to
+         * @throws IllegalAccessException if the field can't be accessed
+         */
+        void write(Object o, BytesOut<?> write) throws IllegalAccessException;
+    }
+
+    /**
+     * Implemented by a generated class to read and write the fields added to the generator.
+     */
+    public interface GeneratedFields {
+        /**
+         * @param o  to set the fields of
+         * @param in to read the fields from
+         */
+        void readFields(Object o, BytesIn<?> in);
+
+        /**
+         * @param o   to get the fields of
+         * @param out to write the fields to
+         */
+        void writeFields(Object o, BytesOut<?> out);
+    }
+}
@@ -0,0 +1,253 @@
+/*
+ * Copyright 2013-2025 chronicle.software; SPDX-License-Identifier: Apache-2.0
+ */
+package net.openhft.chronicle.bytes.internal;
+
+import net.openhft.chronicle.bytes.BytesMarshallable;
+import net.openhft.chronicle.bytes.BytesOut;
+import net.openhft.chronicle.bytes.MethodId;
+import net.openhft.chronicle.core.Jvm;
+import net.openhft.chronicle.core.util.ClassLocal;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static net.openhft.chronicle.bytes.internal.ClassFile.*;
+
+/**
+ * Generates a concrete class implementing a binary method writer interface, as an alternative to a
+ * {@link java.lang.reflect.Proxy} with a {@link net.openhft.chronicle.bytes.BinaryBytesMethodWriterInvocationHandler}.
+ * Each generated method writes the method name as a hex dump description, the {@link MethodId} as a stop bit and
+ * then each argument with {@link BytesMarshallable#writeMarshallable(BytesOut)}, without an argument array or a
+ * lookup of the method. The write position is reset if anything is thrown, as for the proxy.
+ * <p>
+ * Only a public interface whose methods all have a {@link MethodId} and only take {@code Object} arguments is
+ * generated, otherwise {@link #newInstance(Class, BytesOut)} returns null and the caller uses a proxy. A generated
+ * class is used when requested with {@link net.openhft.chronicle.bytes.BytesMethodWriterBuilder#generate(boolean)},
+ * or by default with {@code -Dbytes.method.writer.generate=true}.
+ * <p>
+ * The class file is written with {@link ClassFile}. The generated class calls the public static methods of this class, which are not
+ * intended to be called otherwise.
+ */
+public final class MethodWriterGenerator {
+    /**
+     * Whether method writers are generated by default, set with {@code -Dbytes.method.writer.generate=true}.
+     */
+    public static final boolean GENERATE = Jvm.getBoolean("bytes.method.writer.generate");
+
+    private static final String SUFFIX = "$$BinaryMethodWriter";
+    private static final String BYTES_OUT = "net/openhft/chronicle/bytes/BytesOut";
+    private static final String BYTES_OUT_DESC = "L" + BYTES_OUT + ";";
+    private static final String SUPPORT = MethodWriterGenerator.class.getName().replace('.', '/');
+
+    private static final ClassLocal<Constructor<?>> CONSTRUCTORS = ClassLocal.withInitial(MethodWriterGenerator::generate);
+
+    // Private constructor to prevent instantiation
+    private MethodWriterGenerator() {
+    }
+
+    /**
+     * Creates a generated method writer for {@code tClass} writing to {@code out}.
+     *
+     * @param tClass interface to implement
+     * @param out    to write the method calls to
+     * @return the method writer, or null if one can't be generated for this interface
+     */
+    @Nullable
+    public static <T> T newInstance(@NotNull Class<T> tClass, @NotNull BytesOut<?> out) {
+        final Constructor<?> constructor = CONSTRUCTORS.get(tClass);
+        if (constructor == null)
+            return null;
+        try {
+            return tClass.cast(constructor.newInstance(out));
+        } catch (ReflectiveOperationException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    /**
+     * Called by a generated method before it writes anything.
+     *
+     * @param out to be written to
+     * @return the write position to reset to on failure
+     */
+    public static long position(BytesOut<?> out) {
+        return out.writePosition();
+    }
+
+    /**
+     * Called by a generated method to write the method name and id.
+     *
+     * @param out       to write to
+     * @param name      of the method
+     * @param messageId of the method
+     */
+    public static void writeMethod(BytesOut<?> out, String name, long messageId) {
+        out.writeHexDumpDescription(name);
+        out.writeStopBit(messageId);
+    }
+
+    /**
+     * Called by a generated method to write each argument.
+     *
+     * @param object argument to write
+     * @param out    to write to
+     * @throws IllegalArgumentException If the argument is not a {@link BytesMarshallable}
+     */
+    public static void writeArgument(Object object, BytesOut<?> out) throws IllegalArgumentException {
+        if (object instanceof BytesMarshallable) {
+            ((BytesMarshallable) object).writeMarshallable(out);
+            return;
+        }
+        throw new IllegalArgumentException("Object type " + object + " not supported");
+    }
+
+    /**
+     * Called by a generated method when anything is thrown after it started writing.
+     *
+     * @param out      written to
+     * @param position to reset to
+     * @param thrown   the cause, which the generated method rethrows
+     * @return {@code thrown}
+     */
+    public static Throwable rollback(BytesOut<?> out, long position, Throwable thrown) {
+        out.writePosition(position);
+        return thrown;
+    }
+
+    @Nullable
+    private static Constructor<?> generate(Class<?> tClass) {
+        final String reason = unsupportedReason(tClass);
+        if (reason != null) {
+            Jvm.debug().on(MethodWriterGenerator.class, "Using a proxy for " + tClass.getName() + " as " + reason);
+            return null;
+        }
+        final String name = tClass.getName() + SUFFIX;
+        try {
+            final byte[] code = classFile(tClass, name.replace('.', '/'));
+            final Class<?> generated = new GeneratedClassLoader(tClass.getClassLoader()).define(name, code);
+            return generated.getConstructor(BytesOut.class);
+        } catch (IOException | ReflectiveOperationException | LinkageError e) {
+            Jvm.warn().on(MethodWriterGenerator.class, "Unable to generate a method writer for " + tClass.getName() + ", using a proxy", e);
+            return null;
+        }
+    }
+
+    @Nullable
+    private static String unsupportedReason(Class<?> tClass) {
+        if (!tClass.isInterface() || !Modifier.isPublic(tClass.getModifiers()))
+            return "it is not a public interface";
+        if (tClass.getClassLoader() == null || tClass.getName().startsWith("java."))
+            return "it is a system class";
+        final Map<String, Class<?>> returnTypes = new HashMap<>();
+        for (Method method : tClass.getMethods()) {
+            if (Modifier.isStatic(method.getModifiers()))
+                continue;
+            if (Jvm.findAnnotation(method, MethodId.class) == null)
+                return method + " has no MethodId";
+            for (Class<?> parameterType : method.getParameterTypes())
+                if (parameterType.isPrimitive())
+                    return method + " has a primitive argument";
+            final Class<?> previous = returnTypes.put(method.getName() + descriptor(method.getParameterTypes(), void.class), method.getReturnType());
+            if (previous != null && previous != method.getReturnType())
+                return method + " is inherited with different return types";
+        }
+        return null;
+    }
+
+    private static byte[] classFile(Class<?> tClass, String internalName) throws IOException {
+        final ConstantPool pool = new ConstantPool();
+        final int thisClass = pool.classRef(internalName);
+        final int superClass = pool.classRef(OBJECT);
+        final int anInterface = pool.classRef(internalName(tClass));
+        final int outField = pool.fieldRef(internalName, "out", BYTES_OUT_DESC);
+        final int code = pool.utf8("Code");
+
+        final List<byte[]> fields = Collections.singletonList(field(pool.utf8("out"), pool.utf8(BYTES_OUT_DESC)));
+        final List<byte[]> methods = new ArrayList<>();
+        methods.add(method(pool.utf8("<init>"), pool.utf8("(" + BYTES_OUT_DESC + ")V"), code, 2, 2,
+                new Code()
+                        .op(0x2a) // aload_0
+                        .op(0xb7).u2(pool.methodRef(OBJECT, "<init>", "()V")) // invokespecial
+                        .op(0x2a) // aload_0
+                        .op(0x2b) // aload_1
+                        .op(0xb5).u2(outField) // putfield
+                        .op(0xb1), // return
+                null));
+
+        final Map<String, Method> implemented = new LinkedHashMap<>();
+        for (Method method : tClass.getMethods())
+            if (!Modifier.isStatic(method.getModifiers()))
+                implemented.putIfAbsent(method.getName() + descriptor(method.getParameterTypes(), void.class), method);
+        for (Method method : implemented.values())
+            methods.add(writerMethod(tClass, method, pool, outField, code));
+
+        return ClassFile.classFile(pool, thisClass, superClass, anInterface, fields, methods);
+    }
+
+    private static byte[] writerMethod(Class<?> tClass, Method method, ConstantPool pool, int outField, int codeAttribute) throws IOException {
+        final Class<?>[] parameterTypes = method.getParameterTypes();
+        final int position = 1 + parameterTypes.length;
+        final int thrown = position + 2;
+        final long messageId = Jvm.findAnnotation(method, MethodId.class).value();
+
+        final Code code = new Code()
+                .op(0x2a).op(0xb4).u2(outField) // aload_0, getfield out
+                .op(0xb8).u2(pool.methodRef(SUPPORT, "position", "(" + BYTES_OUT_DESC + ")J")) // invokestatic
+                .op(0x37).u1(position); // lstore
+        final int start = code.length();
+        code.op(0x2a).op(0xb4).u2(outField) // aload_0, getfield out
+                .op(0x13).u2(pool.string(method.getName())) // ldc_w
+                .op(0x14).u2(pool.longConstant(messageId)) // ldc2_w
+                .op(0xb8).u2(pool.methodRef(SUPPORT, "writeMethod", "(" + BYTES_OUT_DESC + "Ljava/lang/String;J)V"));
+        final int writeArgument = pool.methodRef(SUPPORT, "writeArgument", "(Ljava/lang/Object;" + BYTES_OUT_DESC + ")V");
+        for (int i = 0; i < parameterTypes.length; i++)
+            code.op(0x19).u1(1 + i) // aload
+                    .op(0x2a).op(0xb4).u2(outField) // aload_0, getfield out
+                    .op(0xb8).u2(writeArgument);
+        final int end = code.length();
+        returnDefault(tClass, method.getReturnType(), code);
+        final int handler = code.length();
+        code.op(0x3a).u1(thrown) // astore
+                .op(0x2a).op(0xb4).u2(outField) // aload_0, getfield out
+                .op(0x16).u1(position) // lload
+                .op(0x19).u1(thrown) // aload
+                .op(0xb8).u2(pool.methodRef(SUPPORT, "rollback", "(" + BYTES_OUT_DESC + "JLjava/lang/Throwable;)Ljava/lang/Throwable;"))
+                .op(0xbf); // athrow
+
+        final Code exceptionTable = new Code().u2(start).u2(end).u2(handler).u2(0);
+        return method(pool.utf8(method.getName()), pool.utf8(descriptor(parameterTypes, method.getReturnType())),
+                codeAttribute, 4, thrown + 1, code, exceptionTable);
+    }
+
+    /**
+     * Returns the same as the proxy does for a method which doesn't return a value, i.e. this writer if it is an
+     * instance of the return type, otherwise the default value of the return type.
+     */
+    private static void returnDefault(Class<?> tClass, Class<?> returnType, Code code) {
+        if (returnType == void.class)
+            code.op(0xb1); // return
+        else if (returnType == long.class)
+            code.op(0x09).op(0xad); // lconst_0, lreturn
+        else if (returnType == float.class)
+            code.op(0x0b).op(0xae); // fconst_0, freturn
+        else if (returnType == double.class)
+            code.op(0x0e).op(0xaf); // dconst_0, dreturn
+        else if (returnType.isPrimitive())
+            code.op(0x03).op(0xac); // iconst_0, ireturn
+        else if (returnType.isAssignableFrom(tClass))
+            code.op(0x2a).op(0xb0); // aload_0, areturn
+        else
+            code.op(0x01).op(0xb0); // aconst_null, areturn
+    }
+}
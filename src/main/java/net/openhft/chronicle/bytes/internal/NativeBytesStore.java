@@ -916,7 +916,18 @@ public class NativeBytesStore<U>
             long start = address + translate(writePosition);
             long addr = start;
 
-            if (exponent <= 0) {
+            if (exponent == 0) {
+                // whole numbers are written two digits at a time without reversing
+                if (negative)
+                    memory.writeByte(addr++, (byte) '-');
+                addr += UnsafeText.appendDigits(null, addr, mantissa);
+                if (append0) {
+                    memory.writeByte(addr++, (byte) '.');
+                    memory.writeByte(addr++, (byte) '0');
+                }
+                return addr - start;
+            }
+            if (exponent < 0) {
                 if (append0) {
                     memory.writeByte(addr++, (byte) '0');
                     memory.writeByte(addr++, (byte) '.');
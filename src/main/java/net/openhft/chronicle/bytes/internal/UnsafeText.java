@@ -5,6 +5,7 @@ package net.openhft.chronicle.bytes.internal;
 
 import net.openhft.chronicle.core.*;
 
+import static net.openhft.chronicle.bytes.algo.OptimisedBytesStoreHash.IS_LITTLE_ENDIAN;
 import static net.openhft.chronicle.core.UnsafeMemory.MEMORY;
 
 /**
@@ -23,6 +24,24 @@ public final class UnsafeText {
     private static final long MAX_VALUE_DIVIDE_5 = Long.MAX_VALUE / 5;
     private static final String MIN_VALUE_STR = "" + Long.MIN_VALUE;
     private static final long ARRAY_BYTE_BASE_OFFSET = Jvm.arrayByteBaseOffset();
+    // "00" to "99" as pairs of ASCII digits
+    static final byte[] TWO_DIGITS = new byte[200];
+    // the same pairs in native byte order so two digits are written at once
+    private static final short[] DIGIT_PAIRS = new short[100];
+    private static final long[] TENS = new long[19];
+
+    static {
+        for (int i = 0; i < 100; i++) {
+            final int tens = '0' + i / 10;
+            final int units = '0' + i % 10;
+            TWO_DIGITS[i * 2] = (byte) tens;
+            TWO_DIGITS[i * 2 + 1] = (byte) units;
+            DIGIT_PAIRS[i] = (short) (IS_LITTLE_ENDIAN ? tens | units << 8 : tens << 8 | units);
+        }
+        TENS[0] = 1;
+        for (int i = 1; i < TENS.length; i++)
+            TENS[i] = TENS[i - 1] * 10;
+    }
 
     /**
      * Writes the decimal representation of {@code num} to {@code address}.
@@ -40,16 +59,73 @@ public final class UnsafeText {
             return appendText(address, MIN_VALUE_STR);
         }
 
-        long start = address;
-        do {
-            long div = num / 10;
-            long mod = num % 10;
-            MEMORY.writeByte(address++, (byte) ('0' + mod));
+        return address + appendDigits(null, address, num);
+    }
+
+    /**
+     * Writes the digits of a non-negative {@code num} two at a time from the end, at {@code offset} in
+     * {@code object}, or at the address {@code offset} if {@code object} is null.
+     * The caller must ensure enough writable bytes are available.
+     *
+     * @return the number of digits written
+     */
+    static int appendDigits(Object object, long offset, long num) {
+        final int digits = digitCount(num);
+        long pos = offset + digits;
+        while (num > Integer.MAX_VALUE) {
+            final long div = num / 100;
+            pos -= 2;
+            MEMORY.writeShort(object, pos, DIGIT_PAIRS[(int) (num - div * 100)]);
             num = div;
-        } while (num > 0);
-        // reverse the order
-        reverseTheOrder(address, start);
-        return address;
+        }
+        int n = (int) num;
+        while (n >= 100) {
+            final int div = n / 100;
+            pos -= 2;
+            MEMORY.writeShort(object, pos, DIGIT_PAIRS[n - div * 100]);
+            n = div;
+        }
+        if (n >= 10)
+            MEMORY.writeShort(object, pos - 2, DIGIT_PAIRS[n]);
+        else
+            MEMORY.writeByte(object, pos - 1, (byte) ('0' + n));
+        return digits;
+    }
+
+    /**
+     * Returns the number of decimal digits in a non-negative {@code num}, without branching on its size.
+     * The bit length gives the digit count to within one, via log10(2) ~ 1233 / 4096, and comparing with
+     * the power of ten corrects it.
+     */
+    static int digitCount(long num) {
+        // 0 has one digit like 1
+        final long n = num | 1;
+        final int approx = ((64 - Long.numberOfLeadingZeros(n)) * 1233) >>> 12;
+        return approx + 1 - (int) ((n - TENS[approx]) >>> 63);
+    }
+
+    /**
+     * Writes the digits of a non-negative {@code num} two at a time, ending just before {@code end}.
+     *
+     * @return the index of the first digit
+     */
+    static int writeDigits(byte[] buffer, int end, long num) {
+        final int start = end - digitCount(num);
+        int pos = end;
+        while (num >= 100) {
+            final long div = num / 100;
+            final int pair = (int) (num - div * 100) * 2;
+            buffer[--pos] = TWO_DIGITS[pair + 1];
+            buffer[--pos] = TWO_DIGITS[pair];
+            num = div;
+        }
+        if (num >= 10) {
+            buffer[--pos] = TWO_DIGITS[(int) num * 2 + 1];
+            buffer[--pos] = TWO_DIGITS[(int) num * 2];
+        } else {
+            buffer[--pos] = (byte) ('0' + num);
+        }
+        return start;
     }
 
     private static void reverseTheOrder(long address, long start) {
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2013-2025 chronicle.software; SPDX-License-Identifier: Apache-2.0
+ */
+package net.openhft.chronicle.bytes.ref;
+
+import net.openhft.chronicle.bytes.BytesStore;
+import net.openhft.chronicle.core.annotation.NonNegative;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.BufferOverflowException;
+
+/**
+ * Base class of the references to a structure in a {@link BytesStore} which threads and processes update with
+ * 8 byte atomic operations, so the structure must be 8 byte aligned. A structure whose size can vary stores it in its
+ * first 8 bytes, so another process can check it is binding to the same structure.
+ */
+@SuppressWarnings("rawtypes")
+abstract class AbstractSharedReference extends AbstractReference {
+
+    /**
+     * Binds this reference to {@code length} bytes of {@code bytes} after checking the region is aligned and in the
+     * store. If {@code header} is not 0 it is set as the first 8 bytes of a new, zeroed structure, or checked against
+     * those of an existing one.
+     *
+     * @param header     the size stored in the first 8 bytes, or 0 if there is none
+     * @param headerName what the header is, for the error message
+     * @throws IllegalArgumentException If the offset is not 8 byte aligned, or the store holds a different header
+     * @throws BufferOverflowException  If the region exceeds the store capacity
+     */
+    void bindAligned(@NotNull BytesStore bytes, @NonNegative long offset, @NonNegative long length, long header, String headerName)
+            throws IllegalStateException, IllegalArgumentException, BufferOverflowException {
+        if ((offset & 7) != 0)
+            throw new IllegalArgumentException("offset must be 8 byte aligned, was " + offset);
+        if (offset + length > bytes.capacity())
+            throw new BufferOverflowException();
+        if (header != 0) {
+            // set the header of a new structure, or check it for an existing one
+            bytes.compareAndSwapLong(offset, 0, header);
+            final long existing = bytes.readVolatileLong(offset);
+            if (existing != header)
+                throw new IllegalArgumentException("The " + getClass().getSimpleName() + " at " + offset + " has " +
+                        headerName + " " + existing + ", not " + header);
+        }
+        super.bytesStore(bytes, offset, length);
+    }
+
+    /**
+     * @return the store bound to this reference
+     * @throws IllegalStateException If no store is bound, or this has been closed
+     */
+    BytesStore store() throws IllegalStateException {
+        final BytesStore store = bytesStore;
+        if (store == null) {
+            throwExceptionIfClosed();
+            throw new IllegalStateException("No BytesStore bound to this " + getClass().getSimpleName());
+        }
+        return store;
+    }
+
+    /**
+     * @return a description of the structure, for {@link #toString()} when a store is bound
+     */
+    abstract String contents() throws IllegalStateException;
+
+    @NotNull
+    @Override
+    public String toString() {
+        if (bytesStore == null)
+            return "bytes is null";
+        try {
+            return contents();
+        } catch (Exception e) {
+            return e.toString();
+        }
+    }
+}
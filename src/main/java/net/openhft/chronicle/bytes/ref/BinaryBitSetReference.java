@@ -0,0 +1,251 @@
+/*
+ * Copyright 2013-2025 chronicle.software; SPDX-License-Identifier: Apache-2.0
+ */
+package net.openhft.chronicle.bytes.ref;
+
+import net.openhft.chronicle.bytes.BytesStore;
+import net.openhft.chronicle.core.annotation.NonNegative;
+import net.openhft.chronicle.core.io.ClosedIllegalStateException;
+import net.openhft.chronicle.core.io.ThreadingIllegalStateException;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.BufferOverflowException;
+
+/**
+ * A fixed capacity set of bits in a {@link BytesStore}, which threads and processes sharing the store can update
+ * atomically. Each bit is changed with a compare-and-swap of the 64-bit word holding it, and searches and counts read a
+ * word at a time.
+ * <p>
+ * The layout is {@code [capacity][words...]} in native byte order, where the capacity is the number of bits, so
+ * another process can bind to the set knowing only its capacity and where it is. Zeroed memory is an empty set.
+ * <p>Example usage:</p>
+ * <pre>{@code
+ * BinaryBitSetReference slots = new BinaryBitSetReference(1024);
+ * slots.bytesStore(mappedStore, offset, slots.maxSize());
+ * long slot = slots.nextClearBit(0);
+ * if (slot >= 0 && !slots.testAndSet(slot)) {
+ *     // this process owns the slot
+ * }
+ * }</pre>
+ */
+@SuppressWarnings("rawtypes")
+public class BinaryBitSetReference extends AbstractSharedReference {
+    private static final long CAPACITY = 0;
+    private static final long WORDS = CAPACITY + Long.BYTES;
+    private static final int WORD_SHIFT = 6;
+
+    private final long capacity;
+
+    /**
+     * @param capacity the number of bits
+     * @throws IllegalArgumentException If {@code capacity} is not positive
+     */
+    public BinaryBitSetReference(@NonNegative long capacity) throws IllegalArgumentException {
+        sizeFor(capacity);
+        this.capacity = capacity;
+    }
+
+    /**
+     * Returns the number of bytes needed for a set of {@code capacity} bits.
+     *
+     * @param capacity the number of bits
+     * @return the number of bytes
+     * @throws IllegalArgumentException If {@code capacity} is not positive or too large
+     */
+    public static long sizeFor(long capacity) throws IllegalArgumentException {
+        if (capacity <= 0 || capacity > Long.MAX_VALUE - 2 * Long.SIZE)
+            throw new IllegalArgumentException("capacity must be positive, was " + capacity);
+        return WORDS + (((capacity + Long.SIZE - 1) >>> WORD_SHIFT) << 3);
+    }
+
+    /**
+     * Binds this set to {@code length} bytes of {@code bytes}, which must be {@link #maxSize()}, and zeroed if the set
+     * is new.
+     *
+     * @throws IllegalArgumentException If the length is not {@link #maxSize()}, or the store holds a set with a different capacity
+     * @throws BufferOverflowException  If the region exceeds the store capacity
+     */
+    @Override
+    public void bytesStore(@NotNull BytesStore bytes, @NonNegative long offset, @NonNegative long length)
+            throws IllegalStateException, IllegalArgumentException, BufferOverflowException {
+        if (length != maxSize())
+            throw new IllegalArgumentException("length must be " + maxSize() + ", was " + length);
+        bindAligned(bytes, offset, length, capacity, "capacity");
+    }
+
+    @Override
+    public long maxSize() {
+        return sizeFor(capacity);
+    }
+
+    /**
+     * @return the number of bits
+     */
+    public long capacity() {
+        return capacity;
+    }
+
+    /**
+     * @param index of the bit
+     * @return whether the bit is set
+     * @throws IndexOutOfBoundsException      If the index is not less than the capacity
+     * @throws ClosedIllegalStateException    If the resource has been released or closed.
+     * @throws ThreadingIllegalStateException If this resource was accessed by multiple threads in an unsafe way
+     */
+    public boolean get(@NonNegative long index) throws IllegalStateException {
+        return (store().readVolatileLong(wordOffset(index)) & (1L << index)) != 0;
+    }
+
+    /**
+     * Sets a bit.
+     *
+     * @param index of the bit
+     * @throws IndexOutOfBoundsException   If the index is not less than the capacity
+     * @throws ClosedIllegalStateException If the resource has been released or closed.
+     */
+    public void set(@NonNegative long index) throws IllegalStateException {
+        testAndSet(index);
+    }
+
+    /**
+     * Sets a bit, returning whether it was already set, so of any number of callers setting the same bit, exactly one
+     * sees {@code false}.
+     *
+     * @param index of the bit
+     * @return whether the bit was already set
+     * @throws IndexOutOfBoundsException      If the index is not less than the capacity
+     * @throws ClosedIllegalStateException    If the resource has been released or closed.
+     * @throws ThreadingIllegalStateException If this resource was accessed by multiple threads in an unsafe way
+     */
+    public boolean testAndSet(@NonNegative long index) throws IllegalStateException {
+        final BytesStore store = store();
+        final long word = wordOffset(index);
+        final long mask = 1L << index;
+        for (; ; ) {
+            final long current = store.readVolatileLong(word);
+            if ((current & mask) != 0)
+                return true;
+            if (store.compareAndSwapLong(word, current, current | mask))
+                return false;
+        }
+    }
+
+    /**
+     * Clears a bit, returning whether it was set.
+     *
+     * @param index of the bit
+     * @return whether the bit was set
+     * @throws IndexOutOfBoundsException      If the index is not less than the capacity
+     * @throws ClosedIllegalStateException    If the resource has been released or closed.
+     * @throws ThreadingIllegalStateException If this resource was accessed by multiple threads in an unsafe way
+     */
+    public boolean clear(@NonNegative long index) throws IllegalStateException {
+        final BytesStore store = store();
+        final long word = wordOffset(index);
+        final long mask = 1L << index;
+        for (; ; ) {
+            final long current = store.readVolatileLong(word);
+            if ((current & mask) == 0)
+                return false;
+            if (store.compareAndSwapLong(word, current, current & ~mask))
+                return true;
+        }
+    }
+
+    /**
+     * Returns the index of the first set bit at or after {@code fromIndex}.
+     *
+     * @param fromIndex to start searching from
+     * @return the index of the bit, or -1 if there is none
+     * @throws ClosedIllegalStateException If the resource has been released or closed.
+     */
+    public long nextSetBit(@NonNegative long fromIndex) throws IllegalStateException {
+        final BytesStore store = store();
+        if (fromIndex < 0)
+            throw new IndexOutOfBoundsException("fromIndex " + fromIndex + " < 0");
+        if (fromIndex >= capacity)
+            return -1;
+        long i = fromIndex >>> WORD_SHIFT;
+        long word = store.readVolatileLong(offset + WORDS + (i << 3)) & (-1L << fromIndex);
+        final long words = wordCount();
+        for (; ; ) {
+            if (word != 0) {
+                final long index = (i << WORD_SHIFT) + Long.numberOfTrailingZeros(word);
+                return index < capacity ? index : -1;
+            }
+            if (++i >= words)
+                return -1;
+            word = store.readVolatileLong(offset + WORDS + (i << 3));
+        }
+    }
+
+    /**
+     * Returns the index of the first clear bit at or after {@code fromIndex}. Unlike {@link java.util.BitSet} the set
+     * has a fixed capacity, so there may be none.
+     *
+     * @param fromIndex to start searching from
+     * @return the index of the bit, or -1 if there is none
+     * @throws ClosedIllegalStateException If the resource has been released or closed.
+     */
+    public long nextClearBit(@NonNegative long fromIndex) throws IllegalStateException {
+        final BytesStore store = store();
+        if (fromIndex < 0)
+            throw new IndexOutOfBoundsException("fromIndex " + fromIndex + " < 0");
+        if (fromIndex >= capacity)
+            return -1;
+        long i = fromIndex >>> WORD_SHIFT;
+        long word = ~store.readVolatileLong(offset + WORDS + (i << 3)) & (-1L << fromIndex);
+        final long words = wordCount();
+        for (; ; ) {
+            if (word != 0) {
+                final long index = (i << WORD_SHIFT) + Long.numberOfTrailingZeros(word);
+                return index < capacity ? index : -1;
+            }
+            if (++i >= words)
+                return -1;
+            word = ~store.readVolatileLong(offset + WORDS + (i << 3));
+        }
+    }
+
+    /**
+     * Returns the number of set bits, which is not a snapshot if bits change while it is counted.
+     *
+     * @return the number of set bits
+     * @throws ClosedIllegalStateException If the resource has been released or closed.
+     */
+    public long cardinality() throws IllegalStateException {
+        final BytesStore store = store();
+        final long words = wordCount();
+        long count = 0;
+        for (long i = 0; i < words; i++)
+            count += Long.bitCount(store.readVolatileLong(offset + WORDS + (i << 3)));
+        return count;
+    }
+
+    /**
+     * Clears every bit. Bits set at the same time may or may not be cleared.
+     *
+     * @throws ClosedIllegalStateException If the resource has been released or closed.
+     */
+    public void clearAll() throws IllegalStateException {
+        final BytesStore store = store();
+        final long words = wordCount();
+        for (long i = 0; i < words; i++)
+            store.writeOrderedLong(offset + WORDS + (i << 3), 0L);
+    }
+
+    private long wordCount() {
+        return (capacity + Long.SIZE - 1) >>> WORD_SHIFT;
+    }
+
+    private long wordOffset(long index) {
+        if (index < 0 || index >= capacity)
+            throw new IndexOutOfBoundsException("index " + index + " not in [0, " + capacity + ")");
+        return offset + WORDS + ((index >>> WORD_SHIFT) << 3);
+    }
+
+    @Override
+    String contents() throws IllegalStateException {
+        return "capacity: " + capacity + ", cardinality: " + cardinality();
+    }
+}
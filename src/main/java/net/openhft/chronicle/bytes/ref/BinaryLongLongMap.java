@@ -0,0 +1,345 @@
+/*
+ * Copyright 2013-2025 chronicle.software; SPDX-License-Identifier: Apache-2.0
+ */
+package net.openhft.chronicle.bytes.ref;
+
+import net.openhft.chronicle.bytes.BytesStore;
+import net.openhft.chronicle.core.annotation.NonNegative;
+import net.openhft.chronicle.core.io.ClosedIllegalStateException;
+import net.openhft.chronicle.core.io.ThreadingIllegalStateException;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.BufferOverflowException;
+
+/**
+ * A lock-free open addressing map of {@code long} keys to {@code long} values stored in a {@link BytesStore}, which
+ * can be native memory or a memory mapped file shared between processes.
+ * <p>
+ * The layout is {@code [capacity][size][used][padding to 64 bytes]} followed by {@code capacity} entries of
+ * {@code [key][value]}, in native byte order. Keys and values are stored with their sign bit flipped, so zeroed
+ * memory is an empty map. A key is claimed for a slot with a compare-and-swap and is never moved, and values are
+ * only changed with a compare-and-swap, so readers and writers in any thread or process don't need a lock.
+ * Removing a key leaves its slot as a tombstone, which is reused if the key is added again, and dropped when the
+ * map is rehashed with {@link #rehashInto(BinaryLongLongMap)}.
+ * <p>
+ * {@link Long#MIN_VALUE} can't be used as a key or a value, and is returned as {@link #NO_VALUE} for a missing key.
+ * <p>Example usage:</p>
+ * <pre>{@code
+ * BytesStore<?, ?> store = BytesStore.nativeStoreWithFixedCapacity(BinaryLongLongMap.sizeFor(1 << 20));
+ * store.zeroOut(0, store.capacity());
+ * BinaryLongLongMap map = new BinaryLongLongMap();
+ * map.bytesStore(store, 0, BinaryLongLongMap.sizeFor(1 << 20));
+ * map.put(orderId, slot);
+ * long slot = map.get(orderId);
+ * }</pre>
+ */
+@SuppressWarnings("rawtypes")
+public class BinaryLongLongMap extends AbstractSharedReference {
+    /**
+     * Returned for a missing key, and can't be stored as a value.
+     */
+    public static final long NO_VALUE = Long.MIN_VALUE;
+
+    private static final long CAPACITY = 0;
+    private static final long SIZE = CAPACITY + Long.BYTES;
+    private static final long USED = SIZE + Long.BYTES;
+    private static final long ENTRIES = 64;
+    private static final int ENTRY_SHIFT = 4;
+    private static final long EMPTY = 0;
+
+    private long capacity;
+    private long mask;
+
+    /**
+     * Returns the number of bytes needed for a map with {@code capacity} slots.
+     *
+     * @param capacity the number of slots, which must be a power of two
+     * @return the number of bytes
+     * @throws IllegalArgumentException If {@code capacity} is not a positive power of two
+     */
+    public static long sizeFor(long capacity) throws IllegalArgumentException {
+        if (capacity <= 0 || Long.bitCount(capacity) != 1 || capacity > (Long.MAX_VALUE - ENTRIES) >> ENTRY_SHIFT)
+            throw new IllegalArgumentException("capacity must be a positive power of two, was " + capacity);
+        return ENTRIES + (capacity << ENTRY_SHIFT);
+    }
+
+    /**
+     * Binds this map to {@code length} bytes of {@code bytes}, which must be {@link #sizeFor(long)} a power of
+     * two, and zeroed if the map is new.
+     *
+     * @throws IllegalArgumentException If the length is not the size of a map, or the store holds a map of a different capacity
+     * @throws BufferOverflowException  If the region exceeds the store capacity
+     */
+    @Override
+    public void bytesStore(@NotNull BytesStore bytes, @NonNegative long offset, @NonNegative long length)
+            throws IllegalStateException, IllegalArgumentException, BufferOverflowException {
+        final long slots = (length - ENTRIES) >> ENTRY_SHIFT;
+        if (length <= ENTRIES || sizeFor(Long.highestOneBit(slots)) != length)
+            throw new IllegalArgumentException("length " + length + " is not the size of a map");
+        bindAligned(bytes, offset, length, slots, "capacity");
+        this.capacity = slots;
+        this.mask = slots - 1;
+    }
+
+    @Override
+    public long maxSize() {
+        return ENTRIES + (capacity << ENTRY_SHIFT);
+    }
+
+    /**
+     * @return the number of slots
+     */
+    public long capacity() {
+        return capacity;
+    }
+
+    /**
+     * @return the number of keys with a value
+     * @throws ClosedIllegalStateException    If the resource has been released or closed.
+     * @throws ThreadingIllegalStateException If this resource was accessed by multiple threads in an unsafe way
+     */
+    public long size() throws IllegalStateException {
+        return store().readVolatileLong(offset + SIZE);
+    }
+
+    /**
+     * @return the number of slots with a key, including tombstones
+     * @throws ClosedIllegalStateException    If the resource has been released or closed.
+     * @throws ThreadingIllegalStateException If this resource was accessed by multiple threads in an unsafe way
+     */
+    public long usedSlots() throws IllegalStateException {
+        return store().readVolatileLong(offset + USED);
+    }
+
+    /**
+     * @return true if three quarters of the slots have a key, after which a larger map should be used
+     * @throws ClosedIllegalStateException    If the resource has been released or closed.
+     * @throws ThreadingIllegalStateException If this resource was accessed by multiple threads in an unsafe way
+     */
+    public boolean needsResize() throws IllegalStateException {
+        return usedSlots() >= capacity - (capacity >> 2);
+    }
+
+    /**
+     * @param key to look up
+     * @return the value of {@code key}, or {@link #NO_VALUE} if it has none
+     * @throws ClosedIllegalStateException    If the resource has been released or closed.
+     * @throws ThreadingIllegalStateException If this resource was accessed by multiple threads in an unsafe way
+     */
+    public long get(long key) throws IllegalStateException {
+        final long entry = find(key);
+        return entry < 0 ? NO_VALUE : decode(store().readVolatileLong(entry + Long.BYTES));
+    }
+
+    /**
+     * @param key to look up
+     * @return true if {@code key} has a value
+     * @throws ClosedIllegalStateException    If the resource has been released or closed.
+     * @throws ThreadingIllegalStateException If this resource was accessed by multiple threads in an unsafe way
+     */
+    public boolean containsKey(long key) throws IllegalStateException {
+        return get(key) != NO_VALUE;
+    }
+
+    /**
+     * Sets the value of {@code key}.
+     *
+     * @return the previous value, or {@link #NO_VALUE} if there was none
+     * @throws IllegalArgumentException If the key or value is {@link Long#MIN_VALUE}
+     * @throws IllegalStateException    If the key is new and there is no free slot
+     * @throws ClosedIllegalStateException If the resource has been released or closed.
+     */
+    public long put(long key, long value) throws IllegalArgumentException, IllegalStateException {
+        final long encoded = encodeValue(value);
+        final long valueOffset = claim(key) + Long.BYTES;
+        final BytesStore store = store();
+        for (; ; ) {
+            final long previous = store.readVolatileLong(valueOffset);
+            if (store.compareAndSwapLong(valueOffset, previous, encoded)) {
+                if (previous == EMPTY)
+                    store.addAndGetLong(offset + SIZE, 1);
+                return decode(previous);
+            }
+        }
+    }
+
+    /**
+     * Sets the value of {@code key} if it has none.
+     *
+     * @return the current value, or {@link #NO_VALUE} if there was none and {@code value} was set
+     * @throws IllegalArgumentException If the key or value is {@link Long#MIN_VALUE}
+     * @throws IllegalStateException    If the key is new and there is no free slot
+     * @throws ClosedIllegalStateException If the resource has been released or closed.
+     */
+    public long putIfAbsent(long key, long value) throws IllegalArgumentException, IllegalStateException {
+        final long encoded = encodeValue(value);
+        final long valueOffset = claim(key) + Long.BYTES;
+        final BytesStore store = store();
+        for (; ; ) {
+            final long previous = store.readVolatileLong(valueOffset);
+            if (previous != EMPTY)
+                return decode(previous);
+            if (store.compareAndSwapLong(valueOffset, EMPTY, encoded)) {
+                store.addAndGetLong(offset + SIZE, 1);
+                return NO_VALUE;
+            }
+        }
+    }
+
+    /**
+     * Sets the value of {@code key} to {@code value} only if it is currently {@code expected}.
+     *
+     * @return true if the value was replaced
+     * @throws IllegalArgumentException If either value is {@link Long#MIN_VALUE}
+     * @throws ClosedIllegalStateException If the resource has been released or closed.
+     */
+    public boolean replace(long key, long expected, long value) throws IllegalArgumentException, IllegalStateException {
+        final long encodedExpected = encodeValue(expected);
+        final long encoded = encodeValue(value);
+        final long entry = find(key);
+        return entry >= 0 && store().compareAndSwapLong(entry + Long.BYTES, encodedExpected, encoded);
+    }
+
+    /**
+     * Removes the value of {@code key}, leaving its slot as a tombstone.
+     *
+     * @return the previous value, or {@link #NO_VALUE} if there was none
+     * @throws ClosedIllegalStateException    If the resource has been released or closed.
+     * @throws ThreadingIllegalStateException If this resource was accessed by multiple threads in an unsafe way
+     */
+    public long remove(long key) throws IllegalStateException {
+        final long entry = find(key);
+        if (entry < 0)
+            return NO_VALUE;
+        final long valueOffset = entry + Long.BYTES;
+        final BytesStore store = store();
+        for (; ; ) {
+            final long previous = store.readVolatileLong(valueOffset);
+            if (previous == EMPTY)
+                return NO_VALUE;
+            if (store.compareAndSwapLong(valueOffset, previous, EMPTY)) {
+                store.addAndGetLong(offset + SIZE, -1);
+                return decode(previous);
+            }
+        }
+    }
+
+    /**
+     * Removes the value of {@code key} only if it is currently {@code expected}.
+     *
+     * @return true if the value was removed
+     * @throws IllegalArgumentException If {@code expected} is {@link Long#MIN_VALUE}
+     * @throws ClosedIllegalStateException If the resource has been released or closed.
+     */
+    public boolean remove(long key, long expected) throws IllegalArgumentException, IllegalStateException {
+        final long encodedExpected = encodeValue(expected);
+        final long entry = find(key);
+        if (entry < 0 || !store().compareAndSwapLong(entry + Long.BYTES, encodedExpected, EMPTY))
+            return false;
+        store().addAndGetLong(offset + SIZE, -1);
+        return true;
+    }
+
+    /**
+     * Puts every key with a value into {@code target}, which is usually a new, larger map. Tombstones are not
+     * copied. Keys added or changed in this map while it is rehashed might not be copied, so writers should be
+     * stopped, or switched to {@code target} first.
+     *
+     * @param target to put the keys and values into
+     * @throws IllegalStateException If {@code target} runs out of free slots
+     * @throws ClosedIllegalStateException If the resource has been released or closed.
+     */
+    public void rehashInto(@NotNull BinaryLongLongMap target) throws IllegalStateException {
+        final BytesStore store = store();
+        for (long i = 0; i < capacity; i++) {
+            final long entry = offset + ENTRIES + (i << ENTRY_SHIFT);
+            final long key = store.readVolatileLong(entry);
+            if (key == EMPTY)
+                continue;
+            final long value = store.readVolatileLong(entry + Long.BYTES);
+            if (value != EMPTY)
+                target.put(decode(key), decode(value));
+        }
+    }
+
+    /**
+     * Removes every key, including tombstones. This must not be called while other threads use the map.
+     *
+     * @throws ClosedIllegalStateException If the resource has been released or closed.
+     */
+    public void clear() throws IllegalStateException {
+        final BytesStore store = store();
+        store.zeroOut(offset + ENTRIES, offset + maxSize());
+        store.writeLong(offset + USED, 0);
+        store.writeVolatileLong(offset + SIZE, 0);
+    }
+
+    /**
+     * @return the offset of the entry of {@code key}, or -1 if it has no slot
+     */
+    private long find(long key) {
+        final long storedKey = encodeKey(key);
+        final BytesStore store = store();
+        long slot = slot(storedKey);
+        for (long i = 0; i < capacity; i++, slot = (slot + 1) & mask) {
+            final long entry = offset + ENTRIES + (slot << ENTRY_SHIFT);
+            final long actual = store.readVolatileLong(entry);
+            if (actual == storedKey)
+                return entry;
+            if (actual == EMPTY)
+                return -1;
+        }
+        return -1;
+    }
+
+    /**
+     * @return the offset of the entry of {@code key}, claiming a free slot for it if it has none
+     */
+    private long claim(long key) throws IllegalStateException {
+        final long storedKey = encodeKey(key);
+        final BytesStore store = store();
+        long slot = slot(storedKey);
+        for (long i = 0; i < capacity; i++, slot = (slot + 1) & mask) {
+            final long entry = offset + ENTRIES + (slot << ENTRY_SHIFT);
+            long actual = store.readVolatileLong(entry);
+            if (actual == EMPTY) {
+                if (store.compareAndSwapLong(entry, EMPTY, storedKey)) {
+                    store.addAndGetLong(offset + USED, 1);
+                    return entry;
+                }
+                // another thread claimed it, perhaps for the same key
+                actual = store.readVolatileLong(entry);
+            }
+            if (actual == storedKey)
+                return entry;
+        }
+        throw new IllegalStateException("No free slot for key " + key + " in a map of capacity " + capacity);
+    }
+
+    private long slot(long storedKey) {
+        long h = storedKey * 0x9E3779B97F4A7C15L;
+        h ^= h >>> 32;
+        return h & mask;
+    }
+
+    private static long encodeKey(long key) throws IllegalArgumentException {
+        if (key == Long.MIN_VALUE)
+            throw new IllegalArgumentException("Long.MIN_VALUE can't be used as a key");
+        return key ^ Long.MIN_VALUE;
+    }
+
+    private static long encodeValue(long value) throws IllegalArgumentException {
+        if (value == NO_VALUE)
+            throw new IllegalArgumentException("Long.MIN_VALUE can't be used as a value");
+        return value ^ Long.MIN_VALUE;
+    }
+
+    private static long decode(long stored) {
+        return stored ^ Long.MIN_VALUE;
+    }
+
+    @Override
+    String contents() throws IllegalStateException {
+        return "capacity: " + capacity + ", size: " + size() + ", used: " + usedSlots();
+    }
+}
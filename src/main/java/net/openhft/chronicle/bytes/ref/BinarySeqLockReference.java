@@ -0,0 +1,209 @@
+/*
+ * Copyright 2013-2025 chronicle.software; SPDX-License-Identifier: Apache-2.0
+ */
+package net.openhft.chronicle.bytes.ref;
+
+import net.openhft.chronicle.bytes.BytesStore;
+import net.openhft.chronicle.core.Jvm;
+import net.openhft.chronicle.core.annotation.NonNegative;
+import net.openhft.chronicle.core.io.ClosedIllegalStateException;
+import net.openhft.chronicle.core.io.ThreadingIllegalStateException;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.BufferOverflowException;
+
+import static net.openhft.chronicle.core.UnsafeMemory.MEMORY;
+
+/**
+ * A record of a fixed number of 64-bit fields in a {@link BytesStore}, protected by a sequence lock, so readers get a
+ * consistent copy of all the fields without a lock or a compare-and-swap.
+ * <p>
+ * The layout is {@code [version][field 0][field 1]...} in native byte order. A single writer makes the version odd,
+ * writes the fields and makes the version even again. A reader copies the fields between two reads of the version,
+ * and retries if the version was odd or changed, as the copy may be torn. The writer may be in another process
+ * sharing a memory mapped file, but there must only be one at a time.
+ * <p>Example usage:</p>
+ * <pre>{@code
+ * BinarySeqLockReference quote = new BinarySeqLockReference(4);
+ * quote.bytesStore(store, offset, quote.maxSize());
+ * // writer
+ * quote.write(bidPrice, askPrice, bidSize, askSize);
+ * // reader
+ * long[] copy = new long[4];
+ * quote.read(copy);
+ * }</pre>
+ */
+@SuppressWarnings("rawtypes")
+public class BinarySeqLockReference extends AbstractSharedReference {
+    private static final long VERSION = 0;
+    private static final long FIELDS = VERSION + Long.BYTES;
+
+    private final int fields;
+
+    /**
+     * @param fields the number of 64-bit fields in the record
+     * @throws IllegalArgumentException If {@code fields} is not positive
+     */
+    public BinarySeqLockReference(int fields) throws IllegalArgumentException {
+        if (fields <= 0)
+            throw new IllegalArgumentException("fields must be positive, was " + fields);
+        this.fields = fields;
+    }
+
+    /**
+     * @throws IllegalArgumentException If {@code length} is not {@link #maxSize()} or the offset is not 8 byte aligned
+     * @throws BufferOverflowException  If the region exceeds the store capacity
+     */
+    @Override
+    public void bytesStore(@NotNull BytesStore bytes, @NonNegative long offset, @NonNegative long length)
+            throws IllegalStateException, IllegalArgumentException, BufferOverflowException {
+        if (length != maxSize())
+            throw new IllegalArgumentException("length must be " + maxSize() + ", was " + length);
+        bindAligned(bytes, offset, length, 0, null);
+    }
+
+    @Override
+    public long maxSize() {
+        return FIELDS + ((long) fields << 3);
+    }
+
+    /**
+     * @return the number of fields
+     */
+    public int fields() {
+        return fields;
+    }
+
+    /**
+     * @return the version, which is odd while a write is in progress and increases by two for each write
+     * @throws ClosedIllegalStateException    If the resource has been released or closed.
+     * @throws ThreadingIllegalStateException If this resource was accessed by multiple threads in an unsafe way
+     */
+    public long version() throws IllegalStateException {
+        return store().readVolatileLong(offset + VERSION);
+    }
+
+    /**
+     * Starts a write, after which readers retry until {@link #endWrite()} is called.
+     *
+     * @throws IllegalStateException If a write is already in progress
+     * @throws ClosedIllegalStateException If the resource has been released or closed.
+     */
+    public void beginWrite() throws IllegalStateException {
+        final BytesStore store = store();
+        final long version = store.readVolatileLong(offset + VERSION);
+        if ((version & 1) != 0)
+            throw new IllegalStateException("A write is already in progress, version " + version);
+        store.writeVolatileLong(offset + VERSION, version + 1);
+        // a volatile write doesn't stop later plain writes moving before it, so without this fence a reader could see
+        // a new field with the old even version
+        MEMORY.storeFence();
+    }
+
+    /**
+     * Sets a field, which must be between {@link #beginWrite()} and {@link #endWrite()}.
+     *
+     * @param index of the field
+     * @param value to set
+     * @throws ClosedIllegalStateException If the resource has been released or closed.
+     */
+    public void setValueAt(int index, long value) throws IllegalStateException {
+        store().writeLong(fieldOffset(index), value);
+    }
+
+    /**
+     * Ends a write, publishing the fields to readers.
+     *
+     * @throws IllegalStateException If no write is in progress
+     * @throws ClosedIllegalStateException If the resource has been released or closed.
+     */
+    public void endWrite() throws IllegalStateException {
+        final BytesStore store = store();
+        final long version = store.readVolatileLong(offset + VERSION);
+        if ((version & 1) == 0)
+            throw new IllegalStateException("No write is in progress, version " + version);
+        // an ordered write so the fields are visible before the version is even
+        store.writeOrderedLong(offset + VERSION, version + 1);
+    }
+
+    /**
+     * Writes every field as one update.
+     *
+     * @param values the fields, of which there must be {@link #fields()}
+     * @throws IllegalArgumentException If the number of values is not the number of fields
+     * @throws IllegalStateException    If a write is already in progress
+     * @throws ClosedIllegalStateException If the resource has been released or closed.
+     */
+    public void write(long... values) throws IllegalArgumentException, IllegalStateException {
+        if (values.length != fields)
+            throw new IllegalArgumentException("Expected " + fields + " values, was " + values.length);
+        final BytesStore store = store();
+        beginWrite();
+        for (int i = 0; i < values.length; i++)
+            store.writeLong(offset + FIELDS + ((long) i << 3), values[i]);
+        endWrite();
+    }
+
+    /**
+     * Copies the fields once, without retrying.
+     *
+     * @param values to copy the fields into, which must have at least {@link #fields()} elements
+     * @return true if the copy is consistent, or false if a write was in progress and it should be retried
+     * @throws ClosedIllegalStateException If the resource has been released or closed.
+     */
+    public boolean tryRead(long[] values) throws IllegalStateException {
+        final BytesStore store = store();
+        final long before = store.readVolatileLong(offset + VERSION);
+        if ((before & 1) != 0)
+            return false;
+        for (int i = 0; i < fields; i++)
+            values[i] = store.readLong(offset + FIELDS + ((long) i << 3));
+        // the fields must be read before the version is read again
+        MEMORY.loadFence();
+        return store.readLong(offset + VERSION) == before;
+    }
+
+    /**
+     * Copies the fields, retrying until the copy is consistent.
+     *
+     * @param values to copy the fields into, which must have at least {@link #fields()} elements
+     * @return the version of the copy
+     * @throws ClosedIllegalStateException If the resource has been released or closed.
+     */
+    public long read(long[] values) throws IllegalStateException {
+        final BytesStore store = store();
+        for (; ; ) {
+            final long before = store.readVolatileLong(offset + VERSION);
+            if ((before & 1) == 0) {
+                for (int i = 0; i < fields; i++)
+                    values[i] = store.readLong(offset + FIELDS + ((long) i << 3));
+                MEMORY.loadFence();
+                if (store.readLong(offset + VERSION) == before)
+                    return before;
+            }
+            Jvm.nanoPause();
+        }
+    }
+
+    private long fieldOffset(int index) {
+        if (index < 0 || index >= fields)
+            throw new IndexOutOfBoundsException("index " + index + " not in [0, " + fields + ")");
+        return offset + FIELDS + ((long) index << 3);
+    }
+
+    @Override
+    String contents() throws IllegalStateException {
+        final long[] values = new long[fields];
+        // doesn't wait, as the writer may have died part way through a write
+        final long version = store().readVolatileLong(offset + VERSION);
+        if (!tryRead(values) || store().readVolatileLong(offset + VERSION) != version)
+            return "version: " + version + ", write in progress";
+        final StringBuilder sb = new StringBuilder("version: ").append(version).append(", values: [");
+        for (int i = 0; i < fields; i++) {
+            if (i > 0)
+                sb.append(", ");
+            sb.append(values[i]);
+        }
+        return sb.append(']').toString();
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2013-2025 chronicle.software; SPDX-License-Identifier: Apache-2.0
+ */
+package net.openhft.chronicle.bytes.ref;
+
+import net.openhft.chronicle.bytes.BytesStore;
+import net.openhft.chronicle.core.Jvm;
+import net.openhft.chronicle.core.annotation.NonNegative;
+import net.openhft.chronicle.core.io.ClosedIllegalStateException;
+import net.openhft.chronicle.core.io.ThreadingIllegalStateException;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.BufferOverflowException;
+
+/**
+ * A counter in a {@link BytesStore} which spreads updates over cells, each on its own cache line, in the manner of
+ * {@link java.util.concurrent.atomic.LongAdder}. Each thread adds to one cell, chosen from its thread id and process id,
+ * and moves to another cell when a compare-and-swap fails, so threads and processes updating the same counter
+ * rarely contend. The value is the sum of the cells, which is not a snapshot if updates happen while it is read.
+ * <p>
+ * The layout is {@code [cells][padding to 64 bytes]} followed by one 64 byte line per cell, in native byte order.
+ * The number of cells is stored in the first line, so another process can bind to the counter knowing only where it
+ * is. Zeroed memory is a counter of zero.
+ * <p>Example usage:</p>
+ * <pre>{@code
+ * long size = BinaryStripedLongCounter.sizeFor(16);
+ * BinaryStripedLongCounter counter = new BinaryStripedLongCounter();
+ * counter.bytesStore(mappedStore, offset, size);
+ * counter.increment();
+ * long total = counter.sum();
+ * }</pre>
+ */
+@SuppressWarnings("rawtypes")
+public class BinaryStripedLongCounter extends AbstractSharedReference {
+    private static final int CELL_SHIFT = 6;
+    private static final long FIRST_CELL = 1 << CELL_SHIFT;
+    private static final ThreadLocal<int[]> PROBE = ThreadLocal.withInitial(() -> new int[]{initialProbe()});
+
+    private long cells;
+    private int mask;
+
+    /**
+     * Returns the number of bytes needed for a counter with {@code cells} cells.
+     *
+     * @param cells the number of cells, which must be a power of two of at most 2^16
+     * @return the number of bytes
+     * @throws IllegalArgumentException If {@code cells} is not a power of two between 1 and 2^16
+     */
+    public static long sizeFor(int cells) throws IllegalArgumentException {
+        if (cells <= 0 || cells > 1 << 16 || Integer.bitCount(cells) != 1)
+            throw new IllegalArgumentException("cells must be a power of two between 1 and 65536, was " + cells);
+        return FIRST_CELL + ((long) cells << CELL_SHIFT);
+    }
+
+    private static int initialProbe() {
+        int h = (int) (Thread.currentThread().getId() * 0x9E3779B9L) ^ Jvm.getProcessId() * 0x85EBCA6B;
+        h ^= h >>> 16;
+        return h == 0 ? 1 : h;
+    }
+
+    /**
+     * Binds this counter to {@code length} bytes of {@code bytes}, which must be {@link #sizeFor(int)} a number of
+     * cells, and zeroed if the counter is new.
+     *
+     * @throws IllegalArgumentException If the length is not the size of a counter, or the store holds a counter with a different number of cells
+     * @throws BufferOverflowException  If the region exceeds the store capacity
+     */
+    @Override
+    public void bytesStore(@NotNull BytesStore bytes, @NonNegative long offset, @NonNegative long length)
+            throws IllegalStateException, IllegalArgumentException, BufferOverflowException {
+        final long count = (length - FIRST_CELL) >> CELL_SHIFT;
+        if (count <= 0 || count > 1 << 16 || sizeFor((int) Long.highestOneBit(count)) != length)
+            throw new IllegalArgumentException("length " + length + " is not the size of a counter");
+        bindAligned(bytes, offset, length, count, "cells");
+        this.cells = count;
+        this.mask = (int) count - 1;
+    }
+
+    @Override
+    public long maxSize() {
+        return FIRST_CELL + (cells << CELL_SHIFT);
+    }
+
+    /**
+     * @return the number of cells
+     */
+    public long cells() {
+        return cells;
+    }
+
+    /**
+     * Adds {@code delta} to the cell of the current thread, moving to another cell if that one is contended.
+     *
+     * @param delta to add
+     * @throws ClosedIllegalStateException    If the resource has been released or closed.
+     * @throws ThreadingIllegalStateException If this resource was accessed by multiple threads in an unsafe way
+     */
+    public void add(long delta) throws IllegalStateException {
+        final BytesStore store = store();
+        final int[] probe = PROBE.get();
+        for (int h = probe[0]; ; ) {
+            final long cell = offset + FIRST_CELL + ((long) (h & mask) << CELL_SHIFT);
+            final long current = store.readVolatileLong(cell);
+            if (store.compareAndSwapLong(cell, current, current + delta))
+                return;
+            // xorshift to another cell, which this thread keeps using
+            h ^= h << 13;
+            h ^= h >>> 17;
+            h ^= h << 5;
+            probe[0] = h;
+        }
+    }
+
+    /**
+     * Adds one.
+     *
+     * @throws ClosedIllegalStateException If the resource has been released or closed.
+     */
+    public void increment() throws IllegalStateException {
+        add(1);
+    }
+
+    /**
+     * Subtracts one.
+     *
+     * @throws ClosedIllegalStateException If the resource has been released or closed.
+     */
+    public void decrement() throws IllegalStateException {
+        add(-1);
+    }
+
+    /**
+     * @return the sum of the cells
+     * @throws ClosedIllegalStateException    If the resource has been released or closed.
+     * @throws ThreadingIllegalStateException If this resource was accessed by multiple threads in an unsafe way
+     */
+    public long sum() throws IllegalStateException {
+        final BytesStore store = store();
+        long sum = 0;
+        for (long i = 0; i < cells; i++)
+            sum += store.readVolatileLong(offset + FIRST_CELL + (i << CELL_SHIFT));
+        return sum;
+    }
+
+    /**
+     * Sets each cell to zero, returning the sum of what was taken. Updates made at the same time are either included
+     * in the sum or left in the counter, never lost.
+     *
+     * @return the sum of the cells before they were reset
+     * @throws ClosedIllegalStateException    If the resource has been released or closed.
+     * @throws ThreadingIllegalStateException If this resource was accessed by multiple threads in an unsafe way
+     */
+    public long sumThenReset() throws IllegalStateException {
+        final BytesStore store = store();
+        long sum = 0;
+        for (long i = 0; i < cells; i++) {
+            final long cell = offset + FIRST_CELL + (i << CELL_SHIFT);
+            long current;
+            do {
+                current = store.readVolatileLong(cell);
+            } while (current != 0 && !store.compareAndSwapLong(cell, current, 0));
+            sum += current;
+        }
+        return sum;
+    }
+
+    @Override
+    String contents() throws IllegalStateException {
+        return "sum: " + sum() + ", cells: " + cells;
+    }
+}
@@ -0,0 +1,315 @@
+/*
+ * Copyright 2013-2025 chronicle.software; SPDX-License-Identifier: Apache-2.0
+ */
+package net.openhft.chronicle.bytes.render;
+
+import net.openhft.chronicle.core.Maths;
+
+import java.math.BigInteger;
+
+/**
+ * {@link Decimaliser} producing the shortest decimal which parses back to exactly the same
+ * {@code double} or {@code float}, using Raffaello Giulietti's Schubfach algorithm.
+ * <p>
+ * Unlike {@link UsesBigDecimal} it does not allocate. Every finite value, including subnormals, is converted
+ * with a few 64-bit multiplications against a table of 126-bit powers of ten built when the class is loaded.
+ * When the shortest representation is not unique, the one closest to the exact binary value is chosen.
+ * <p>
+ * {@link #SHORTEST} only passes values with at most 18 digits before or after the decimal point, as
+ * {@link MaximumPrecision} does, and returns {@code false} for others so the caller can fall back to
+ * E notation. {@link #SHORTEST_ANY_EXPONENT} never gives up, unlike {@link SimpleDecimaliser} and
+ * {@link MaximumPrecision}, and passes every finite value, for appenders which can render an exponent
+ * outside 0 to 18.
+ * <p>
+ * {@code Bytes} use it once selected with {@code bytes.decimaliser(ShortestDecimaliser.SHORTEST)}.
+ * <p>This class is stateless and thread-safe.
+ */
+public class ShortestDecimaliser implements Decimaliser {
+
+    /**
+     * A singleton instance of {@link ShortestDecimaliser} for convenient reuse.
+     */
+    public static final Decimaliser SHORTEST = new ShortestDecimaliser();
+
+    /**
+     * An instance which passes very large and very small values to the {@link DecimalAppender} with
+     * an exponent from -292 to 325, rather than returning {@code false}.
+     */
+    public static final Decimaliser SHORTEST_ANY_EXPONENT = new ShortestDecimaliser(true);
+
+    // the most digits before or after the decimal point passed to the appender by default
+    private static final int MAX_PLAIN_DIGITS = 18;
+
+    // double format
+    private static final int D_P = 53;
+    private static final int D_Q_MIN = -1074;
+    private static final long D_C_MIN = 1L << (D_P - 1);
+    private static final long D_T_MASK = D_C_MIN - 1;
+    private static final int D_BQ_MASK = (1 << 11) - 1;
+    private static final int D_C_TINY = 3;
+
+    // float format
+    private static final int F_P = 24;
+    private static final int F_Q_MIN = -149;
+    private static final int F_C_MIN = 1 << (F_P - 1);
+    private static final int F_T_MASK = F_C_MIN - 1;
+    private static final int F_BQ_MASK = (1 << 8) - 1;
+    private static final int F_C_TINY = 8;
+
+    private static final long MASK_63 = (1L << 63) - 1;
+    private static final long MASK_32 = (1L << 32) - 1;
+
+    // range of decimal exponents k for which 10^-k is tabulated
+    private static final int K_MIN = -324;
+    private static final int K_MAX = 292;
+
+    /**
+     * For each k, g = floor(10^-k / 2^r) + 1 where r is chosen so 2^125 &lt;= 10^-k / 2^r &lt; 2^126,
+     * stored as the high 63 bits followed by the low 63 bits.
+     */
+    private static final long[] G = new long[(K_MAX - K_MIN + 1) * 2];
+
+    static {
+        for (int k = K_MIN; k <= K_MAX; k++) {
+            final BigInteger g;
+            if (k <= 0) {
+                final BigInteger pow10 = BigInteger.TEN.pow(-k);
+                final int r = pow10.bitLength() - 126;
+                g = (r >= 0 ? pow10.shiftRight(r) : pow10.shiftLeft(-r)).add(BigInteger.ONE);
+            } else {
+                final BigInteger pow10 = BigInteger.TEN.pow(k);
+                g = BigInteger.ONE.shiftLeft(125 + pow10.bitLength()).divide(pow10).add(BigInteger.ONE);
+            }
+            final int index = (k - K_MIN) * 2;
+            G[index] = g.shiftRight(63).longValue();
+            G[index + 1] = g.longValue() & MASK_63;
+        }
+    }
+
+    private final boolean anyExponent;
+
+    /**
+     * Creates a decimaliser which returns {@code false} for values needing more than 18 digits before
+     * or after the decimal point.
+     */
+    public ShortestDecimaliser() {
+        this(false);
+    }
+
+    private ShortestDecimaliser(boolean anyExponent) {
+        this.anyExponent = anyExponent;
+    }
+
+    @Override
+    public boolean toDecimal(double value, DecimalAppender decimalAppender) {
+        final long bits = Double.doubleToRawLongBits(value);
+        final boolean isNegative = bits < 0;
+        final long t = bits & D_T_MASK;
+        final int bq = (int) (bits >>> (D_P - 1)) & D_BQ_MASK;
+        if (bq == D_BQ_MASK)
+            return false; // NaN or infinite
+        if (bq != 0) {
+            final int mq = -D_Q_MIN + 1 - bq;
+            final long c = D_C_MIN | t;
+            // fast path for integers below 2^53
+            if (0 < mq && mq < D_P) {
+                final long f = c >> mq;
+                if (f << mq == c)
+                    return append(decimalAppender, isNegative, f, 0);
+            }
+            return toDecimal(decimalAppender, isNegative, -mq, c, 0);
+        }
+        if (t == 0) {
+            decimalAppender.append(isNegative, 0, 0);
+            return true;
+        }
+        // subnormal
+        if (t < D_C_TINY)
+            return toDecimal(decimalAppender, isNegative, D_Q_MIN, 10 * t, -1);
+        return toDecimal(decimalAppender, isNegative, D_Q_MIN, t, 0);
+    }
+
+    @Override
+    public boolean toDecimal(float value, DecimalAppender decimalAppender) {
+        final int bits = Float.floatToRawIntBits(value);
+        final boolean isNegative = bits < 0;
+        final int t = bits & F_T_MASK;
+        final int bq = (bits >>> (F_P - 1)) & F_BQ_MASK;
+        if (bq == F_BQ_MASK)
+            return false; // NaN or infinite
+        if (bq != 0) {
+            final int mq = -F_Q_MIN + 1 - bq;
+            final int c = F_C_MIN | t;
+            // fast path for integers below 2^24
+            if (0 < mq && mq < F_P) {
+                final int f = c >> mq;
+                if (f << mq == c)
+                    return append(decimalAppender, isNegative, f, 0);
+            }
+            return toDecimal(decimalAppender, isNegative, -mq, c, 0);
+        }
+        if (t == 0) {
+            decimalAppender.append(isNegative, 0, 0);
+            return true;
+        }
+        // subnormal
+        if (t < F_C_TINY)
+            return toDecimal(decimalAppender, isNegative, F_Q_MIN, 10 * t, -1);
+        return toDecimal(decimalAppender, isNegative, F_Q_MIN, t, 0);
+    }
+
+    /**
+     * Finds the shortest decimal in the rounding interval of {@code c * 2^q}.
+     */
+    private boolean toDecimal(DecimalAppender decimalAppender, boolean isNegative, int q, long c, int dk) {
+        final int out = (int) c & 0x1;
+        final long cb = c << 2;
+        final long cbr = cb + 2;
+        final long cbl;
+        final int k;
+        // the interval is asymmetric at powers of two
+        if (c != D_C_MIN | q == D_Q_MIN) {
+            cbl = cb - 2;
+            k = flog10pow2(q);
+        } else {
+            cbl = cb - 1;
+            k = flog10threeQuartersPow2(q);
+        }
+        final int h = q + flog2pow10(-k) + 2;
+        final int index = (k - K_MIN) * 2;
+        final long g1 = G[index];
+        final long g0 = G[index + 1];
+
+        final long vb = rop(g1, g0, cb << h);
+        final long vbl = rop(g1, g0, cbl << h);
+        final long vbr = rop(g1, g0, cbr << h);
+
+        final long s = vb >> 2;
+        if (s >= 100) {
+            // try one digit fewer first; s / 10 * 10 without a division
+            final long sp10 = 10 * multiplyHigh(s, 115_292_150_460_684_698L << 4);
+            final long tp10 = sp10 + 10;
+            final boolean upin = vbl + out <= sp10 << 2;
+            final boolean wpin = (tp10 << 2) + out <= vbr;
+            if (upin != wpin)
+                return append(decimalAppender, isNegative, upin ? sp10 : tp10, k);
+        }
+        final long t = s + 1;
+        final boolean uin = vbl + out <= s << 2;
+        final boolean win = (t << 2) + out <= vbr;
+        if (uin != win)
+            return append(decimalAppender, isNegative, uin ? s : t, k + dk);
+        // both are in the interval, pick the closer, or the even one on a tie
+        final long cmp = vb - (s + t << 1);
+        return append(decimalAppender, isNegative, cmp < 0 || cmp == 0 && (s & 0x1) == 0 ? s : t, k + dk);
+    }
+
+    /**
+     * Finds the shortest decimal in the rounding interval of {@code c * 2^q} for a float.
+     */
+    private boolean toDecimal(DecimalAppender decimalAppender, boolean isNegative, int q, int c, int dk) {
+        final int out = c & 0x1;
+        final long cb = (long) c << 2;
+        final long cbr = cb + 2;
+        final long cbl;
+        final int k;
+        // the interval is asymmetric at powers of two
+        if (c != F_C_MIN | q == F_Q_MIN) {
+            cbl = cb - 2;
+            k = flog10pow2(q);
+        } else {
+            cbl = cb - 1;
+            k = flog10threeQuartersPow2(q);
+        }
+        final int h = q + flog2pow10(-k) + 33;
+        final long g = G[(k - K_MIN) * 2] + 1;
+
+        final int vb = rop(g, cb << h);
+        final int vbl = rop(g, cbl << h);
+        final int vbr = rop(g, cbr << h);
+
+        final int s = vb >> 2;
+        if (s >= 100) {
+            // try one digit fewer first; s / 10 * 10 without a division
+            final int sp10 = 10 * (int) (s * 1_717_986_919L >>> 34);
+            final int tp10 = sp10 + 10;
+            final boolean upin = vbl + out <= sp10 << 2;
+            final boolean wpin = (tp10 << 2) + out <= vbr;
+            if (upin != wpin)
+                return append(decimalAppender, isNegative, upin ? sp10 : tp10, k);
+        }
+        final int t = s + 1;
+        final boolean uin = vbl + out <= s << 2;
+        final boolean win = (t << 2) + out <= vbr;
+        if (uin != win)
+            return append(decimalAppender, isNegative, uin ? s : t, k + dk);
+        // both are in the interval, pick the closer, or the even one on a tie
+        final int cmp = vb - (s + t << 1);
+        return append(decimalAppender, isNegative, cmp < 0 || cmp == 0 && (s & 0x1) == 0 ? s : t, k + dk);
+    }
+
+    /**
+     * Passes {@code f * 10^e} to the appender with trailing zeros removed from the mantissa, unless it
+     * needs more than {@link #MAX_PLAIN_DIGITS} digits before or after the decimal point.
+     */
+    private boolean append(DecimalAppender decimalAppender, boolean isNegative, long f, int e) {
+        while (f >= 10) {
+            final long div10 = f / 10;
+            if (div10 * 10 != f)
+                break;
+            f = div10;
+            e++;
+        }
+        if (!anyExponent
+                && (e < -MAX_PLAIN_DIGITS || e > 0 && (e >= MAX_PLAIN_DIGITS || f >= Maths.tens(MAX_PLAIN_DIGITS - e))))
+            return false;
+        decimalAppender.append(isNegative, f, -e);
+        return true;
+    }
+
+    // round to odd of g * cp / 2^128
+    private static long rop(long g1, long g0, long cp) {
+        final long x1 = multiplyHigh(g0, cp);
+        final long y0 = g1 * cp;
+        final long y1 = multiplyHigh(g1, cp);
+        final long z = (y0 >>> 1) + x1;
+        final long vbp = y1 + (z >>> 63);
+        return vbp | (z & MASK_63) + MASK_63 >>> 63;
+    }
+
+    // round to odd of g * cp / 2^96
+    private static int rop(long g, long cp) {
+        final long x1 = multiplyHigh(g, cp);
+        final long vbp = x1 >>> 31;
+        return (int) (vbp | (x1 & MASK_32) + MASK_32 >>> 32);
+    }
+
+    // floor(log10(2^q))
+    private static int flog10pow2(int q) {
+        return (int) (q * 661_971_961_083L >> 41);
+    }
+
+    // floor(log10(3/4 * 2^q))
+    private static int flog10threeQuartersPow2(int q) {
+        return (int) (q * 661_971_961_083L + -274_743_187_321L >> 41);
+    }
+
+    // floor(log2(10^e))
+    private static int flog2pow10(int e) {
+        return (int) (e * 913_124_641_741L >> 38);
+    }
+
+    // Math.multiplyHigh is not available in Java 8
+    static long multiplyHigh(long x, long y) {
+        final long x1 = x >> 32;
+        final long x2 = x & MASK_32;
+        final long y1 = y >> 32;
+        final long y2 = y & MASK_32;
+        final long z2 = x2 * y2;
+        final long t = x1 * y2 + (z2 >>> 32);
+        long z1 = t & MASK_32;
+        final long z0 = t >> 32;
+        z1 += x2 * y1;
+        return x1 * y1 + z0 + (z1 >> 32);
+    }
+}
@@ -42,7 +42,10 @@ import static net.openhft.chronicle.core.Jvm.uncheckedCast;
  * <p>
  * Note: The interning cache may not always return the same object instance, but
  * the contents of the instances will be equal.
- * *
+ * <p>
+ * Hits, misses and collisions are counted so the capacity can be sized from real usage. An interner created
+ * with a {@code maxCapacity} larger than its initial capacity doubles its table whenever the miss rate over
+ * the last {@link #capacity()} lookups exceeds the configured threshold.
  *
  * @param <T> the type of the object being interned
  */
@@ -51,21 +54,33 @@ public abstract class AbstractInterner<T> {
     /**
      * The array storing {@link InternerEntry} objects. Concurrent modifications
      * should be externally synchronised as no locking is performed here.
+     * The array is replaced, not modified in place, when the interner grows.
      */
-    protected final InternerEntry<T>[] entries;
+    protected InternerEntry<T>[] entries;
     /**
      * Mask used to hash into {@link #entries}, typically {@code capacity - 1}.
      */
-    protected final int mask;
+    protected int mask;
     /**
      * Shift value used when computing the secondary hash index.
      */
-    protected final int shift;
+    protected int shift;
     /**
      * Flag toggled when choosing between the two hash slots for new entries. It
      * approximates a round-robin placement to avoid hot spots.
      */
     protected boolean toggle = false;
+    /**
+     * The largest capacity {@link #entries} may grow to.
+     */
+    private final int maxCapacity;
+    /**
+     * The miss rate over a sample window above which the table is doubled.
+     */
+    private final double growMissRate;
+    // statistics are approximate under concurrent access, the same as the entries
+    private long hits, misses, collisions, resizes, uncached;
+    private int windowLookups, windowMisses;
 
     /**
      * Constructor for creating an intern cache with the given capacity. The capacity will be adjusted to the next
@@ -75,8 +90,31 @@ public abstract class AbstractInterner<T> {
      * @param capacity the desired capacity for the intern cache
      * @throws IllegalArgumentException if {@code capacity} is negative
      */
-    protected AbstractInterner(@NonNegative int capacity){
+    protected AbstractInterner(@NonNegative int capacity) {
+        this(capacity, capacity, 1.0);
+    }
+
+    /**
+     * Constructor for creating an intern cache which starts with {@code capacity} entries and doubles in size,
+     * up to {@code maxCapacity}, whenever the miss rate over a sample window of {@link #capacity()} lookups
+     * exceeds {@code growMissRate}. Both capacities are rounded up to the next power of 2.
+     * The resulting structure is not inherently thread safe.
+     *
+     * @param capacity     the initial capacity for the intern cache
+     * @param maxCapacity  the maximum capacity the cache may grow to
+     * @param growMissRate the fraction of lookups, between 0.0 and 1.0, which must miss before the cache grows
+     * @throws IllegalArgumentException if {@code capacity} is negative or {@code growMissRate} is not between 0 and 1
+     */
+    protected AbstractInterner(@NonNegative int capacity, @NonNegative int maxCapacity, double growMissRate) {
+        if (!(growMissRate >= 0 && growMissRate <= 1))
+            throw new IllegalArgumentException("growMissRate=" + growMissRate);
         int n = Maths.nextPower2(capacity, 128);
+        this.maxCapacity = Math.max(n, Maths.nextPower2(maxCapacity, 128));
+        this.growMissRate = growMissRate;
+        initEntries(n);
+    }
+
+    private void initEntries(int n) {
         shift = Maths.intLog2(n);
         entries = uncheckedCast(new InternerEntry[n]);
         mask = n - 1;
@@ -168,28 +206,94 @@ public abstract class AbstractInterner<T> {
      */
     public T intern(@NotNull BytesStore<?, ?> cs, @NonNegative int length)
             throws IORuntimeException, BufferUnderflowException, IllegalStateException {
-        if (length > entries.length)
+        final InternerEntry<T>[] entries = this.entries;
+        if (length > entries.length) {
+            // can never be cached, so not a miss which growing the table would avoid
+            uncached++;
             return getValue(cs, length);
+        }
         // Todo: This needs to be reviewed: UnsafeMemory UNSAFE loadFence
         int hash = hash32(cs, length);
+        int mask = entries.length - 1;
         int h = hash & mask;
         InternerEntry<T> s = entries[h];
-        if (s != null && s.bytes.length() == length && s.bytes.equalBytes(cs, length))
+        if (s != null && s.bytes.length() == length && s.bytes.equalBytes(cs, length)) {
+            recordHit();
             return s.t;
-        int h2 = (hash >> shift) & mask;
+        }
+        int h2 = (hash >> Integer.numberOfTrailingZeros(entries.length)) & mask;
         InternerEntry<T> s2 = entries[h2];
-        if (s2 != null && s2.bytes.length() == length && s2.bytes.equalBytes(cs, length))
+        if (s2 != null && s2.bytes.length() == length && s2.bytes.equalBytes(cs, length)) {
+            recordHit();
             return s2.t;
+        }
         @NotNull T t = getValue(cs, length);
         final byte[] bytes = new byte[length];
         @NotNull BytesStore<?, ?> bs = BytesStore.wrap(bytes);
         IOTools.unmonitor(bs);
         cs.read(cs.readPosition(), bytes, 0, length);
-        entries[s == null || (s2 != null && toggle()) ? h : h2] = new InternerEntry<>(bs, t);
+        if (s != null && s2 != null)
+            collisions++;
+        entries[s == null || (s2 != null && toggle()) ? h : h2] = new InternerEntry<>(bs, t, hash);
         // Store fence ensures the entry is visible before returning
+        recordMiss();
         return t;
     }
 
+    private void recordHit() {
+        hits++;
+        if (++windowLookups >= entries.length)
+            endWindow();
+    }
+
+    private void recordMiss() {
+        misses++;
+        windowMisses++;
+        if (++windowLookups >= entries.length)
+            endWindow();
+    }
+
+    /**
+     * Called after every {@link #capacity()} lookups to decide whether the table should grow.
+     */
+    private void endWindow() {
+        final InternerEntry<T>[] entries = this.entries;
+        if (entries.length < maxCapacity && windowMisses > growMissRate * windowLookups)
+            resize(entries.length * 2);
+        windowLookups = 0;
+        windowMisses = 0;
+    }
+
+    /**
+     * Replaces the entries with a table of {@code capacity} slots, keeping as many existing entries as fit
+     * in their primary or secondary slot.
+     *
+     * @param capacity the new capacity, a power of 2
+     */
+    private void resize(int capacity) {
+        final InternerEntry<T>[] oldEntries = this.entries;
+        final InternerEntry<T>[] newEntries = uncheckedCast(new InternerEntry[capacity]);
+        final int newMask = capacity - 1;
+        final int newShift = Maths.intLog2(capacity);
+        for (InternerEntry<T> e : oldEntries) {
+            if (e == null)
+                continue;
+            int h = e.hash & newMask;
+            if (newEntries[h] == null) {
+                newEntries[h] = e;
+                continue;
+            }
+            int h2 = (e.hash >> newShift) & newMask;
+            if (newEntries[h2] == null)
+                newEntries[h2] = e;
+        }
+        shift = newShift;
+        mask = newMask;
+        // publish the array last as intern() only reads this field
+        entries = newEntries;
+        resizes++;
+    }
+
     /**
      * Converts the bytes from {@code bs} into an instance of {@code T}. The
      * implementation must read exactly {@code length} bytes starting from
@@ -226,6 +330,79 @@ public abstract class AbstractInterner<T> {
         return (int) Stream.of(entries).filter(Objects::nonNull).count();
     }
 
+    /**
+     * Returns the current number of slots in the interner, which may grow up to {@link #maxCapacity()}.
+     *
+     * @return the current capacity
+     */
+    public int capacity() {
+        return entries.length;
+    }
+
+    /**
+     * Returns the largest capacity this interner may grow to.
+     *
+     * @return the maximum capacity
+     */
+    public int maxCapacity() {
+        return maxCapacity;
+    }
+
+    /**
+     * Returns the number of lookups which found an existing value.
+     *
+     * @return the hit count
+     */
+    public long hitCount() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of lookups which had to create a new value.
+     *
+     * @return the miss count
+     */
+    public long missCount() {
+        return misses;
+    }
+
+    /**
+     * Returns the number of lookups of keys longer than {@link #capacity()}, which are never cached. These are not
+     * counted as misses, so they don't cause the table to grow.
+     *
+     * @return the uncached count
+     */
+    public long uncachedCount() {
+        return uncached;
+    }
+
+    /**
+     * Returns the number of misses where both candidate slots were in use, so an existing entry was evicted.
+     * A high collision count relative to {@link #missCount()} suggests the capacity is too small.
+     *
+     * @return the collision count
+     */
+    public long collisionCount() {
+        return collisions;
+    }
+
+    /**
+     * Returns the number of times the table has been doubled in size.
+     *
+     * @return the resize count
+     */
+    public long resizeCount() {
+        return resizes;
+    }
+
+    /**
+     * Resets the hit, miss, collision, resize and uncached counts to zero. The cached values are retained.
+     */
+    public void resetStats() {
+        hits = misses = collisions = resizes = uncached = 0;
+        windowLookups = windowMisses = 0;
+    }
+
     /**
      * Represents an entry in the interner.
      *
@@ -240,16 +417,22 @@ public abstract class AbstractInterner<T> {
          * The cached object instance.
          */
         final T t;
+        /**
+         * The full hash of the bytes, retained so the entry can be moved when the table grows.
+         */
+        final int hash;
 
         /**
          * Constructs an {@code InternerEntry}.
          *
          * @param bytes a heap-based copy of the byte sequence
          * @param t     the cached value
+         * @param hash  the hash of the byte sequence
          */
-        InternerEntry(BytesStore<?, ?> bytes, T t) {
+        InternerEntry(BytesStore<?, ?> bytes, T t, int hash) {
             this.bytes = bytes;
             this.t = t;
+            this.hash = hash;
         }
     }
 }
@@ -0,0 +1,318 @@
+/*
+ * Copyright 2013-2025 chronicle.software; SPDX-License-Identifier: Apache-2.0
+ */
+package net.openhft.chronicle.bytes.util;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.bytes.BytesStore;
+import net.openhft.chronicle.core.annotation.NonNegative;
+import net.openhft.chronicle.core.io.ClosedIllegalStateException;
+import net.openhft.chronicle.core.io.ThreadingIllegalStateException;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static net.openhft.chronicle.bytes.algo.OptimisedBytesStoreHash.IS_LITTLE_ENDIAN;
+
+/**
+ * Encodings of binary data as text, which read a range of one {@link BytesStore} and append to a {@link Bytes}
+ * without allocating or going through a {@code byte[]} or {@code String}.
+ * <p>
+ * On little endian platforms the encoders and decoders read and write a word at a time: hex turns four bytes
+ * into eight characters, and Base64 turns six bytes into eight characters, using tables which give two
+ * characters per lookup. The output space is reserved up front, so a fixed size {@code Bytes} which is too
+ * small is left unchanged.
+ * <p>Example usage:</p>
+ * <pre>{@code
+ * BinaryTextEncoding.BASE64.encode(blob, blob.readPosition(), blob.readRemaining(), text);
+ * }</pre>
+ */
+public enum BinaryTextEncoding {
+
+    /**
+     * Lower case hexadecimal, two characters per byte. Either case is decoded.
+     */
+    HEX("0123456789abcdef") {
+        @Override
+        public long encodedLength(@NonNegative long length) {
+            return length * 2;
+        }
+
+        @Override
+        public void encode(@NotNull BytesStore<?, ?> from, @NonNegative long offset, @NonNegative long length, @NotNull Bytes<?> to)
+                throws IllegalStateException, BufferOverflowException, BufferUnderflowException {
+            long out = reserve(to, encodedLength(length));
+            long i = 0;
+            if (IS_LITTLE_ENDIAN) {
+                for (; i + 4 <= length; i += 4, out += 8) {
+                    final int word = from.readInt(offset + i);
+                    to.writeLong(out, (long) pairs[word & 0xFF] & 0xFFFF
+                            | ((long) pairs[(word >>> 8) & 0xFF] & 0xFFFF) << 16
+                            | ((long) pairs[(word >>> 16) & 0xFF] & 0xFFFF) << 32
+                            | ((long) pairs[word >>> 24] & 0xFFFF) << 48);
+                }
+            }
+            for (; i < length; i++, out += 2)
+                to.writeShort(out, pairs[from.readUnsignedByte(offset + i)]);
+        }
+
+        @Override
+        public void decode(@NotNull BytesStore<?, ?> from, @NonNegative long offset, @NonNegative long length, @NotNull Bytes<?> to)
+                throws IllegalArgumentException, IllegalStateException, BufferOverflowException, BufferUnderflowException {
+            if ((length & 1) != 0)
+                throw new IllegalArgumentException("Hex text must have an even length, was " + length);
+            final long writePosition = to.writePosition();
+            long out = reserve(to, length / 2);
+            long i = 0;
+            if (IS_LITTLE_ENDIAN) {
+                for (; i + 8 <= length; i += 8, out += 4) {
+                    final long word = from.readLong(offset + i);
+                    final int b0 = hexByte(word);
+                    final int b1 = hexByte(word >>> 16);
+                    final int b2 = hexByte(word >>> 32);
+                    final int b3 = hexByte(word >>> 48);
+                    // an invalid digit makes its byte negative
+                    if ((b0 | b1 | b2 | b3) < 0)
+                        break;
+                    to.writeInt(out, b0 | b1 << 8 | b2 << 16 | b3 << 24);
+                }
+            }
+            for (; i < length; i += 2, out++) {
+                final int b = values[from.readUnsignedByte(offset + i)] << 4 | values[from.readUnsignedByte(offset + i + 1)];
+                if (b < 0) {
+                    to.writePosition(writePosition);
+                    throw invalid(from, offset, i);
+                }
+                to.writeByte(out, (byte) b);
+            }
+        }
+
+        /**
+         * Returns the byte for the two hex digits in the low 16 bits of {@code word}, or a negative number if either is invalid.
+         */
+        private int hexByte(long word) {
+            return values[(int) word & 0xFF] << 4 | values[(int) (word >>> 8) & 0xFF];
+        }
+    },
+
+    /**
+     * Base64 with {@code +} and {@code /} and {@code =} padding, as RFC 4648 section 4 and {@link java.util.Base64#getEncoder()}.
+     */
+    BASE64("ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/"),
+
+    /**
+     * Base64 with {@code -} and {@code _} so the text can be used in URLs and file names, as RFC 4648 section 5
+     * and {@link java.util.Base64#getUrlEncoder()}.
+     */
+    BASE64_URL("ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_");
+
+    final byte[] alphabet;
+    // the characters for each pair of digits, one byte for hex or 12 bits for Base64, in native order
+    final short[] pairs;
+    // the value of each character, or -1
+    final int[] values;
+
+    BinaryTextEncoding(String alphabet) {
+        this.alphabet = alphabet.getBytes(StandardCharsets.ISO_8859_1);
+        final int radix = alphabet.length();
+        pairs = new short[radix * radix];
+        for (int i = 0; i < pairs.length; i++) {
+            final int first = this.alphabet[i / radix];
+            final int second = this.alphabet[i % radix];
+            pairs[i] = (short) (IS_LITTLE_ENDIAN ? first | second << 8 : first << 8 | second);
+        }
+        values = new int[256];
+        Arrays.fill(values, -1);
+        for (int i = 0; i < radix; i++) {
+            values[alphabet.charAt(i)] = i;
+            if (radix == 16)
+                values[Character.toUpperCase(alphabet.charAt(i))] = i;
+        }
+    }
+
+    /**
+     * Returns the number of characters {@code length} bytes are encoded as.
+     *
+     * @param length the number of bytes
+     * @return the number of characters, including any padding
+     */
+    public long encodedLength(@NonNegative long length) {
+        return (length + 2) / 3 * 4;
+    }
+
+    /**
+     * Appends the text for the readable bytes of {@code from}, without changing its read position.
+     *
+     * @param from the binary data
+     * @param to   the text is appended to
+     * @throws BufferOverflowException        If {@code to} does not have space for the text
+     * @throws ClosedIllegalStateException    If either resource has been released or closed.
+     * @throws ThreadingIllegalStateException If either resource was accessed by multiple threads in an unsafe way
+     */
+    public void encode(@NotNull BytesStore<?, ?> from, @NotNull Bytes<?> to)
+            throws IllegalStateException, BufferOverflowException {
+        encode(from, from.readPosition(), from.readRemaining(), to);
+    }
+
+    /**
+     * Appends the text for {@code length} bytes of {@code from} starting at {@code offset} to {@code to}.
+     *
+     * @param from   the binary data
+     * @param offset the offset of the first byte
+     * @param length the number of bytes to encode
+     * @param to     the text is appended to
+     * @throws BufferOverflowException        If {@code to} does not have space for the text
+     * @throws BufferUnderflowException       If the range is outside {@code from}
+     * @throws ClosedIllegalStateException    If either resource has been released or closed.
+     * @throws ThreadingIllegalStateException If either resource was accessed by multiple threads in an unsafe way
+     */
+    public void encode(@NotNull BytesStore<?, ?> from, @NonNegative long offset, @NonNegative long length, @NotNull Bytes<?> to)
+            throws IllegalStateException, BufferOverflowException, BufferUnderflowException {
+        long out = reserve(to, encodedLength(length));
+        long i = 0;
+        if (IS_LITTLE_ENDIAN) {
+            // six bytes at a time, reading eight
+            for (; i + 8 <= length; i += 6, out += 8) {
+                final long word = Long.reverseBytes(from.readLong(offset + i));
+                final int first = (int) (word >>> 40);
+                final int second = (int) (word >>> 16) & 0xFFFFFF;
+                to.writeLong(out, (long) pairs[first >>> 12] & 0xFFFF
+                        | ((long) pairs[first & 0xFFF] & 0xFFFF) << 16
+                        | ((long) pairs[second >>> 12] & 0xFFFF) << 32
+                        | ((long) pairs[second & 0xFFF] & 0xFFFF) << 48);
+            }
+        }
+        for (; i + 3 <= length; i += 3, out += 4) {
+            final int bits = from.readUnsignedByte(offset + i) << 16
+                    | from.readUnsignedByte(offset + i + 1) << 8
+                    | from.readUnsignedByte(offset + i + 2);
+            to.writeShort(out, pairs[bits >>> 12]);
+            to.writeShort(out + 2, pairs[bits & 0xFFF]);
+        }
+        if (i < length) {
+            final int b0 = from.readUnsignedByte(offset + i);
+            final int b1 = i + 1 < length ? from.readUnsignedByte(offset + i + 1) : 0;
+            to.writeByte(out, alphabet[b0 >>> 2]);
+            to.writeByte(out + 1, alphabet[(b0 << 4 | b1 >>> 4) & 0x3F]);
+            to.writeByte(out + 2, i + 1 < length ? alphabet[(b1 << 2) & 0x3F] : (byte) '=');
+            to.writeByte(out + 3, (byte) '=');
+        }
+    }
+
+    /**
+     * Appends the bytes for the readable text of {@code from}, without changing its read position.
+     *
+     * @param from the text
+     * @param to   the bytes are appended to
+     * @throws IllegalArgumentException       If the text is not valid for this encoding, in which case nothing is appended
+     * @throws BufferOverflowException        If {@code to} does not have space for the bytes
+     * @throws ClosedIllegalStateException    If either resource has been released or closed.
+     * @throws ThreadingIllegalStateException If either resource was accessed by multiple threads in an unsafe way
+     */
+    public void decode(@NotNull BytesStore<?, ?> from, @NotNull Bytes<?> to)
+            throws IllegalArgumentException, IllegalStateException, BufferOverflowException {
+        decode(from, from.readPosition(), from.readRemaining(), to);
+    }
+
+    /**
+     * Appends the bytes for the text of {@code length} characters of {@code from} starting at {@code offset} to {@code to}.
+     * Base64 padding is optional, and line breaks or other characters outside the alphabet are not allowed.
+     *
+     * @param from   the text
+     * @param offset the offset of the first character
+     * @param length the number of characters to decode
+     * @param to     the bytes are appended to
+     * @throws IllegalArgumentException       If the text is not valid for this encoding, in which case nothing is appended
+     * @throws BufferOverflowException        If {@code to} does not have space for the bytes
+     * @throws BufferUnderflowException       If the range is outside {@code from}
+     * @throws ClosedIllegalStateException    If either resource has been released or closed.
+     * @throws ThreadingIllegalStateException If either resource was accessed by multiple threads in an unsafe way
+     */
+    public void decode(@NotNull BytesStore<?, ?> from, @NonNegative long offset, @NonNegative long length, @NotNull Bytes<?> to)
+            throws IllegalArgumentException, IllegalStateException, BufferOverflowException, BufferUnderflowException {
+        if (length > 0 && from.readUnsignedByte(offset + length - 1) == '=') {
+            length--;
+            if (length > 0 && from.readUnsignedByte(offset + length - 1) == '=')
+                length--;
+        }
+        if (length % 4 == 1)
+            throw new IllegalArgumentException("Base64 text cannot have a length of " + length + " mod 4 == 1");
+        final long writePosition = to.writePosition();
+        long out = reserve(to, length / 4 * 3 + Math.max(0, length % 4 - 1));
+        long i = 0;
+        try {
+            if (IS_LITTLE_ENDIAN) {
+                // eight characters to six bytes at a time
+                for (; i + 8 <= length; i += 8, out += 6) {
+                    final long word = from.readLong(offset + i);
+                    final int first = base64Bits(values, word);
+                    final int second = base64Bits(values, word >>> 32);
+                    // an invalid character makes its group negative
+                    if ((first | second) < 0)
+                        break;
+                    to.writeInt(out, Integer.reverseBytes(first << 8 | second >>> 16));
+                    to.writeShort(out + 4, Short.reverseBytes((short) second));
+                }
+            }
+            for (; i + 4 <= length; i += 4, out += 3) {
+                final int bits = base64Bits(values, from.readInt(offset + i) & 0xFFFFFFFFL, from, offset, i);
+                to.writeByte(out, (byte) (bits >>> 16));
+                to.writeByte(out + 1, (byte) (bits >>> 8));
+                to.writeByte(out + 2, (byte) bits);
+            }
+            if (i < length) {
+                final int c0 = values[from.readUnsignedByte(offset + i)];
+                final int c1 = values[from.readUnsignedByte(offset + i + 1)];
+                final int c2 = i + 2 < length ? values[from.readUnsignedByte(offset + i + 2)] : 0;
+                if ((c0 | c1 | c2) < 0)
+                    throw invalid(from, offset, i);
+                to.writeByte(out, (byte) (c0 << 2 | c1 >>> 4));
+                if (i + 2 < length)
+                    to.writeByte(out + 1, (byte) (c1 << 4 | c2 >>> 2));
+            }
+        } catch (IllegalArgumentException e) {
+            to.writePosition(writePosition);
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the 24 bits of the four characters in the low 32 bits of {@code word}, or a negative number if one is invalid.
+     */
+    private static int base64Bits(int[] values, long word) {
+        return values[(int) word & 0xFF] << 18
+                | values[(int) (word >>> 8) & 0xFF] << 12
+                | values[(int) (word >>> 16) & 0xFF] << 6
+                | values[(int) (word >>> 24) & 0xFF];
+    }
+
+    private static int base64Bits(int[] values, long word, BytesStore<?, ?> from, long offset, long i) {
+        // reads are in native order, so on big endian platforms the first character is in the high bits
+        final int bits = base64Bits(values, IS_LITTLE_ENDIAN ? word : Integer.reverseBytes((int) word) & 0xFFFFFFFFL);
+        if (bits < 0)
+            throw invalid(from, offset, i);
+        return bits;
+    }
+
+    static IllegalArgumentException invalid(BytesStore<?, ?> from, long offset, long index) {
+        final StringBuilder sb = new StringBuilder("Invalid character in ");
+        for (long i = index; i < index + 8 && offset + i < from.readLimit(); i++)
+            sb.append((char) from.readUnsignedByte(offset + i));
+        return new IllegalArgumentException(sb.append(" at ").append(index).toString());
+    }
+
+    /**
+     * Moves the write position past {@code length} bytes, growing {@code to} if it is elastic.
+     *
+     * @return the offset the bytes should be written at
+     */
+    static long reserve(Bytes<?> to, long length)
+            throws IllegalStateException, BufferOverflowException {
+        final long start = to.writePosition();
+        to.writeSkip(length);
+        return start;
+    }
+}
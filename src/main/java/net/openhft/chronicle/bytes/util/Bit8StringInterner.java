@@ -43,6 +43,19 @@ public class Bit8StringInterner extends AbstractInterner<String> {
         super(capacity);
     }
 
+    /**
+     * Constructs a new Bit8StringInterner which grows from {@code capacity} up to {@code maxCapacity}
+     * when the miss rate exceeds {@code growMissRate}.
+     *
+     * @param capacity     the initial capacity for the interner
+     * @param maxCapacity  the maximum capacity the interner may grow to
+     * @param growMissRate the fraction of lookups which must miss before the interner grows
+     * @see AbstractInterner#AbstractInterner(int, int, double)
+     */
+    public Bit8StringInterner(int capacity, int maxCapacity, double growMissRate) {
+        super(capacity, maxCapacity, growMissRate);
+    }
+
     /**
      * Decodes an 8-bit character sequence from the provided {@link BytesStore}.
      * Exactly {@code length} bytes are read starting from {@code cs.readPosition()}.
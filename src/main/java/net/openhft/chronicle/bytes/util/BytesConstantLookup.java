@@ -0,0 +1,236 @@
+/*
+ * Copyright 2013-2025 chronicle.software; SPDX-License-Identifier: Apache-2.0
+ */
+package net.openhft.chronicle.bytes.util;
+
+import net.openhft.chronicle.bytes.BytesStore;
+import net.openhft.chronicle.core.Maths;
+import net.openhft.chronicle.core.annotation.NonNegative;
+import net.openhft.chronicle.core.io.ClosedIllegalStateException;
+import net.openhft.chronicle.core.io.IOTools;
+import net.openhft.chronicle.core.io.ThreadingIllegalStateException;
+import net.openhft.chronicle.core.util.ClassLocal;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.BufferUnderflowException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Function;
+
+import static net.openhft.chronicle.core.Jvm.uncheckedCast;
+
+/**
+ * Immutable lookup from a fixed set of byte sequences to constants, such as the names of an enum's values.
+ * The table is built once with a hash seed and size chosen so no two keys share a slot, so a lookup is a
+ * hash of the raw bytes and a single compare with no intermediate {@link String} or {@link StringBuilder}.
+ * <p>
+ * Keys are encoded as ISO-8859-1, matching {@link net.openhft.chronicle.bytes.StreamingDataOutput#write8bit(String)}.
+ * <p>Example usage:</p>
+ * <pre>{@code
+ * BytesConstantLookup<TimeUnit> lookup = BytesConstantLookup.forEnum(TimeUnit.class);
+ * TimeUnit unit = lookup.lookup(bytes, offset, length); // null if not a TimeUnit name
+ * }</pre>
+ *
+ * @param <T> the type of the constants
+ */
+public final class BytesConstantLookup<T> {
+    private static final ClassLocal<BytesConstantLookup<?>> ENUM_LOOKUP =
+            ClassLocal.withInitial(c -> of(Arrays.asList(c.getEnumConstants()), e -> ((Enum<?>) e).name()));
+
+    private static final long K0 = 0xc2b2ae3d27d4eb4fL;
+    private static final long K1 = 0x9e3779b97f4a7c15L;
+    private static final int SEEDS_PER_SIZE = 64;
+
+    private final long seed;
+    private final int mask;
+    private final T[] values;
+    private final int[] keyOffsets;
+    private final int[] keyLengths;
+    private final BytesStore<?, ?> keys;
+
+    private BytesConstantLookup(long seed, int mask, T[] values, int[] keyOffsets, int[] keyLengths, BytesStore<?, ?> keys) {
+        this.seed = seed;
+        this.mask = mask;
+        this.values = values;
+        this.keyOffsets = keyOffsets;
+        this.keyLengths = keyLengths;
+        this.keys = keys;
+    }
+
+    /**
+     * Returns the shared lookup of an enum's values by {@link Enum#name()}, built on first use.
+     *
+     * @param eClass the enum class
+     * @param <E>    the enum type
+     * @return the lookup for {@code eClass}
+     */
+    @NotNull
+    public static <E extends Enum<E>> BytesConstantLookup<E> forEnum(@NotNull Class<E> eClass) {
+        return uncheckedCast(ENUM_LOOKUP.get(eClass));
+    }
+
+    /**
+     * Builds a lookup of {@code values} keyed by the name each one is given by {@code nameFunction}.
+     *
+     * @param values       the constants to look up
+     * @param nameFunction provides the key for each constant
+     * @param <T>          the type of the constants
+     * @return the lookup
+     * @throws IllegalArgumentException if two values have the same name
+     */
+    @NotNull
+    public static <T> BytesConstantLookup<T> of(@NotNull Collection<? extends T> values,
+                                                @NotNull Function<? super T, ? extends CharSequence> nameFunction)
+            throws IllegalArgumentException {
+        final int n = values.size();
+        final byte[][] names = new byte[n][];
+        final Object[] constants = values.toArray();
+        int total = 0;
+        final Set<String> seen = new HashSet<>();
+        for (int i = 0; i < n; i++) {
+            final String name = nameFunction.apply(uncheckedCast(constants[i])).toString();
+            if (!seen.add(name))
+                throw new IllegalArgumentException("Duplicate name " + name);
+            names[i] = name.getBytes(StandardCharsets.ISO_8859_1);
+            total += names[i].length;
+        }
+        final byte[] keyBytes = new byte[total];
+        final int[] offsets = new int[n];
+        for (int i = 0, pos = 0; i < n; i++) {
+            offsets[i] = pos;
+            System.arraycopy(names[i], 0, keyBytes, pos, names[i].length);
+            pos += names[i].length;
+        }
+        final BytesStore<?, ?> keys = BytesStore.wrap(keyBytes);
+        IOTools.unmonitor(keys);
+
+        final long[] hashes = new long[n];
+        for (int size = Maths.nextPower2(n * 2, 8); ; size *= 2) {
+            final int mask = size - 1;
+            for (long seed = 0; seed < SEEDS_PER_SIZE; seed++) {
+                for (int i = 0; i < n; i++)
+                    hashes[i] = hash(keys, offsets[i], names[i].length, seed);
+                final BytesConstantLookup<T> lookup = tryBuild(seed, mask, constants, names, offsets, hashes, keys, size > n * 16);
+                if (lookup != null)
+                    return lookup;
+            }
+        }
+    }
+
+    /**
+     * Places every key in its slot, returning null if two keys share a slot unless {@code allowProbing},
+     * in which case later keys are placed in the next free slot. Probing is only allowed once the table is
+     * so sparse that a perfect placement is not worth searching for.
+     */
+    @Nullable
+    private static <T> BytesConstantLookup<T> tryBuild(long seed, int mask, Object[] constants, byte[][] names,
+                                                       int[] offsets, long[] hashes, BytesStore<?, ?> keys,
+                                                       boolean allowProbing) {
+        final T[] values = uncheckedCast(new Object[mask + 1]);
+        final int[] keyOffsets = new int[mask + 1];
+        final int[] keyLengths = new int[mask + 1];
+        for (int i = 0; i < constants.length; i++) {
+            int idx = index(hashes[i], mask);
+            while (values[idx] != null) {
+                if (!allowProbing)
+                    return null;
+                idx = (idx + 1) & mask;
+            }
+            values[idx] = uncheckedCast(constants[i]);
+            keyOffsets[idx] = offsets[i];
+            keyLengths[idx] = names[i].length;
+        }
+        return new BytesConstantLookup<>(seed, mask, values, keyOffsets, keyLengths, keys);
+    }
+
+    private static boolean equalBytes(BytesStore<?, ?> a, long aOffset, BytesStore<?, ?> b, long bOffset, int length) {
+        int i = 0;
+        for (; i <= length - 8; i += 8)
+            if (a.readLong(aOffset + i) != b.readLong(bOffset + i))
+                return false;
+        for (; i < length; i++)
+            if (a.readByte(aOffset + i) != b.readByte(bOffset + i))
+                return false;
+        return true;
+    }
+
+    private static int index(long hash, int mask) {
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private static long hash(BytesStore<?, ?> bs, long offset, int length, long seed) {
+        long h = (seed + length) * K0;
+        int i = 0;
+        for (; i <= length - 8; i += 8)
+            h = (h ^ bs.readLong(offset + i)) * K1;
+        if (i < length) {
+            long tail;
+            if (length >= 8) {
+                // re-read the last 8 bytes rather than assembling the tail a byte at a time
+                tail = bs.readLong(offset + length - 8);
+            } else {
+                tail = 0;
+                for (int j = length - 1; j >= 0; j--)
+                    tail = (tail << 8) | (bs.readByte(offset + j) & 0xFF);
+            }
+            h = (h ^ tail) * K1;
+        }
+        return h ^ (h >>> 29);
+    }
+
+    /**
+     * Returns the constant whose name matches the readable bytes of {@code bs}.
+     *
+     * @param bs the bytes to match, which are not consumed
+     * @return the matching constant, or {@code null} if there is none
+     * @throws ClosedIllegalStateException    If the resource has been released or closed.
+     * @throws ThreadingIllegalStateException If this resource was accessed by multiple threads in an unsafe way
+     */
+    @Nullable
+    public T lookup(@NotNull BytesStore<?, ?> bs)
+            throws IllegalStateException, BufferUnderflowException {
+        final long remaining = bs.readRemaining();
+        return remaining > Integer.MAX_VALUE ? null : lookup(bs, bs.readPosition(), (int) remaining);
+    }
+
+    /**
+     * Returns the constant whose name matches {@code length} bytes of {@code bs} starting at {@code offset}.
+     *
+     * @param bs     the bytes to match
+     * @param offset the offset of the first byte
+     * @param length the number of bytes to match
+     * @return the matching constant, or {@code null} if there is none
+     * @throws BufferUnderflowException       If the range is outside {@code bs}
+     * @throws ClosedIllegalStateException    If the resource has been released or closed.
+     * @throws ThreadingIllegalStateException If this resource was accessed by multiple threads in an unsafe way
+     */
+    @Nullable
+    public T lookup(@NotNull BytesStore<?, ?> bs, @NonNegative long offset, @NonNegative int length)
+            throws IllegalStateException, BufferUnderflowException {
+        int idx = index(hash(bs, offset, length, seed), mask);
+        T value;
+        while ((value = values[idx]) != null) {
+            if (keyLengths[idx] == length && equalBytes(keys, keyOffsets[idx], bs, offset, length))
+                return value;
+            idx = (idx + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * Returns the number of constants in this lookup.
+     *
+     * @return the number of constants
+     */
+    public int size() {
+        int count = 0;
+        for (T value : values)
+            if (value != null)
+                count++;
+        return count;
+    }
+}
@@ -0,0 +1,325 @@
+/*
+ * Copyright 2013-2025 chronicle.software; SPDX-License-Identifier: Apache-2.0
+ */
+package net.openhft.chronicle.bytes.util;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.bytes.BytesStore;
+import net.openhft.chronicle.core.annotation.NonNegative;
+import net.openhft.chronicle.core.io.ClosedIllegalStateException;
+import net.openhft.chronicle.core.io.ThreadingIllegalStateException;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.BufferUnderflowException;
+import java.util.Arrays;
+
+import static net.openhft.chronicle.bytes.algo.OptimisedBytesStoreHash.IS_LITTLE_ENDIAN;
+
+/**
+ * Splits delimited text such as CSV, TSV or pipe separated records into fields without copying them.
+ * Each call to {@link #nextRecord(Bytes)} finds the fields of one line and records the start and end offset
+ * of each in a reused array, so numbers can be parsed in place with {@link #parseLong(int)} or
+ * {@link BytesStore#parseLong(long)}, and text compared with {@link #fieldEquals(int, String)}.
+ * <p>
+ * A field starting with the quote character runs to the matching quote, may contain delimiters and line
+ * breaks, and a quote inside it is written twice. If an escape character is set it escapes the character
+ * after it in any field, as with {@link EscapingStopCharTester}. Fields containing either are reported as-is
+ * and can be unescaped with {@link #appendField(int, StringBuilder)}. A {@code \r} before the line feed is
+ * not part of the last field.
+ * <p>
+ * On little endian platforms the scan for the next special character reads eight bytes at a time.
+ * <p>Instances hold the last record so are not thread safe.
+ * <p>Example usage:</p>
+ * <pre>{@code
+ * DelimitedTokenizer csv = DelimitedTokenizer.csv();
+ * while (csv.nextRecord(bytes)) {
+ *     long quantity = csv.parseLong(2);
+ * }
+ * }</pre>
+ */
+public class DelimitedTokenizer {
+    /**
+     * Used for the quote or escape character to turn it off.
+     */
+    public static final char NONE = '\0';
+
+    private static final long ONES = 0x0101010101010101L;
+    private static final long HIGHS = 0x8080808080808080L;
+
+    private final int delimiter;
+    private final int quote;
+    private final int escape;
+    private long[] offsets = new long[32];
+    private boolean[] escaped = new boolean[16];
+    private int fieldCount;
+    private BytesStore<?, ?> store;
+
+    /**
+     * @param delimiter the character between fields
+     * @param quote     the character fields may be quoted with, or {@link #NONE}
+     * @param escape    the character which escapes the next character, or {@link #NONE}
+     */
+    public DelimitedTokenizer(char delimiter, char quote, char escape) {
+        if (delimiter == NONE || delimiter == '\n' || delimiter > 0xFF)
+            throw new IllegalArgumentException("Invalid delimiter " + (int) delimiter);
+        if (quote > 0xFF || escape > 0xFF)
+            throw new IllegalArgumentException("The quote and escape must be single byte characters");
+        this.delimiter = delimiter;
+        this.quote = quote;
+        this.escape = escape;
+    }
+
+    /**
+     * @return a tokenizer for comma separated values with {@code "} quoting, as RFC 4180
+     */
+    @NotNull
+    public static DelimitedTokenizer csv() {
+        return new DelimitedTokenizer(',', '"', NONE);
+    }
+
+    /**
+     * @return a tokenizer for tab separated values with {@code \} escapes and no quoting
+     */
+    @NotNull
+    public static DelimitedTokenizer tsv() {
+        return new DelimitedTokenizer('\t', NONE, '\\');
+    }
+
+    /**
+     * @return a tokenizer for pipe separated values with {@code \} escapes and no quoting
+     */
+    @NotNull
+    public static DelimitedTokenizer pipe() {
+        return new DelimitedTokenizer('|', NONE, '\\');
+    }
+
+    /**
+     * Finds the fields of the record at the read position of {@code in} and moves the read position
+     * past its line break.
+     *
+     * @param in the text to read
+     * @return {@code true} if there was a record, {@code false} if there is nothing left to read
+     * @throws ClosedIllegalStateException    If the resource has been released or closed.
+     * @throws ThreadingIllegalStateException If this resource was accessed by multiple threads in an unsafe way
+     */
+    public boolean nextRecord(@NotNull Bytes<?> in)
+            throws IllegalStateException {
+        final long position = in.readPosition();
+        final long limit = in.readLimit();
+        if (position >= limit) {
+            store = in;
+            fieldCount = 0;
+            return false;
+        }
+        in.readPosition(tokenize(in, position, limit));
+        return true;
+    }
+
+    /**
+     * Finds the fields of the record starting at {@code start}.
+     *
+     * @param bs    the text to read
+     * @param start the offset of the record
+     * @param limit the offset just past the end of the text
+     * @return the offset after the line break which ended the record, or {@code limit}
+     * @throws BufferUnderflowException       If the range is outside {@code bs}
+     * @throws ClosedIllegalStateException    If the resource has been released or closed.
+     * @throws ThreadingIllegalStateException If this resource was accessed by multiple threads in an unsafe way
+     */
+    public long tokenize(@NotNull BytesStore<?, ?> bs, @NonNegative long start, @NonNegative long limit)
+            throws IllegalStateException, BufferUnderflowException {
+        store = bs;
+        fieldCount = 0;
+        final int escapeOrDelimiter = escape == NONE ? delimiter : escape;
+        final int escapeOrQuote = escape == NONE ? quote : escape;
+        long pos = start;
+        while (true) {
+            final long fieldStart;
+            final long fieldEnd;
+            boolean fieldEscaped = false;
+            if (quote != NONE && pos < limit && bs.readUnsignedByte(pos) == quote) {
+                fieldStart = ++pos;
+                while (true) {
+                    pos = scan(bs, pos, limit, quote, escapeOrQuote, quote);
+                    if (pos >= limit)
+                        break;
+                    if (bs.readUnsignedByte(pos) == escape || pos + 1 < limit && bs.readUnsignedByte(pos + 1) == quote) {
+                        // an escaped character or a doubled quote
+                        fieldEscaped = true;
+                        pos += 2;
+                        continue;
+                    }
+                    break;
+                }
+                fieldEnd = Math.min(pos, limit);
+                // anything between the closing quote and the delimiter is ignored
+                pos = scan(bs, Math.min(pos + 1, limit), limit, delimiter, '\n', delimiter);
+            } else {
+                fieldStart = pos;
+                while (true) {
+                    pos = scan(bs, pos, limit, delimiter, '\n', escapeOrDelimiter);
+                    if (pos < limit && bs.readUnsignedByte(pos) == escape) {
+                        fieldEscaped = true;
+                        pos += 2;
+                        continue;
+                    }
+                    break;
+                }
+                pos = Math.min(pos, limit);
+                fieldEnd = pos > fieldStart && (pos == limit || bs.readUnsignedByte(pos) == '\n')
+                        && bs.readUnsignedByte(pos - 1) == '\r' ? pos - 1 : pos;
+            }
+            addField(fieldStart, fieldEnd, fieldEscaped);
+            if (pos >= limit)
+                return limit;
+            if (bs.readUnsignedByte(pos) != delimiter)
+                return pos + 1;
+            pos++;
+        }
+    }
+
+    /**
+     * Returns the offset of the first of up to three characters at or after {@code pos}, or {@code limit}.
+     */
+    private static long scan(BytesStore<?, ?> bs, long pos, long limit, int c1, int c2, int c3)
+            throws IllegalStateException, BufferUnderflowException {
+        if (IS_LITTLE_ENDIAN) {
+            final long p1 = c1 * ONES;
+            final long p2 = c2 * ONES;
+            final long p3 = c3 * ONES;
+            for (; pos + 8 <= limit; pos += 8) {
+                final long word = bs.readLong(pos);
+                final long found = zeroBytes(word ^ p1) | zeroBytes(word ^ p2) | zeroBytes(word ^ p3);
+                if (found != 0)
+                    return pos + (Long.numberOfTrailingZeros(found) >>> 3);
+            }
+        }
+        for (; pos < limit; pos++) {
+            final int ch = bs.readUnsignedByte(pos);
+            if (ch == c1 || ch == c2 || ch == c3)
+                return pos;
+        }
+        return limit;
+    }
+
+    /**
+     * Sets the top bit of each zero byte; only the lowest is exact as a borrow can mark the bytes above it.
+     */
+    private static long zeroBytes(long x) {
+        return (x - ONES) & ~x & HIGHS;
+    }
+
+    private void addField(long start, long end, boolean fieldEscaped) {
+        if (fieldCount * 2 == offsets.length)
+            offsets = Arrays.copyOf(offsets, offsets.length * 2);
+        if (fieldCount == escaped.length)
+            escaped = Arrays.copyOf(escaped, escaped.length * 2);
+        offsets[fieldCount * 2] = start;
+        offsets[fieldCount * 2 + 1] = end;
+        escaped[fieldCount] = fieldEscaped;
+        fieldCount++;
+    }
+
+    /**
+     * @return the number of fields in the last record
+     */
+    public int fieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * Returns the start and end offset of each field of the last record, in pairs. The array is reused
+     * and may be longer than {@code 2 * fieldCount()}.
+     *
+     * @return the field offsets
+     */
+    @NotNull
+    public long[] offsets() {
+        return offsets;
+    }
+
+    /**
+     * @param index of the field
+     * @return the offset of the first character of the field, after any opening quote
+     */
+    public long fieldStart(int index) {
+        return offsets[checkIndex(index) * 2];
+    }
+
+    /**
+     * @param index of the field
+     * @return the offset just past the last character of the field, before any closing quote
+     */
+    public long fieldEnd(int index) {
+        return offsets[checkIndex(index) * 2 + 1];
+    }
+
+    /**
+     * @param index of the field
+     * @return the number of bytes in the field, before any unescaping
+     */
+    public int fieldLength(int index) {
+        return (int) (fieldEnd(index) - fieldStart(index));
+    }
+
+    /**
+     * @param index of the field
+     * @return whether the field contains escapes or doubled quotes which {@link #appendField(int, StringBuilder)} removes
+     */
+    public boolean fieldEscaped(int index) {
+        return escaped[checkIndex(index)];
+    }
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= fieldCount)
+            throw new IndexOutOfBoundsException("field " + index + " of " + fieldCount);
+        return index;
+    }
+
+    /**
+     * Parses a field as a long in place, see {@link BytesStore#parseLong(long)}.
+     *
+     * @param index of the field
+     * @return the value, or 0 if the field is empty
+     * @throws ClosedIllegalStateException    If the resource has been released or closed.
+     * @throws ThreadingIllegalStateException If this resource was accessed by multiple threads in an unsafe way
+     */
+    public long parseLong(int index)
+            throws IllegalStateException, BufferUnderflowException {
+        return fieldLength(index) == 0 ? 0 : store.parseLong(fieldStart(index));
+    }
+
+    /**
+     * Compares a field, before any unescaping, with {@code s}.
+     *
+     * @param index of the field
+     * @param s     the text to compare with
+     * @return whether they are equal
+     * @throws ClosedIllegalStateException    If the resource has been released or closed.
+     * @throws ThreadingIllegalStateException If this resource was accessed by multiple threads in an unsafe way
+     */
+    public boolean fieldEquals(int index, @NotNull String s)
+            throws IllegalStateException {
+        return fieldLength(index) == s.length() && store.isEqual(fieldStart(index), s.length(), s);
+    }
+
+    /**
+     * Appends a field, with escapes and doubled quotes removed, as ISO-8859-1.
+     *
+     * @param index of the field
+     * @param sb    to append to
+     * @throws ClosedIllegalStateException    If the resource has been released or closed.
+     * @throws ThreadingIllegalStateException If this resource was accessed by multiple threads in an unsafe way
+     */
+    public void appendField(int index, @NotNull StringBuilder sb)
+            throws IllegalStateException, BufferUnderflowException {
+        final long end = fieldEnd(index);
+        final boolean unescape = fieldEscaped(index);
+        for (long pos = fieldStart(index); pos < end; pos++) {
+            int ch = store.readUnsignedByte(pos);
+            if (unescape && (ch == escape || ch == quote) && pos + 1 < end)
+                ch = store.readUnsignedByte(++pos);
+            sb.append((char) ch);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2013-2025 chronicle.software; SPDX-License-Identifier: Apache-2.0
+ */
+package net.openhft.chronicle.bytes.util;
+
+import java.math.RoundingMode;
+
+/**
+ * Arithmetic on fixed-point decimals held as a {@code long} mantissa and an implied scale, so that
+ * {@code mantissa = 12345, scale = 2} is {@code 123.45}. Nothing here allocates or goes through
+ * {@code double} or {@link java.math.BigDecimal}.
+ * <p>
+ * Text is read and written with {@link net.openhft.chronicle.bytes.ByteStringParser#parseDecimal(int)} and
+ * {@link net.openhft.chronicle.bytes.ByteStringAppender#appendDecimal(long, int)}, and the binary form with
+ * {@link net.openhft.chronicle.bytes.StreamingDataOutput#writeStopBitDecimal(long, int)} and
+ * {@link net.openhft.chronicle.bytes.StreamingDataInput#readStopBitDecimal(int)}.
+ */
+public final class FixedPointDecimal {
+
+    /**
+     * The largest scale supported, as 10^18 is the largest power of ten in a long.
+     */
+    public static final int MAX_SCALE = 18;
+
+    private static final long[] TENS = new long[MAX_SCALE + 1];
+
+    static {
+        TENS[0] = 1;
+        for (int i = 1; i < TENS.length; i++)
+            TENS[i] = TENS[i - 1] * 10;
+    }
+
+    // Suppresses default constructor, ensuring non-instantiability.
+    private FixedPointDecimal() {
+    }
+
+    /**
+     * Returns {@code 10^scale}.
+     *
+     * @param scale between 0 and {@link #MAX_SCALE}
+     * @return the power of ten
+     * @throws IllegalArgumentException if the scale is out of range
+     */
+    public static long tens(int scale) throws IllegalArgumentException {
+        if (scale < 0 || scale > MAX_SCALE)
+            throw new IllegalArgumentException("scale " + scale + " not in the range 0 to " + MAX_SCALE);
+        return TENS[scale];
+    }
+
+    /**
+     * Converts a mantissa from one scale to another without losing precision.
+     *
+     * @param mantissa  the value at {@code fromScale}
+     * @param fromScale the current number of decimal places
+     * @param toScale   the required number of decimal places
+     * @return the value at {@code toScale}
+     * @throws ArithmeticException      if the result overflows, or digits would be discarded
+     * @throws IllegalArgumentException if either scale is out of range
+     */
+    public static long rescale(long mantissa, int fromScale, int toScale)
+            throws ArithmeticException, IllegalArgumentException {
+        return rescale(mantissa, fromScale, toScale, RoundingMode.UNNECESSARY);
+    }
+
+    /**
+     * Converts a mantissa from one scale to another, rounding as {@code roundingMode} when the
+     * scale is reduced.
+     *
+     * @param mantissa     the value at {@code fromScale}
+     * @param fromScale    the current number of decimal places
+     * @param toScale      the required number of decimal places
+     * @param roundingMode how to round discarded digits
+     * @return the value at {@code toScale}
+     * @throws ArithmeticException      if the result overflows, or digits would be discarded with {@link RoundingMode#UNNECESSARY}
+     * @throws IllegalArgumentException if either scale is out of range
+     */
+    public static long rescale(long mantissa, int fromScale, int toScale, RoundingMode roundingMode)
+            throws ArithmeticException, IllegalArgumentException {
+        tens(fromScale);
+        tens(toScale);
+        if (fromScale == toScale)
+            return mantissa;
+        if (fromScale < toScale)
+            return Math.multiplyExact(mantissa, TENS[toScale - fromScale]);
+        return divide(mantissa, TENS[fromScale - toScale], roundingMode);
+    }
+
+    private static long divide(long mantissa, long divisor, RoundingMode roundingMode) throws ArithmeticException {
+        final long quotient = mantissa / divisor;
+        final long remainder = mantissa % divisor;
+        if (remainder == 0)
+            return quotient;
+        final int signum = mantissa < 0 ? -1 : 1;
+        final boolean awayFromZero;
+        switch (roundingMode) {
+            case UNNECESSARY:
+                throw new ArithmeticException("Rounding necessary to rescale " + mantissa);
+            case DOWN:
+                awayFromZero = false;
+                break;
+            case UP:
+                awayFromZero = true;
+                break;
+            case FLOOR:
+                awayFromZero = signum < 0;
+                break;
+            case CEILING:
+                awayFromZero = signum > 0;
+                break;
+            default:
+                // compare the remainder with half the divisor without overflowing
+                final long absRemainder = Math.abs(remainder);
+                final long half = divisor - absRemainder;
+                if (absRemainder != half)
+                    awayFromZero = absRemainder > half;
+                else if (roundingMode == RoundingMode.HALF_UP)
+                    awayFromZero = true;
+                else if (roundingMode == RoundingMode.HALF_DOWN)
+                    awayFromZero = false;
+                else
+                    awayFromZero = (quotient & 1) != 0;
+                break;
+        }
+        return awayFromZero ? quotient + signum : quotient;
+    }
+
+    /**
+     * Returns the number of decimal places once trailing zeros are removed, e.g. 1 for {@code 12300, 3}.
+     *
+     * @param mantissa the value at {@code scale}
+     * @param scale    the number of decimal places
+     * @return the smallest scale which represents the same value, or 0 if the value is a whole number
+     */
+    public static int minimumScale(long mantissa, int scale) {
+        if (mantissa == 0)
+            return 0;
+        while (scale > 0 && mantissa % 10 == 0) {
+            mantissa /= 10;
+            scale--;
+        }
+        return scale;
+    }
+}
@@ -0,0 +1,389 @@
+/*
+ * Copyright 2013-2025 chronicle.software; SPDX-License-Identifier: Apache-2.0
+ */
+package net.openhft.chronicle.bytes.util;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.bytes.BytesStore;
+import net.openhft.chronicle.bytes.MappedBytesStore;
+import net.openhft.chronicle.bytes.MappedFile;
+import net.openhft.chronicle.bytes.algo.BytesStoreHash;
+import net.openhft.chronicle.core.Jvm;
+import net.openhft.chronicle.core.Maths;
+import net.openhft.chronicle.core.annotation.NonNegative;
+import net.openhft.chronicle.core.annotation.Positive;
+import net.openhft.chronicle.core.io.AbstractCloseable;
+import net.openhft.chronicle.core.io.ClosedIllegalStateException;
+import net.openhft.chronicle.core.io.ThreadingIllegalStateException;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+
+/**
+ * A symbol table held in a {@link MappedFile} which maps byte sequences to stable {@code int} ids.
+ * Any number of threads and processes can map the same file and will agree on the ids, so they can
+ * exchange 4-byte ids in place of strings and resolve them back without allocating.
+ * <p>
+ * The file is laid out as
+ * <pre>
+ * [header 64 bytes][slots: long x slotCount][key offsets: long x maxSymbols][keys: (int length, bytes)...]
+ * </pre>
+ * Slots form an open addressing hash table, each holding the 32-bit {@link BytesStoreHash#hash32} of a key
+ * in the high word and {@code id + 1} in the low word. Keys are appended and never moved or removed, so an
+ * id stays valid for the lifetime of the file.
+ * <p>
+ * A new key is added by claiming an empty slot with a compare-and-swap, reserving key space and an id,
+ * copying the key and finally publishing the id in the slot. Other inserters of the same key wait for
+ * the id to be published; lookups of other keys are not blocked. A process which dies between claiming
+ * a slot and publishing it will leave later inserters of a key with the same hash waiting.
+ * <p>Example usage:</p>
+ * <pre>{@code
+ * try (MappedSymbolTable table = MappedSymbolTable.of(file, 1 << 16, 1 << 20)) {
+ *     int id = table.acquireId(Bytes.from("XLON"));
+ *     table.appendSymbol(id, out);
+ * }
+ * }</pre>
+ */
+@SuppressWarnings("rawtypes")
+public class MappedSymbolTable extends AbstractCloseable {
+    /**
+     * Maximum number of symbols a table can hold.
+     */
+    public static final int MAX_SYMBOLS = 1 << 29;
+    // "SYM1" in little endian
+    private static final int MAGIC = 0x314d5953;
+    private static final int INITIALISING = -1;
+
+    private static final long MAGIC_OFFSET = 0;
+    private static final long MAX_SYMBOLS_OFFSET = 4;
+    private static final long SLOT_COUNT_OFFSET = 8;
+    private static final long COUNT_OFFSET = 12;
+    private static final long KEY_CAPACITY_OFFSET = 16;
+    private static final long KEY_USED_OFFSET = 24;
+    private static final int HEADER_SIZE = 64;
+
+    private static final long HASH_MASK = 0xFFFF_FFFF_0000_0000L;
+    private static final long PENDING = 0xFFFF_FFFFL;
+    private static final long ABANDONED = 0xFFFF_FFFEL;
+
+    private final MappedFile mappedFile;
+    private final MappedBytesStore store;
+    private final int maxSymbols;
+    private final int slotCount;
+    private final long keyCapacity;
+    private final long slotsOffset;
+    private final long idsOffset;
+    private final long keysOffset;
+
+    @SuppressWarnings("this-escape")
+    private MappedSymbolTable(@NotNull MappedFile mappedFile, int maxSymbols, long keyCapacity)
+            throws IOException, IllegalStateException {
+        singleThreadedCheckDisabled(true);
+        this.mappedFile = mappedFile;
+        this.maxSymbols = maxSymbols;
+        this.slotCount = slotCountFor(maxSymbols);
+        this.keyCapacity = keyCapacity;
+        this.slotsOffset = HEADER_SIZE;
+        this.idsOffset = slotsOffset + ((long) slotCount << 3);
+        this.keysOffset = idsOffset + ((long) maxSymbols << 3);
+        try {
+            this.store = mappedFile.acquireByteStore(this, 0);
+            if (store.safeLimit() < keysOffset + keyCapacity)
+                throw new IllegalStateException("Mapping of " + store.safeLimit() + " bytes is too small, requires " + (keysOffset + keyCapacity));
+            initHeader();
+        } catch (IOException | RuntimeException e) {
+            // releases the mapped file as well
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * Opens or creates a symbol table in {@code file}. All processes sharing the file must use the same
+     * {@code maxSymbols} and {@code keyCapacity}.
+     *
+     * @param file        the file to map
+     * @param maxSymbols  the maximum number of distinct keys
+     * @param keyCapacity the number of bytes available for storing keys, including a 4-byte length per key
+     * @return the symbol table
+     * @throws IOException           if the file could not be opened or mapped
+     * @throws IllegalStateException if the file holds a table created with a different size
+     */
+    @NotNull
+    public static MappedSymbolTable of(@NotNull File file, @Positive int maxSymbols, @Positive long keyCapacity)
+            throws IOException, IllegalStateException {
+        MappedFile mappedFile = MappedFile.ofSingle(file, sizeFor(maxSymbols, keyCapacity), false);
+        return new MappedSymbolTable(mappedFile, maxSymbols, keyCapacity);
+    }
+
+    /**
+     * Returns the number of bytes needed to hold a table of the given size.
+     *
+     * @param maxSymbols  the maximum number of distinct keys
+     * @param keyCapacity the number of bytes available for storing keys
+     * @return the size of the mapping required
+     */
+    public static long sizeFor(@Positive int maxSymbols, @Positive long keyCapacity) {
+        checkSize(maxSymbols, keyCapacity);
+        return HEADER_SIZE + ((long) slotCountFor(maxSymbols) << 3) + ((long) maxSymbols << 3) + keyCapacity;
+    }
+
+    private static void checkSize(int maxSymbols, long keyCapacity) {
+        if (maxSymbols <= 0 || maxSymbols > MAX_SYMBOLS)
+            throw new IllegalArgumentException("maxSymbols=" + maxSymbols);
+        if (keyCapacity <= 0)
+            throw new IllegalArgumentException("keyCapacity=" + keyCapacity);
+    }
+
+    // keep the load factor at or below 50% so probe sequences stay short
+    private static int slotCountFor(int maxSymbols) {
+        return Maths.nextPower2(maxSymbols * 2, 16);
+    }
+
+    private void initHeader() {
+        if (store.compareAndSwapInt(MAGIC_OFFSET, 0, INITIALISING)) {
+            store.writeInt(MAX_SYMBOLS_OFFSET, maxSymbols);
+            store.writeInt(SLOT_COUNT_OFFSET, slotCount);
+            store.writeLong(KEY_CAPACITY_OFFSET, keyCapacity);
+            store.writeOrderedInt(MAGIC_OFFSET, MAGIC);
+            return;
+        }
+        int magic;
+        while ((magic = store.readVolatileInt(MAGIC_OFFSET)) == INITIALISING)
+            Jvm.nanoPause();
+        if (magic != MAGIC)
+            throw new IllegalStateException("Not a symbol table, magic=0x" + Integer.toHexString(magic));
+        int storedMaxSymbols = store.readInt(MAX_SYMBOLS_OFFSET);
+        long storedKeyCapacity = store.readLong(KEY_CAPACITY_OFFSET);
+        if (storedMaxSymbols != maxSymbols || storedKeyCapacity != keyCapacity)
+            throw new IllegalStateException("Symbol table was created with maxSymbols=" + storedMaxSymbols +
+                    ", keyCapacity=" + storedKeyCapacity + " not maxSymbols=" + maxSymbols + ", keyCapacity=" + keyCapacity);
+    }
+
+    /**
+     * Returns the id for the readable bytes of {@code key}, adding it if it is not already present.
+     *
+     * @param key the key, which is not consumed
+     * @return the id of the key, between 0 and {@link #maxSymbols()} - 1
+     * @throws IllegalStateException          if the table or its key storage is full
+     * @throws ClosedIllegalStateException    If the resource has been released or closed.
+     * @throws ThreadingIllegalStateException If this resource was accessed by multiple threads in an unsafe way
+     */
+    public int acquireId(@NotNull BytesStore<?, ?> key)
+            throws IllegalStateException, BufferUnderflowException {
+        return acquireId(key, Maths.toInt32(key.readRemaining()));
+    }
+
+    /**
+     * Returns the id for {@code length} bytes of {@code key} from its read position, adding it if it is not
+     * already present.
+     *
+     * @param key    the key, which is not consumed
+     * @param length the number of bytes in the key
+     * @return the id of the key, between 0 and {@link #maxSymbols()} - 1
+     * @throws IllegalStateException          if the table or its key storage is full
+     * @throws BufferUnderflowException       if {@code key} has fewer than {@code length} bytes readable
+     * @throws ClosedIllegalStateException    If the resource has been released or closed.
+     * @throws ThreadingIllegalStateException If this resource was accessed by multiple threads in an unsafe way
+     */
+    public int acquireId(@NotNull BytesStore<?, ?> key, @NonNegative int length)
+            throws IllegalStateException, BufferUnderflowException {
+        return lookup(key, length, true);
+    }
+
+    /**
+     * Returns the id for the readable bytes of {@code key} without adding it.
+     *
+     * @param key the key, which is not consumed
+     * @return the id of the key, or -1 if it is not present
+     * @throws ClosedIllegalStateException    If the resource has been released or closed.
+     * @throws ThreadingIllegalStateException If this resource was accessed by multiple threads in an unsafe way
+     */
+    public int findId(@NotNull BytesStore<?, ?> key)
+            throws IllegalStateException, BufferUnderflowException {
+        return lookup(key, Maths.toInt32(key.readRemaining()), false);
+    }
+
+    private int lookup(BytesStore<?, ?> key, int length, boolean add) {
+        throwExceptionIfClosed();
+        final int hash = BytesStoreHash.hash32(key, length);
+        final long hashBits = (long) hash << 32;
+        final int mask = slotCount - 1;
+        int h = hash & mask;
+        for (int probes = 0; probes < slotCount; ) {
+            final long slotOffset = slotsOffset + ((long) h << 3);
+            long slot = store.readVolatileLong(slotOffset);
+            if (slot == 0) {
+                if (!add)
+                    return -1;
+                if (store.compareAndSwapLong(slotOffset, 0L, hashBits | PENDING))
+                    return insert(slotOffset, hashBits, key, length);
+                // lost the race for this slot, look at what won it
+                continue;
+            }
+            if ((slot & HASH_MASK) == hashBits) {
+                while ((slot & ~HASH_MASK) == PENDING) {
+                    Jvm.nanoPause();
+                    slot = store.readVolatileLong(slotOffset);
+                }
+                if ((slot & ~HASH_MASK) != ABANDONED) {
+                    int id = (int) slot - 1;
+                    if (keyEquals(id, key, length))
+                        return id;
+                }
+            }
+            h = (h + 1) & mask;
+            probes++;
+        }
+        if (add)
+            throw new IllegalStateException("Symbol table is full, maxSymbols=" + maxSymbols);
+        return -1;
+    }
+
+    private int insert(long slotOffset, long hashBits, BytesStore<?, ?> key, int length) {
+        // reserve the id first so a full table doesn't use key storage on each failed insert;
+        // an id whose key doesn't fit is never published, which keyOffset reports
+        final int id = (int) reserve(COUNT_OFFSET, 1, maxSymbols, slotOffset, "maxSymbols");
+        final long keyOffset = reserve(KEY_USED_OFFSET, Integer.BYTES + length, keyCapacity, slotOffset, "key storage");
+        final long address = keysOffset + keyOffset;
+        store.writeInt(address, length);
+        store.write(address + Integer.BYTES, key, key.readPosition(), length);
+        store.writeOrderedLong(idsOffset + ((long) id << 3), address);
+        store.writeOrderedLong(slotOffset, hashBits | (id + 1));
+        return id;
+    }
+
+    /**
+     * Atomically reserves {@code amount} from a counter in the header, abandoning the claimed slot if the
+     * counter would exceed {@code limit}.
+     */
+    private long reserve(long counterOffset, int amount, long limit, long slotOffset, String what) {
+        final boolean isInt = counterOffset == COUNT_OFFSET;
+        while (true) {
+            long used = isInt ? store.readVolatileInt(counterOffset) : store.readVolatileLong(counterOffset);
+            if (used + amount > limit) {
+                // leave the slot occupied so probe sequences which passed it remain valid
+                store.writeOrderedLong(slotOffset, (store.readLong(slotOffset) & HASH_MASK) | ABANDONED);
+                throw new IllegalStateException("Symbol table is full, " + what + "=" + limit);
+            }
+            if (isInt
+                    ? store.compareAndSwapInt(counterOffset, (int) used, (int) (used + amount))
+                    : store.compareAndSwapLong(counterOffset, used, used + amount))
+                return used;
+        }
+    }
+
+    private boolean keyEquals(int id, BytesStore<?, ?> key, int length) {
+        final long address = store.readVolatileLong(idsOffset + ((long) id << 3));
+        if (store.readInt(address) != length)
+            return false;
+        final long start = address + Integer.BYTES;
+        final long keyStart = key.readPosition();
+        int i = 0;
+        for (; i < length - 7; i += 8)
+            if (store.readLong(start + i) != key.readLong(keyStart + i))
+                return false;
+        for (; i < length; i++)
+            if (store.readByte(start + i) != key.readByte(keyStart + i))
+                return false;
+        return true;
+    }
+
+    /**
+     * Returns the offset in {@link #bytesStore()} of the first byte of the key for {@code id}.
+     *
+     * @param id a previously acquired id
+     * @return the offset of the key
+     * @throws IllegalArgumentException       if {@code id} has not been assigned
+     * @throws ClosedIllegalStateException    If the resource has been released or closed.
+     * @throws ThreadingIllegalStateException If this resource was accessed by multiple threads in an unsafe way
+     */
+    public long keyOffset(int id)
+            throws IllegalArgumentException, IllegalStateException {
+        throwExceptionIfClosed();
+        if (id < 0 || id >= size())
+            throw new IllegalArgumentException("id=" + id + " size=" + size());
+        final long address = store.readVolatileLong(idsOffset + ((long) id << 3));
+        if (address == 0)
+            throw new IllegalArgumentException("id=" + id + " has not been published");
+        return address + Integer.BYTES;
+    }
+
+    /**
+     * Returns the length in bytes of the key for {@code id}.
+     *
+     * @param id a previously acquired id
+     * @return the length of the key
+     * @throws IllegalArgumentException       if {@code id} has not been assigned
+     * @throws ClosedIllegalStateException    If the resource has been released or closed.
+     * @throws ThreadingIllegalStateException If this resource was accessed by multiple threads in an unsafe way
+     */
+    public int keyLength(int id)
+            throws IllegalArgumentException, IllegalStateException {
+        return store.readInt(keyOffset(id) - Integer.BYTES);
+    }
+
+    /**
+     * Appends the key for {@code id} to {@code bytes}.
+     *
+     * @param id    a previously acquired id
+     * @param bytes to append the key to
+     * @throws IllegalArgumentException       if {@code id} has not been assigned
+     * @throws BufferOverflowException        if {@code bytes} does not have room for the key
+     * @throws ClosedIllegalStateException    If the resource has been released or closed.
+     * @throws ThreadingIllegalStateException If this resource was accessed by multiple threads in an unsafe way
+     */
+    public void appendSymbol(int id, @NotNull Bytes<?> bytes)
+            throws IllegalArgumentException, BufferOverflowException, IllegalStateException {
+        final long offset = keyOffset(id);
+        bytes.write(store, offset, store.readInt(offset - Integer.BYTES));
+    }
+
+    /**
+     * Returns the store holding the table so keys can be read in place using {@link #keyOffset(int)} and
+     * {@link #keyLength(int)}.
+     *
+     * @return the underlying store
+     */
+    @NotNull
+    public BytesStore<?, ?> bytesStore() {
+        return store;
+    }
+
+    /**
+     * Returns the number of ids assigned so far, by any process.
+     *
+     * @return the number of symbols
+     */
+    public int size() {
+        return Math.min(store.readVolatileInt(COUNT_OFFSET), maxSymbols);
+    }
+
+    /**
+     * Returns the maximum number of symbols this table can hold.
+     *
+     * @return the maximum number of symbols
+     */
+    public int maxSymbols() {
+        return maxSymbols;
+    }
+
+    /**
+     * Returns the number of bytes of key storage used so far, including a 4-byte length per key.
+     *
+     * @return the key storage used
+     */
+    public long keyBytesUsed() {
+        return store.readVolatileLong(KEY_USED_OFFSET);
+    }
+
+    @Override
+    protected void performClose() {
+        if (store != null)
+            store.release(this);
+        mappedFile.releaseLast();
+    }
+}
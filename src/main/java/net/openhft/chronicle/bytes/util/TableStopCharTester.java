@@ -0,0 +1,168 @@
+/*
+ * Copyright 2013-2025 chronicle.software; SPDX-License-Identifier: Apache-2.0
+ */
+package net.openhft.chronicle.bytes.util;
+
+import net.openhft.chronicle.bytes.BytesStore;
+import net.openhft.chronicle.bytes.StopCharTester;
+import net.openhft.chronicle.bytes.StopCharTesters;
+import net.openhft.chronicle.core.annotation.NonNegative;
+import net.openhft.chronicle.core.io.ClosedIllegalStateException;
+import net.openhft.chronicle.core.io.ThreadingIllegalStateException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.BufferUnderflowException;
+
+import static net.openhft.chronicle.bytes.algo.OptimisedBytesStoreHash.IS_LITTLE_ENDIAN;
+
+/**
+ * A {@link StopCharTester} compiled to a 256 bit table, so testing a character from 0 to 255 is a
+ * single lookup with no branches on the character. The parse methods of
+ * {@link net.openhft.chronicle.bytes.ByteStringParser} recognise this class, and the constants of
+ * {@link StopCharTesters} which are compiled on first use, and scan for the next stop character with
+ * {@link #indexOf(BytesStore, long, long)} rather than calling {@link #isStopChar(int)} for each one.
+ * <p>
+ * Only stateless testers can be compiled, as each character is tested once when the table is built.
+ * Characters outside the table are passed to the tester it was compiled from, if any.
+ * <p>Example usage:</p>
+ * <pre>{@code
+ * StopCharTester fieldEnd = TableStopCharTester.of(",;\n");
+ * String field = bytes.parseUtf8(fieldEnd);
+ * }</pre>
+ */
+public final class TableStopCharTester implements StopCharTester {
+
+    private static final TableStopCharTester[] COMPILED_CONSTANTS;
+
+    static {
+        final StopCharTesters[] constants = StopCharTesters.values();
+        COMPILED_CONSTANTS = new TableStopCharTester[constants.length];
+        for (StopCharTesters constant : constants)
+            COMPILED_CONSTANTS[constant.ordinal()] = new TableStopCharTester(constant);
+    }
+
+    private final long[] table = new long[4];
+    @Nullable
+    private final StopCharTester outside;
+
+    private TableStopCharTester(@NotNull StopCharTester tester) {
+        for (int ch = 0; ch < 256; ch++)
+            if (tester.isStopChar(ch))
+                table[ch >>> 6] |= 1L << ch;
+        this.outside = tester;
+    }
+
+    private TableStopCharTester(@NotNull CharSequence stopChars) {
+        table[0] = 1L;
+        for (int i = 0; i < stopChars.length(); i++) {
+            final char ch = stopChars.charAt(i);
+            if (ch > 0xFF)
+                throw new IllegalArgumentException("Stop characters must be between 0 and 255, was " + (int) ch);
+            table[ch >>> 6] |= 1L << ch;
+        }
+        this.outside = null;
+    }
+
+    /**
+     * Returns a tester which stops at any of {@code stopChars} or {@code '\0'}.
+     *
+     * @param stopChars the characters to stop at, each between 0 and 255
+     * @return the compiled tester
+     * @throws IllegalArgumentException if a character is above 255
+     */
+    @NotNull
+    public static TableStopCharTester of(@NotNull CharSequence stopChars) throws IllegalArgumentException {
+        return new TableStopCharTester(stopChars);
+    }
+
+    /**
+     * Compiles a stateless tester by testing every character from 0 to 255. The constants of
+     * {@link StopCharTesters} return a shared instance.
+     *
+     * @param tester to compile, which must give the same answer for a character every time
+     * @return the compiled tester
+     * @throws IllegalArgumentException if the tester keeps state between characters, such as an {@link EscapingStopCharTester}
+     */
+    @NotNull
+    public static TableStopCharTester of(@NotNull StopCharTester tester) throws IllegalArgumentException {
+        final TableStopCharTester compiled = compiledOrNull(tester);
+        if (compiled != null)
+            return compiled;
+        if (tester instanceof EscapingStopCharTester)
+            throw new IllegalArgumentException("Cannot compile a tester which keeps state " + tester);
+        return new TableStopCharTester(tester);
+    }
+
+    /**
+     * Returns the compiled form of {@code tester} if it is already compiled or a constant of {@link StopCharTesters}.
+     *
+     * @param tester to look up
+     * @return the compiled tester, or {@code null} if it would have to be compiled
+     */
+    @Nullable
+    public static TableStopCharTester compiledOrNull(@NotNull StopCharTester tester) {
+        if (tester instanceof TableStopCharTester)
+            return (TableStopCharTester) tester;
+        if (tester instanceof StopCharTesters)
+            return COMPILED_CONSTANTS[((StopCharTesters) tester).ordinal()];
+        return null;
+    }
+
+    @Override
+    public boolean isStopChar(int ch) {
+        if ((ch & ~0xFF) != 0)
+            return outside != null && outside.isStopChar(ch);
+        return (table[ch >>> 6] >>> ch & 1) != 0;
+    }
+
+    /**
+     * Returns the offset of the first stop character at or after {@code from}, or {@code to} if there is none.
+     * On little endian platforms this reads eight bytes at a time.
+     *
+     * @param bs   the bytes to scan
+     * @param from the offset to start at
+     * @param to   the offset to stop at
+     * @return the offset of the first stop character, or {@code to}
+     * @throws BufferUnderflowException       If the range is outside {@code bs}
+     * @throws ClosedIllegalStateException    If the resource has been released or closed.
+     * @throws ThreadingIllegalStateException If this resource was accessed by multiple threads in an unsafe way
+     */
+    public long indexOf(@NotNull BytesStore<?, ?> bs, @NonNegative long from, @NonNegative long to)
+            throws IllegalStateException, BufferUnderflowException {
+        final long[] t = table;
+        long pos = from;
+        if (IS_LITTLE_ENDIAN) {
+            for (; pos + 8 <= to; pos += 8) {
+                final long word = bs.readLong(pos);
+                final int found = stop(t, word)
+                        | stop(t, word >>> 8) << 1
+                        | stop(t, word >>> 16) << 2
+                        | stop(t, word >>> 24) << 3
+                        | stop(t, word >>> 32) << 4
+                        | stop(t, word >>> 40) << 5
+                        | stop(t, word >>> 48) << 6
+                        | stop(t, word >>> 56) << 7;
+                if (found != 0)
+                    return pos + Integer.numberOfTrailingZeros(found);
+            }
+        }
+        for (; pos < to; pos++)
+            if (stop(t, bs.readUnsignedByte(pos)) != 0)
+                return pos;
+        return to;
+    }
+
+    /**
+     * Returns 1 if the low byte of {@code bits} is a stop character, otherwise 0.
+     */
+    private static int stop(long[] table, long bits) {
+        final int ch = (int) bits & 0xFF;
+        return (int) (table[ch >>> 6] >>> ch) & 1;
+    }
+
+    @Override
+    public String toString() {
+        return "TableStopCharTester{" + (outside == null ? "" : outside.toString()) + '}';
+    }
+}
@@ -42,6 +42,19 @@ public class UTF8StringInterner extends AbstractInterner<String> {
         super(capacity);
     }
 
+    /**
+     * Constructs a new UTF8StringInterner which grows from {@code capacity} up to {@code maxCapacity}
+     * when the miss rate exceeds {@code growMissRate}.
+     *
+     * @param capacity     the initial capacity for the interner
+     * @param maxCapacity  the maximum capacity the interner may grow to
+     * @param growMissRate the fraction of lookups which must miss before the interner grows
+     * @see AbstractInterner#AbstractInterner(int, int, double)
+     */
+    public UTF8StringInterner(@NonNegative int capacity, @NonNegative int maxCapacity, double growMissRate) {
+        super(capacity, maxCapacity, growMissRate);
+    }
+
     /**
      * Decodes a UTF-8 string from the supplied {@link BytesStore}. Exactly
      * {@code length} bytes are read starting from {@code cs.readPosition()} and
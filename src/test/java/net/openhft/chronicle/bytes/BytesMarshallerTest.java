@@ -4,6 +4,7 @@
 package net.openhft.chronicle.bytes;
 
 import net.openhft.chronicle.core.annotation.UsedViaReflection;
+import net.openhft.chronicle.core.io.IORuntimeException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -132,4 +133,93 @@ class BytesMarshallerTest {
         assertEquals(original.stringValue, result.stringValue);
         assertEquals(original.doubleValue, result.doubleValue, 0.001);
     }
+
+    static class AllTypes implements BytesMarshallable {
+        boolean flag;
+        byte b;
+        char ch;
+        char highCh;
+        short s;
+        int i;
+        float f;
+        long l;
+        double d;
+        final long finalLong = 1;
+        String text;
+        int[] ints;
+    }
+
+    static class SubTypes extends AllTypes {
+        transient int ignored;
+        long sub;
+    }
+
+    @Test
+    void specialisedMatchesReflective() {
+        SubTypes original = new SubTypes();
+        original.flag = true;
+        original.b = -2;
+        original.ch = 'x';
+        original.highCh = '\uFFF0';
+        original.s = -3;
+        original.i = 123456;
+        original.f = 1.5f;
+        original.l = Long.MIN_VALUE;
+        original.d = Math.PI;
+        original.text = "text";
+        original.ints = new int[]{1, 2, 3};
+        original.ignored = 99;
+        original.sub = 77;
+
+        // only specialised with -Dbytes.marshaller.specialise
+        assertEquals(BytesMarshaller.class, BytesMarshaller.BYTES_MARSHALLER_CL.get(SubTypes.class).getClass());
+        BytesMarshaller<SubTypes> reflective = new BytesMarshaller<>(SubTypes.class);
+        SpecialisedBytesMarshaller<SubTypes> specialised = new SpecialisedBytesMarshaller<>(SubTypes.class);
+        SpecialisedBytesMarshaller<SubTypes> interpreted = new SpecialisedBytesMarshaller<>(SubTypes.class, false, false);
+        assertTrue(specialised.generated());
+        assertFalse(interpreted.generated());
+
+        HexDumpBytes expected = new HexDumpBytes();
+        HexDumpBytes actual = new HexDumpBytes();
+        HexDumpBytes actualInterpreted = new HexDumpBytes();
+        try {
+            reflective.writeMarshallable(original, expected);
+            specialised.writeMarshallable(original, actual);
+            interpreted.writeMarshallable(original, actualInterpreted);
+            assertEquals(expected.toHexString(), actual.toHexString());
+            assertEquals(expected.toHexString(), actualInterpreted.toHexString());
+
+            SubTypes copy = new SubTypes();
+            specialised.readMarshallable(copy, actual);
+            assertEquals(0, actual.readRemaining());
+            assertTrue(copy.flag);
+            assertEquals(original.b, copy.b);
+            assertEquals(original.ch, copy.ch);
+            assertEquals(original.highCh, copy.highCh);
+            assertEquals(original.s, copy.s);
+            assertEquals(original.i, copy.i);
+            assertEquals(original.f, copy.f);
+            assertEquals(original.l, copy.l);
+            assertEquals(original.d, copy.d);
+            assertEquals(original.text, copy.text);
+            assertArrayEquals(original.ints, copy.ints);
+            assertEquals(0, copy.ignored);
+            assertEquals(original.sub, copy.sub);
+        } finally {
+            expected.releaseLast();
+            actual.releaseLast();
+            actualInterpreted.releaseLast();
+        }
+    }
+
+    @Test
+    void specialisedReadUnderflow() {
+        Bytes<?> bytes = Bytes.allocateElasticOnHeap();
+        bytes.writeBoolean(true);
+        SubTypes copy = new SubTypes();
+        assertThrows(IORuntimeException.class, () -> new SpecialisedBytesMarshaller<>(SubTypes.class).readMarshallable(copy, bytes));
+        bytes.readPosition(0);
+        assertThrows(IORuntimeException.class, () -> new SpecialisedBytesMarshaller<>(SubTypes.class, false, false).readMarshallable(copy, bytes));
+        bytes.releaseLast();
+    }
 }
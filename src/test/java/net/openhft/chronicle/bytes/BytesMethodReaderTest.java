@@ -0,0 +1,185 @@
+/*
+ * Copyright 2013-2025 chronicle.software; SPDX-License-Identifier: Apache-2.0
+ */
+package net.openhft.chronicle.bytes;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+
+class BytesMethodReaderTest extends BytesTestCommon {
+
+    interface Events {
+        @MethodId(3)
+        void dense(MyByteable byteable);
+
+        @MethodId(1000)
+        void first(MyByteable byteable);
+
+        @MethodId(1_000_000_007L)
+        void second(MyByteable byteable);
+
+        @MethodId(Long.MAX_VALUE)
+        void third(MyByteable byteable);
+
+        @MethodId(-2)
+        void negative(MyByteable byteable);
+
+        @MethodId(1 << 20)
+        void fifth(MyByteable byteable);
+
+        @MethodId(2 << 20)
+        String returnsValue(MyByteable byteable);
+
+        @MethodId(3 << 20)
+        void fails(MyByteable byteable);
+    }
+
+    static class Recorder implements Events {
+        final List<String> calls = new ArrayList<>();
+
+        private void record(String name, MyByteable byteable) {
+            calls.add(name + " " + byteable.b);
+        }
+
+        @Override
+        public void dense(MyByteable byteable) {
+            record("dense", byteable);
+        }
+
+        @Override
+        public void first(MyByteable byteable) {
+            record("first", byteable);
+        }
+
+        @Override
+        public void second(MyByteable byteable) {
+            record("second", byteable);
+        }
+
+        @Override
+        public void third(MyByteable byteable) {
+            record("third", byteable);
+        }
+
+        @Override
+        public void negative(MyByteable byteable) {
+            record("negative", byteable);
+        }
+
+        @Override
+        public void fifth(MyByteable byteable) {
+            record("fifth", byteable);
+        }
+
+        @Override
+        public String returnsValue(MyByteable byteable) {
+            record("returnsValue", byteable);
+            return "ignored";
+        }
+
+        @Override
+        public void fails(MyByteable byteable) {
+            throw new IllegalStateException("failed on purpose");
+        }
+    }
+
+    private static MyByteable byteable(int b) {
+        return new MyByteable(false, (byte) b, (short) 0, 'c', 0, 0, 0, 0);
+    }
+
+    @Test
+    void dispatchesDenseAndSparseIds() {
+        assumeFalse(NativeBytes.areNewGuarded());
+        expectException("failed on purpose");
+        Bytes<?> bytes = Bytes.allocateElasticOnHeap();
+        try {
+            Events writer = bytes.bytesMethodWriter(Events.class);
+            writer.dense(byteable(1));
+            writer.first(byteable(2));
+            writer.second(byteable(3));
+            writer.third(byteable(4));
+            writer.negative(byteable(5));
+            writer.fifth(byteable(6));
+            writer.returnsValue(byteable(7));
+            writer.fails(byteable(8));
+            // an id with no handler goes to the default parselet, which skips the rest
+            bytes.writeStopBit(4 << 20);
+            bytes.writeInt(0);
+
+            Recorder recorder = new Recorder();
+            MethodReader reader = bytes.bytesMethodReader(recorder);
+            while (reader.readOne()) {
+                // read all
+            }
+            assertEquals("[dense 1, first 2, second 3, third 4, negative 5, fifth 6, returnsValue 7]", recorder.calls.toString());
+        } finally {
+            bytes.releaseLast();
+        }
+    }
+
+    @Test
+    void readManyStopsAtTheLimit() {
+        Bytes<?> bytes = Bytes.allocateElasticOnHeap();
+        try {
+            Events writer = bytes.bytesMethodWriter(Events.class);
+            for (int i = 0; i < 10; i++)
+                writer.dense(byteable(i + 1));
+
+            Recorder recorder = new Recorder();
+            BytesMethodReader reader = bytes.bytesMethodReaderBuilder().build(recorder);
+            assertEquals(0, reader.readMany(0));
+            assertEquals(4, reader.readMany(4));
+            assertEquals(4, recorder.calls.size());
+            assertEquals(6, reader.readMany(100));
+            assertEquals(0, reader.readMany(100));
+            assertEquals("dense 10", recorder.calls.get(9));
+        } finally {
+            bytes.releaseLast();
+        }
+    }
+
+    @Test
+    void readManyRecoversFromAFailingHandler() {
+        expectException("failed on purpose");
+        Bytes<?> bytes = Bytes.allocateElasticOnHeap();
+        try {
+            Events writer = bytes.bytesMethodWriter(Events.class);
+            writer.dense(byteable(1));
+            writer.fails(byteable(2));
+            writer.dense(byteable(3));
+
+            Recorder recorder = new Recorder();
+            BytesMethodReader reader = bytes.bytesMethodReaderBuilder().build(recorder);
+            // the failing handler skips to the read limit, as readOne does
+            assertEquals(2, reader.readMany(10));
+            assertEquals("[dense 1]", recorder.calls.toString());
+            assertEquals(0, bytes.readRemaining());
+        } finally {
+            bytes.releaseLast();
+        }
+    }
+
+    @Test
+    void readUntilReadsABatchAfterTheDeadline() {
+        Bytes<?> bytes = Bytes.allocateElasticOnHeap();
+        try {
+            Events writer = bytes.bytesMethodWriter(Events.class);
+            for (int i = 0; i < 100; i++)
+                writer.first(byteable(i + 1));
+
+            Recorder recorder = new Recorder();
+            BytesMethodReader reader = bytes.bytesMethodReaderBuilder().build(recorder);
+            assertEquals(BytesMethodReader.MESSAGES_PER_CLOCK_CHECK, reader.readUntil(System.nanoTime() - 1));
+            assertEquals(100 - BytesMethodReader.MESSAGES_PER_CLOCK_CHECK, reader.readUntil(System.nanoTime() + 60_000_000_000L));
+            assertEquals(0, reader.readUntil(System.nanoTime() + 60_000_000_000L));
+            assertEquals(100, recorder.calls.size());
+        } finally {
+            bytes.releaseLast();
+        }
+    }
+}
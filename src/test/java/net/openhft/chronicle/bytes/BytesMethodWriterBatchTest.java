@@ -0,0 +1,184 @@
+/*
+ * Copyright 2013-2025 chronicle.software; SPDX-License-Identifier: Apache-2.0
+ */
+package net.openhft.chronicle.bytes;
+
+import net.openhft.chronicle.bytes.util.BinaryLengthLength;
+import net.openhft.chronicle.core.Jvm;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BytesMethodWriterBatchTest extends BytesTestCommon {
+    private final Bytes<?> bytes = Bytes.allocateElasticOnHeap();
+    private final List<String> read = new ArrayList<>();
+
+    public static class Text implements BytesMarshallable {
+        String text;
+
+        Text(String text) {
+            this.text = text;
+        }
+    }
+
+    public interface Messages {
+        @MethodId(1)
+        void say(Text text);
+
+        @MethodId(2)
+        void shout(Text text);
+    }
+
+    class Recorder implements Messages {
+        @Override
+        public void say(Text text) {
+            read.add(text.text);
+        }
+
+        @Override
+        public void shout(Text text) {
+            read.add(text.text.toUpperCase());
+        }
+    }
+
+    @AfterEach
+    void release() {
+        bytes.releaseLast();
+    }
+
+    private BytesMethodReader reader(BinaryLengthLength lengthLength) {
+        return bytes.bytesMethodReaderBuilder().framed(lengthLength).build(new Recorder());
+    }
+
+    private int frames(BinaryLengthLength lengthLength) {
+        int frames = 0;
+        for (long pos = 0; pos < bytes.writePosition(); frames++) {
+            assertEquals(lengthLength.code(), bytes.readUnsignedByte(pos));
+            final long length = lengthLength == BinaryLengthLength.LENGTH_8BIT ? bytes.readUnsignedByte(pos + 1) + 2
+                    : lengthLength == BinaryLengthLength.LENGTH_16BIT ? bytes.readUnsignedShort(pos + 1) + 3
+                    : bytes.readInt(pos + 1) + 5;
+            pos += length;
+        }
+        return frames;
+    }
+
+    @Test
+    void oneFramePerFlush() {
+        final BytesMethodWriterBatch<Messages> batch = new BytesMethodWriterBatch<>(Messages.class, bytes, BinaryLengthLength.LENGTH_32BIT, 1 << 20, 0);
+        batch.writer().say(new Text("one"));
+        batch.writer().shout(new Text("two"));
+        batch.writer().say(new Text("three"));
+        assertEquals(3, batch.pendingMessages());
+        assertTrue(batch.flush());
+        assertFalse(batch.flush());
+        batch.writer().say(new Text("four"));
+        assertTrue(batch.flush());
+        assertEquals(2, frames(BinaryLengthLength.LENGTH_32BIT));
+
+        final BytesMethodReader reader = reader(BinaryLengthLength.LENGTH_32BIT);
+        while (reader.readOne()) {
+            // read every message
+        }
+        assertEquals("[one, TWO, three, four]", read.toString());
+    }
+
+    @Test
+    void uncommittedFrameIsNotRead() {
+        final BytesMethodWriterBatch<Messages> batch = new BytesMethodWriterBatch<>(Messages.class, bytes, BinaryLengthLength.LENGTH_16BIT, 1 << 10, 0);
+        final BytesMethodReader reader = reader(BinaryLengthLength.LENGTH_16BIT);
+        batch.writer().say(new Text("one"));
+        batch.writer().say(new Text("two"));
+        assertFalse(reader.readOne());
+        assertEquals(0, bytes.readPosition());
+
+        batch.flush();
+        batch.writer().say(new Text("three"));
+        assertTrue(reader.readOne());
+        assertTrue(reader.readOne());
+        assertFalse(reader.readOne());
+        assertEquals("[one, two]", read.toString());
+
+        batch.flush();
+        assertTrue(reader.readOne());
+        assertFalse(reader.readOne());
+        assertEquals("[one, two, three]", read.toString());
+    }
+
+    @Test
+    void commitsWhenFull() {
+        final BytesMethodWriterBatch<Messages> batch = new BytesMethodWriterBatch<>(Messages.class, bytes, BinaryLengthLength.LENGTH_16BIT, 20, 0);
+        for (int i = 0; i < 10; i++)
+            batch.writer().say(new Text("message-" + i));
+        // each message is 12 bytes so every second message commits a frame
+        assertEquals(0, batch.pendingMessages());
+        assertEquals(5, frames(BinaryLengthLength.LENGTH_16BIT));
+
+        final BytesMethodReader reader = reader(BinaryLengthLength.LENGTH_16BIT);
+        while (reader.readOne()) {
+            // read every message
+        }
+        assertEquals(10, read.size());
+        assertEquals("message-9", read.get(9));
+    }
+
+    @Test
+    void commitsBeforeThePrefixOverflows() {
+        final BytesMethodWriterBatch<Messages> batch = new BytesMethodWriterBatch<>(Messages.class, bytes, BinaryLengthLength.LENGTH_8BIT, 1 << 20, 0);
+        final String text = new String(new char[100]).replace('\0', 'x');
+        for (int i = 0; i < 5; i++)
+            batch.writer().say(new Text(text));
+        batch.flush();
+        // each message is 103 bytes so only two fit in 255 bytes
+        assertEquals(3, frames(BinaryLengthLength.LENGTH_8BIT));
+
+        final BytesMethodReader reader = reader(BinaryLengthLength.LENGTH_8BIT);
+        while (reader.readOne()) {
+            // read every message
+        }
+        assertEquals(5, read.size());
+    }
+
+    @Test
+    void messageTooLongForThePrefix() {
+        final BytesMethodWriterBatch<Messages> batch = new BytesMethodWriterBatch<>(Messages.class, bytes, BinaryLengthLength.LENGTH_8BIT, 1 << 20, 0);
+        batch.writer().say(new Text("short"));
+        batch.flush();
+        final long position = bytes.writePosition();
+        final String text = new String(new char[300]).replace('\0', 'x');
+        assertThrows(IllegalStateException.class, () -> batch.writer().say(new Text(text)));
+        assertEquals(position, bytes.writePosition());
+        assertFalse(batch.flush());
+        assertEquals(position, bytes.writePosition());
+    }
+
+    @Test
+    void commitsWhenDue() {
+        final BytesMethodWriterBatch<Messages> batch = new BytesMethodWriterBatch<>(Messages.class, bytes, BinaryLengthLength.LENGTH_32BIT, 1 << 20, 1_000_000);
+        batch.writer().say(new Text("one"));
+        Jvm.pause(2);
+        assertTrue(batch.flushIfDue());
+        assertFalse(batch.flushIfDue());
+        assertEquals(1, frames(BinaryLengthLength.LENGTH_32BIT));
+    }
+
+    @Test
+    void failingHandlerSkipsTheRestOfItsFrame() {
+        final BytesMethodWriterBatch<Messages> batch = new BytesMethodWriterBatch<>(Messages.class, bytes, BinaryLengthLength.LENGTH_32BIT, 1 << 20, 0);
+        batch.writer().shout(new Text(null));
+        batch.writer().say(new Text("skipped"));
+        batch.flush();
+        batch.writer().say(new Text("next"));
+        batch.flush();
+
+        expectException("Exception calling public void net.openhft.chronicle.bytes.BytesMethodWriterBatchTest$Recorder.shout");
+        final BytesMethodReader reader = reader(BinaryLengthLength.LENGTH_32BIT);
+        while (reader.readOne()) {
+            // read every message
+        }
+        assertEquals("[next]", read.toString());
+    }
+}
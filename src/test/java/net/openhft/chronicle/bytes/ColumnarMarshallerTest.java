@@ -0,0 +1,166 @@
+/*
+ * Copyright 2013-2025 chronicle.software; SPDX-License-Identifier: Apache-2.0
+ */
+package net.openhft.chronicle.bytes;
+
+import net.openhft.chronicle.core.io.IORuntimeException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnarMarshallerTest extends BytesTestCommon {
+
+    static class Tick implements BytesMarshallable {
+        long time;
+        int sequence;
+        short venue;
+        char side;
+        byte flags;
+        boolean firm;
+        float size;
+        double price;
+        String symbol;
+    }
+
+    static class SubTick extends Tick {
+    }
+
+    static class NoFields implements BytesMarshallable {
+        transient int ignored;
+    }
+
+    private static List<Tick> ticks(int count) {
+        Random random = new Random(count);
+        List<Tick> ticks = new ArrayList<>();
+        long time = 1_700_000_000_000_000_000L;
+        for (int i = 0; i < count; i++) {
+            Tick tick = new Tick();
+            tick.time = time += random.nextInt(1000);
+            tick.sequence = i;
+            tick.venue = (short) random.nextInt();
+            tick.side = (char) random.nextInt();
+            tick.flags = (byte) random.nextInt();
+            tick.firm = random.nextBoolean();
+            tick.size = random.nextFloat();
+            tick.price = random.nextDouble();
+            tick.symbol = i % 3 == 0 ? null : "SYM" + i % 7;
+            ticks.add(tick);
+        }
+        // extremes to check the deltas wrap
+        ticks.get(count / 2).time = Long.MIN_VALUE;
+        ticks.get(count / 2).sequence = Integer.MAX_VALUE;
+        return ticks;
+    }
+
+    private static void assertTicks(List<Tick> expected, List<Tick> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Tick e = expected.get(i);
+            Tick a = actual.get(i);
+            assertEquals(e.time, a.time);
+            assertEquals(e.sequence, a.sequence);
+            assertEquals(e.venue, a.venue);
+            assertEquals(e.side, a.side);
+            assertEquals(e.flags, a.flags);
+            assertEquals(e.firm, a.firm);
+            assertEquals(e.size, a.size);
+            assertEquals(e.price, a.price);
+            assertEquals(e.symbol, a.symbol);
+        }
+    }
+
+    @Test
+    void roundTrip() {
+        for (boolean delta : new boolean[]{false, true}) {
+            ColumnarMarshaller<Tick> marshaller = ColumnarMarshaller.of(Tick.class, delta);
+            List<Tick> reused = new ArrayList<>();
+            Bytes<?> bytes = Bytes.allocateElasticDirect();
+            try {
+                for (int count : new int[]{100, 1000, 10, 0}) {
+                    List<Tick> ticks = ticks(Math.max(count, 2)).subList(0, count);
+                    bytes.clear();
+                    marshaller.writeBatch(bytes, ticks);
+                    Tick first = reused.isEmpty() ? null : reused.get(0);
+                    assertEquals(count, marshaller.readBatch(bytes, reused));
+                    assertEquals(0, bytes.readRemaining());
+                    assertTicks(ticks, reused);
+                    if (first != null && count > 0)
+                        assertSame(first, reused.get(0));
+                }
+            } finally {
+                bytes.releaseLast();
+            }
+        }
+    }
+
+    @Test
+    void linkedList() {
+        List<Tick> ticks = new LinkedList<>(ticks(100));
+        List<Tick> reused = new LinkedList<>(ticks(120));
+        Bytes<?> bytes = Bytes.allocateElasticOnHeap();
+        try {
+            ColumnarMarshaller<Tick> marshaller = ColumnarMarshaller.of(Tick.class, true);
+            marshaller.writeBatch(bytes, ticks);
+            assertEquals(100, marshaller.readBatch(bytes, reused));
+            assertTicks(ticks, reused);
+        } finally {
+            bytes.releaseLast();
+        }
+    }
+
+    @Test
+    void classWithNoFields() {
+        List<NoFields> records = new ArrayList<>();
+        for (int i = 0; i < 3; i++)
+            records.add(new NoFields());
+        Bytes<?> bytes = Bytes.allocateElasticOnHeap();
+        try {
+            ColumnarMarshaller<NoFields> marshaller = ColumnarMarshaller.of(NoFields.class, false);
+            marshaller.writeBatch(bytes, records);
+            List<NoFields> copy = new ArrayList<>();
+            assertEquals(3, marshaller.readBatch(bytes, copy));
+            assertEquals(3, copy.size());
+            assertEquals(0, bytes.readRemaining());
+        } finally {
+            bytes.releaseLast();
+        }
+    }
+
+    @Test
+    void deltasAreSmaller() {
+        List<Tick> ticks = ticks(1000);
+        ticks.get(500).time = ticks.get(499).time;
+        ticks.get(500).sequence = 500;
+        Bytes<?> plain = Bytes.allocateElasticOnHeap();
+        Bytes<?> deltas = Bytes.allocateElasticOnHeap();
+        try {
+            ColumnarMarshaller.of(Tick.class, false).writeBatch(plain, ticks);
+            ColumnarMarshaller.of(Tick.class, true).writeBatch(deltas, ticks);
+            assertTrue(deltas.readRemaining() < plain.readRemaining() - 5_000, deltas.readRemaining() + " vs " + plain.readRemaining());
+        } finally {
+            plain.releaseLast();
+            deltas.releaseLast();
+        }
+    }
+
+    @Test
+    void recordsMustBeTheSameClass() {
+        List<Tick> ticks = ticks(3);
+        ticks.add(new SubTick());
+        Bytes<?> bytes = Bytes.allocateElasticOnHeap();
+        try {
+            assertThrows(IllegalArgumentException.class, () -> ColumnarMarshaller.of(Tick.class, true).writeBatch(bytes, ticks));
+            assertEquals(0, bytes.writePosition());
+
+            bytes.writeStopBit(1000);
+            assertThrows(IORuntimeException.class, () -> ColumnarMarshaller.of(Tick.class, true).readBatch(bytes, new ArrayList<>()));
+        } finally {
+            bytes.releaseLast();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2013-2025 chronicle.software; SPDX-License-Identifier: Apache-2.0
+ */
+package net.openhft.chronicle.bytes;
+
+import net.openhft.chronicle.core.io.IORuntimeException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IsoDateTimeTest extends BytesTestCommon {
+
+    private static final DateTimeFormatter FORMATTER =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSSSSSSS'Z'").withZone(ZoneOffset.UTC);
+
+    private static String expected(long epochNanos) {
+        return FORMATTER.format(Instant.ofEpochSecond(Math.floorDiv(epochNanos, 1_000_000_000L), Math.floorMod(epochNanos, 1_000_000_000L)));
+    }
+
+    @Test
+    void appendMatchesJavaTime() {
+        Bytes<?> bytes = Bytes.allocateElasticOnHeap();
+        Random random = new Random(1);
+        long[] values = {0, -1, 1, Long.MIN_VALUE, Long.MAX_VALUE, 951_782_400_000_000_000L, 1_709_296_496_123_456_789L};
+        for (long value : values) {
+            bytes.clear().appendIsoDateTime(value);
+            assertEquals(expected(value), bytes.toString());
+        }
+        for (int i = 0; i < 100_000; i++) {
+            // mostly the same day to use the cached date
+            long value = i % 10 == 0 ? random.nextLong() : 1_709_251_200_000_000_000L + (random.nextLong() >>> 17);
+            bytes.clear().appendIsoDateTime(value);
+            assertEquals(expected(value), bytes.toString());
+            assertEquals(value, bytes.parseIsoDateTime());
+        }
+        bytes.releaseLast();
+    }
+
+    @Test
+    void parseVariants() {
+        Bytes<?> bytes = Bytes.from("2024-03-01T12:34:56Z 2024-03-01 12:34:56.5 2024-03-01T12:34:56.1234567891+01:00 " +
+                "2024-03-01T12:34:56,000001-0530 2000-02-29T00:00:00.000Z 1969-12-31T23:59:59.999999999Z");
+        assertEquals(1_709_296_496_000_000_000L, bytes.parseIsoDateTime());
+        bytes.readSkip(1);
+        assertEquals(1_709_296_496_500_000_000L, bytes.parseIsoDateTime());
+        bytes.readSkip(1);
+        assertEquals(1_709_296_496_123_456_789L - 3_600_000_000_000L, bytes.parseIsoDateTime());
+        bytes.readSkip(1);
+        assertEquals(1_709_296_496_000_001_000L + 19_800_000_000_000L, bytes.parseIsoDateTime());
+        bytes.readSkip(1);
+        assertEquals(951_782_400_000_000_000L, bytes.parseIsoDateTime());
+        bytes.readSkip(1);
+        assertEquals(-1, bytes.parseIsoDateTime());
+        assertEquals(0, bytes.readRemaining());
+    }
+
+    @Test
+    void parseInvalid() {
+        for (String text : new String[]{"2024-3-01T00:00:00Z", "2024-13-01T00:00:00Z", "2024-03-01X00:00:00Z",
+                "2024-03-01T24:00:00Z", "2024-03-01T00:00:00.Z", "2024-03-01T00:00", "2021-02-30T00:00:00Z",
+                "2021-04-31T00:00:00Z", "2023-02-29T00:00:00Z", "1900-02-29T00:00:00Z", "2024-01-00T00:00:00Z"}) {
+            assertThrows(IORuntimeException.class, () -> Bytes.from(text).parseIsoDateTime(), text);
+        }
+    }
+
+    @Test
+    void daysOfTheMonth() {
+        for (int year : new int[]{1900, 2000, 2023, 2024}) {
+            for (int month = 1; month <= 12; month++) {
+                final int length = LocalDate.of(year, month, 1).lengthOfMonth();
+                for (int day = 1; day <= length + 1; day++) {
+                    final String text = String.format("%04d-%02d-%02dT00:00:00Z", year, month, day);
+                    if (day > length) {
+                        assertThrows(IORuntimeException.class, () -> Bytes.from(text).parseIsoDateTime(), text);
+                    } else {
+                        final long expected = LocalDate.of(year, month, day).toEpochDay() * 86_400_000_000_000L;
+                        assertEquals(expected, Bytes.from(text).parseIsoDateTime(), text);
+                    }
+                }
+            }
+        }
+    }
+}
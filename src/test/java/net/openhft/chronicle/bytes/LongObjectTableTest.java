@@ -0,0 +1,43 @@
+/*
+ * Copyright 2013-2025 chronicle.software; SPDX-License-Identifier: Apache-2.0
+ */
+package net.openhft.chronicle.bytes;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongObjectTableTest extends BytesTestCommon {
+
+    @Test
+    void putGetAndResize() {
+        LongObjectTable<String> table = new LongObjectTable<>();
+        assertNull(table.get(0));
+        for (long key = -50; key < 50; key++)
+            table.put(key * 1_000_003L, "v" + key);
+        assertEquals(100, table.size());
+        for (long key = -50; key < 50; key++)
+            assertEquals("v" + key, table.get(key * 1_000_003L));
+        assertNull(table.get(1));
+
+        table.put(0, "zero");
+        assertEquals(100, table.size());
+        assertEquals("zero", table.get(0));
+
+        long[] keys = table.keys();
+        Arrays.sort(keys);
+        assertEquals(-50 * 1_000_003L, keys[0]);
+        assertEquals(49 * 1_000_003L, keys[99]);
+
+        table.clear();
+        assertEquals(0, table.size());
+        assertNull(table.get(0));
+    }
+
+    @Test
+    void nullValuesAreRejected() {
+        assertThrows(NullPointerException.class, () -> new LongObjectTable<String>().put(1, null));
+    }
+}
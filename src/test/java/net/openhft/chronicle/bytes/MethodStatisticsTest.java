@@ -0,0 +1,131 @@
+/*
+ * Copyright 2013-2025 chronicle.software; SPDX-License-Identifier: Apache-2.0
+ */
+package net.openhft.chronicle.bytes;
+
+import net.openhft.chronicle.core.util.Histogram;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MethodStatisticsTest extends BytesTestCommon {
+    private final Bytes<?> bytes = Bytes.allocateElasticOnHeap();
+
+    public static class Quote implements BytesMarshallable {
+        long price;
+        String symbol;
+
+        Quote(long price, String symbol) {
+            this.price = price;
+            this.symbol = symbol;
+        }
+    }
+
+    public interface Quotes {
+        @MethodId(1)
+        void bid(Quote quote);
+
+        @MethodId(1_000_000)
+        void ask(Quote quote);
+    }
+
+    static class Ignore implements Quotes {
+        @Override
+        public void bid(Quote quote) {
+        }
+
+        @Override
+        public void ask(Quote quote) {
+        }
+    }
+
+    @AfterEach
+    void release() {
+        bytes.releaseLast();
+    }
+
+    private static void write(Quotes quotes) {
+        for (int i = 0; i < 3; i++)
+            quotes.bid(new Quote(i, "A"));
+        for (int i = 0; i < 5; i++)
+            quotes.ask(new Quote(i, "BB"));
+    }
+
+    @Test
+    void writerRecordsCountsAndLengths() {
+        final MethodStatistics statistics = new MethodStatistics();
+        write(bytes.bytesMethodWriterBuilder(Quotes.class).statistics(statistics).get());
+
+        assertArrayEquals(new long[]{1, 1_000_000}, statistics.messageIds());
+        assertEquals(3, statistics.count(1));
+        assertEquals(5, statistics.count(1_000_000));
+        assertEquals(0, statistics.count(2));
+        // id, price and a length prefixed symbol
+        assertEquals(3 * (1 + 8 + 2), statistics.bytes(1));
+        assertEquals(5 * (3 + 8 + 3), statistics.bytes(1_000_000));
+        assertEquals(bytes.writePosition(), statistics.bytes(1) + statistics.bytes(1_000_000));
+        final Histogram latencies = statistics.latencies(1_000_000);
+        assertNotNull(latencies);
+        assertEquals(5, latencies.totalCount());
+    }
+
+    @Test
+    void readerRecordsCountsLengthsAndLatencies() {
+        write(bytes.bytesMethodWriter(Quotes.class));
+        final MethodStatistics statistics = new MethodStatistics();
+        final BytesMethodReader reader = bytes.bytesMethodReaderBuilder().statistics(statistics).build(new Ignore());
+        assertEquals(8, reader.readMany(100));
+
+        assertEquals(3, statistics.count(1));
+        assertEquals(5, statistics.count(1_000_000));
+        assertEquals(bytes.readPosition(), statistics.bytes(1) + statistics.bytes(1_000_000));
+        assertEquals(3, statistics.latencies(1).totalCount());
+    }
+
+    @Test
+    void samplesLatencies() {
+        final MethodStatistics sampled = new MethodStatistics(3);
+        write(bytes.bytesMethodWriterBuilder(Quotes.class).statistics(sampled).get());
+        // rounded up to one in four of the eight messages
+        assertEquals(2, sampled.latencies(1).totalCount() + sampled.latencies(1_000_000).totalCount());
+        assertEquals(8, sampled.count(1) + sampled.count(1_000_000));
+
+        final MethodStatistics untimed = new MethodStatistics(0);
+        write(bytes.bytesMethodWriterBuilder(Quotes.class).statistics(untimed).get());
+        assertNull(untimed.latencies(1));
+        assertEquals(3, untimed.count(1));
+    }
+
+    @Test
+    void snapshotRoundTrip() {
+        final MethodStatistics statistics = new MethodStatistics();
+        for (long id = -3; id < 3000; id += 7)
+            statistics.record(id, id & 15, id & 1023);
+        statistics.record(Long.MAX_VALUE, 100, -1);
+
+        final Bytes<?> snapshot = Bytes.allocateElasticOnHeap();
+        try {
+            statistics.writeSnapshot(snapshot);
+            final MethodStatistics copy = MethodStatistics.readSnapshot(snapshot);
+            assertEquals(0, snapshot.readRemaining());
+            assertEquals(statistics.toString(), copy.toString());
+            assertArrayEquals(statistics.messageIds(), copy.messageIds());
+            assertEquals(statistics.latencies(4), copy.latencies(4));
+            assertNull(copy.latencies(Long.MAX_VALUE));
+            assertEquals(100, copy.bytes(Long.MAX_VALUE));
+        } finally {
+            snapshot.releaseLast();
+        }
+    }
+
+    @Test
+    void reset() {
+        final MethodStatistics statistics = new MethodStatistics();
+        statistics.record(1, 10, 5);
+        statistics.record(-1, 10, 5);
+        statistics.reset();
+        assertEquals(0, statistics.messageIds().length);
+        assertEquals(0, statistics.count(-1));
+    }
+}
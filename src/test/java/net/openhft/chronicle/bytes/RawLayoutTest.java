@@ -0,0 +1,160 @@
+/*
+ * Copyright 2013-2025 chronicle.software; SPDX-License-Identifier: Apache-2.0
+ */
+package net.openhft.chronicle.bytes;
+
+import net.openhft.chronicle.core.io.IORuntimeException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RawLayoutTest extends BytesTestCommon {
+
+    @RawLayout
+    static class Quote implements BytesMarshallable {
+        @FieldGroup("prices")
+        double bid;
+        @FieldGroup("prices")
+        double ask;
+        long time;
+        int size;
+        short flags;
+        char side;
+        boolean firm;
+        String symbol;
+        long[] levels;
+        transient long cached;
+    }
+
+    @RawLayout
+    static class OtherQuote implements BytesMarshallable {
+        double bid;
+        double ask;
+        long time;
+        int size;
+        short flags;
+        char side;
+        boolean firm;
+        String venue;
+        long[] levels;
+    }
+
+    static class SubQuote extends Quote {
+        long sequence;
+    }
+
+    private static Quote quote(Quote quote) {
+        quote.bid = 1.25;
+        quote.ask = 1.5;
+        quote.time = 1_700_000_000_000L;
+        quote.size = 100;
+        quote.flags = -1;
+        quote.side = 'B';
+        quote.firm = true;
+        quote.symbol = "EURUSD";
+        quote.levels = new long[]{1, 2, 3};
+        quote.cached = 42;
+        return quote;
+    }
+
+    private static void assertCopied(Quote expected, Quote actual) {
+        assertEquals(expected.bid, actual.bid);
+        assertEquals(expected.ask, actual.ask);
+        assertEquals(expected.time, actual.time);
+        assertEquals(expected.size, actual.size);
+        assertEquals(expected.flags, actual.flags);
+        assertEquals(expected.side, actual.side);
+        assertEquals(expected.firm, actual.firm);
+        assertEquals(expected.symbol, actual.symbol);
+        assertArrayEquals(expected.levels, actual.levels);
+        assertEquals(0, actual.cached);
+    }
+
+    @Test
+    void roundTripOnHeapAndDirect() {
+        Quote quote = quote(new Quote());
+        for (Bytes<?> bytes : new Bytes<?>[]{Bytes.allocateElasticOnHeap(), Bytes.allocateElasticDirect(), new HexDumpBytes()}) {
+            try {
+                quote.writeMarshallable(bytes);
+                Quote copy = new Quote();
+                copy.readMarshallable(bytes);
+                assertEquals(0, bytes.readRemaining());
+                assertCopied(quote, copy);
+            } finally {
+                bytes.releaseLast();
+            }
+        }
+    }
+
+    @Test
+    void primitivesAreCopiedAsOneBlock() {
+        SpecialisedBytesMarshaller<Quote> raw = new SpecialisedBytesMarshaller<>(Quote.class, true);
+        assertSame(SpecialisedBytesMarshaller.class, BytesMarshaller.BYTES_MARSHALLER_CL.get(Quote.class).getClass());
+        assertNotEquals(0, raw.fingerprint());
+
+        Quote quote = quote(new Quote());
+        quote.symbol = null;
+        quote.levels = null;
+        Bytes<?> bytes = Bytes.allocateElasticOnHeap();
+        try {
+            raw.writeMarshallable(quote, bytes);
+            // fingerprint + 8 + 8 + 8 + 4 + 2 + 2 + 1 bytes of primitives + a null String + a null array
+            assertEquals(8 + 33 + 2 + 4, bytes.readRemaining());
+        } finally {
+            bytes.releaseLast();
+        }
+    }
+
+    @Test
+    void generatedMatchesInterpreted() {
+        SpecialisedBytesMarshaller<Quote> generated = new SpecialisedBytesMarshaller<>(Quote.class, true);
+        SpecialisedBytesMarshaller<Quote> interpreted = new SpecialisedBytesMarshaller<>(Quote.class, true, false);
+        assertTrue(generated.generated());
+
+        Quote quote = quote(new Quote());
+        HexDumpBytes expected = new HexDumpBytes();
+        HexDumpBytes actual = new HexDumpBytes();
+        try {
+            interpreted.writeMarshallable(quote, expected);
+            generated.writeMarshallable(quote, actual);
+            assertEquals(expected.toHexString(), actual.toHexString());
+
+            Quote copy = new Quote();
+            generated.readMarshallable(copy, actual);
+            assertEquals(0, actual.readRemaining());
+            assertCopied(quote, copy);
+        } finally {
+            expected.releaseLast();
+            actual.releaseLast();
+        }
+    }
+
+    @Test
+    void subclassInheritsRawLayout() {
+        SubQuote quote = (SubQuote) quote(new SubQuote());
+        quote.sequence = 7;
+        Bytes<?> bytes = Bytes.allocateElasticOnHeap();
+        try {
+            quote.writeMarshallable(bytes);
+            SubQuote copy = new SubQuote();
+            copy.readMarshallable(bytes);
+            assertCopied(quote, copy);
+            assertEquals(7, copy.sequence);
+        } finally {
+            bytes.releaseLast();
+        }
+    }
+
+    @Test
+    void mismatchedLayoutIsRejected() {
+        Bytes<?> bytes = Bytes.allocateElasticOnHeap();
+        try {
+            quote(new Quote()).writeMarshallable(bytes);
+            OtherQuote other = new OtherQuote();
+            IORuntimeException e = assertThrows(IORuntimeException.class, () -> other.readMarshallable(bytes));
+            assertTrue(e.getMessage().contains("OtherQuote"), e.getMessage());
+        } finally {
+            bytes.releaseLast();
+        }
+    }
+}
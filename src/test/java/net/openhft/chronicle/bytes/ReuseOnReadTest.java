@@ -0,0 +1,182 @@
+/*
+ * Copyright 2013-2025 chronicle.software; SPDX-License-Identifier: Apache-2.0
+ */
+package net.openhft.chronicle.bytes;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReuseOnReadTest extends BytesTestCommon {
+
+    static class Level implements BytesMarshallable {
+        double price;
+        long quantity;
+
+        Level() {
+        }
+
+        Level(double price, long quantity) {
+            this.price = price;
+            this.quantity = quantity;
+        }
+    }
+
+    static class Book implements BytesMarshallable {
+        @ReuseOnRead
+        List<Level> levels = new ArrayList<>();
+        @ReuseOnRead
+        Map<String, Level> byVenue = new LinkedHashMap<>();
+        List<Level> notReused = new ArrayList<>();
+    }
+
+    static class SortedBook implements BytesMarshallable {
+        @ReuseOnRead
+        Map<String, Level> byVenue = new TreeMap<>();
+    }
+
+    @ReuseOnRead
+    static class AllReused implements BytesMarshallable {
+        List<String> names = new ArrayList<>();
+        List<Level> levels = new ArrayList<>();
+    }
+
+    private static Book book(int levels, String... venues) {
+        Book book = new Book();
+        for (int i = 0; i < levels; i++) {
+            book.levels.add(new Level(100 + i, i));
+            book.notReused.add(new Level(i, i));
+        }
+        for (int i = 0; i < venues.length; i++)
+            book.byVenue.put(venues[i], new Level(i, i * 10L));
+        return book;
+    }
+
+    private static void copy(Book from, Book to) {
+        Bytes<?> bytes = Bytes.allocateElasticOnHeap();
+        try {
+            from.writeMarshallable(bytes);
+            to.readMarshallable(bytes);
+            assertEquals(0, bytes.readRemaining());
+        } finally {
+            bytes.releaseLast();
+        }
+    }
+
+    private static void assertSameContent(Book expected, Book actual) {
+        assertEquals(expected.levels.size(), actual.levels.size());
+        for (int i = 0; i < expected.levels.size(); i++) {
+            assertEquals(expected.levels.get(i).price, actual.levels.get(i).price);
+            assertEquals(expected.levels.get(i).quantity, actual.levels.get(i).quantity);
+        }
+        assertEquals(expected.byVenue.keySet(), actual.byVenue.keySet());
+        for (Map.Entry<String, Level> entry : expected.byVenue.entrySet())
+            assertEquals(entry.getValue().quantity, actual.byVenue.get(entry.getKey()).quantity);
+        assertEquals(expected.notReused.size(), actual.notReused.size());
+    }
+
+    @Test
+    void elementsAreReused() {
+        Book target = new Book();
+        copy(book(3, "A", "B"), target);
+        Level first = target.levels.get(0);
+        Level venueA = target.byVenue.get("A");
+        Level notReused = target.notReused.get(0);
+
+        Book next = book(3, "A", "B");
+        next.levels.get(0).quantity = 99;
+        next.byVenue.get("A").quantity = 77;
+        copy(next, target);
+        assertSameContent(next, target);
+        assertSame(first, target.levels.get(0));
+        assertSame(venueA, target.byVenue.get("A"));
+        assertNotSame(notReused, target.notReused.get(0));
+        assertEquals(99, target.levels.get(0).quantity);
+        assertEquals(77, target.byVenue.get("A").quantity);
+    }
+
+    @Test
+    void sizeChanges() {
+        Book target = new Book();
+        copy(book(2, "A"), target);
+        Level first = target.levels.get(0);
+
+        Book more = book(5, "A", "B", "C");
+        copy(more, target);
+        assertSameContent(more, target);
+        assertSame(first, target.levels.get(0));
+
+        Book fewer = book(1, "C", "D");
+        copy(fewer, target);
+        assertSameContent(fewer, target);
+        assertSame(first, target.levels.get(0));
+        assertEquals("[C, D]", target.byVenue.keySet().toString());
+
+        copy(book(0), target);
+        assertTrue(target.levels.isEmpty());
+        assertTrue(target.byVenue.isEmpty());
+    }
+
+    @Test
+    void mapIsInStreamOrder() {
+        Book target = new Book();
+        copy(book(0, "A", "B", "C"), target);
+        Level venueA = target.byVenue.get("A");
+        Level venueC = target.byVenue.get("C");
+
+        Book next = book(0, "C", "A");
+        copy(next, target);
+        assertSameContent(next, target);
+        assertEquals("[C, A]", target.byVenue.keySet().toString());
+        assertSame(venueA, target.byVenue.get("A"));
+        assertSame(venueC, target.byVenue.get("C"));
+    }
+
+    @Test
+    void sortedMapRemovesEntriesNotRead() {
+        SortedBook from = new SortedBook();
+        from.byVenue.put("B", new Level(1, 10));
+        from.byVenue.put("C", new Level(2, 20));
+        SortedBook target = new SortedBook();
+        target.byVenue.put("A", new Level());
+        Level venueB = new Level();
+        target.byVenue.put("B", venueB);
+        Bytes<?> bytes = Bytes.allocateElasticOnHeap();
+        try {
+            from.writeMarshallable(bytes);
+            target.readMarshallable(bytes);
+            assertEquals("[B, C]", target.byVenue.keySet().toString());
+            assertSame(venueB, target.byVenue.get("B"));
+            assertEquals(10, venueB.quantity);
+            assertEquals(20, target.byVenue.get("C").quantity);
+        } finally {
+            bytes.releaseLast();
+        }
+    }
+
+    @Test
+    void classLevelAnnotation() {
+        AllReused from = new AllReused();
+        from.names.add("a");
+        from.names.add("b");
+        from.levels.add(new Level(1, 2));
+        AllReused target = new AllReused();
+        Bytes<?> bytes = Bytes.allocateElasticOnHeap();
+        try {
+            from.writeMarshallable(bytes);
+            target.readMarshallable(bytes);
+            Level level = target.levels.get(0);
+            from.names.remove(1);
+            from.levels.get(0).quantity = 3;
+            from.writeMarshallable(bytes);
+            target.readMarshallable(bytes);
+            assertEquals(Collections.singletonList("a"), target.names);
+            assertSame(level, target.levels.get(0));
+            assertEquals(3, level.quantity);
+        } finally {
+            bytes.releaseLast();
+        }
+    }
+}
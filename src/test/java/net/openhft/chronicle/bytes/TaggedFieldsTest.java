@@ -0,0 +1,204 @@
+/*
+ * Copyright 2013-2025 chronicle.software; SPDX-License-Identifier: Apache-2.0
+ */
+package net.openhft.chronicle.bytes;
+
+import net.openhft.chronicle.core.io.IORuntimeException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaggedFieldsTest extends BytesTestCommon {
+
+    @TaggedFields
+    static class OrderV1 implements BytesMarshallable {
+        @FieldId(1)
+        long id;
+        @FieldId(2)
+        String account;
+        @FieldId(3)
+        double price;
+        @FieldId(4)
+        boolean buy;
+    }
+
+    @TaggedFields
+    static class OrderV2 implements BytesMarshallable {
+        @FieldId(3)
+        double price;
+        @FieldId(1)
+        long id;
+        @FieldId(5)
+        List<String> tags = new ArrayList<>();
+        @FieldId(6)
+        char side;
+        @FieldId(7)
+        short venue;
+        @FieldId(8)
+        int quantity;
+        @FieldId(4)
+        boolean buy;
+    }
+
+    static class PriceV1 implements BytesMarshallable {
+        double price;
+    }
+
+    static class PriceV2 implements BytesMarshallable {
+        double price;
+        long timeNS;
+    }
+
+    @TaggedFields
+    static class QuoteV1 implements BytesMarshallable {
+        @FieldId(1)
+        PriceV1 bid = new PriceV1();
+        @FieldId(2)
+        int size;
+    }
+
+    @TaggedFields
+    static class QuoteV2 implements BytesMarshallable {
+        @FieldId(1)
+        PriceV2 bid = new PriceV2();
+        @FieldId(2)
+        int size;
+    }
+
+    @TaggedFields
+    static class Numbered implements BytesMarshallable {
+        int a;
+        String b;
+    }
+
+    @TaggedFields
+    static class Duplicate implements BytesMarshallable {
+        @FieldId(1)
+        int a;
+        @FieldId(1)
+        int b;
+    }
+
+    @Test
+    void newReaderSkipsRemovedAndKeepsUnknown() {
+        OrderV1 v1 = new OrderV1();
+        v1.id = 42;
+        v1.account = "ACC";
+        v1.price = 1.25;
+        v1.buy = true;
+        Bytes<?> bytes = Bytes.allocateElasticOnHeap();
+        try {
+            v1.writeMarshallable(bytes);
+            OrderV2 v2 = new OrderV2();
+            v2.quantity = 5;
+            v2.readMarshallable(bytes);
+            assertEquals(0, bytes.readRemaining());
+            assertEquals(42, v2.id);
+            assertEquals(1.25, v2.price);
+            assertTrue(v2.buy);
+            // not in the message so unchanged
+            assertEquals(5, v2.quantity);
+        } finally {
+            bytes.releaseLast();
+        }
+    }
+
+    @Test
+    void oldReaderSkipsAddedFields() {
+        OrderV2 v2 = new OrderV2();
+        v2.id = 7;
+        v2.price = 99.5;
+        v2.tags.addAll(Arrays.asList("a", "bc"));
+        v2.side = '\uFFFF';
+        v2.venue = 3;
+        v2.quantity = 1000;
+        Bytes<?> bytes = Bytes.allocateElasticOnHeap();
+        try {
+            v2.writeMarshallable(bytes);
+            v2.writeMarshallable(bytes);
+            OrderV1 v1 = new OrderV1();
+            v1.readMarshallable(bytes);
+            assertEquals(7, v1.id);
+            assertEquals(99.5, v1.price);
+            assertNull(v1.account);
+
+            OrderV2 copy = new OrderV2();
+            copy.readMarshallable(bytes);
+            assertEquals(0, bytes.readRemaining());
+            assertEquals(v2.tags, copy.tags);
+            assertEquals(v2.side, copy.side);
+            assertEquals(v2.venue, copy.venue);
+            assertEquals(v2.quantity, copy.quantity);
+        } finally {
+            bytes.releaseLast();
+        }
+    }
+
+    @Test
+    void oldReaderSkipsWhatWasAddedToANestedValue() {
+        QuoteV2 v2 = new QuoteV2();
+        v2.bid.price = 10.5;
+        v2.bid.timeNS = 123456789L;
+        v2.size = 300;
+        Bytes<?> bytes = Bytes.allocateElasticOnHeap();
+        try {
+            v2.writeMarshallable(bytes);
+            v2.size = 400;
+            v2.writeMarshallable(bytes);
+            QuoteV1 v1 = new QuoteV1();
+            v1.readMarshallable(bytes);
+            assertEquals(10.5, v1.bid.price);
+            assertEquals(300, v1.size);
+            v1.readMarshallable(bytes);
+            assertEquals(400, v1.size);
+            assertEquals(0, bytes.readRemaining());
+        } finally {
+            bytes.releaseLast();
+        }
+    }
+
+    @Test
+    void invalidLength() {
+        Bytes<?> bytes = Bytes.allocateElasticOnHeap();
+        try {
+            // the length of field 1 is longer than the message
+            bytes.writeStopBit(1 << 3 | TaggedBytesMarshaller.LENGTH32).writeInt(100).writeStopBit(0);
+            assertThrows(IORuntimeException.class, () -> new QuoteV1().readMarshallable(bytes));
+            bytes.clear().writeStopBit(9 << 3 | TaggedBytesMarshaller.LENGTH32).writeInt(-1).writeStopBit(0);
+            assertThrows(IORuntimeException.class, () -> new QuoteV1().readMarshallable(bytes));
+        } finally {
+            bytes.releaseLast();
+        }
+    }
+
+    @Test
+    void defaultIdsAndHexDump() {
+        Numbered numbered = new Numbered();
+        numbered.a = 1;
+        numbered.b = "hi";
+        HexDumpBytes bytes = new HexDumpBytes();
+        try {
+            numbered.writeMarshallable(bytes);
+            assertEquals("" +
+                            "   0a 01 00 00 00                                  # a\n" +
+                            "   15 03 00 00 00 02 68 69                         # b\n" +
+                            "   00                                              # end\n",
+                    bytes.toHexString());
+            Numbered copy = new Numbered();
+            copy.readMarshallable(bytes);
+            assertEquals(1, copy.a);
+            assertEquals("hi", copy.b);
+        } finally {
+            bytes.releaseLast();
+        }
+    }
+
+    @Test
+    void duplicateIds() {
+        assertThrows(IllegalArgumentException.class, () -> new TaggedBytesMarshaller<>(Duplicate.class));
+    }
+}
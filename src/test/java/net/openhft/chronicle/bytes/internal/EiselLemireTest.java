@@ -0,0 +1,112 @@
+/*
+ * Copyright 2013-2025 chronicle.software; SPDX-License-Identifier: Apache-2.0
+ */
+package net.openhft.chronicle.bytes.internal;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.bytes.BytesStore;
+import net.openhft.chronicle.bytes.BytesTestCommon;
+import net.openhft.chronicle.bytes.GuardedNativeBytes;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class EiselLemireTest extends BytesTestCommon {
+
+    private static void assertParses(Bytes<?> bytes, String text) {
+        bytes.clear().append(text).append(',');
+        assertEquals(Double.parseDouble(text), bytes.parseDouble(), text);
+        assertEquals(0, bytes.readRemaining(), text);
+    }
+
+    @Test
+    void toDouble() {
+        assertEquals(0.0, EiselLemire.toDouble(false, 0, 10));
+        assertEquals(-0.0, EiselLemire.toDouble(true, 0, 10));
+        assertEquals(1.5, EiselLemire.toDouble(false, 15, -1));
+        assertEquals(-1e23, EiselLemire.toDouble(true, 1, 23));
+        assertEquals(Double.MAX_VALUE, EiselLemire.toDouble(false, 17976931348623157L, 292));
+        assertEquals(Double.POSITIVE_INFINITY, EiselLemire.toDouble(false, 17976931348623159L, 292));
+        assertEquals(Double.MIN_VALUE, EiselLemire.toDouble(false, 49, -325));
+        assertEquals(0.0, EiselLemire.toDouble(false, 24, -325));
+        assertEquals(Double.MIN_NORMAL, EiselLemire.toDouble(false, 22250738585072014L, -324));
+        // 2^64 - 1 as an unsigned significand
+        assertEquals(18446744073709551615.0, EiselLemire.toDouble(false, -1L, 0));
+    }
+
+    @Test
+    void parsePrices() {
+        Bytes<?> bytes = Bytes.allocateElasticOnHeap();
+        Random random = new Random(1);
+        for (int i = 0; i < 100_000; i++) {
+            long mantissa = random.nextLong() >>> random.nextInt(64);
+            String text = BigDecimal.valueOf(mantissa, random.nextInt(20)).toPlainString();
+            assertParses(bytes, text);
+        }
+        bytes.releaseLast();
+    }
+
+    @Test
+    void parseShortestDoubles() {
+        Bytes<?> bytes = Bytes.allocateElasticOnHeap();
+        Random random = new Random(2);
+        for (int i = 0; i < 100_000; i++) {
+            double d = Double.longBitsToDouble(random.nextLong());
+            if (!Double.isFinite(d))
+                continue;
+            assertParses(bytes, Double.toString(d));
+            assertParses(bytes, new BigDecimal(d).toString());
+        }
+        bytes.releaseLast();
+    }
+
+    @Test
+    void parseLongMantissas() {
+        Bytes<?> bytes = Bytes.allocateElasticDirect();
+        try {
+            // halfway between two doubles, only decided by the last digit
+            assertParses(bytes, "9007199254740993");
+            assertParses(bytes, "9007199254740993.0000000000000000000001");
+            assertParses(bytes, "9007199254740992.9999999999999999999999");
+            assertParses(bytes, "2.2250738585072011e-308");
+            assertParses(bytes, "2.4703282292062327208828439643411068618252990130716238221279284125033775363510437593264991818081799618989828234772285886546332835517796989819938739800539093906315035659515570226392290858392449105184435931802849936536152500319370457678249219365623669863658480757001585769269903706311928279558551332927834338409351978015531246597263579574622766465272827220056374006485499977096599470454020828166226237857393450736339007967761930577506740176324673600968951340535537458516661134223766678604162159680461914467291840300530057530849048765391711386591646239524912623653881879636239373280423891018672348497668235089863388587925628302755995657524455507255189313690836254779186948667994968324049705821028513185451396213837722826145437693412532098591327667236328125e-324");
+            assertParses(bytes, "123456789012345678901234567890");
+            assertParses(bytes, "0.000000000000000000000000000123456789012345678901234567890");
+            assertParses(bytes, "-1.00000000000000011102230246251565404236316680908203125");
+            assertParses(bytes, "1.00000000000000011102230246251565404236316680908203124");
+            assertParses(bytes, "1.00000000000000011102230246251565404236316680908203126");
+            assertParses(bytes, "1e400");
+            assertParses(bytes, "1e-400");
+        } finally {
+            bytes.releaseLast();
+        }
+    }
+
+    @Test
+    void decimalPlacesAreCounted() {
+        Bytes<?> bytes = Bytes.from("12345.123456789012 1.5e3 42 ");
+        assertEquals(12345.123456789012, bytes.parseDouble());
+        assertEquals(12, bytes.lastDecimalPlaces());
+        assertEquals(1.5e3, bytes.parseDouble());
+        assertEquals(0, bytes.lastDecimalPlaces());
+        assertEquals(42.0, bytes.parseDouble());
+        assertEquals(0, bytes.lastDecimalPlaces());
+    }
+
+    @Test
+    void guardedBytesAreReadByteByByte() {
+        Bytes<?> bytes = new GuardedNativeBytes<>(BytesStore.wrap(ByteBuffer.allocate(64)), 64);
+        try {
+            // each digit is preceded by a type marker, so no eight bytes are digits
+            for (char ch : "1234567890123.5,".toCharArray())
+                bytes.writeUnsignedByte(ch);
+            assertEquals(1234567890123.5, bytes.parseDouble());
+        } finally {
+            bytes.releaseLast();
+        }
+    }
+}
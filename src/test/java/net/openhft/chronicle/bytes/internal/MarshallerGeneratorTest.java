@@ -0,0 +1,81 @@
+/*
+ * Copyright 2013-2025 chronicle.software; SPDX-License-Identifier: Apache-2.0
+ */
+package net.openhft.chronicle.bytes.internal;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.bytes.BytesIn;
+import net.openhft.chronicle.bytes.BytesOut;
+import net.openhft.chronicle.bytes.BytesTestCommon;
+import org.junit.jupiter.api.Test;
+
+import static net.openhft.chronicle.core.UnsafeMemory.MEMORY;
+import static org.junit.jupiter.api.Assertions.*;
+
+class MarshallerGeneratorTest extends BytesTestCommon {
+
+    public static class Tick {
+        int size;
+        String symbol;
+    }
+
+    private static MarshallerGenerator.GeneratedFields generate(MarshallerGenerator.FieldMarshaller other) throws NoSuchFieldException {
+        return new MarshallerGenerator(Tick.class)
+                .primitive(int.class, MEMORY.getFieldOffset(Tick.class.getDeclaredField("size")), "size")
+                .other(other)
+                .generate();
+    }
+
+    @Test
+    void readsAndWritesFields() throws NoSuchFieldException {
+        final MarshallerGenerator.GeneratedFields fields = generate(new MarshallerGenerator.FieldMarshaller() {
+            @Override
+            public void read(Object o, BytesIn<?> read) {
+                ((Tick) o).symbol = read.read8bit();
+            }
+
+            @Override
+            public void write(Object o, BytesOut<?> write) {
+                write.write8bit(((Tick) o).symbol);
+            }
+        });
+        assertNotNull(fields);
+        final Tick tick = new Tick();
+        tick.size = 100;
+        tick.symbol = "EURUSD";
+        final Bytes<?> bytes = Bytes.allocateElasticOnHeap();
+        try {
+            fields.writeFields(tick, bytes);
+            final Tick copy = new Tick();
+            fields.readFields(copy, bytes);
+            assertEquals(100, copy.size);
+            assertEquals("EURUSD", copy.symbol);
+            assertEquals(0, bytes.readRemaining());
+        } finally {
+            bytes.releaseLast();
+        }
+    }
+
+    @Test
+    void illegalAccessIsWrapped() throws NoSuchFieldException {
+        final IllegalAccessException cause = new IllegalAccessException("symbol");
+        final MarshallerGenerator.GeneratedFields fields = generate(new MarshallerGenerator.FieldMarshaller() {
+            @Override
+            public void read(Object o, BytesIn<?> read) {
+            }
+
+            @Override
+            public void write(Object o, BytesOut<?> write) throws IllegalAccessException {
+                throw cause;
+            }
+        });
+        assertNotNull(fields);
+        final Bytes<?> bytes = Bytes.allocateElasticOnHeap();
+        try {
+            final AssertionError error = assertThrows(AssertionError.class, () -> fields.writeFields(new Tick(), bytes));
+            assertSame(cause, error.getCause());
+        } finally {
+            bytes.releaseLast();
+        }
+    }
+}
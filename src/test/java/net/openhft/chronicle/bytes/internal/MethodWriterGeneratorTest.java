@@ -0,0 +1,130 @@
+/*
+ * Copyright 2013-2025 chronicle.software; SPDX-License-Identifier: Apache-2.0
+ */
+package net.openhft.chronicle.bytes.internal;
+
+import net.openhft.chronicle.bytes.*;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MethodWriterGeneratorTest extends BytesTestCommon {
+
+    public static class Point implements BytesMarshallable {
+        int x;
+        long y;
+        String name;
+
+        Point(int x, long y, String name) {
+            this.x = x;
+            this.y = y;
+            this.name = name;
+        }
+    }
+
+    public interface Points {
+        @MethodId(1)
+        void point(Point point);
+
+        @MethodId(-2)
+        Points pair(Point first, Point second);
+
+        @MethodId(Long.MAX_VALUE)
+        long none();
+    }
+
+    public interface WithPrimitive {
+        @MethodId(1)
+        void value(int value);
+    }
+
+    interface NotPublic {
+        @MethodId(1)
+        void point(Point point);
+    }
+
+    private static void writeAll(Points points) {
+        points.point(new Point(1, 2, "one"));
+        assertSame(points, points.pair(new Point(3, 4, null), new Point(-5, 6, "six")));
+        assertEquals(0, points.none());
+    }
+
+    @Test
+    void sameBytesAsProxy() {
+        final HexDumpBytes generated = new HexDumpBytes();
+        final HexDumpBytes proxied = new HexDumpBytes();
+        try {
+            final Points writer = generated.bytesMethodWriterBuilder(Points.class).generate(true).get();
+            assertFalse(Proxy.isProxyClass(writer.getClass()));
+            writeAll(writer);
+
+            writeAll((Points) Proxy.newProxyInstance(Points.class.getClassLoader(), new Class<?>[]{Points.class},
+                    new BinaryBytesMethodWriterInvocationHandler(Points.class, MethodEncoderLookup.BY_ANNOTATION, proxied)));
+
+            assertEquals(proxied.toHexString(), generated.toHexString());
+            assertTrue(generated.toHexString().contains("# pair"));
+        } finally {
+            generated.releaseLast();
+            proxied.releaseLast();
+        }
+    }
+
+    @Test
+    void readsBack() {
+        final Bytes<?> bytes = Bytes.allocateElasticOnHeap();
+        final Points writer = bytes.bytesMethodWriterBuilder(Points.class).generate(true).get();
+        writeAll(writer);
+
+        final StringBuilder sb = new StringBuilder();
+        final MethodReader reader = bytes.bytesMethodReader(new Points() {
+            @Override
+            public void point(Point point) {
+                sb.append(point.x).append(',').append(point.y).append(',').append(point.name).append(';');
+            }
+
+            @Override
+            public Points pair(Point first, Point second) {
+                sb.append(first.x).append(',').append(second.name).append(';');
+                return this;
+            }
+
+            @Override
+            public long none() {
+                sb.append("none;");
+                return 0;
+            }
+        });
+        while (reader.readOne()) {
+            // read all
+        }
+        assertEquals("1,2,one;3,six;none;", sb.toString());
+    }
+
+    @Test
+    void rollbackOnFailure() {
+        final Bytes<?> bytes = Bytes.allocateElasticOnHeap();
+        final Points writer = bytes.bytesMethodWriterBuilder(Points.class).generate(true).get();
+        writer.point(new Point(1, 2, "one"));
+        final long position = bytes.writePosition();
+        assertThrows(IllegalArgumentException.class, () -> writer.pair(new Point(3, 4, "four"), null));
+        assertEquals(position, bytes.writePosition());
+    }
+
+    @Test
+    void unsupportedInterfacesUseProxy() {
+        final Bytes<?> bytes = Bytes.allocateElasticOnHeap();
+        assertTrue(Proxy.isProxyClass(bytes.bytesMethodWriterBuilder(WithPrimitive.class).generate(true).get().getClass()));
+        assertTrue(Proxy.isProxyClass(bytes.bytesMethodWriterBuilder(NotPublic.class).generate(true).get().getClass()));
+        assertTrue(Proxy.isProxyClass(bytes.bytesMethodWriter(Points.class, Runnable.class).getClass()));
+        assertNull(MethodWriterGenerator.newInstance(WithPrimitive.class, bytes));
+    }
+
+    @Test
+    void proxyByDefault() {
+        final Bytes<?> bytes = Bytes.allocateElasticOnHeap();
+        assertEquals(!MethodWriterGenerator.GENERATE, Proxy.isProxyClass(bytes.bytesMethodWriter(Points.class).getClass()));
+        assertTrue(Proxy.isProxyClass(bytes.bytesMethodWriterBuilder(Points.class).generate(false).get().getClass()));
+    }
+}
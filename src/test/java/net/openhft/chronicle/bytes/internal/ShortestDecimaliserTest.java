@@ -0,0 +1,178 @@
+/*
+ * Copyright 2013-2025 chronicle.software; SPDX-License-Identifier: Apache-2.0
+ */
+package net.openhft.chronicle.bytes.internal;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.bytes.BytesTestCommon;
+import net.openhft.chronicle.bytes.render.DecimalAppender;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static net.openhft.chronicle.bytes.render.ShortestDecimaliser.SHORTEST;
+import static net.openhft.chronicle.bytes.render.ShortestDecimaliser.SHORTEST_ANY_EXPONENT;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShortestDecimaliserTest extends BytesTestCommon {
+
+    private boolean negative;
+    private long mantissa;
+    private int exponent;
+    private final DecimalAppender capture = (negative, mantissa, exponent) -> {
+        this.negative = negative;
+        this.mantissa = mantissa;
+        this.exponent = exponent;
+    };
+
+    private BigDecimal toDecimal(double d) {
+        assertTrue(SHORTEST_ANY_EXPONENT.toDecimal(d, capture));
+        return captured();
+    }
+
+    private BigDecimal toDecimal(float f) {
+        assertTrue(SHORTEST_ANY_EXPONENT.toDecimal(f, capture));
+        return captured();
+    }
+
+    private BigDecimal captured() {
+        assertTrue(mantissa == 0 || mantissa % 10 != 0, "trailing zero in " + mantissa);
+        BigDecimal bd = new BigDecimal(BigInteger.valueOf(mantissa), exponent);
+        return negative ? bd.negate() : bd;
+    }
+
+    private static int shortestDigits(double d) {
+        BigDecimal exact = new BigDecimal(d);
+        for (int n = 1; ; n++)
+            if (exact.round(new MathContext(n, RoundingMode.HALF_EVEN)).doubleValue() == d)
+                return n;
+    }
+
+    private static int shortestDigits(float f) {
+        BigDecimal exact = new BigDecimal(f);
+        for (int n = 1; ; n++)
+            if (exact.round(new MathContext(n, RoundingMode.HALF_EVEN)).floatValue() == f)
+                return n;
+    }
+
+    @Test
+    void simpleValues() {
+        assertEquals(new BigDecimal("0.1"), toDecimal(0.1));
+        assertEquals(new BigDecimal("-3.14"), toDecimal(-3.14));
+        assertEquals(new BigDecimal("123456789.012345"), toDecimal(123456789.012345));
+        assertEquals(new BigDecimal("4.8846945805332034E-12"), toDecimal(4.8846945805332034E-12));
+        assertEquals(new BigDecimal("0.16666666666666785"), toDecimal(0.16666666666666785));
+        assertEquals(BigDecimal.valueOf(1, -300), toDecimal(1e300));
+        assertEquals(new BigDecimal("-3.141592653589793"), toDecimal(-Math.PI));
+        assertEquals(new BigDecimal("0.1"), toDecimal(0.1f));
+        assertEquals(new BigDecimal("3.4028235E38"), toDecimal(Float.MAX_VALUE));
+    }
+
+    @Test
+    void zerosAndLimits() {
+        assertEquals(BigDecimal.ZERO, toDecimal(0.0));
+        assertFalse(negative);
+        assertEquals(BigDecimal.ZERO, toDecimal(-0.0));
+        assertTrue(negative);
+        assertEquals(new BigDecimal("4.9E-324"), toDecimal(Double.MIN_VALUE));
+        assertEquals(new BigDecimal("1.7976931348623157E308"), toDecimal(Double.MAX_VALUE));
+        assertEquals(new BigDecimal("2.2250738585072014E-308"), toDecimal(Double.MIN_NORMAL));
+        assertEquals(new BigDecimal("1.4E-45"), toDecimal(Float.MIN_VALUE));
+        assertEquals(new BigDecimal("-9.223372036854776E18"), toDecimal((double) Long.MIN_VALUE));
+
+        assertFalse(SHORTEST.toDecimal(Double.NaN, capture));
+        assertFalse(SHORTEST.toDecimal(Double.POSITIVE_INFINITY, capture));
+        assertFalse(SHORTEST.toDecimal(Float.NEGATIVE_INFINITY, capture));
+    }
+
+    @Test
+    void randomDoublesRoundTripWithFewestDigits() {
+        Random random = new Random(1);
+        for (int i = 0; i < 50_000; i++) {
+            long bits = random.nextLong();
+            if ((i & 1) == 0)
+                bits &= 0x800F_FFFF_FFFF_FFFFL; // subnormals
+            double d = Double.longBitsToDouble(bits);
+            if (!Double.isFinite(d))
+                continue;
+            BigDecimal bd = toDecimal(d);
+            assertEquals(d, bd.doubleValue(), "d: " + d);
+            // one digit short values are given two digits where that is closer
+            assertTrue(bd.stripTrailingZeros().precision() <= Math.max(2, shortestDigits(d)), "d: " + d + " was " + bd);
+        }
+    }
+
+    @Test
+    void randomFloatsRoundTripWithFewestDigits() {
+        Random random = new Random(2);
+        for (int i = 0; i < 50_000; i++) {
+            float f = Float.intBitsToFloat(random.nextInt());
+            if (!Float.isFinite(f))
+                continue;
+            BigDecimal bd = toDecimal(f);
+            assertEquals(f, bd.floatValue(), "f: " + f);
+            assertTrue(bd.stripTrailingZeros().precision() <= Math.max(2, shortestDigits(f)), "f: " + f + " was " + bd);
+        }
+    }
+
+    @Test
+    void powersOfTwoAndTen() {
+        for (int i = -1074; i <= 1023; i++) {
+            double d = Math.scalb(1.0, i);
+            assertEquals(d, toDecimal(d).doubleValue());
+        }
+        // the smallest subnormals are given two digits when that is closer, so 1e-323 is 9.9e-324
+        assertEquals(new BigDecimal("9.9E-324"), toDecimal(1e-323));
+        for (int i = -307; i <= 308; i++) {
+            double d = Double.parseDouble("1e" + i);
+            assertEquals(0, BigDecimal.ONE.scaleByPowerOfTen(i).compareTo(toDecimal(d)), "1e" + i);
+        }
+    }
+
+    @Test
+    void appendUsesDecimaliser() {
+        Bytes<?> bytes = Bytes.allocateElasticOnHeap();
+        try {
+            bytes.decimaliser(SHORTEST);
+            bytes.append(0.1).append(' ')
+                    .append(0.16666666666666785).append(' ')
+                    .append(-1.5f).append(' ')
+                    .append(1e17);
+            assertEquals("0.1 0.16666666666666785 -1.5 100000000000000000", bytes.toString());
+        } finally {
+            bytes.releaseLast();
+        }
+    }
+
+    @Test
+    void plainDigitsAreLimited() {
+        assertTrue(SHORTEST.toDecimal(123456789012345678.0, capture));
+        assertTrue(SHORTEST.toDecimal(1e-18, capture));
+        assertEquals(18, exponent);
+        assertTrue(SHORTEST.toDecimal(0.12345678901234568, capture));
+        assertFalse(SHORTEST.toDecimal(1e18, capture));
+        assertFalse(SHORTEST.toDecimal(1.5e-18, capture));
+        assertFalse(SHORTEST.toDecimal(1e300, capture));
+        assertFalse(SHORTEST.toDecimal(Double.MIN_VALUE, capture));
+        assertFalse(SHORTEST.toDecimal(Float.MAX_VALUE, capture));
+        assertTrue(SHORTEST.toDecimal(0.0, capture));
+    }
+
+    @Test
+    void appendFallsBackToENotation() {
+        Bytes<?> bytes = Bytes.allocateDirect(64);
+        try {
+            bytes.decimaliser(SHORTEST);
+            bytes.append(1e300).append(' ')
+                    .append(Double.MIN_VALUE).append(' ')
+                    .append(-1e20f);
+            assertEquals("1.0E300 4.9E-324 -1.0E20", bytes.toString());
+        } finally {
+            bytes.releaseLast();
+        }
+    }
+}
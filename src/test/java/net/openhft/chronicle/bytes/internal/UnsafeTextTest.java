@@ -3,6 +3,7 @@
  */
 package net.openhft.chronicle.bytes.internal;
 
+import net.openhft.chronicle.bytes.Bytes;
 import net.openhft.chronicle.bytes.BytesTestCommon;
 import net.openhft.chronicle.core.OS;
 import net.openhft.chronicle.core.cooler.CoolerTester;
@@ -56,6 +57,68 @@ public class UnsafeTextTest extends BytesTestCommon {
         }
     }
 
+    @Test
+    public void digitCount() {
+        long tens = 1;
+        for (int digits = 1; digits <= 19; digits++) {
+            assertEquals(digits, UnsafeText.digitCount(tens));
+            assertEquals(digits, UnsafeText.digitCount(tens * 2 - 1));
+            if (digits > 1)
+                assertEquals(digits - 1, UnsafeText.digitCount(tens - 1));
+            tens *= 10;
+        }
+        assertEquals(1, UnsafeText.digitCount(0));
+        assertEquals(19, UnsafeText.digitCount(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void appendFixedLongs() {
+        long address = OS.memory().allocate(32);
+        byte[] buffer = new byte[20];
+        try {
+            Random random = new Random(1);
+            for (int i = 0; i < 100_000; i++) {
+                long num = random.nextLong() >> random.nextInt(64);
+                if (i < 4)
+                    num = new long[]{0, Long.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE + 1}[i];
+                long end = UnsafeText.appendFixed(address, num);
+                StringBuilder sb = new StringBuilder();
+                for (long a = address; a < end; a++)
+                    sb.append((char) OS.memory().readByte(a));
+                assertEquals(Long.toString(num), sb.toString());
+
+                if (num >= 0) {
+                    int start = UnsafeText.writeDigits(buffer, buffer.length, num);
+                    assertEquals(Long.toString(num), new String(buffer, start, buffer.length - start, java.nio.charset.StandardCharsets.ISO_8859_1));
+                }
+            }
+        } finally {
+            OS.memory().freeMemory(address, 32);
+        }
+    }
+
+    @Test
+    public void appendLongsToNativeAndHeapStores() {
+        for (Bytes<?> bytes : new Bytes<?>[]{Bytes.allocateElasticDirect(32), Bytes.allocateElasticOnHeap(32)}) {
+            try {
+                Random random = new Random(2);
+                for (int i = 0; i < 10_000; i++) {
+                    long num = random.nextLong() >> random.nextInt(64);
+                    if (i < 4)
+                        num = new long[]{0, Long.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE + 1}[i];
+                    assertEquals(Long.toString(num), bytes.clear().append(num).toString());
+                    assertEquals(Integer.toString((int) num), bytes.clear().append((int) num).toString());
+                }
+                // appended after other text, and a whole double with a trailing .0
+                bytes.clear().append("x=").append(-123).append(',');
+                bytes.fpAppend0(true).append(45.0);
+                assertEquals("x=-123,45.0", bytes.toString());
+            } finally {
+                bytes.releaseLast();
+            }
+        }
+    }
+
     @Test
     public void testAppendDouble() {
         // TODO FIX
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2013-2025 chronicle.software; SPDX-License-Identifier: Apache-2.0
+ */
+package net.openhft.chronicle.bytes.ref;
+
+import net.openhft.chronicle.bytes.BytesStore;
+import net.openhft.chronicle.bytes.BytesTestCommon;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+public class BinaryBitSetReferenceTest extends BytesTestCommon {
+
+    @Test
+    public void setClearAndSearch() {
+        assertEquals(8 + 3 * 8, BinaryBitSetReference.sizeFor(130));
+        final BytesStore<?, ?> store = BytesStore.nativeStoreWithFixedCapacity(BinaryBitSetReference.sizeFor(130));
+        store.zeroOut(0, store.capacity());
+        try (BinaryBitSetReference bits = new BinaryBitSetReference(130)) {
+            bits.bytesStore(store, 0, bits.maxSize());
+            assertEquals(130, bits.capacity());
+            assertEquals(-1, bits.nextSetBit(0));
+            assertEquals(0, bits.nextClearBit(0));
+
+            bits.set(3);
+            assertFalse(bits.testAndSet(64));
+            assertTrue(bits.testAndSet(64));
+            bits.set(129);
+            assertTrue(bits.get(3));
+            assertFalse(bits.get(4));
+            assertEquals(3, bits.cardinality());
+            assertEquals("capacity: 130, cardinality: 3", bits.toString());
+
+            assertEquals(3, bits.nextSetBit(0));
+            assertEquals(64, bits.nextSetBit(4));
+            assertEquals(129, bits.nextSetBit(65));
+            assertEquals(-1, bits.nextSetBit(130));
+            assertEquals(4, bits.nextClearBit(3));
+            assertEquals(65, bits.nextClearBit(64));
+
+            assertTrue(bits.clear(64));
+            assertFalse(bits.clear(64));
+            assertEquals(129, bits.nextSetBit(4));
+            bits.clearAll();
+            assertEquals(0, bits.cardinality());
+            assertEquals(130, store.readLong(0));
+        } finally {
+            store.releaseLast();
+        }
+    }
+
+    @Test
+    public void nextClearBitWhenFull() {
+        final BytesStore<?, ?> store = BytesStore.nativeStoreWithFixedCapacity(BinaryBitSetReference.sizeFor(70));
+        store.zeroOut(0, store.capacity());
+        try (BinaryBitSetReference bits = new BinaryBitSetReference(70)) {
+            bits.bytesStore(store, 0, bits.maxSize());
+            for (int i = 0; i < 70; i++)
+                bits.set(i);
+            // bits past the capacity in the last word are clear but not in the set
+            assertEquals(-1, bits.nextClearBit(0));
+            assertEquals(70, bits.cardinality());
+            bits.clear(69);
+            assertEquals(69, bits.nextClearBit(0));
+        } finally {
+            store.releaseLast();
+        }
+    }
+
+    @Test
+    public void invalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> BinaryBitSetReference.sizeFor(0));
+        final BytesStore<?, ?> store = BytesStore.nativeStoreWithFixedCapacity(64);
+        store.zeroOut(0, store.capacity());
+        try (BinaryBitSetReference bits = new BinaryBitSetReference(64);
+             BinaryBitSetReference other = new BinaryBitSetReference(128)) {
+            assertThrows(IllegalArgumentException.class, () -> bits.bytesStore(store, 0, 24));
+            assertThrows(IllegalArgumentException.class, () -> bits.bytesStore(store, 4, 16));
+            bits.bytesStore(store, 0, 16);
+            assertThrows(IndexOutOfBoundsException.class, () -> bits.set(64));
+            assertThrows(IndexOutOfBoundsException.class, () -> bits.get(-1));
+            // the header records a capacity of 64
+            assertThrows(IllegalArgumentException.class, () -> other.bytesStore(store, 0, 24));
+        } finally {
+            store.releaseLast();
+        }
+    }
+
+    @Test
+    public void concurrentTestAndSet() throws Exception {
+        final int capacity = 10_000;
+        final BytesStore<?, ?> store = BytesStore.nativeStoreWithFixedCapacity(BinaryBitSetReference.sizeFor(capacity));
+        store.zeroOut(0, store.capacity());
+        final int threads = 4;
+        final AtomicLong won = new AtomicLong();
+        final ExecutorService es = Executors.newFixedThreadPool(threads);
+        try (BinaryBitSetReference bits = new BinaryBitSetReference(capacity)) {
+            bits.bytesStore(store, 0, bits.maxSize());
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++)
+                futures.add(es.submit(() -> {
+                    // every thread claims free slots until there are none, so each is claimed exactly once
+                    for (long slot = bits.nextClearBit(0); slot >= 0; slot = bits.nextClearBit(slot))
+                        if (!bits.testAndSet(slot))
+                            won.incrementAndGet();
+                }));
+            for (Future<?> future : futures)
+                future.get();
+            assertEquals(capacity, won.get());
+            assertEquals(capacity, bits.cardinality());
+            assertEquals(-1, bits.nextClearBit(0));
+        } finally {
+            es.shutdown();
+            store.releaseLast();
+        }
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2013-2025 chronicle.software; SPDX-License-Identifier: Apache-2.0
+ */
+package net.openhft.chronicle.bytes.ref;
+
+import net.openhft.chronicle.bytes.BytesStore;
+import net.openhft.chronicle.bytes.BytesTestCommon;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static net.openhft.chronicle.bytes.ref.BinaryLongLongMap.NO_VALUE;
+import static org.junit.Assert.*;
+
+public class BinaryLongLongMapTest extends BytesTestCommon {
+    private final List<BytesStore<?, ?>> stores = new ArrayList<>();
+    private final List<BinaryLongLongMap> maps = new ArrayList<>();
+
+    private BinaryLongLongMap map(long capacity) {
+        final long size = BinaryLongLongMap.sizeFor(capacity);
+        final BytesStore<?, ?> store = BytesStore.nativeStoreWithFixedCapacity(size);
+        store.zeroOut(0, size);
+        stores.add(store);
+        final BinaryLongLongMap map = new BinaryLongLongMap();
+        map.bytesStore(store, 0, size);
+        maps.add(map);
+        return map;
+    }
+
+    @After
+    public void release() {
+        maps.forEach(BinaryLongLongMap::close);
+        stores.forEach(BytesStore::releaseLast);
+    }
+
+    @Test
+    public void putGetRemove() {
+        final BinaryLongLongMap map = map(16);
+        assertEquals(16, map.capacity());
+        assertEquals(NO_VALUE, map.get(1));
+        assertEquals(NO_VALUE, map.put(1, 10));
+        assertEquals(NO_VALUE, map.put(0, 0));
+        assertEquals(NO_VALUE, map.put(Long.MAX_VALUE, -1));
+        assertEquals(10, map.put(1, 11));
+        assertEquals(11, map.get(1));
+        assertEquals(0, map.get(0));
+        assertEquals(-1, map.get(Long.MAX_VALUE));
+        assertEquals(3, map.size());
+
+        assertEquals(11, map.putIfAbsent(1, 12));
+        assertFalse(map.replace(1, 10, 13));
+        assertTrue(map.replace(1, 11, 13));
+        assertEquals(13, map.get(1));
+
+        assertFalse(map.remove(1, 12));
+        assertTrue(map.remove(1, 13));
+        assertFalse(map.containsKey(1));
+        assertEquals(0, map.remove(0));
+        assertEquals(NO_VALUE, map.remove(0));
+        assertEquals(NO_VALUE, map.remove(99));
+        assertEquals(1, map.size());
+        assertEquals("capacity: 16, size: 1, used: 3", map.toString());
+    }
+
+    @Test
+    public void tombstonesAreReusedForTheSameKey() {
+        final BinaryLongLongMap map = map(8);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(NO_VALUE, map.putIfAbsent(5, i));
+            assertEquals(i, map.remove(5));
+        }
+        assertEquals(0, map.size());
+        assertEquals(1, map.usedSlots());
+    }
+
+    @Test
+    public void fullMapRejectsNewKeys() {
+        final BinaryLongLongMap map = map(8);
+        for (int i = 0; i < 8; i++)
+            map.put(i * 1000, i);
+        assertTrue(map.needsResize());
+        assertThrows(IllegalStateException.class, () -> map.put(-1, 1));
+        // existing keys can still be updated and removed
+        assertEquals(7, map.put(7000, 70));
+        assertEquals(70, map.remove(7000));
+        assertThrows(IllegalStateException.class, () -> map.put(-1, 1));
+    }
+
+    @Test
+    public void rehashIntoALargerMap() {
+        final BinaryLongLongMap small = map(64);
+        for (long i = 0; i < 48; i++)
+            small.put(i * 31, -i);
+        for (long i = 0; i < 48; i += 2)
+            small.remove(i * 31);
+        assertTrue(small.needsResize());
+
+        final BinaryLongLongMap large = map(256);
+        small.rehashInto(large);
+        assertEquals(24, large.size());
+        assertEquals(24, large.usedSlots());
+        for (long i = 0; i < 48; i++)
+            assertEquals(i % 2 == 0 ? NO_VALUE : -i, large.get(i * 31));
+
+        small.clear();
+        assertEquals(0, small.size());
+        assertEquals(0, small.usedSlots());
+        assertEquals(NO_VALUE, small.get(31));
+    }
+
+    @Test
+    public void reservedKeysAndValues() {
+        final BinaryLongLongMap map = map(8);
+        assertThrows(IllegalArgumentException.class, () -> map.put(Long.MIN_VALUE, 1));
+        assertThrows(IllegalArgumentException.class, () -> map.put(1, Long.MIN_VALUE));
+        assertThrows(IllegalArgumentException.class, () -> BinaryLongLongMap.sizeFor(12));
+    }
+
+    @Test
+    public void bindsToAnExistingMap() {
+        final BinaryLongLongMap map = map(32);
+        map.put(42, 24);
+        final BytesStore<?, ?> store = stores.get(0);
+
+        try (BinaryLongLongMap other = new BinaryLongLongMap()) {
+            other.bytesStore(store, 0, BinaryLongLongMap.sizeFor(32));
+            assertEquals(24, other.get(42));
+            other.put(43, 34);
+        }
+        assertEquals(34, map.get(43));
+
+        try (BinaryLongLongMap other = new BinaryLongLongMap()) {
+            assertThrows(IllegalArgumentException.class, () -> other.bytesStore(store, 0, BinaryLongLongMap.sizeFor(16)));
+            assertThrows(IllegalArgumentException.class, () -> other.bytesStore(store, 0, 100));
+        }
+    }
+
+    @Test
+    public void concurrentPutIfAbsent() throws Exception {
+        final BinaryLongLongMap map = map(1 << 14);
+        final int threads = 4;
+        final int keys = 10_000;
+        final AtomicLong added = new AtomicLong();
+        final ExecutorService es = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                final int thread = t;
+                futures.add(es.submit(() -> {
+                    // every thread tries every key, so each key is added by exactly one thread
+                    for (int k = 0; k < keys; k++)
+                        if (map.putIfAbsent(k, thread) == NO_VALUE)
+                            added.incrementAndGet();
+                }));
+            }
+            for (Future<?> future : futures)
+                future.get();
+        } finally {
+            es.shutdown();
+        }
+        assertEquals(keys, added.get());
+        assertEquals(keys, map.size());
+        assertEquals(keys, map.usedSlots());
+        for (int k = 0; k < keys; k++) {
+            final long value = map.get(k);
+            assertTrue(value >= 0 && value < threads);
+        }
+    }
+}
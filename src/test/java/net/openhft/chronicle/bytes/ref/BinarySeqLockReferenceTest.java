@@ -0,0 +1,123 @@
+/*
+ * Copyright 2013-2025 chronicle.software; SPDX-License-Identifier: Apache-2.0
+ */
+package net.openhft.chronicle.bytes.ref;
+
+import net.openhft.chronicle.bytes.BytesStore;
+import net.openhft.chronicle.bytes.BytesTestCommon;
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.*;
+
+public class BinarySeqLockReferenceTest extends BytesTestCommon {
+
+    @Test
+    public void writeAndRead() {
+        final BytesStore<?, ?> store = BytesStore.nativeStoreWithFixedCapacity(64);
+        store.zeroOut(0, store.capacity());
+        try (BinarySeqLockReference ref = new BinarySeqLockReference(4)) {
+            assertEquals(8 + 4 * 8, ref.maxSize());
+            ref.bytesStore(store, 8, ref.maxSize());
+            assertEquals(0, ref.version());
+
+            ref.write(101, 102, 5, 7);
+            assertEquals(2, ref.version());
+            final long[] values = new long[4];
+            assertEquals(2, ref.read(values));
+            assertArrayEquals(new long[]{101, 102, 5, 7}, values);
+
+            ref.beginWrite();
+            ref.setValueAt(1, 103);
+            ref.endWrite();
+            assertTrue(ref.tryRead(values));
+            assertArrayEquals(new long[]{101, 103, 5, 7}, values);
+            assertEquals("version: 4, values: [101, 103, 5, 7]", ref.toString());
+        } finally {
+            store.releaseLast();
+        }
+    }
+
+    @Test
+    public void tryReadFailsDuringAWrite() {
+        final BytesStore<?, ?> store = BytesStore.nativeStoreWithFixedCapacity(24);
+        store.zeroOut(0, store.capacity());
+        try (BinarySeqLockReference ref = new BinarySeqLockReference(2)) {
+            ref.bytesStore(store, 0, ref.maxSize());
+            ref.write(1, 2);
+            ref.beginWrite();
+            ref.setValueAt(0, 3);
+            final long[] values = new long[2];
+            assertFalse(ref.tryRead(values));
+            assertEquals("version: 3, write in progress", ref.toString());
+            assertThrows(IllegalStateException.class, ref::beginWrite);
+            ref.setValueAt(1, 4);
+            ref.endWrite();
+            assertThrows(IllegalStateException.class, ref::endWrite);
+            assertTrue(ref.tryRead(values));
+            assertArrayEquals(new long[]{3, 4}, values);
+        } finally {
+            store.releaseLast();
+        }
+    }
+
+    @Test
+    public void invalidArguments() {
+        final BytesStore<?, ?> store = BytesStore.nativeStoreWithFixedCapacity(64);
+        store.zeroOut(0, store.capacity());
+        try (BinarySeqLockReference ref = new BinarySeqLockReference(2)) {
+            assertThrows(IllegalArgumentException.class, () -> ref.bytesStore(store, 0, 16));
+            assertThrows(IllegalArgumentException.class, () -> ref.bytesStore(store, 4, 24));
+            ref.bytesStore(store, 0, 24);
+            assertThrows(IllegalArgumentException.class, () -> ref.write(1, 2, 3));
+            assertThrows(IndexOutOfBoundsException.class, () -> ref.setValueAt(2, 1));
+        } finally {
+            store.releaseLast();
+        }
+    }
+
+    @Test
+    public void readersNeverSeeATornRecord() throws Exception {
+        final int fields = 6;
+        final BytesStore<?, ?> store = BytesStore.nativeStoreWithFixedCapacity(8 + fields * 8);
+        store.zeroOut(0, store.capacity());
+        final ExecutorService es = Executors.newFixedThreadPool(2);
+        final AtomicBoolean running = new AtomicBoolean(true);
+        try (BinarySeqLockReference writer = new BinarySeqLockReference(fields);
+             BinarySeqLockReference reader = new BinarySeqLockReference(fields)) {
+            writer.bytesStore(store, 0, writer.maxSize());
+            reader.bytesStore(store, 0, reader.maxSize());
+            final Future<?> write = es.submit(() -> {
+                for (long n = 1; n <= 200_000; n++) {
+                    writer.beginWrite();
+                    for (int i = 0; i < fields; i++)
+                        writer.setValueAt(i, n * (i + 1));
+                    writer.endWrite();
+                }
+                running.set(false);
+            });
+            final Future<Long> read = es.submit(() -> {
+                final long[] values = new long[fields];
+                long reads = 0;
+                do {
+                    final long version = reader.read(values);
+                    // every field is derived from the same write, which is half the version
+                    for (int i = 0; i < fields; i++)
+                        assertEquals(version / 2 * (i + 1), values[i]);
+                    reads++;
+                } while (running.get());
+                return reads;
+            });
+            write.get();
+            assertTrue(read.get() > 0);
+            assertEquals(400_000, reader.version());
+        } finally {
+            es.shutdown();
+            store.releaseLast();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2013-2025 chronicle.software; SPDX-License-Identifier: Apache-2.0
+ */
+package net.openhft.chronicle.bytes.ref;
+
+import net.openhft.chronicle.bytes.BytesStore;
+import net.openhft.chronicle.bytes.BytesTestCommon;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.*;
+
+public class BinaryStripedLongCounterTest extends BytesTestCommon {
+
+    @Test
+    public void addAndSum() {
+        final long size = BinaryStripedLongCounter.sizeFor(4);
+        assertEquals(64 + 4 * 64, size);
+        final BytesStore<?, ?> store = BytesStore.nativeStoreWithFixedCapacity(size);
+        store.zeroOut(0, store.capacity());
+        try (BinaryStripedLongCounter counter = new BinaryStripedLongCounter()) {
+            counter.bytesStore(store, 0, size);
+            assertEquals(4, counter.cells());
+            assertEquals(0, counter.sum());
+            counter.increment();
+            counter.add(10);
+            counter.decrement();
+            assertEquals(10, counter.sum());
+            assertEquals("sum: 10, cells: 4", counter.toString());
+            assertEquals(10, counter.sumThenReset());
+            assertEquals(0, counter.sum());
+        } finally {
+            store.releaseLast();
+        }
+    }
+
+    @Test
+    public void concurrentAdds() throws Exception {
+        final long size = BinaryStripedLongCounter.sizeFor(8);
+        final BytesStore<?, ?> store = BytesStore.nativeStoreWithFixedCapacity(size);
+        store.zeroOut(0, store.capacity());
+        final int threads = 4;
+        final int adds = 100_000;
+        final ExecutorService es = Executors.newFixedThreadPool(threads);
+        try (BinaryStripedLongCounter counter = new BinaryStripedLongCounter()) {
+            counter.bytesStore(store, 0, size);
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++)
+                futures.add(es.submit(() -> {
+                    for (int i = 0; i < adds; i++)
+                        counter.increment();
+                }));
+            long taken = 0;
+            while (!futures.stream().allMatch(Future::isDone))
+                taken += counter.sumThenReset();
+            for (Future<?> future : futures)
+                future.get();
+            assertEquals((long) threads * adds, taken + counter.sum());
+        } finally {
+            es.shutdown();
+            store.releaseLast();
+        }
+    }
+
+    @Test
+    public void sharedByTwoReferences() {
+        final long size = BinaryStripedLongCounter.sizeFor(2);
+        final BytesStore<?, ?> store = BytesStore.nativeStoreWithFixedCapacity(size + 64);
+        store.zeroOut(0, store.capacity());
+        try (BinaryStripedLongCounter a = new BinaryStripedLongCounter();
+             BinaryStripedLongCounter b = new BinaryStripedLongCounter()) {
+            a.bytesStore(store, 64, size);
+            b.bytesStore(store, 64, size);
+            a.add(5);
+            b.add(7);
+            assertEquals(12, a.sum());
+            assertEquals(12, b.sum());
+            assertEquals(0, store.readLong(0));
+            assertEquals(2, store.readLong(64));
+        } finally {
+            store.releaseLast();
+        }
+    }
+
+    @Test
+    public void invalidLayouts() {
+        assertThrows(IllegalArgumentException.class, () -> BinaryStripedLongCounter.sizeFor(3));
+        assertThrows(IllegalArgumentException.class, () -> BinaryStripedLongCounter.sizeFor(0));
+        final long size = BinaryStripedLongCounter.sizeFor(4);
+        final BytesStore<?, ?> store = BytesStore.nativeStoreWithFixedCapacity(size);
+        store.zeroOut(0, store.capacity());
+        try (BinaryStripedLongCounter counter = new BinaryStripedLongCounter();
+             BinaryStripedLongCounter other = new BinaryStripedLongCounter()) {
+            counter.bytesStore(store, 0, size);
+            assertThrows(IllegalArgumentException.class, () -> other.bytesStore(store, 0, BinaryStripedLongCounter.sizeFor(2)));
+            assertThrows(IllegalArgumentException.class, () -> other.bytesStore(store, 0, 100));
+        } finally {
+            store.releaseLast();
+        }
+    }
+}
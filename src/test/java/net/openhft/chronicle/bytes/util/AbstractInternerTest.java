@@ -17,6 +17,10 @@ class AbstractInternerTest {
             super(capacity);
         }
 
+        TestInterner(int capacity, int maxCapacity, double growMissRate) {
+            super(capacity, maxCapacity, growMissRate);
+        }
+
         @Override
         protected String getValue(BytesStore<?, ?> bs, int length) {
             return bs.toString();
@@ -76,4 +80,73 @@ class AbstractInternerTest {
         int count = interner.valueCount();
         Assertions.assertTrue(count >= 2);
     }
+
+    @Test
+    void countsHitsAndMisses() {
+        Bytes<?> bytes = Bytes.from("counted");
+        interner.intern(bytes);
+        interner.intern(bytes);
+        interner.intern(bytes);
+        Assertions.assertEquals(1, interner.missCount());
+        Assertions.assertEquals(2, interner.hitCount());
+        interner.resetStats();
+        Assertions.assertEquals(0, interner.hitCount());
+        Assertions.assertEquals(0, interner.missCount());
+        Assertions.assertSame(interner.intern(bytes), interner.intern(bytes));
+    }
+
+    @Test
+    void fixedCapacityDoesNotGrow() {
+        for (int i = 0; i < 10_000; i++)
+            interner.intern(Bytes.from("s" + i));
+        Assertions.assertEquals(256, interner.capacity());
+        Assertions.assertEquals(0, interner.resizeCount());
+        Assertions.assertTrue(interner.collisionCount() > 0);
+    }
+
+    @Test
+    void growsWhenMissRateIsHigh() {
+        TestInterner adaptive = new TestInterner(128, 1024, 0.5);
+        Assertions.assertEquals(128, adaptive.capacity());
+        Assertions.assertEquals(1024, adaptive.maxCapacity());
+        for (int i = 0; i < 10_000; i++)
+            adaptive.intern(Bytes.from("s" + i));
+        Assertions.assertEquals(1024, adaptive.capacity());
+        Assertions.assertEquals(3, adaptive.resizeCount());
+
+        // entries survive a resize and still hit
+        Bytes<?> bytes = Bytes.from("retained");
+        String first = adaptive.intern(bytes);
+        Assertions.assertSame(first, adaptive.intern(bytes));
+    }
+
+    @Test
+    void doesNotGrowWhenMostlyHits() {
+        TestInterner adaptive = new TestInterner(128, 1024, 0.5);
+        Bytes<?> bytes = Bytes.from("hot");
+        for (int i = 0; i < 10_000; i++)
+            adaptive.intern(bytes);
+        Assertions.assertEquals(128, adaptive.capacity());
+        Assertions.assertEquals(1, adaptive.missCount());
+        Assertions.assertEquals(9_999, adaptive.hitCount());
+    }
+
+    @Test
+    void longKeysDoNotCauseGrowth() {
+        TestInterner adaptive = new TestInterner(128, 1024, 0.5);
+        // longer than the capacity
+        Bytes<?> bytes = Bytes.from(new String(new char[200]).replace('\0', 'x'));
+        for (int i = 0; i < 1_000; i++)
+            adaptive.intern(bytes);
+        Assertions.assertEquals(128, adaptive.capacity());
+        Assertions.assertEquals(0, adaptive.missCount());
+        Assertions.assertEquals(1_000, adaptive.uncachedCount());
+        adaptive.resetStats();
+        Assertions.assertEquals(0, adaptive.uncachedCount());
+    }
+
+    @Test
+    void rejectsInvalidMissRate() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new TestInterner(128, 1024, 1.5));
+    }
 }
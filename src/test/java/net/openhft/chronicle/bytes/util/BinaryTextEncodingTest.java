@@ -0,0 +1,102 @@
+/*
+ * Copyright 2013-2025 chronicle.software; SPDX-License-Identifier: Apache-2.0
+ */
+package net.openhft.chronicle.bytes.util;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.bytes.BytesTestCommon;
+import org.junit.jupiter.api.Test;
+
+import java.nio.BufferOverflowException;
+import java.util.Base64;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryTextEncodingTest extends BytesTestCommon {
+
+    private static String hex(byte[] bytes) {
+        StringBuilder sb = new StringBuilder();
+        for (byte b : bytes)
+            sb.append(String.format("%02x", b & 0xFF));
+        return sb.toString();
+    }
+
+    @Test
+    void matchesJavaUtil() {
+        Random random = new Random(1);
+        Bytes<?> from = Bytes.allocateElasticDirect();
+        Bytes<?> text = Bytes.allocateElasticOnHeap();
+        Bytes<?> decoded = Bytes.allocateElasticDirect();
+        try {
+            for (int length = 0; length < 100; length++) {
+                byte[] bytes = new byte[length];
+                random.nextBytes(bytes);
+                from.clear().write(bytes);
+                // an offset which is not word aligned
+                from.readSkip(length > 0 ? 1 : 0);
+                byte[] expectedBytes = java.util.Arrays.copyOfRange(bytes, length > 0 ? 1 : 0, length);
+
+                String[] expected = {hex(expectedBytes),
+                        Base64.getEncoder().encodeToString(expectedBytes),
+                        Base64.getUrlEncoder().encodeToString(expectedBytes)};
+                for (BinaryTextEncoding encoding : BinaryTextEncoding.values()) {
+                    String expectedText = expected[encoding.ordinal()];
+                    text.clear().append("x");
+                    encoding.encode(from, text);
+                    assertEquals("x" + expectedText, text.toString(), encoding + " " + length);
+                    assertEquals(expectedText.length(), encoding.encodedLength(expectedBytes.length));
+
+                    text.readSkip(1);
+                    decoded.clear();
+                    encoding.decode(text, decoded);
+                    assertArrayEquals(expectedBytes, decoded.toByteArray(), encoding + " " + length);
+                }
+            }
+        } finally {
+            from.releaseLast();
+            text.releaseLast();
+            decoded.releaseLast();
+        }
+    }
+
+    @Test
+    void decodeVariants() {
+        Bytes<?> to = Bytes.allocateElasticOnHeap();
+        BinaryTextEncoding.HEX.decode(Bytes.from("DEADbeef0123456789ABCDEF"), to);
+        assertEquals("deadbeef0123456789abcdef", hex(to.toByteArray()));
+
+        to.clear();
+        BinaryTextEncoding.BASE64.decode(Bytes.from("aGVsbG8gd29ybGQ"), to);
+        assertEquals("hello world", to.toString());
+
+        to.clear();
+        BinaryTextEncoding.BASE64_URL.decode(Bytes.from("-_-_"), to);
+        assertEquals("fbffbf", hex(to.toByteArray()));
+        to.releaseLast();
+    }
+
+    @Test
+    void decodeInvalid() {
+        Bytes<?> to = Bytes.allocateElasticOnHeap();
+        to.append("keep");
+        for (String text : new String[]{"abc", "0123456789abcdeg", "zz"})
+            assertThrows(IllegalArgumentException.class, () -> BinaryTextEncoding.HEX.decode(Bytes.from(text), to), text);
+        for (String text : new String[]{"A", "AAAAA", "AAAA+AAA", "AAAAAAAAAA=A", "AB+/AB+/AB\n/"})
+            assertThrows(IllegalArgumentException.class, () -> BinaryTextEncoding.BASE64_URL.decode(Bytes.from(text), to), text);
+        assertEquals("keep", to.toString());
+        to.releaseLast();
+    }
+
+    @Test
+    void overflowLeavesOutputUnchanged() {
+        Bytes<?> to = Bytes.allocateDirect(8);
+        try {
+            to.append("ab");
+            assertThrows(BufferOverflowException.class, () -> BinaryTextEncoding.BASE64.encode(Bytes.from("hello"), to));
+            assertEquals("ab", to.toString());
+        } finally {
+            to.releaseLast();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2013-2025 chronicle.software; SPDX-License-Identifier: Apache-2.0
+ */
+package net.openhft.chronicle.bytes.util;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.bytes.BytesTestCommon;
+import net.openhft.chronicle.bytes.HexDumpBytes;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BytesConstantLookupTest extends BytesTestCommon {
+
+    @Test
+    void enumByName() {
+        BytesConstantLookup<TimeUnit> lookup = BytesConstantLookup.forEnum(TimeUnit.class);
+        assertSame(lookup, BytesConstantLookup.forEnum(TimeUnit.class));
+        assertEquals(TimeUnit.values().length, lookup.size());
+        for (TimeUnit unit : TimeUnit.values())
+            assertSame(unit, lookup.lookup(Bytes.from(unit.name())));
+        assertNull(lookup.lookup(Bytes.from("SECOND")));
+        assertNull(lookup.lookup(Bytes.from("SECONDSS")));
+        assertNull(lookup.lookup(Bytes.from("")));
+    }
+
+    @Test
+    void lookupWithinLargerBuffer() {
+        BytesConstantLookup<TimeUnit> lookup = BytesConstantLookup.forEnum(TimeUnit.class);
+        Bytes<?> bytes = Bytes.from("unit=MILLISECONDS,next");
+        assertSame(TimeUnit.MILLISECONDS, lookup.lookup(bytes, 5, "MILLISECONDS".length()));
+        assertNull(lookup.lookup(bytes, 5, "MILLISECONDS".length() - 1));
+    }
+
+    @Test
+    void manyKeysWithCommonPrefix() {
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < 1000; i++)
+            names.add("INSTRUMENT_CODE_" + i);
+        BytesConstantLookup<String> lookup = BytesConstantLookup.of(names, Function.identity());
+        assertEquals(1000, lookup.size());
+        for (String name : names)
+            assertSame(name, lookup.lookup(Bytes.from(name)));
+        assertNull(lookup.lookup(Bytes.from("INSTRUMENT_CODE_1000")));
+    }
+
+    @Test
+    void emptyAndNoValues() {
+        BytesConstantLookup<String> lookup = BytesConstantLookup.of(Arrays.asList("", "a"), Function.identity());
+        assertEquals("", lookup.lookup(Bytes.from("")));
+        assertEquals("a", lookup.lookup(Bytes.from("a")));
+
+        BytesConstantLookup<String> none = BytesConstantLookup.of(new ArrayList<String>(), Function.identity());
+        assertNull(none.lookup(Bytes.from("a")));
+    }
+
+    @Test
+    void rejectsDuplicates() {
+        assertThrows(IllegalArgumentException.class,
+                () -> BytesConstantLookup.of(Arrays.asList("a", "b", "a"), Function.identity()));
+    }
+
+    @Test
+    void readEnumUsesLookup() {
+        Bytes<?> bytes = Bytes.allocateElasticDirect();
+        try {
+            bytes.writeEnum(TimeUnit.NANOSECONDS);
+            bytes.writeEnum(TimeUnit.DAYS);
+            bytes.write8bit("HOURS");
+            assertSame(TimeUnit.NANOSECONDS, bytes.readEnum(TimeUnit.class));
+            assertSame(TimeUnit.DAYS, bytes.readEnum(TimeUnit.class));
+            assertSame(TimeUnit.HOURS, bytes.readEnum(TimeUnit.class));
+            assertEquals(0, bytes.readRemaining());
+        } finally {
+            bytes.releaseLast();
+        }
+    }
+
+    @Test
+    void readEnumFromOtherBytes() {
+        // HexDumpBytes has its own readStopBit, so it is read through read8bit rather than in place
+        HexDumpBytes bytes = new HexDumpBytes();
+        try {
+            bytes.writeEnum(TimeUnit.SECONDS);
+            bytes.writeEnum(TimeUnit.MINUTES);
+            assertSame(TimeUnit.SECONDS, bytes.readEnum(TimeUnit.class));
+            assertSame(TimeUnit.MINUTES, bytes.readEnum(TimeUnit.class));
+        } finally {
+            bytes.releaseLast();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2013-2025 chronicle.software; SPDX-License-Identifier: Apache-2.0
+ */
+package net.openhft.chronicle.bytes.util;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.bytes.BytesTestCommon;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DelimitedTokenizerTest extends BytesTestCommon {
+
+    private static List<String> fields(DelimitedTokenizer tokenizer) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < tokenizer.fieldCount(); i++) {
+            sb.setLength(0);
+            tokenizer.appendField(i, sb);
+            fields.add(sb.toString());
+        }
+        return fields;
+    }
+
+    @Test
+    void csvRecords() {
+        Bytes<?> bytes = Bytes.from("symbol,qty,price\r\n" +
+                "VOD.L,1200,101.25\n" +
+                "\"BRK,A\",-3,\"say \"\"hi\"\"\"\n" +
+                ",,\n" +
+                "\"multi\nline\",7");
+        DelimitedTokenizer csv = DelimitedTokenizer.csv();
+
+        assertTrue(csv.nextRecord(bytes));
+        assertEquals(3, csv.fieldCount());
+        assertTrue(csv.fieldEquals(2, "price"));
+
+        assertTrue(csv.nextRecord(bytes));
+        assertTrue(csv.fieldEquals(0, "VOD.L"));
+        assertEquals(1200, csv.parseLong(1));
+        assertEquals(4, csv.fieldStart(1) - csv.fieldStart(0) - 2);
+
+        assertTrue(csv.nextRecord(bytes));
+        assertEquals(3, csv.fieldCount());
+        assertTrue(csv.fieldEquals(0, "BRK,A"));
+        assertFalse(csv.fieldEscaped(0));
+        assertEquals(-3, csv.parseLong(1));
+        assertTrue(csv.fieldEscaped(2));
+        assertEquals("[BRK,A, -3, say \"hi\"]", fields(csv).toString());
+
+        assertTrue(csv.nextRecord(bytes));
+        assertEquals("[, , ]", fields(csv).toString());
+        assertEquals(0, csv.parseLong(0));
+
+        assertTrue(csv.nextRecord(bytes));
+        assertEquals("[multi\nline, 7]", fields(csv).toString());
+        assertFalse(csv.nextRecord(bytes));
+        assertEquals(0, csv.fieldCount());
+        assertThrows(IndexOutOfBoundsException.class, () -> csv.fieldStart(0));
+    }
+
+    @Test
+    void escapedDelimiters() {
+        Bytes<?> bytes = Bytes.from("a\\|b|c\\\\|d\n|\n");
+        DelimitedTokenizer pipe = DelimitedTokenizer.pipe();
+        assertTrue(pipe.nextRecord(bytes));
+        assertEquals("[a|b, c\\, d]", fields(pipe).toString());
+        assertTrue(pipe.fieldEscaped(0));
+        assertFalse(pipe.fieldEscaped(2));
+        assertTrue(pipe.nextRecord(bytes));
+        assertEquals("[, ]", fields(pipe).toString());
+        assertFalse(pipe.nextRecord(bytes));
+    }
+
+    @Test
+    void longFieldsUseWholeWords() {
+        Bytes<?> bytes = Bytes.allocateElasticDirect();
+        try {
+            Random random = new Random(1);
+            List<List<String>> expected = new ArrayList<>();
+            for (int r = 0; r < 200; r++) {
+                List<String> record = new ArrayList<>();
+                int count = 1 + random.nextInt(10);
+                for (int f = 0; f < count; f++) {
+                    StringBuilder sb = new StringBuilder();
+                    int length = random.nextInt(40);
+                    for (int i = 0; i < length; i++)
+                        sb.append((char) ('a' + random.nextInt(26)));
+                    record.add(sb.toString());
+                    if (f > 0)
+                        bytes.append('\t');
+                    bytes.append(sb);
+                }
+                bytes.append('\n');
+                expected.add(record);
+            }
+            DelimitedTokenizer tsv = DelimitedTokenizer.tsv();
+            for (List<String> record : expected) {
+                assertTrue(tsv.nextRecord(bytes));
+                assertEquals(record, fields(tsv));
+                long[] offsets = tsv.offsets();
+                for (int i = 0; i < record.size(); i++)
+                    assertEquals(record.get(i).length(), offsets[i * 2 + 1] - offsets[i * 2]);
+            }
+            assertFalse(tsv.nextRecord(bytes));
+        } finally {
+            bytes.releaseLast();
+        }
+    }
+
+    @Test
+    void tokenizeRange() {
+        Bytes<?> bytes = Bytes.from("skip|1|22|333\nnext");
+        DelimitedTokenizer pipe = DelimitedTokenizer.pipe();
+        long next = pipe.tokenize(bytes, 5, bytes.readLimit());
+        assertEquals(14, next);
+        assertEquals(3, pipe.fieldCount());
+        assertEquals(333, pipe.parseLong(2));
+        assertEquals(4, pipe.tokenize(bytes, 0, 4));
+        assertTrue(pipe.fieldEquals(0, "skip"));
+    }
+
+    @Test
+    void invalidDelimiter() {
+        assertThrows(IllegalArgumentException.class, () -> new DelimitedTokenizer('\n', '"', DelimitedTokenizer.NONE));
+    }
+}
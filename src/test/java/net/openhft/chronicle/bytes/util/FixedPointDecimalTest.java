@@ -0,0 +1,122 @@
+/*
+ * Copyright 2013-2025 chronicle.software; SPDX-License-Identifier: Apache-2.0
+ */
+package net.openhft.chronicle.bytes.util;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.bytes.BytesTestCommon;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FixedPointDecimalTest extends BytesTestCommon {
+
+    @Test
+    void rescale() {
+        assertEquals(123400, FixedPointDecimal.rescale(1234, 2, 4));
+        assertEquals(1234, FixedPointDecimal.rescale(123400, 4, 2));
+        assertEquals(-1234, FixedPointDecimal.rescale(-1234, 3, 3));
+        assertThrows(ArithmeticException.class, () -> FixedPointDecimal.rescale(12345, 3, 2));
+        assertThrows(ArithmeticException.class, () -> FixedPointDecimal.rescale(Long.MAX_VALUE / 10, 0, 2));
+        assertThrows(IllegalArgumentException.class, () -> FixedPointDecimal.rescale(1, 0, 19));
+        assertThrows(IllegalArgumentException.class, () -> FixedPointDecimal.rescale(1, -1, 2));
+    }
+
+    @Test
+    void rescaleRoundsLikeBigDecimal() {
+        Random random = new Random(1);
+        for (int i = 0; i < 20_000; i++) {
+            long mantissa = random.nextLong() >> random.nextInt(64);
+            int fromScale = random.nextInt(FixedPointDecimal.MAX_SCALE + 1);
+            int toScale = random.nextInt(fromScale + 1);
+            for (RoundingMode mode : RoundingMode.values()) {
+                BigDecimal expected;
+                try {
+                    expected = BigDecimal.valueOf(mantissa, fromScale).setScale(toScale, mode);
+                } catch (ArithmeticException e) {
+                    assertThrows(ArithmeticException.class, () -> FixedPointDecimal.rescale(mantissa, fromScale, toScale, mode));
+                    continue;
+                }
+                assertEquals(expected.unscaledValue().longValueExact(),
+                        FixedPointDecimal.rescale(mantissa, fromScale, toScale, mode),
+                        mantissa + " " + fromScale + " " + toScale + " " + mode);
+            }
+        }
+    }
+
+    @Test
+    void minimumScale() {
+        assertEquals(1, FixedPointDecimal.minimumScale(12300, 3));
+        assertEquals(0, FixedPointDecimal.minimumScale(12300, 2));
+        assertEquals(0, FixedPointDecimal.minimumScale(0, 5));
+        assertEquals(3, FixedPointDecimal.minimumScale(-12301, 3));
+    }
+
+    @Test
+    void parseDecimal() {
+        Bytes<?> bytes = Bytes.from("123.45 -0.5 7 1.2300000000000000000000 +1_000.25,0.001 ");
+        assertEquals(1234500, bytes.parseDecimal(4));
+        assertEquals(2, bytes.lastDecimalPlaces());
+        assertEquals(-50, bytes.parseDecimal(2));
+        assertEquals(7000, bytes.parseDecimal(3));
+        assertEquals(0, bytes.lastDecimalPlaces());
+        assertTrue(bytes.lastNumberHadDigits());
+        assertEquals(123, bytes.parseDecimal(2));
+        assertEquals(100025, bytes.parseDecimal(2));
+        assertThrows(ArithmeticException.class, () -> bytes.parseDecimal(2));
+    }
+
+    @Test
+    void parseDecimalOverflow() {
+        assertEquals(Long.MAX_VALUE, Bytes.from("9223372036854775807").parseDecimal(0));
+        assertEquals(922337203685477580L, Bytes.from("92233720368547758.0").parseDecimal(1));
+        assertThrows(ArithmeticException.class, () -> Bytes.from("9223372036854775808").parseDecimal(0));
+        assertThrows(ArithmeticException.class, () -> Bytes.from("92233720368547758.08").parseDecimal(2));
+        assertThrows(ArithmeticException.class, () -> Bytes.from("92233720368547758").parseDecimal(3));
+        assertThrows(IllegalArgumentException.class, () -> Bytes.from("1").parseDecimal(19));
+    }
+
+    @Test
+    void appendAndParseRoundTrip() {
+        Bytes<?> bytes = Bytes.allocateElasticOnHeap();
+        Random random = new Random(2);
+        for (int i = 0; i < 10_000; i++) {
+            long mantissa = random.nextLong() >> random.nextInt(64);
+            if (mantissa == Long.MIN_VALUE)
+                continue;
+            int scale = random.nextInt(FixedPointDecimal.MAX_SCALE + 1);
+            bytes.clear().appendDecimal(mantissa, scale).append(' ');
+            assertEquals(mantissa, bytes.parseDecimal(scale), bytes.toString());
+        }
+        bytes.releaseLast();
+    }
+
+    @Test
+    void stopBitDecimal() {
+        Bytes<?> bytes = Bytes.allocateElasticOnHeap();
+        bytes.writeStopBitDecimal(12345, 2)
+                .writeStopBitDecimal(-1230000, 4)
+                .writeStopBitDecimal(0, 6)
+                .writeStopBitDecimal(999_999_999_999L, 9)
+                .writeStopBitDecimal(1.25);
+        assertEquals(1234500, bytes.readStopBitDecimal(4));
+        assertEquals(-123, bytes.readStopBitDecimal(0));
+        assertEquals(0, bytes.readStopBitDecimal(0));
+        assertEquals(999.999999999, bytes.readStopBitDecimal(), 0.0);
+        assertEquals(125, bytes.readStopBitDecimal(2));
+
+        // trailing zeros are dropped, so 1.0000 is as small as 1
+        bytes.clear().writeStopBitDecimal(10000, 4);
+        assertEquals(1, bytes.readRemaining());
+
+        bytes.clear().writeStopBitDecimal(12345, 2);
+        assertThrows(ArithmeticException.class, () -> bytes.readStopBitDecimal(1));
+        assertThrows(IllegalArgumentException.class, () -> bytes.writeStopBitDecimal(1, 10));
+        assertThrows(IllegalArgumentException.class, () -> bytes.writeStopBitDecimal(Long.MAX_VALUE, 0));
+        bytes.releaseLast();
+    }
+}
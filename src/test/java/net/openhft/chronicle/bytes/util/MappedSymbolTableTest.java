@@ -0,0 +1,129 @@
+/*
+ * Copyright 2013-2025 chronicle.software; SPDX-License-Identifier: Apache-2.0
+ */
+package net.openhft.chronicle.bytes.util;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.bytes.BytesTestCommon;
+import net.openhft.chronicle.core.io.IOTools;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedSymbolTableTest extends BytesTestCommon {
+
+    @Test
+    void acquireAndResolve() throws IOException {
+        File file = IOTools.createTempFile("acquireAndResolve");
+        Bytes<?> out = Bytes.allocateElasticOnHeap();
+        try (MappedSymbolTable table = MappedSymbolTable.of(file, 64, 1024)) {
+            int xlon = table.acquireId(Bytes.from("XLON"));
+            int xnys = table.acquireId(Bytes.from("XNYS"));
+            assertEquals(0, xlon);
+            assertEquals(1, xnys);
+            assertEquals(xlon, table.acquireId(Bytes.from("XLON")));
+            assertEquals(xnys, table.findId(Bytes.from("XNYS")));
+            assertEquals(-1, table.findId(Bytes.from("XPAR")));
+            assertEquals(2, table.size());
+
+            table.appendSymbol(xnys, out);
+            assertEquals("XNYS", out.toString());
+            assertEquals(4, table.keyLength(xlon));
+            assertTrue(table.bytesStore().isEqual(table.keyOffset(xlon), 4, "XLON"));
+            assertThrows(IllegalArgumentException.class, () -> table.keyOffset(2));
+        } finally {
+            out.releaseLast();
+            file.delete();
+        }
+    }
+
+    @Test
+    void idsAreSharedBetweenMappings() throws IOException {
+        File file = IOTools.createTempFile("idsAreSharedBetweenMappings");
+        try (MappedSymbolTable first = MappedSymbolTable.of(file, 1024, 64 << 10);
+             MappedSymbolTable second = MappedSymbolTable.of(file, 1024, 64 << 10)) {
+            for (int i = 0; i < 500; i++) {
+                Bytes<?> key = Bytes.from("SYM-" + i);
+                MappedSymbolTable table = (i & 1) == 0 ? first : second;
+                assertEquals(i, table.acquireId(key));
+            }
+            Bytes<?> out = Bytes.allocateElasticOnHeap();
+            for (int i = 0; i < 500; i++) {
+                assertEquals(i, first.findId(Bytes.from("SYM-" + i)));
+                assertEquals(i, second.findId(Bytes.from("SYM-" + i)));
+                out.clear();
+                second.appendSymbol(i, out);
+                assertEquals("SYM-" + i, out.toString());
+            }
+            out.releaseLast();
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    void concurrentInsertsAgree() throws Exception {
+        File file = IOTools.createTempFile("concurrentInsertsAgree");
+        int threads = 4;
+        int keys = 2000;
+        ExecutorService es = Executors.newFixedThreadPool(threads);
+        try (MappedSymbolTable table = MappedSymbolTable.of(file, keys, 64 << 10)) {
+            List<Future<int[]>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(es.submit(() -> {
+                    int[] ids = new int[keys];
+                    for (int i = 0; i < keys; i++)
+                        ids[i] = table.acquireId(Bytes.from("k" + i));
+                    return ids;
+                }));
+            }
+            int[] expected = futures.get(0).get();
+            for (Future<int[]> future : futures)
+                assertArrayEquals(expected, future.get());
+            assertEquals(keys, table.size());
+        } finally {
+            es.shutdown();
+            es.awaitTermination(1, TimeUnit.SECONDS);
+            file.delete();
+        }
+    }
+
+    @Test
+    void throwsWhenFull() throws IOException {
+        File file = IOTools.createTempFile("throwsWhenFull");
+        try (MappedSymbolTable table = MappedSymbolTable.of(file, 2, 1024)) {
+            table.acquireId(Bytes.from("a"));
+            table.acquireId(Bytes.from("b"));
+            final long keyBytesUsed = table.keyBytesUsed();
+            assertThrows(IllegalStateException.class, () -> table.acquireId(Bytes.from("c")));
+            assertThrows(IllegalStateException.class, () -> table.acquireId(Bytes.from("d")));
+            // failed inserts don't use key storage
+            assertEquals(keyBytesUsed, table.keyBytesUsed());
+            // existing keys are still found after a failed insert
+            assertEquals(0, table.acquireId(Bytes.from("a")));
+            assertEquals(1, table.acquireId(Bytes.from("b")));
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    void rejectsDifferentLayout() throws IOException {
+        File file = IOTools.createTempFile("rejectsDifferentLayout");
+        try (MappedSymbolTable table = MappedSymbolTable.of(file, 64, 1024)) {
+            table.acquireId(Bytes.from("a"));
+            assertThrows(IllegalStateException.class, () -> MappedSymbolTable.of(file, 128, 1024));
+        } finally {
+            file.delete();
+        }
+    }
+}
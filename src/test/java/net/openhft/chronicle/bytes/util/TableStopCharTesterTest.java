@@ -0,0 +1,115 @@
+/*
+ * Copyright 2013-2025 chronicle.software; SPDX-License-Identifier: Apache-2.0
+ */
+package net.openhft.chronicle.bytes.util;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.bytes.BytesTestCommon;
+import net.openhft.chronicle.bytes.StopCharTester;
+import net.openhft.chronicle.bytes.StopCharTesters;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TableStopCharTesterTest extends BytesTestCommon {
+
+    @Test
+    void matchesTheTesterItWasCompiledFrom() {
+        for (StopCharTesters constant : StopCharTesters.values()) {
+            TableStopCharTester table = TableStopCharTester.of(constant);
+            assertSame(table, TableStopCharTester.of(constant));
+            for (int ch = -1; ch < 0x10000; ch++)
+                assertEquals(constant.isStopChar(ch), table.isStopChar(ch), constant + " " + ch);
+        }
+        StopCharTester vowels = ch -> "aeiou\0".indexOf(ch) >= 0;
+        TableStopCharTester table = TableStopCharTester.of(vowels);
+        for (int ch = 0; ch < 256; ch++)
+            assertEquals(vowels.isStopChar(ch), table.isStopChar(ch));
+        assertSame(table, TableStopCharTester.of(table));
+    }
+
+    @Test
+    void ofChars() {
+        TableStopCharTester tester = TableStopCharTester.of(",;\n\u00ff");
+        assertTrue(tester.isStopChar(0));
+        assertTrue(tester.isStopChar(','));
+        assertTrue(tester.isStopChar(0xFF));
+        assertFalse(tester.isStopChar('a'));
+        assertFalse(tester.isStopChar(0x100 + ','));
+        assertThrows(IllegalArgumentException.class, () -> TableStopCharTester.of("\u0100"));
+        assertThrows(IllegalArgumentException.class, () -> TableStopCharTester.of(StopCharTesters.COMMA_STOP.escaping()));
+    }
+
+    @Test
+    void indexOf() {
+        Bytes<?> bytes = Bytes.from("abcdefghijklmnopqrstuvwxyz,0123");
+        TableStopCharTester tester = TableStopCharTester.of(",");
+        assertEquals(26, tester.indexOf(bytes, 0, bytes.readLimit()));
+        assertEquals(26, tester.indexOf(bytes, 19, bytes.readLimit()));
+        assertEquals(20, tester.indexOf(bytes, 3, 20));
+        assertEquals(bytes.readLimit(), tester.indexOf(bytes, 27, bytes.readLimit()));
+    }
+
+    @Test
+    void parsesAsTheUncompiledTester() {
+        StopCharTester[] testers = {StopCharTesters.COMMA_STOP, StopCharTesters.SPACE_STOP,
+                StopCharTesters.NON_ALPHA_DIGIT, TableStopCharTester.of(",\u00e9\u00d7")};
+        String alphabet = "abc, \u00e9\u00d7\u20ac0\t";
+        Random random = new Random(1);
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 500; i++)
+            text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        // parseUtf8 needs a stop character after the last multi-byte character
+        text.append('\0');
+
+        for (StopCharTester tester : testers) {
+            // a lambda is not compiled so takes the original path
+            StopCharTester uncompiled = tester::isStopChar;
+            for (boolean direct : new boolean[]{false, true}) {
+                Bytes<?> expected = direct ? Bytes.allocateElasticDirect() : Bytes.allocateElasticOnHeap();
+                Bytes<?> actual = direct ? Bytes.allocateElasticDirect() : Bytes.allocateElasticOnHeap();
+                StringBuilder sbExpected = new StringBuilder();
+                StringBuilder sbActual = new StringBuilder();
+                Bytes<?> bExpected = Bytes.allocateElasticOnHeap();
+                Bytes<?> bActual = Bytes.allocateElasticOnHeap();
+                try {
+                    expected.appendUtf8(text);
+                    actual.appendUtf8(text);
+                    while (expected.readRemaining() > 0) {
+                        expected.parseUtf8(sbExpected, uncompiled);
+                        actual.parseUtf8(sbActual, tester);
+                        assertEquals(sbExpected.toString(), sbActual.toString(), tester.toString());
+                        assertEquals(expected.readPosition(), actual.readPosition());
+                    }
+
+                    expected.readPosition(0);
+                    actual.readPosition(0);
+                    while (expected.readRemaining() > 0) {
+                        expected.parse8bit(sbExpected, uncompiled);
+                        actual.parse8bit(sbActual, tester);
+                        assertEquals(sbExpected.toString(), sbActual.toString());
+                        assertEquals(expected.readPosition(), actual.readPosition());
+                        expected.parse8bit(bExpected, uncompiled);
+                        actual.parse8bit(bActual, tester);
+                        assertEquals(bExpected.toString(), bActual.toString());
+                        assertEquals(expected.readPosition(), actual.readPosition());
+                    }
+
+                    expected.readPosition(0);
+                    actual.readPosition(0);
+                    while (expected.readRemaining() > 0) {
+                        assertEquals(expected.skipTo(uncompiled), actual.skipTo(tester));
+                        assertEquals(expected.readPosition(), actual.readPosition());
+                    }
+                } finally {
+                    expected.releaseLast();
+                    actual.releaseLast();
+                    bExpected.releaseLast();
+                    bActual.releaseLast();
+                }
+            }
+        }
+    }
+}